@@ -1,7 +1,9 @@
 package org.example;
 
+import org.example.config.OfflineRunEnvironmentPostProcessor;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
 
 /**
  * Main application class for the Mutant Detector API.
@@ -10,6 +12,12 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * - Detect if a DNA sequence belongs to a mutant (POST /mutant)
  * - Retrieve statistics about DNA verifications (GET /stats)
  * 
+ * Started with --mutant.import.files=... it instead imports those files
+ * (see org.example.service.BulkImportRunner), and with --mutant.analyze.file=...
+ * it analyzes that memory-mapped matrix file (MappedMatrixAnalysisRunner);
+ * both run without a web server and exit when done, however the property is
+ * set (argument, system property, environment variable, properties file).
+ * 
  * @author MercadoLibre Challenge
  * @version 1.0.0
  */
@@ -17,6 +25,10 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 public class MutantDetectorApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(MutantDetectorApplication.class, args);
+        ConfigurableApplicationContext context = SpringApplication.run(MutantDetectorApplication.class, args);
+        if (OfflineRunEnvironmentPostProcessor.isOffline(context.getEnvironment())) {
+            // Started without a web server (see OfflineRunEnvironmentPostProcessor): the runners are done
+            System.exit(SpringApplication.exit(context));
+        }
     }
 }
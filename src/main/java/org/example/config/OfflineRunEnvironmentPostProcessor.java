@@ -0,0 +1,50 @@
+package org.example.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Starts an offline run (bulk import, huge matrix) without a web server.
+ *
+ * Whether the run is offline is decided from the bound Environment, once
+ * application.properties, profiles, environment variables (e.g.
+ * MUTANT_IMPORT_FILES), system properties and arguments have all been
+ * loaded: if mutant.import.files or mutant.analyze.file is set from any of
+ * them, spring.main.web-application-type is set to none.
+ * MutantDetectorApplication then exits once the runners are done.
+ *
+ * Registered in META-INF/spring.factories; it runs after the config data
+ * post-processor so that every property source is already in place.
+ */
+public class OfflineRunEnvironmentPostProcessor implements EnvironmentPostProcessor, Ordered {
+
+    // Properties that start an offline run instead of the API
+    private static final String[] OFFLINE_PROPERTIES = {"mutant.import.files", "mutant.analyze.file"};
+
+    /**
+     * Whether the environment asks for an offline run.
+     */
+    public static boolean isOffline(Environment environment) {
+        return Arrays.stream(OFFLINE_PROPERTIES).anyMatch(environment::containsProperty);
+    }
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (isOffline(environment)) {
+            environment.getPropertySources().addFirst(new MapPropertySource("offlineRun",
+                    Map.of("spring.main.web-application-type", "none")));
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
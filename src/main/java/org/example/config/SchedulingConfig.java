@@ -0,0 +1,16 @@
+package org.example.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background tasks (e.g. the periodic result cache snapshot).
+ *
+ * They run on a pool of spring.task.scheduling.pool.size threads, so a slow
+ * task (e.g. the /stats/stream push to many clients) does not delay the
+ * others.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -41,7 +41,13 @@ public class SwaggerConfig {
                                 
                                 **Endpoints disponibles:**
                                 - POST /mutant - Verificar si un ADN es mutante
+                                - POST /mutant/batch - Verificar varios ADN en una sola petición
+                                - POST /mutant/analysis - Contar todas las secuencias por dirección
+                                - POST /mutant/delta - Reanalizar un ADN ya analizado enviando solo las filas editadas
                                 - GET /stats - Obtener estadísticas de verificaciones
+                                - GET /stats/stream - Recibir las estadísticas cada vez que cambian (Server-Sent Events)
+                                - GET /stats/history - Obtener las verificaciones por segundo o por minuto
+                                - GET /stats/cache - Obtener aciertos, fallos y desalojos de la caché de resultados
                                 """)
                         .contact(new Contact()
                                 .name("MercadoLibre Challenge")
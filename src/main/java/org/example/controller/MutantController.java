@@ -9,22 +9,43 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.dto.CacheStatsResponse;
+import org.example.dto.DnaAnalysisRequest;
+import org.example.dto.DnaAnalysisResponse;
+import org.example.dto.DnaBatchRequest;
+import org.example.dto.DnaBatchResponse;
+import org.example.dto.DnaDeltaRequest;
+import org.example.dto.DnaDeltaResponse;
 import org.example.dto.DnaRequest;
 import org.example.dto.ErrorResponse;
+import org.example.dto.StatsHistoryResponse;
 import org.example.dto.StatsResponse;
+import org.example.service.BatchAnalysisService;
+import org.example.service.DeltaAnalysisService;
+import org.example.service.DnaResultCache;
 import org.example.service.MutantService;
+import org.example.service.SequenceAnalyzer;
+import org.example.service.StatsBroadcaster;
 import org.example.service.StatsService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * REST Controller for Mutant Detection API.
  * 
- * Provides two endpoints:
+ * Provides the endpoints:
  * - POST /mutant - Verify if a DNA sequence belongs to a mutant
+ * - POST /mutant/batch - Verify many DNA sequences in one request
+ * - POST /mutant/analysis - Count every sequence of a DNA, per direction
+ * - POST /mutant/delta - Re-analyze a previously analyzed DNA with a few rows edited
  * - GET /stats - Retrieve DNA verification statistics
+ * - GET /stats/stream - Receive the DNA verification statistics whenever they change (Server-Sent Events)
+ * - GET /stats/history - Retrieve the DNAs verified per second or per minute
+ * - GET /stats/cache - Retrieve the result cache counters
  */
 @RestController
 @RequiredArgsConstructor
@@ -35,6 +56,11 @@ public class MutantController {
 
     private final MutantService mutantService;
     private final StatsService statsService;
+    private final StatsBroadcaster statsBroadcaster;
+    private final SequenceAnalyzer sequenceAnalyzer;
+    private final DeltaAnalysisService deltaAnalysisService;
+    private final BatchAnalysisService batchAnalysisService;
+    private final DnaResultCache dnaResultCache;
 
     /**
      * POST /mutant - Verify if a DNA sequence belongs to a mutant.
@@ -86,6 +112,175 @@ public class MutantController {
         }
     }
 
+    /**
+     * POST /mutant/batch - Verify many DNA sequences in one request.
+     *
+     * Repeated matrices are analyzed once, already known DNAs are resolved
+     * with a single lookup, and the new ones are detected in parallel and
+     * stored in one batch. Invalid matrices get an error in their result
+     * without failing the rest of the batch.
+     *
+     * Request Body Example:
+     * {
+     *   "dnas": [
+     *     ["ATGCGA","CAGTGC","TTATGT","AGAAGG","CCCCTA","TCACTG"],
+     *     ["ATGCGA","CAGTGC","TTATTT","AGACGG","GCGTCA","TCACTG"]
+     *   ]
+     * }
+     *
+     * @param request DnaBatchRequest with up to mutant.batch.max-size matrices
+     * @return DnaBatchResponse with one result per matrix, in request order
+     */
+    @PostMapping("/mutant/batch")
+    @Operation(
+        summary = "Verify many DNAs in one request",
+        description = "Verifies an array of DNA sequences, returning the result of each one in the same order"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Batch verified (invalid DNAs carry an error in their result)",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = DnaBatchResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Empty batch or more DNAs than allowed",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<DnaBatchResponse> checkMutants(@Valid @RequestBody DnaBatchRequest request) {
+        log.info("Received batch verification request with {} DNAs", request.getDnas().size());
+
+        DnaBatchResponse response = batchAnalysisService.analyzeBatch(request.getDnas());
+
+        log.info("Batch result: {} mutant, {} human, {} invalid",
+                response.getCountMutantDna(), response.getCountHumanDna(), response.getCountInvalid());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * POST /mutant/analysis - Count every sequence of a DNA in a single pass.
+     *
+     * Does not stop at the second sequence and does not store anything:
+     * returns the number of sequences per direction, the mutant verdict for
+     * the requested sequence length/threshold and, optionally, the start
+     * cell of each sequence.
+     *
+     * Request Body Example:
+     * {
+     *   "dna": ["ATGCGA","CAGTGC","TTATGT","AGAAGG","CCCCTA","TCACTG"],
+     *   "sequence_length": 4,
+     *   "threshold": 2,
+     *   "include_positions": true
+     * }
+     *
+     * @param request DnaAnalysisRequest with the DNA and analysis options
+     * @return DnaAnalysisResponse with the full counts
+     */
+    @PostMapping("/mutant/analysis")
+    @Operation(
+        summary = "Count every sequence in a DNA",
+        description = "Counts all sequences of identical letters per direction in one pass, with configurable length and threshold"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Analysis completed",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = DnaAnalysisResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid DNA sequence format or analysis options",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<DnaAnalysisResponse> analyzeDna(@Valid @RequestBody DnaAnalysisRequest request) {
+        log.info("Received full analysis request");
+
+        DnaAnalysisResponse analysis = sequenceAnalyzer.analyze(
+                request.getDna(), request.getSequenceLength(), request.getThreshold(), request.isIncludePositions());
+
+        return ResponseEntity.ok(analysis);
+    }
+
+    /**
+     * POST /mutant/delta - Re-analyze a previously analyzed DNA with a few rows edited.
+     *
+     * The base matrix is referenced by its dna_hash: its size N, a dash and
+     * the 128-bit key of its rows as 32 hex digits (see DnaKey#toHex), which
+     * every response returns so edits can be chained. Matrices of at least
+     * mutant.delta.min-size rows sent to POST /mutant (new or not) can be used
+     * as a base while their summary is kept (see mutant.delta.max-bytes).
+     *
+     * Request Body Example:
+     * {
+     *   "base_hash": "300-3f1c...e9",
+     *   "rows": [{"index": 2, "row": "TTATTT"}]
+     * }
+     *
+     * @param request DnaDeltaRequest with the base hash and the edited rows
+     * @return 200 OK if the edited DNA is mutant, 403 Forbidden if human
+     */
+    @PostMapping("/mutant/delta")
+    @Operation(
+        summary = "Re-analyze a DNA from a few edited rows",
+        description = "Applies row edits to a previously analyzed DNA and only re-evaluates the sequences within 3 rows of each edit"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Edited DNA belongs to a mutant",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = DnaDeltaResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Edited DNA belongs to a human",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = DnaDeltaResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid row edits",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Base DNA unknown or no longer kept",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<DnaDeltaResponse> analyzeDelta(@Valid @RequestBody DnaDeltaRequest request) {
+        log.info("Received delta request with {} row edits", request.getRows().size());
+
+        DnaDeltaResponse result = deltaAnalysisService.analyzeDelta(request.getBaseHash(), request.getRows());
+
+        HttpStatus status = result.isMutant() ? HttpStatus.OK : HttpStatus.FORBIDDEN;
+        return ResponseEntity.status(status).body(result);
+    }
+
     /**
      * GET /stats - Retrieve DNA verification statistics.
      * 
@@ -121,4 +316,123 @@ public class MutantController {
         log.info("Returning stats: {}", stats);
         return ResponseEntity.ok(stats);
     }
+
+    /**
+     * GET /stats/stream - Receive the statistics whenever they change.
+     * 
+     * Server-Sent Events stream; each event is named "stats" and carries the
+     * same JSON as GET /stats:
+     * event:stats
+     * data:{"count_mutant_dna":40,"count_human_dna":100,"ratio":0.4}
+     * 
+     * @return SseEmitter that receives the current stats, then every change
+     */
+    @GetMapping(value = "/stats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+        summary = "Stream DNA verification statistics",
+        description = "Server-Sent Events stream that pushes the statistics right away and then at most once "
+                + "per interval, only when they changed"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Stream opened",
+            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Too many open streams (no body)",
+            content = @Content
+        )
+    })
+    public SseEmitter streamStats() {
+        log.info("Received stats stream request");
+        return statsBroadcaster.subscribe();
+    }
+
+    /**
+     * GET /stats/history - Retrieve the DNAs verified per second or per minute.
+     * 
+     * Response Example (GET /stats/history?window=3m):
+     * {
+     *   "window_seconds": 180,
+     *   "resolution_seconds": 1,
+     *   "count_mutant_dna": 12,
+     *   "count_human_dna": 30,
+     *   "points": [
+     *     {"timestamp": "2026-10-18T10:12:01Z", "count_mutant_dna": 0, "count_human_dna": 1, "ratio": 0.0},
+     *     ...
+     *   ]
+     * }
+     * 
+     * @param window Length of the window, e.g. 90s, 15m, 1h (default 15m)
+     * @param resolution second or minute (default: per second up to 15 minutes); per-minute windows
+     *                   beyond 24 hours come from dna_stats_rollups
+     * @return StatsHistoryResponse with one point per bucket
+     */
+    @GetMapping("/stats/history")
+    @Operation(
+        summary = "Get DNA verification statistics over time",
+        description = "Returns the mutant and human DNAs verified by this instance per second (last hour) "
+                + "or per minute (last 24 hours), served from memory; longer per-minute windows are read from "
+                + "the stored rollups of every instance"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "History retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = StatsHistoryResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid window or resolution",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<StatsHistoryResponse> getStatsHistory(
+            @RequestParam(defaultValue = "15m") String window,
+            @RequestParam(required = false) String resolution) {
+        log.info("Received stats history request: window={}, resolution={}", window, resolution);
+        return ResponseEntity.ok(statsService.getHistory(window, resolution));
+    }
+
+    /**
+     * GET /stats/cache - Retrieve the in-memory result cache counters.
+     * 
+     * Response Example:
+     * {
+     *   "hits": 700,
+     *   "misses": 300,
+     *   "hit_ratio": 0.7,
+     *   "evictions": 0,
+     *   "size": 300,
+     *   "capacity": 100000
+     * }
+     * 
+     * @return CacheStatsResponse with hit, miss and eviction counters
+     */
+    @GetMapping("/stats/cache")
+    @Operation(
+        summary = "Get result cache statistics",
+        description = "Returns the hits, misses and evictions of the in-memory cache of DNA results since startup"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Cache statistics retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = CacheStatsResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<CacheStatsResponse> getCacheStats() {
+        return ResponseEntity.ok(dnaResultCache.getStats());
+    }
 }
@@ -0,0 +1,61 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for the in-memory result cache counters.
+ *
+ * Represents the JSON response for GET /stats/cache:
+ * {
+ *   "hits": 700,
+ *   "misses": 300,
+ *   "hit_ratio": 0.7,
+ *   "evictions": 0,
+ *   "size": 300,
+ *   "capacity": 100000
+ * }
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsResponse {
+
+    /**
+     * Lookups answered from memory, without touching the database.
+     */
+    @JsonProperty("hits")
+    private long hits;
+
+    /**
+     * Lookups that went to the database (and possibly to detection).
+     */
+    @JsonProperty("misses")
+    private long misses;
+
+    /**
+     * hits / (hits + misses), 1.0 before the first lookup.
+     */
+    @JsonProperty("hit_ratio")
+    private double hitRatio;
+
+    /**
+     * Results dropped to stay within the capacity.
+     */
+    @JsonProperty("evictions")
+    private long evictions;
+
+    /**
+     * Results currently cached.
+     */
+    @JsonProperty("size")
+    private long size;
+
+    /**
+     * Maximum number of results kept (mutant.cache.max-size).
+     */
+    @JsonProperty("capacity")
+    private long capacity;
+}
@@ -0,0 +1,56 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.validation.ValidDnaSequence;
+
+/**
+ * Data Transfer Object for full DNA analysis requests.
+ *
+ * Represents the JSON payload received in POST /mutant/analysis:
+ * {
+ *   "dna": ["ATGCGA","CAGTGC","TTATGT","AGAAGG","CCCCTA","TCACTG"],
+ *   "sequence_length": 4,
+ *   "threshold": 2,
+ *   "include_positions": true
+ * }
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DnaAnalysisRequest {
+
+    /**
+     * DNA sequence represented as an array of strings (same rules as POST /mutant).
+     */
+    @JsonProperty("dna")
+    @ValidDnaSequence
+    private String[] dna;
+
+    /**
+     * Number of identical consecutive bases that form a sequence.
+     * Defaults to 4.
+     */
+    @JsonProperty("sequence_length")
+    @Min(value = 2, message = "sequence_length must be at least 2")
+    @Max(value = 1_000_000, message = "sequence_length must be at most 1000000")
+    private Integer sequenceLength;
+
+    /**
+     * Number of sequences from which the DNA is considered mutant.
+     * Defaults to 2 (more than one sequence).
+     */
+    @JsonProperty("threshold")
+    @Min(value = 1, message = "threshold must be at least 1")
+    private Integer threshold;
+
+    /**
+     * Whether to return the coordinates of every sequence found.
+     */
+    @JsonProperty("include_positions")
+    private boolean includePositions;
+}
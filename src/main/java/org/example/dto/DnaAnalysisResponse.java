@@ -0,0 +1,64 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Transfer Object for full DNA analysis results.
+ *
+ * Represents the JSON response for POST /mutant/analysis:
+ * {
+ *   "mutant": true,
+ *   "sequence_length": 4,
+ *   "threshold": 2,
+ *   "total_sequences": 3,
+ *   "sequences_by_direction": {"horizontal": 1, "vertical": 1, "main_diagonal": 1, "anti_diagonal": 0},
+ *   "positions": [{"direction": "horizontal", "row": 4, "col": 0}, ...],
+ *   "positions_truncated": false
+ * }
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DnaAnalysisResponse {
+
+    /**
+     * Whether total_sequences reached the threshold.
+     */
+    @JsonProperty("mutant")
+    private boolean mutant;
+
+    @JsonProperty("sequence_length")
+    private int sequenceLength;
+
+    @JsonProperty("threshold")
+    private int threshold;
+
+    /**
+     * Every window of sequence_length identical bases, overlapping windows included.
+     */
+    @JsonProperty("total_sequences")
+    private long totalSequences;
+
+    @JsonProperty("sequences_by_direction")
+    private Map<SequenceDirection, Long> sequencesByDirection;
+
+    /**
+     * Start cell of each sequence (only when include_positions was requested).
+     */
+    @JsonProperty("positions")
+    private List<SequencePosition> positions;
+
+    /**
+     * True when more sequences were found than positions returned.
+     */
+    @JsonProperty("positions_truncated")
+    private Boolean positionsTruncated;
+}
@@ -0,0 +1,43 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for batch verification requests.
+ *
+ * Represents the JSON payload received in POST /mutant/batch:
+ * {
+ *   "dnas": [
+ *     ["ATGCGA","CAGTGC","TTATGT","AGAAGG","CCCCTA","TCACTG"],
+ *     ["ATGCGA","CAGTGC","TTATTT","AGACGG","GCGTCA","TCACTG"]
+ *   ]
+ * }
+ *
+ * Each matrix is decoded with {@link DnaMatrixDeserializer.Unpooled}, so
+ * every element keeps its own buffer while the batch is processed. Matrices
+ * are validated one by one: an invalid matrix gets an error in its result
+ * instead of failing the whole batch.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DnaBatchRequest {
+
+    /**
+     * DNA matrices to verify, each as an array of strings (one per row).
+     */
+    @JsonProperty("dnas")
+    @NotEmpty(message = "At least one DNA is required")
+    @JsonDeserialize(contentUsing = DnaMatrixDeserializer.Unpooled.class)
+    @ArraySchema(schema = @Schema(type = "array", example = "[\"ATGCGA\",\"CAGTGC\",\"TTATGT\",\"AGAAGG\",\"CCCCTA\",\"TCACTG\"]"))
+    private List<DnaMatrix> dnas;
+}
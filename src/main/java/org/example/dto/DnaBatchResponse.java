@@ -0,0 +1,40 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for batch verification results.
+ *
+ * Represents the JSON response for POST /mutant/batch:
+ * {
+ *   "results": [{"dna_hash": "6-9a0b...41", "mutant": true}, {"error": "..."}],
+ *   "count_mutant_dna": 1,
+ *   "count_human_dna": 0,
+ *   "count_invalid": 1
+ * }
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DnaBatchResponse {
+
+    /**
+     * One result per submitted matrix, in the same order.
+     */
+    @JsonProperty("results")
+    private List<DnaBatchResult> results;
+
+    @JsonProperty("count_mutant_dna")
+    private long countMutantDna;
+
+    @JsonProperty("count_human_dna")
+    private long countHumanDna;
+
+    @JsonProperty("count_invalid")
+    private long countInvalid;
+}
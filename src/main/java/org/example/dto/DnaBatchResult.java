@@ -0,0 +1,35 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of one matrix of a POST /mutant/batch request, in request order:
+ * {"dna_hash": "6-9a0b...41", "mutant": true}
+ * or, for an invalid matrix:
+ * {"error": "Matrix must be square NxN. ..."}
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DnaBatchResult {
+
+    /**
+     * Id of the matrix (size, dash and key as 32 hex digits), as in the POST /mutant/delta response.
+     */
+    @JsonProperty("dna_hash")
+    private String dnaHash;
+
+    @JsonProperty("mutant")
+    private Boolean mutant;
+
+    /**
+     * Why the matrix was rejected; absent for valid matrices.
+     */
+    @JsonProperty("error")
+    private String error;
+}
@@ -0,0 +1,41 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for incremental re-analysis requests.
+ *
+ * Represents the JSON payload received in POST /mutant/delta:
+ * {
+ *   "base_hash": "300-3f1c...e9",
+ *   "rows": [{"index": 2, "row": "TTATTT"}]
+ * }
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DnaDeltaRequest {
+
+    /**
+     * dna_hash (size, dash and key as 32 hex digits) of the previously analyzed matrix the edits apply to.
+     */
+    @JsonProperty("base_hash")
+    @NotBlank(message = "base_hash is required")
+    private String baseHash;
+
+    /**
+     * Rows that differ from the base matrix.
+     */
+    @JsonProperty("rows")
+    @NotEmpty(message = "At least one row edit is required")
+    @Valid
+    private List<DnaRowEdit> rows;
+}
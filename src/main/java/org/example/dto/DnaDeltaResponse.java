@@ -0,0 +1,48 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for incremental re-analysis results.
+ *
+ * Represents the JSON response for POST /mutant/delta:
+ * {
+ *   "dna_hash": "300-9a0b...41",
+ *   "mutant": false,
+ *   "total_sequences": 1,
+ *   "rows_changed": 1,
+ *   "rows_rescanned": 4
+ * }
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DnaDeltaResponse {
+
+    /**
+     * Id of the edited matrix (size, dash and key as 32 hex digits); pass it as base_hash to chain further edits.
+     */
+    @JsonProperty("dna_hash")
+    private String dnaHash;
+
+    @JsonProperty("mutant")
+    private boolean mutant;
+
+    /**
+     * Windows of 4 identical bases in the edited matrix (no early termination).
+     */
+    @JsonProperty("total_sequences")
+    private long totalSequences;
+
+    @JsonProperty("rows_changed")
+    private int rowsChanged;
+
+    /**
+     * Start rows whose windows had to be recounted (at most 4 per edited row).
+     */
+    @JsonProperty("rows_rescanned")
+    private int rowsRescanned;
+}
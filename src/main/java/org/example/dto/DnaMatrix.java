@@ -0,0 +1,250 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.example.validation.DnaAlphabet;
+
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.function.IntFunction;
+
+/**
+ * NxN DNA matrix stored row-major in a single flat byte buffer.
+ *
+ * Built in one pass from the JSON request body by {@link DnaMatrixDeserializer}
+ * (no intermediate String per row): while the bases are copied into the buffer
+ * they are also checked and normalized to uppercase through the
+ * {@link DnaAlphabet} lookup table, so the first rule broken by the matrix
+ * is already known when deserialization ends ({@link #getViolation()}).
+ * Validation, hashing and detection all read this same buffer, and since
+ * "acgt" and "ACGT" decode to the same bytes they get the same key and
+ * verdict. Which cells were sent in lowercase is remembered on the side
+ * ({@link #wasLowercase(int)}) only for the records stored before DnaKey,
+ * whose hash was taken over the rows exactly as sent.
+ *
+ * The buffer may be longer than N² (it can be a reused per-thread buffer):
+ * only the first N² bytes belong to the matrix. A matrix decoded from a
+ * request is only valid while that request is being processed; use
+ * {@link #toRows()} to keep a copy.
+ *
+ * Serialized back to JSON as an array of strings, like {@code String[] dna}.
+ */
+@JsonDeserialize(using = DnaMatrixDeserializer.class)
+public final class DnaMatrix {
+
+    private static final int MIN_SIZE = 4;
+    private static final long MAX_CELLS = Integer.MAX_VALUE - 8;
+
+    private final byte[] cells;
+    private final int size;
+    private final String violation;
+    private final BitSet lowercase;
+
+    private DnaMatrix(byte[] cells, int size, String violation) {
+        this(cells, size, violation, null);
+    }
+
+    private DnaMatrix(byte[] cells, int size, String violation, BitSet lowercase) {
+        this.cells = cells;
+        this.size = size;
+        this.violation = violation;
+        this.lowercase = lowercase;
+    }
+
+    /**
+     * Builds a matrix from its rows, applying the same checks as the deserializer.
+     *
+     * @param rows Array of strings representing the NxN DNA matrix
+     * @return the matrix; check {@link #isValid()} before using its cells
+     */
+    public static DnaMatrix of(String[] rows) {
+        if (rows == null) {
+            return new DnaMatrix(new byte[0], 0, "DNA array cannot be null or empty");
+        }
+        Decoder decoder = new Decoder(byte[]::new);
+        for (String row : rows) {
+            if (row == null) {
+                decoder.nullRow();
+            } else {
+                decoder.row(row.toCharArray(), 0, row.length());
+            }
+        }
+        return decoder.finish();
+    }
+
+    /**
+     * Backing buffer, row-major: cell (row, col) is at index row * size + col.
+     * Only the first size² bytes are meaningful.
+     */
+    public byte[] cells() {
+        return cells;
+    }
+
+    /**
+     * Matrix size N (number of rows).
+     */
+    public int size() {
+        return size;
+    }
+
+    public byte get(int row, int col) {
+        return cells[row * size + col];
+    }
+
+    /**
+     * Whether any base was sent in lowercase.
+     */
+    public boolean hasLowercase() {
+        return lowercase != null;
+    }
+
+    /**
+     * Whether the base at the cell index (row * size + col) was sent in lowercase.
+     */
+    public boolean wasLowercase(int index) {
+        return lowercase != null && lowercase.get(index);
+    }
+
+    /**
+     * Whether the matrix is a square NxN matrix (N >= 4) of A, T, C, G only.
+     * Cells of a valid matrix are always uppercase.
+     */
+    public boolean isValid() {
+        return violation == null;
+    }
+
+    /**
+     * Message describing the first broken rule, or null if the matrix is valid.
+     */
+    public String getViolation() {
+        return violation;
+    }
+
+    /**
+     * Copies the matrix back into one String per row.
+     */
+    @JsonValue
+    public String[] toRows() {
+        String[] rows = new String[size];
+        for (int row = 0; row < size; row++) {
+            rows[row] = new String(cells, row * size, size, StandardCharsets.ISO_8859_1);
+        }
+        return rows;
+    }
+
+    /**
+     * Incremental single-pass decoder: rows are appended in order and copied
+     * straight into the cell buffer while being validated.
+     *
+     * A valid matrix has as many rows as characters per row, so the first row
+     * bounds the buffer to N² bytes. It starts at a few rows and doubles as rows
+     * arrive, so a body that announces a huge N but sends few rows cannot make
+     * the server allocate N² bytes up front. The checks and messages mirror
+     * ValidDnaSequenceValidator: the first failing row wins, and rows after a
+     * violation are only counted, not copied.
+     */
+    static final class Decoder {
+
+        private static final int INITIAL_ROWS = 64;
+
+        private final IntFunction<byte[]> allocator;
+        private byte[] cells;
+        private int width = -1;
+        private int rows;
+        private boolean firstRowNull;
+        private String rowViolation;
+        private BitSet lowercase;
+
+        /**
+         * @param allocator Returns a buffer of at least the requested number of bytes
+         */
+        Decoder(IntFunction<byte[]> allocator) {
+            this.allocator = allocator;
+        }
+
+        void nullRow() {
+            final int row = rows++;
+            if (row == 0) {
+                firstRowNull = true;
+            } else if (rowViolation == null) {
+                rowViolation = String.format("Row %d cannot be null", row);
+            }
+        }
+
+        void row(char[] chars, int offset, int length) {
+            final int row = rows++;
+            if (row == 0) {
+                width = length;
+                if ((long) length * length > MAX_CELLS) {
+                    rowViolation = String.format("DNA matrix cannot be larger than %d cells", MAX_CELLS);
+                    return;
+                }
+                cells = allocator.apply(Math.min(length, INITIAL_ROWS) * length);
+            }
+            if (firstRowNull || rowViolation != null || row >= width) {
+                return;
+            }
+            if (length != width) {
+                rowViolation = String.format(
+                    "Matrix must be square NxN. Expected %d characters in row %d, but got %d",
+                    width, row, length
+                );
+                return;
+            }
+
+            final int rowStart = row * width;
+            if (rowStart + width > cells.length) {
+                grow(rowStart + width);
+            }
+            final byte[] target = cells;
+            for (int col = 0; col < length; col++) {
+                byte base = DnaAlphabet.normalize(chars[offset + col]);
+                if (base == 0) {
+                    rowViolation = String.format(
+                        "Row %d contains invalid characters. Only A, T, C, G are allowed",
+                        row
+                    );
+                    return;
+                }
+                target[rowStart + col] = base;
+                if (base != chars[offset + col]) {
+                    if (lowercase == null) {
+                        lowercase = new BitSet();
+                    }
+                    lowercase.set(rowStart + col);
+                }
+            }
+        }
+
+        private void grow(int minCapacity) {
+            long doubled = Math.max((long) cells.length * 2, minCapacity);
+            byte[] grown = allocator.apply((int) Math.min(doubled, (long) width * width));
+            System.arraycopy(cells, 0, grown, 0, minCapacity - width);
+            cells = grown;
+        }
+
+        DnaMatrix finish() {
+            if (rows == 0) {
+                return new DnaMatrix(new byte[0], 0, "DNA array cannot be null or empty");
+            }
+            if (rows < MIN_SIZE) {
+                return new DnaMatrix(new byte[0], 0,
+                        String.format("DNA matrix must be at least %dx%d", MIN_SIZE, MIN_SIZE));
+            }
+            if (firstRowNull) {
+                return new DnaMatrix(new byte[0], 0, "Row 0 cannot be null");
+            }
+            if (width != rows) {
+                // Every row was checked against the width of row 0, which is the wrong N
+                return new DnaMatrix(new byte[0], 0, String.format(
+                    "Matrix must be square NxN. Expected %d characters in row %d, but got %d",
+                    rows, 0, width
+                ));
+            }
+            if (rowViolation != null) {
+                return new DnaMatrix(new byte[0], 0, rowViolation);
+            }
+            return new DnaMatrix(cells, rows, null, lowercase);
+        }
+    }
+}
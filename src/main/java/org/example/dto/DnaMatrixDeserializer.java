@@ -0,0 +1,94 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+import java.io.IOException;
+import java.util.function.IntFunction;
+
+/**
+ * Streaming Jackson deserializer for {@link DnaMatrix}.
+ *
+ * Reads the "dna" array token by token and copies each row straight from
+ * the parser's internal char buffer ({@link JsonParser#getTextCharacters()})
+ * into the matrix buffer: no String, String[] or char[][] is created for the
+ * rows. Bases are validated during that same copy.
+ *
+ * Matrices of up to {@value #MAX_POOLED_CELLS} cells reuse a per-thread
+ * buffer, so on a servlet worker thread a request allocates almost nothing
+ * for its matrix. Bigger matrices get a fresh buffer that is not retained.
+ * Where several matrices must stay valid at once (the elements of a list),
+ * use {@link Unpooled}, which gives every matrix its own buffer.
+ */
+public class DnaMatrixDeserializer extends JsonDeserializer<DnaMatrix> {
+
+    /**
+     * Largest buffer kept per thread: 64 KiB, i.e. matrices up to 256x256.
+     * Every servlet worker keeps its buffer for life, so this bounds the
+     * memory held by the pool (about 13 MB for 200 threads).
+     */
+    static final int MAX_POOLED_CELLS = 1 << 16;
+
+    private static final ThreadLocal<byte[]> BUFFER = new ThreadLocal<>();
+
+    @Override
+    public DnaMatrix deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (!parser.isExpectedStartArrayToken()) {
+            return (DnaMatrix) context.handleUnexpectedToken(DnaMatrix.class, parser);
+        }
+
+        DnaMatrix.Decoder decoder = new DnaMatrix.Decoder(allocator());
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == JsonToken.VALUE_STRING) {
+                decoder.row(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            } else if (token == JsonToken.VALUE_NULL) {
+                decoder.nullRow();
+            } else if (token.isScalarValue()) {
+                // Numbers and booleans are coerced to text, like String[] binding does
+                String text = parser.getText();
+                decoder.row(text.toCharArray(), 0, text.length());
+            } else {
+                return (DnaMatrix) context.handleUnexpectedToken(DnaMatrix.class, parser);
+            }
+        }
+        return decoder.finish();
+    }
+
+    /**
+     * Allocates the buffer of each decoded matrix.
+     */
+    IntFunction<byte[]> allocator() {
+        return DnaMatrixDeserializer::buffer;
+    }
+
+    /**
+     * Returns the calling thread's buffer if it is big enough, growing it up to
+     * MAX_POOLED_CELLS; larger requests get an unpooled buffer.
+     */
+    private static byte[] buffer(int cells) {
+        if (cells > MAX_POOLED_CELLS) {
+            return new byte[cells];
+        }
+        byte[] buffer = BUFFER.get();
+        if (buffer == null || buffer.length < cells) {
+            buffer = new byte[Math.max(cells, Math.min(MAX_POOLED_CELLS, buffer == null ? 0 : buffer.length * 2))];
+            BUFFER.set(buffer);
+        }
+        return buffer;
+    }
+
+    /**
+     * Variant that allocates a buffer per matrix, for lists of matrices
+     * (e.g. {@code @JsonDeserialize(contentUsing = DnaMatrixDeserializer.Unpooled.class)}).
+     */
+    public static class Unpooled extends DnaMatrixDeserializer {
+
+        @Override
+        IntFunction<byte[]> allocator() {
+            return byte[]::new;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package org.example.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -13,6 +15,9 @@ import org.example.validation.ValidDnaSequence;
  * {
  *   "dna": ["ATGCGA","CAGTGC","TTATGT","AGAAGG","CCCCTA","TCACTG"]
  * }
+ *
+ * The "dna" array is decoded straight into a flat {@link DnaMatrix} buffer
+ * instead of a String[] (see {@link DnaMatrixDeserializer}).
  */
 @Data
 @NoArgsConstructor
@@ -30,5 +35,13 @@ public class DnaRequest {
      */
     @JsonProperty("dna")
     @ValidDnaSequence
-    private String[] dna;
+    @ArraySchema(schema = @Schema(type = "string", example = "ATGCGA"))
+    private DnaMatrix dna;
+
+    /**
+     * Builds a request from the matrix rows.
+     */
+    public DnaRequest(String[] dna) {
+        this.dna = dna != null ? DnaMatrix.of(dna) : null;
+    }
 }
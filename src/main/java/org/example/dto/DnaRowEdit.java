@@ -0,0 +1,32 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * New content of one row of a previously analyzed DNA matrix.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DnaRowEdit {
+
+    /**
+     * 0-based index of the row to replace.
+     */
+    @JsonProperty("index")
+    @NotNull(message = "Row index is required")
+    @Min(value = 0, message = "Row index must be at least 0")
+    private Integer index;
+
+    /**
+     * New row: N characters, only A, T, C, G.
+     */
+    @JsonProperty("row")
+    @NotNull(message = "Row content is required")
+    private String row;
+}
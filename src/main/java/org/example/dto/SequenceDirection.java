@@ -0,0 +1,40 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Direction of a sequence of identical bases in the DNA matrix.
+ */
+public enum SequenceDirection {
+
+    /**
+     * Left to right along a row (→).
+     */
+    HORIZONTAL("horizontal"),
+
+    /**
+     * Top to bottom along a column (↓).
+     */
+    VERTICAL("vertical"),
+
+    /**
+     * Down and to the right (↘).
+     */
+    MAIN_DIAGONAL("main_diagonal"),
+
+    /**
+     * Down and to the left (↙).
+     */
+    ANTI_DIAGONAL("anti_diagonal");
+
+    private final String jsonName;
+
+    SequenceDirection(String jsonName) {
+        this.jsonName = jsonName;
+    }
+
+    @JsonValue
+    public String getJsonName() {
+        return jsonName;
+    }
+}
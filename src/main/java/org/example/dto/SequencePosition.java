@@ -0,0 +1,27 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Location of one sequence of identical bases.
+ *
+ * Coordinates are 0-based and point at the first cell of the sequence,
+ * which then continues in the given direction.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SequencePosition {
+
+    @JsonProperty("direction")
+    private SequenceDirection direction;
+
+    @JsonProperty("row")
+    private int row;
+
+    @JsonProperty("col")
+    private int col;
+}
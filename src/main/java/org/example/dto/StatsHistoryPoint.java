@@ -0,0 +1,47 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One bucket of the GET /stats/history time series:
+ * {
+ *   "timestamp": "2026-10-18T10:15:00Z",
+ *   "count_mutant_dna": 4,
+ *   "count_human_dna": 10,
+ *   "ratio": 0.4
+ * }
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatsHistoryPoint {
+
+    /**
+     * Start of the bucket (UTC).
+     */
+    @JsonProperty("timestamp")
+    private Instant timestamp;
+
+    /**
+     * Mutant DNAs stored during the bucket.
+     */
+    @JsonProperty("count_mutant_dna")
+    private long countMutantDna;
+
+    /**
+     * Human DNAs stored during the bucket.
+     */
+    @JsonProperty("count_human_dna")
+    private long countHumanDna;
+
+    /**
+     * count_mutant_dna / count_human_dna of the bucket, 0 if it has no human DNAs.
+     */
+    @JsonProperty("ratio")
+    private double ratio;
+}
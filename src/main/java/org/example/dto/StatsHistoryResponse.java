@@ -0,0 +1,57 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the GET /stats/history endpoint:
+ * {
+ *   "window_seconds": 180,
+ *   "resolution_seconds": 60,
+ *   "count_mutant_dna": 12,
+ *   "count_human_dna": 30,
+ *   "points": [
+ *     {"timestamp": "2026-10-18T10:13:00Z", "count_mutant_dna": 4, "count_human_dna": 10, "ratio": 0.4},
+ *     ...
+ *   ]
+ * }
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatsHistoryResponse {
+
+    /**
+     * Length of the window covered by the points.
+     */
+    @JsonProperty("window_seconds")
+    private long windowSeconds;
+
+    /**
+     * Length of each point.
+     */
+    @JsonProperty("resolution_seconds")
+    private long resolutionSeconds;
+
+    /**
+     * Mutant DNAs stored during the window.
+     */
+    @JsonProperty("count_mutant_dna")
+    private long countMutantDna;
+
+    /**
+     * Human DNAs stored during the window.
+     */
+    @JsonProperty("count_human_dna")
+    private long countHumanDna;
+
+    /**
+     * One point per bucket, oldest first; the last one is the current, partial bucket.
+     */
+    @JsonProperty("points")
+    private List<StatsHistoryPoint> points;
+}
@@ -0,0 +1,60 @@
+package org.example.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.util.HexFormat;
+
+/**
+ * Compact 128-bit dedupe key of a DNA matrix.
+ *
+ * Stored as three columns (dna_size INT, key_hi BIGINT, key_lo BIGINT)
+ * under one unique index: 20 bytes per entry instead of a 64-character
+ * VARCHAR. The matrix size is part of the key, so matrices of different
+ * shapes can never share a key even if their cells hash alike.
+ *
+ * Up to 8x8 hi/lo hold the packed matrix itself; larger matrices use a
+ * 128-bit hash (see DnaKeyHasher).
+ *
+ * @param size Matrix size N
+ * @param hi High 64 bits of the key
+ * @param lo Low 64 bits of the key
+ */
+@Embeddable
+public record DnaKey(
+        @Column(name = "dna_size") int size,
+        @Column(name = "key_hi") long hi,
+        @Column(name = "key_lo") long lo) {
+
+    /**
+     * Public id of a DNA: the size N, a dash and 32 hexadecimal digits of hi
+     * followed by lo (e.g. "6-0000000000000000000000000a3f29c4"). The size
+     * is part of it because up to 8x8 hi/lo alone do not tell the shapes
+     * apart: every all-A matrix packs to zero.
+     */
+    public String toHex() {
+        HexFormat hex = HexFormat.of();
+        return size + "-" + hex.toHexDigits(hi) + hex.toHexDigits(lo);
+    }
+
+    /**
+     * 64-bit hash of the key with every bit mixed, to place keys in hash
+     * tables and shards (the packed keys of small matrices are far from uniform).
+     */
+    public long spread() {
+        return spread(size, hi, lo);
+    }
+
+    /**
+     * Same as {@link #spread()} for a key given by its parts.
+     */
+    public static long spread(int size, long hi, long lo) {
+        long h = hi * 0x9e3779b97f4a7c15L ^ lo ^ size;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -11,13 +11,18 @@ import lombok.ToString;
  * JPA Entity representing a DNA verification record.
  * 
  * This entity stores:
- * - A unique hash of the DNA sequence (to avoid duplicates)
+ * - A unique key of the DNA sequence (to avoid duplicates)
  * - Whether the DNA belongs to a mutant or human
  * 
  * Only one record per unique DNA sequence is stored in the database.
+ *
+ * Records are identified by a compact {@link DnaKey}. Rows written before
+ * the key existed only have the legacy dna_hash; they are re-keyed the
+ * first time their DNA is analyzed again (see LegacyDnaRecordMigrator).
  */
 @Entity
 @Table(name = "dna_records", indexes = {
+    @Index(name = "idx_dna_key", columnList = "dna_size, key_hi, key_lo", unique = true),
     @Index(name = "idx_dna_hash", columnList = "dna_hash", unique = true)
 })
 @Getter
@@ -32,10 +37,18 @@ public class DnaRecord {
     private Long id;
 
     /**
-     * SHA-256 hash of the DNA sequence.
+     * Compact key of the DNA sequence.
      * Used to identify unique DNA sequences and prevent duplicates.
+     * Null only for legacy records not migrated yet.
      */
-    @Column(name = "dna_hash", nullable = false, unique = true, length = 64)
+    @Embedded
+    private DnaKey key;
+
+    /**
+     * Legacy SHA-256 hash of the DNA sequence (hexadecimal).
+     * Only set on records written before {@link DnaKey}; cleared once migrated.
+     */
+    @Column(name = "dna_hash", unique = true, length = 64)
     private String dnaHash;
 
     /**
@@ -48,6 +61,17 @@ public class DnaRecord {
     /**
      * Constructor for creating a new DNA record.
      * 
+     * @param key The compact key of the DNA sequence
+     * @param isMutant Whether the DNA is from a mutant
+     */
+    public DnaRecord(DnaKey key, Boolean isMutant) {
+        this.key = key;
+        this.isMutant = isMutant;
+    }
+
+    /**
+     * Constructor for a legacy DNA record identified by its SHA-256 hash.
+     * 
      * @param dnaHash The SHA-256 hash of the DNA sequence
      * @param isMutant Whether the DNA is from a mutant
      */
@@ -0,0 +1,12 @@
+package org.example.exception;
+
+/**
+ * Custom exception thrown when a request refers to a DNA matrix that is
+ * not known to the service (e.g. an unknown or evicted base_hash).
+ */
+public class DnaNotFoundException extends RuntimeException {
+
+    public DnaNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -82,6 +82,46 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    /**
+     * Handles DnaNotFoundException (custom exception).
+     * 
+     * Returns 404 Not Found when a request refers to an unknown DNA.
+     */
+    @ExceptionHandler(DnaNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleDnaNotFoundException(
+            DnaNotFoundException ex,
+            HttpServletRequest request) {
+        
+        log.warn("DNA not found on {}: {}", request.getRequestURI(), ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.NOT_FOUND.value(),
+                "Not Found",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    }
+
+    /**
+     * Handles TooManyStreamsException (custom exception).
+     * 
+     * Returns 503 Service Unavailable when no more streams can be opened,
+     * without a body: an EventSource only accepts text/event-stream, which
+     * an ErrorResponse cannot be written as.
+     */
+    @ExceptionHandler(TooManyStreamsException.class)
+    public ResponseEntity<Void> handleTooManyStreamsException(
+            TooManyStreamsException ex,
+            HttpServletRequest request) {
+        
+        log.warn("Stream refused on {}: {}", request.getRequestURI(), ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
+
     /**
      * Handles DnaHashCalculationException (custom exception).
      * 
@@ -0,0 +1,12 @@
+package org.example.exception;
+
+/**
+ * Custom exception thrown when a stream is requested while the maximum
+ * number of open streams is reached (e.g. GET /stats/stream).
+ */
+public class TooManyStreamsException extends RuntimeException {
+
+    public TooManyStreamsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.repository;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process counts of stored DNA records, one {@link LongAdder} per outcome.
+ *
+ * Every {@link DnaRecordStore} reports here each record it actually inserts
+ * (a key already stored is not counted), so reading the counts is O(1) and
+ * lock-free however many records are stored.
+ *
+ * The counts only see this instance's inserts, and an insert is counted when
+ * its statement runs, before its transaction commits. {@link #reconcile}
+ * corrects the drift against the store (see StatsService).
+ *
+ * Inserts are also counted per second (last hour) and per minute (last 24
+ * hours) in {@link TimeBucketedCounts} rings, for GET /stats/history; the
+ * drift corrected by a reconcile is not attributed to any bucket.
+ */
+@Component
+public class DnaRecordCounters {
+
+    static final int SECONDS_KEPT = 3600;
+    static final int MINUTES_KEPT = 1440;
+
+    private final LongAdder mutants = new LongAdder();
+    private final LongAdder humans = new LongAdder();
+    private final TimeBucketedCounts perSecond = new TimeBucketedCounts(1_000, SECONDS_KEPT);
+    private final TimeBucketedCounts perMinute = new TimeBucketedCounts(60_000, MINUTES_KEPT);
+
+    /**
+     * Counts records just inserted.
+     *
+     * @param isMutant Result of the records
+     * @param count Number of records inserted
+     */
+    public void recordInserted(boolean isMutant, long count) {
+        (isMutant ? mutants : humans).add(count);
+        long now = System.currentTimeMillis();
+        perSecond.add(now, isMutant, count);
+        perMinute.add(now, isMutant, count);
+    }
+
+    public long getMutants() {
+        return mutants.sum();
+    }
+
+    public long getHumans() {
+        return humans.sum();
+    }
+
+    public TimeBucketedCounts getPerSecond() {
+        return perSecond;
+    }
+
+    public TimeBucketedCounts getPerMinute() {
+        return perMinute;
+    }
+
+    /**
+     * Moves the counts to the totals read from the store.
+     *
+     * Adds the difference instead of resetting, so an insert counted while
+     * reconciling is not lost.
+     *
+     * @return total drift corrected (0 if the counts were already exact)
+     */
+    public long reconcile(long storedMutants, long storedHumans) {
+        long mutantDrift = storedMutants - mutants.sum();
+        long humanDrift = storedHumans - humans.sum();
+        mutants.add(mutantDrift);
+        humans.add(humanDrift);
+        return Math.abs(mutantDrift) + Math.abs(humanDrift);
+    }
+}
@@ -1,8 +1,10 @@
 package org.example.repository;
 
+import org.example.entity.DnaKey;
 import org.example.entity.DnaRecord;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -11,33 +13,41 @@ import java.util.Optional;
  * Repository interface for DnaRecord entity.
  * 
  * Provides database operations for DNA verification records.
- * Spring Data JPA automatically implements this interface.
+ * Spring Data JPA automatically implements this interface; the
+ * insert-if-absent upserts and the counts (dna_stats_counters) come from
+ * {@link DnaRecordRepositoryImpl}.
+ * This is the default {@link DnaRecordStore} (mutant.persistence.store=jpa).
  */
 @Repository
-public interface DnaRecordRepository extends JpaRepository<DnaRecord, Long> {
+public interface DnaRecordRepository extends JpaRepository<DnaRecord, Long>, DnaRecordRepositoryCustom, DnaRecordStore {
+
+    @Override
+    default Optional<Boolean> find(DnaKey key) {
+        return findByKey(key).map(DnaRecord::getIsMutant);
+    }
 
     /**
-     * Find a DNA record by its hash.
+     * Find a DNA record by its key.
      * Used to check if a DNA sequence has already been verified.
      * 
-     * @param dnaHash The SHA-256 hash of the DNA sequence
+     * @param key The compact key of the DNA sequence
      * @return Optional containing the DnaRecord if found
      */
-    Optional<DnaRecord> findByDnaHash(String dnaHash);
+    default Optional<DnaRecord> findByKey(DnaKey key) {
+        return findByKeyParts(key.size(), key.hi(), key.lo());
+    }
 
     /**
-     * Count the number of mutant DNA records.
-     * 
-     * @return The total count of mutant DNAs
+     * Find a DNA record by the columns of its key (served by the idx_dna_key index).
      */
-    @Query("SELECT COUNT(d) FROM DnaRecord d WHERE d.isMutant = true")
-    long countMutants();
+    @Query("SELECT d FROM DnaRecord d WHERE d.key.size = :size AND d.key.hi = :hi AND d.key.lo = :lo")
+    Optional<DnaRecord> findByKeyParts(@Param("size") int size, @Param("hi") long hi, @Param("lo") long lo);
 
     /**
-     * Count the number of human DNA records.
+     * Find a legacy DNA record by its SHA-256 hash.
      * 
-     * @return The total count of human DNAs
+     * @param dnaHash The SHA-256 hash of the DNA sequence
+     * @return Optional containing the DnaRecord if found
      */
-    @Query("SELECT COUNT(d) FROM DnaRecord d WHERE d.isMutant = false")
-    long countHumans();
+    Optional<DnaRecord> findByDnaHash(String dnaHash);
 }
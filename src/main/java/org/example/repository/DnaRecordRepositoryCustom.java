@@ -0,0 +1,48 @@
+package org.example.repository;
+
+import org.example.entity.DnaKey;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Custom operations of {@link DnaRecordRepository} written in plain JDBC.
+ */
+public interface DnaRecordRepositoryCustom {
+
+    /**
+     * Finds the stored results of several DNAs with one query per
+     * {@value DnaRecordRepositoryImpl#MAX_KEYS_PER_QUERY} keys.
+     *
+     * @param keys Distinct keys to look up
+     * @return stored result by key, only for the keys that are stored
+     */
+    Map<DnaKey, Boolean> findResults(Collection<DnaKey> keys);
+
+    /**
+     * Stores a DNA result unless a record with the same key already exists,
+     * in a single statement that never fails on a duplicate key.
+     *
+     * @param key The compact key of the DNA sequence
+     * @param isMutant Result to store
+     * @return the stored result: isMutant if inserted, the existing record's result otherwise
+     */
+    boolean insertIfAbsent(DnaKey key, boolean isMutant);
+
+    /**
+     * Stores several DNA results in one JDBC batch, skipping keys already stored.
+     *
+     * @param records Result to store by key
+     */
+    void insertAllIfAbsent(Map<DnaKey, Boolean> records);
+
+    /**
+     * Count the number of mutant DNA records (sum of the dna_stats_counters stripes).
+     */
+    long countMutants();
+
+    /**
+     * Count the number of human DNA records (sum of the dna_stats_counters stripes).
+     */
+    long countHumans();
+}
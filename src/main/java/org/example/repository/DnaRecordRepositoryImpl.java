@@ -0,0 +1,276 @@
+package org.example.repository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.example.entity.DnaKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC implementation of {@link DnaRecordRepositoryCustom}, picked up by
+ * Spring Data as the fragment of {@link DnaRecordRepository}.
+ *
+ * The insert-if-absent statement depends on the database:
+ * - H2: MERGE INTO ... USING ... WHEN NOT MATCHED THEN INSERT
+ * - PostgreSQL: INSERT ... ON CONFLICT (dna_size, key_hi, key_lo) DO NOTHING
+ * - anything else: a plain INSERT
+ *
+ * It bypasses the Hibernate entity lifecycle (no persist, no flush, no
+ * IDENTITY round trip, and JDBC batching, which the IDENTITY id of
+ * DnaRecord disables in Hibernate). If the statement reports no row
+ * inserted, or a concurrent insert still wins the unique index, the
+ * existing result is read back instead of failing.
+ *
+ * Batches count what they insert from the JDBC update counts, except on
+ * PostgreSQL: with reWriteBatchedInserts the driver reports
+ * SUCCESS_NO_INFO for every row, inserted or skipped by ON CONFLICT, so
+ * batches there are sent as multi-row INSERT ... RETURNING statements
+ * instead, and only the rows returned are counted.
+ *
+ * Every record actually inserted is counted in the dna_stats_counters
+ * stripes of the same database, in the same transaction
+ * ({@link StripedStatsCounters}), and in the in-process
+ * {@link DnaRecordCounters}; countMutants and countHumans sum the stripes.
+ */
+@Slf4j
+public class DnaRecordRepositoryImpl implements DnaRecordRepositoryCustom {
+
+    static final String H2_MERGE_SQL = """
+            MERGE INTO dna_records t
+            USING (VALUES (CAST(? AS INT), CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BOOLEAN)))
+                AS s(dna_size, key_hi, key_lo, is_mutant)
+            ON t.dna_size = s.dna_size AND t.key_hi = s.key_hi AND t.key_lo = s.key_lo
+            WHEN NOT MATCHED THEN INSERT (dna_size, key_hi, key_lo, is_mutant)
+                VALUES (s.dna_size, s.key_hi, s.key_lo, s.is_mutant)""";
+    static final String POSTGRES_INSERT_SQL =
+            "INSERT INTO dna_records (dna_size, key_hi, key_lo, is_mutant) VALUES (?, ?, ?, ?) "
+            + "ON CONFLICT (dna_size, key_hi, key_lo) DO NOTHING";
+    static final String POSTGRES_INSERT_MANY_SQL =
+            "INSERT INTO dna_records (dna_size, key_hi, key_lo, is_mutant) VALUES %s "
+            + "ON CONFLICT (dna_size, key_hi, key_lo) DO NOTHING RETURNING is_mutant";
+    static final String INSERT_SQL =
+            "INSERT INTO dna_records (dna_size, key_hi, key_lo, is_mutant) VALUES (?, ?, ?, ?)";
+    private static final String SELECT_SQL =
+            "SELECT is_mutant FROM dna_records WHERE dna_size = ? AND key_hi = ? AND key_lo = ?";
+    private static final String SELECT_MANY_SQL =
+            "SELECT dna_size, key_hi, key_lo, is_mutant FROM dna_records WHERE (dna_size, key_hi, key_lo) IN ";
+
+    // Keys per multi-key lookup (3 bind parameters each) or multi-row insert (4 each)
+    static final int MAX_KEYS_PER_QUERY = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DnaRecordCounters dnaRecordCounters;
+    private final StripedStatsCounters stripedCounters;
+    private volatile String insertSql;
+
+    public DnaRecordRepositoryImpl(
+            JdbcTemplate jdbcTemplate,
+            DnaRecordCounters dnaRecordCounters,
+            @Value("${mutant.stats.stripes:16}") int stripes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dnaRecordCounters = dnaRecordCounters;
+        this.stripedCounters = new StripedStatsCounters(jdbcTemplate, stripes);
+    }
+
+    /**
+     * Creates the dna_stats_counters table if missing (dna_records must exist).
+     */
+    @PostConstruct
+    public void init() {
+        stripedCounters.init();
+    }
+
+    /**
+     * Looks the keys up with a row-value IN list, e.g.
+     * WHERE (dna_size, key_hi, key_lo) IN ((?, ?, ?), (?, ?, ?)), which the
+     * primary key / unique index on the key columns answers directly.
+     */
+    @Override
+    public Map<DnaKey, Boolean> findResults(Collection<DnaKey> keys) {
+        Map<DnaKey, Boolean> results = new HashMap<>();
+        List<DnaKey> pending = new ArrayList<>(keys);
+        for (int from = 0; from < pending.size(); from += MAX_KEYS_PER_QUERY) {
+            List<DnaKey> chunk = pending.subList(from, Math.min(pending.size(), from + MAX_KEYS_PER_QUERY));
+            String sql = SELECT_MANY_SQL
+                    + "(" + String.join(", ", Collections.nCopies(chunk.size(), "(?, ?, ?)")) + ")";
+            Object[] args = new Object[3 * chunk.size()];
+            for (int i = 0; i < chunk.size(); i++) {
+                DnaKey key = chunk.get(i);
+                args[3 * i] = key.size();
+                args[3 * i + 1] = key.hi();
+                args[3 * i + 2] = key.lo();
+            }
+            jdbcTemplate.query(sql, row -> {
+                results.put(new DnaKey(row.getInt(1), row.getLong(2), row.getLong(3)), row.getBoolean(4));
+            }, args);
+        }
+        return results;
+    }
+
+    @Override
+    public boolean insertIfAbsent(DnaKey key, boolean isMutant) {
+        try {
+            int inserted = jdbcTemplate.update(insertSql(), key.size(), key.hi(), key.lo(), isMutant);
+            if (inserted > 0) {
+                counted(isMutant, 1);
+                return isMutant;
+            }
+        } catch (DuplicateKeyException e) {
+            log.debug("DNA record {} inserted concurrently", key.toHex());
+        }
+        Boolean stored = jdbcTemplate.queryForObject(SELECT_SQL, Boolean.class, key.size(), key.hi(), key.lo());
+        return Boolean.TRUE.equals(stored);
+    }
+
+    /**
+     * Runs the insert-if-absent statement for every record in one JDBC batch
+     * (multi-row statements on PostgreSQL, see the class comment).
+     * With a plain INSERT a key already stored fails the batch
+     * (DuplicateKeyException); callers retry such a batch row by row.
+     */
+    @Override
+    public void insertAllIfAbsent(Map<DnaKey, Boolean> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<DnaKey, Boolean>> batch = new ArrayList<>(records.entrySet());
+        final String sql = insertSql();
+        if (POSTGRES_INSERT_SQL.equals(sql)) {
+            insertAllReturning(batch);
+            return;
+        }
+        int[] inserted = jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                Map.Entry<DnaKey, Boolean> record = batch.get(i);
+                statement.setInt(1, record.getKey().size());
+                statement.setLong(2, record.getKey().hi());
+                statement.setLong(3, record.getKey().lo());
+                statement.setBoolean(4, record.getValue());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return batch.size();
+            }
+        });
+
+        // A plain INSERT that did not fail inserted every row; MERGE may have skipped the rows it gives no count for
+        final boolean noInfoInserted = INSERT_SQL.equals(sql);
+        long mutants = 0;
+        long humans = 0;
+        int unknown = 0;
+        for (int i = 0; i < inserted.length; i++) {
+            if (inserted[i] == Statement.SUCCESS_NO_INFO && !noInfoInserted) {
+                unknown++;
+            } else if (inserted[i] > 0 || inserted[i] == Statement.SUCCESS_NO_INFO) {
+                if (batch.get(i).getValue()) {
+                    mutants++;
+                } else {
+                    humans++;
+                }
+            }
+        }
+        if (unknown > 0) {
+            log.warn("The driver gave no update count for {} of {} records; they are not counted in /stats",
+                    unknown, inserted.length);
+        }
+        counted(true, mutants);
+        counted(false, humans);
+    }
+
+    /**
+     * PostgreSQL: inserts the records with multi-row INSERT ... ON CONFLICT DO
+     * NOTHING RETURNING statements, which return exactly the rows inserted.
+     */
+    private void insertAllReturning(List<Map.Entry<DnaKey, Boolean>> batch) {
+        long mutants = 0;
+        long humans = 0;
+        for (int from = 0; from < batch.size(); from += MAX_KEYS_PER_QUERY) {
+            List<Map.Entry<DnaKey, Boolean>> chunk =
+                    batch.subList(from, Math.min(batch.size(), from + MAX_KEYS_PER_QUERY));
+            Object[] args = new Object[4 * chunk.size()];
+            for (int i = 0; i < chunk.size(); i++) {
+                DnaKey key = chunk.get(i).getKey();
+                args[4 * i] = key.size();
+                args[4 * i + 1] = key.hi();
+                args[4 * i + 2] = key.lo();
+                args[4 * i + 3] = chunk.get(i).getValue();
+            }
+            for (Boolean isMutant : jdbcTemplate.queryForList(insertManySql(chunk.size()), Boolean.class, args)) {
+                if (Boolean.TRUE.equals(isMutant)) {
+                    mutants++;
+                } else {
+                    humans++;
+                }
+            }
+        }
+        counted(true, mutants);
+        counted(false, humans);
+    }
+
+    static String insertManySql(int rows) {
+        return String.format(POSTGRES_INSERT_MANY_SQL, String.join(", ", Collections.nCopies(rows, "(?, ?, ?, ?)")));
+    }
+
+    @Override
+    public long countMutants() {
+        return stripedCounters.sum(true);
+    }
+
+    @Override
+    public long countHumans() {
+        return stripedCounters.sum(false);
+    }
+
+    private void counted(boolean isMutant, long inserted) {
+        if (inserted > 0) {
+            stripedCounters.increment(isMutant, inserted);
+            dnaRecordCounters.recordInserted(isMutant, inserted);
+        }
+    }
+
+    private String insertSql() {
+        String sql = insertSql;
+        if (sql == null) {
+            sql = insertSqlFor(databaseProductName());
+            insertSql = sql;
+        }
+        return sql;
+    }
+
+    static String insertSqlFor(String databaseProductName) {
+        if ("H2".equalsIgnoreCase(databaseProductName)) {
+            return H2_MERGE_SQL;
+        }
+        if ("PostgreSQL".equalsIgnoreCase(databaseProductName)) {
+            return POSTGRES_INSERT_SQL;
+        }
+        return INSERT_SQL;
+    }
+
+    private String databaseProductName() {
+        try {
+            return JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                    DatabaseMetaData::getDatabaseProductName);
+        } catch (MetaDataAccessException e) {
+            log.warn("Could not detect the database, using a plain INSERT: {}", e.getMessage());
+            return "";
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.repository;
+
+import org.example.entity.DnaKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Storage of DNA results: key → mutant or human.
+ *
+ * Implementations (selected by mutant.persistence.store):
+ * - jpa (default): {@link DnaRecordRepository}, the dna_records table
+ * - log: {@link LogStructuredDnaRecordStore}, an embedded append-only log
+ *   with a memory-mapped hash index
+ * - sharded: {@link ShardedDnaRecordStore}, dna_records tables spread over
+ *   several databases
+ *
+ * A key is stored at most once; the first result stored for it wins.
+ */
+public interface DnaRecordStore {
+
+    /**
+     * Finds the stored result of a DNA.
+     *
+     * @param key The compact key of the DNA sequence
+     * @return the stored result (true if mutant), or empty if the DNA was never stored
+     */
+    Optional<Boolean> find(DnaKey key);
+
+    /**
+     * Finds the stored results of several DNAs at once (a single query per
+     * few hundred keys with the jpa store).
+     *
+     * @param keys Distinct keys to look up
+     * @return stored result by key, only for the keys that are stored
+     */
+    Map<DnaKey, Boolean> findResults(Collection<DnaKey> keys);
+
+    /**
+     * Stores a DNA result unless a record with the same key already exists,
+     * without failing on a duplicate key.
+     *
+     * @param key The compact key of the DNA sequence
+     * @param isMutant Result to store
+     * @return the stored result: isMutant if inserted, the existing record's result otherwise
+     */
+    boolean insertIfAbsent(DnaKey key, boolean isMutant);
+
+    /**
+     * Stores several DNA results in one batch, skipping keys already stored.
+     *
+     * @param records Result to store by key
+     */
+    void insertAllIfAbsent(Map<DnaKey, Boolean> records);
+
+    /**
+     * Stores several DNA results in one batch and one transaction, or, if the
+     * batch fails (e.g. a plain INSERT hit a key stored concurrently), one by
+     * one with {@link #insertIfAbsent}, each row in its own transaction, so
+     * that a row that cannot be stored does not take the others with it.
+     *
+     * @param records Result to store by key
+     * @param transactionTemplate Runs the batch and each row in a transaction
+     * @return the stored result by key, leaving out the records that could not be
+     *         stored even on their own
+     */
+    default Map<DnaKey, Boolean> insertAllOrEachIfAbsent(
+            Map<DnaKey, Boolean> records, TransactionTemplate transactionTemplate) {
+        Logger log = LoggerFactory.getLogger(DnaRecordStore.class);
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertAllIfAbsent(records));
+            return records;
+        } catch (DataAccessException e) {
+            if (e instanceof DuplicateKeyException) {
+                // Stored concurrently by another request, worker or instance: the result stored first wins
+                log.debug("Batch insert of {} DNA records hit a duplicate, inserting one by one", records.size());
+            } else {
+                log.warn("Batch insert of {} DNA records failed ({}), inserting one by one",
+                        records.size(), e.getMessage());
+            }
+        }
+        Map<DnaKey, Boolean> stored = new LinkedHashMap<>();
+        records.forEach((key, isMutant) -> {
+            try {
+                stored.put(key, transactionTemplate.execute(status -> insertIfAbsent(key, isMutant)));
+            } catch (DataAccessException e) {
+                log.error("Could not store DNA record {}: {}", key.toHex(), e.getMessage());
+            }
+        });
+        return stored;
+    }
+
+    /**
+     * Count the number of mutant DNA records.
+     *
+     * @return The total count of mutant DNAs
+     */
+    long countMutants();
+
+    /**
+     * Count the number of human DNA records.
+     *
+     * @return The total count of human DNAs
+     */
+    long countHumans();
+}
@@ -0,0 +1,492 @@
+package org.example.repository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.entity.DnaKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Embedded {@link DnaRecordStore} (mutant.persistence.store=log): an
+ * append-only log of results plus a memory-mapped hash index, both in
+ * mutant.persistence.log.dir. No SQL, no transaction, no entity.
+ *
+ * Files (big-endian):
+ * - records.log, the source of truth: magic "DNAL" (int), version (int),
+ *   reserved (long), then one 24-byte entry per stored DNA:
+ *   size | mutant flag in bit 31 (int), key hi (long), key lo (long), CRC32C of those 20 bytes (int)
+ * - records.idx: 64-byte header (magic "DNAI", version, capacity, clean flag,
+ *   log length covered, mutant and human counts), then an open-addressing
+ *   hash table with linear probing, 20 bytes per slot laid out like a log
+ *   entry without the CRC (size 0 = empty slot)
+ *
+ * A lookup reads one or two slots of the mapping; an insert appends one entry
+ * to the log and then fills a slot. A batch is appended with a single write.
+ * The counters are kept as the records are stored, so they cost O(1); each
+ * insert is also reported to {@link DnaRecordCounters}.
+ *
+ * Restarts: the clean flag of the index is cleared (and forced to disk) when
+ * the store opens, and set again by a graceful close together with the log
+ * length and the counters. After a graceful close the index is just mapped
+ * again; otherwise (crash, missing or foreign index) it is rebuilt by
+ * replaying the log, which stops at the first torn or corrupt entry and
+ * truncates the log there.
+ *
+ * Durability: an entry is handed to the OS before the call returns, so it
+ * survives a crash of the process. With mutant.persistence.log.fsync=true it
+ * is also forced to disk first (once per batch), which survives power loss
+ * at the cost of an fsync per write.
+ *
+ * The index doubles once 70% full. A single mapping is limited to 2 GB, which
+ * caps the index at 2^26 slots, i.e. about 47M DNAs.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = "mutant.persistence.store", havingValue = "log")
+@Slf4j
+public class LogStructuredDnaRecordStore implements DnaRecordStore {
+
+    static final String LOG_FILE = "records.log";
+    static final String INDEX_FILE = "records.idx";
+    static final int LOG_MAGIC = 0x444e414c; // "DNAL"
+    static final int INDEX_MAGIC = 0x444e4149; // "DNAI"
+    static final int VERSION = 1;
+    static final int LOG_HEADER_BYTES = Integer.BYTES * 2 + Long.BYTES;
+    static final int SLOT_BYTES = Integer.BYTES + Long.BYTES * 2;
+    static final int ENTRY_BYTES = SLOT_BYTES + Integer.BYTES;
+    static final int INDEX_HEADER_BYTES = 64;
+    static final int MIN_CAPACITY = 1 << 16;
+    static final int MAX_CAPACITY = 1 << 26;
+
+    private static final int MUTANT_FLAG = 0x8000_0000;
+    private static final double MAX_LOAD = 0.7;
+    private static final int REPLAY_BUFFER_ENTRIES = 1 << 16;
+
+    // Index header layout (after magic and version)
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int CLEAN_OFFSET = 12;
+    private static final int LOG_LENGTH_OFFSET = 16;
+    private static final int MUTANTS_OFFSET = 24;
+    private static final int HUMANS_OFFSET = 32;
+
+    private final Path dir;
+    private final Path logPath;
+    private final Path indexPath;
+    private final boolean fsync;
+    private final DnaRecordCounters dnaRecordCounters;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final CRC32C checksum = new CRC32C();
+    private final ByteBuffer entryBuffer = ByteBuffer.allocate(ENTRY_BYTES);
+
+    // Guarded by lock: the mapping is replaced when the index grows
+    private FileChannel logChannel;
+    private long logLength;
+    private MappedByteBuffer index;
+    private int capacity;
+
+    // Written under the write lock only, read without locking
+    private volatile long mutants;
+    private volatile long humans;
+
+    public LogStructuredDnaRecordStore(
+            @Value("${mutant.persistence.log.dir:data/dna-records}") String dir,
+            @Value("${mutant.persistence.log.fsync:false}") boolean fsync,
+            DnaRecordCounters dnaRecordCounters) {
+        this.dir = Path.of(dir);
+        this.logPath = this.dir.resolve(LOG_FILE);
+        this.indexPath = this.dir.resolve(INDEX_FILE);
+        this.fsync = fsync;
+        this.dnaRecordCounters = dnaRecordCounters;
+    }
+
+    /**
+     * Opens the log and maps the index, rebuilding it from the log if it was not closed cleanly.
+     *
+     * @throws DataAccessResourceFailureException if the files cannot be opened or the log is not a DNA record log
+     */
+    @PostConstruct
+    public void open() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            Files.createDirectories(dir);
+            logChannel = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            openLog();
+            boolean rebuilt = !mapIndex();
+            if (rebuilt) {
+                rebuildIndex();
+            }
+            writeIndexHeader(false);
+            log.info("Opened DNA record store {} ({} mutants, {} humans{}) in {} ms", dir, mutants, humans,
+                    rebuilt ? ", index rebuilt from the log" : "", (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            throw new DataAccessResourceFailureException("Could not open DNA record store " + dir, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Forces the log and the index to disk and marks the index clean, so the next open skips the replay.
+     */
+    @PreDestroy
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (logChannel == null) {
+                return;
+            }
+            logChannel.force(true);
+            index.force();
+            writeIndexHeader(true);
+            logChannel.close();
+            logChannel = null;
+            index = null;
+            log.info("Closed DNA record store {} ({} mutants, {} humans)", dir, mutants, humans);
+        } catch (IOException e) {
+            log.warn("Could not close DNA record store {} cleanly, the index will be rebuilt: {}",
+                    dir, e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Boolean> find(DnaKey key) {
+        lock.readLock().lock();
+        try {
+            int sizeAndFlag = index.getInt(slotOf(key.size(), key.hi(), key.lo()));
+            return sizeAndFlag == 0 ? Optional.empty() : Optional.of((sizeAndFlag & MUTANT_FLAG) != 0);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Map<DnaKey, Boolean> findResults(Collection<DnaKey> keys) {
+        Map<DnaKey, Boolean> results = new HashMap<>();
+        for (DnaKey key : keys) {
+            find(key).ifPresent(isMutant -> results.put(key, isMutant));
+        }
+        return results;
+    }
+
+    @Override
+    public boolean insertIfAbsent(DnaKey key, boolean isMutant) {
+        lock.writeLock().lock();
+        try {
+            int stored = index.getInt(slotOf(key.size(), key.hi(), key.lo()));
+            if (stored != 0) {
+                return (stored & MUTANT_FLAG) != 0;
+            }
+            int sizeAndFlag = sizeAndFlag(key, isMutant);
+            entryBuffer.clear();
+            putEntry(entryBuffer, sizeAndFlag, key.hi(), key.lo());
+            append(entryBuffer.flip());
+            put(sizeAndFlag, key.hi(), key.lo());
+            dnaRecordCounters.recordInserted(isMutant, 1);
+            return isMutant;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void insertAllIfAbsent(Map<DnaKey, Boolean> records) {
+        lock.writeLock().lock();
+        try {
+            List<DnaKey> added = new ArrayList<>(records.size());
+            ByteBuffer batch = ByteBuffer.allocate(records.size() * ENTRY_BYTES);
+            records.forEach((key, isMutant) -> {
+                if (index.getInt(slotOf(key.size(), key.hi(), key.lo())) == 0) {
+                    putEntry(batch, sizeAndFlag(key, isMutant), key.hi(), key.lo());
+                    added.add(key);
+                }
+            });
+            if (added.isEmpty()) {
+                return;
+            }
+            // Indexed only once the whole batch is in the log
+            append(batch.flip());
+            for (DnaKey key : added) {
+                boolean isMutant = records.get(key);
+                put(sizeAndFlag(key, isMutant), key.hi(), key.lo());
+                dnaRecordCounters.recordInserted(isMutant, 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public long countMutants() {
+        return mutants;
+    }
+
+    @Override
+    public long countHumans() {
+        return humans;
+    }
+
+    private static int sizeAndFlag(DnaKey key, boolean isMutant) {
+        return key.size() | (isMutant ? MUTANT_FLAG : 0);
+    }
+
+    /**
+     * Writes the log header of a new log, or checks the header of an existing one.
+     */
+    private void openLog() throws IOException {
+        long size = logChannel.size();
+        ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_BYTES);
+        if (size < LOG_HEADER_BYTES) {
+            // New log, or one torn before its first entry
+            logChannel.truncate(0);
+            header.putInt(LOG_MAGIC).putInt(VERSION).putLong(0L);
+            logChannel.write(header.flip(), 0);
+            logChannel.force(true);
+        } else {
+            logChannel.read(header, 0);
+            header.flip();
+            if (header.getInt() != LOG_MAGIC || header.getInt() != VERSION) {
+                throw new DataAccessResourceFailureException(logPath + " is not a DNA record log");
+            }
+        }
+        logLength = logChannel.size();
+    }
+
+    /**
+     * Maps the existing index if it was closed cleanly and covers the whole log.
+     *
+     * @return false if the index has to be rebuilt
+     */
+    private boolean mapIndex() throws IOException {
+        if (!Files.isRegularFile(indexPath)) {
+            return false;
+        }
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if (size < INDEX_HEADER_BYTES || size > Integer.MAX_VALUE) {
+                log.warn("Ignoring DNA record index {}: unexpected length", indexPath);
+                return false;
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        int slots = mapped.getInt(CAPACITY_OFFSET);
+        if (mapped.getInt(0) != INDEX_MAGIC || mapped.getInt(4) != VERSION
+                || Integer.bitCount(slots) != 1 || slots > MAX_CAPACITY || mapped.capacity() != INDEX_HEADER_BYTES + slots * SLOT_BYTES) {
+            log.warn("Ignoring DNA record index {}: unknown format", indexPath);
+            return false;
+        }
+        if (mapped.getInt(CLEAN_OFFSET) != 1 || mapped.getLong(LOG_LENGTH_OFFSET) != logLength) {
+            log.warn("DNA record store {} was not closed cleanly, rebuilding its index", dir);
+            return false;
+        }
+        index = mapped;
+        capacity = slots;
+        mutants = mapped.getLong(MUTANTS_OFFSET);
+        humans = mapped.getLong(HUMANS_OFFSET);
+        return true;
+    }
+
+    /**
+     * Replaces the index with one built from the log, up to the first invalid entry.
+     */
+    private void rebuildIndex() throws IOException {
+        long entries = (logLength - LOG_HEADER_BYTES) / ENTRY_BYTES;
+        int slots = MIN_CAPACITY;
+        while (slots < MAX_CAPACITY && entries > slots * MAX_LOAD) {
+            slots <<= 1;
+        }
+        index = createIndex(slots);
+        capacity = slots;
+        mutants = 0;
+        humans = 0;
+
+        ByteBuffer buffer = ByteBuffer.allocate(REPLAY_BUFFER_ENTRIES * ENTRY_BYTES);
+        long offset = LOG_HEADER_BYTES;
+        replay:
+        while (offset < logLength) {
+            buffer.clear();
+            while (buffer.hasRemaining() && logChannel.read(buffer, offset + buffer.position()) > 0) {
+                // Fill the buffer up to the end of the log
+            }
+            buffer.flip();
+            if (buffer.remaining() < ENTRY_BYTES) {
+                break;
+            }
+            while (buffer.remaining() >= ENTRY_BYTES) {
+                checksum.reset();
+                checksum.update(buffer.array(), buffer.position(), SLOT_BYTES);
+                int sizeAndFlag = buffer.getInt();
+                long hi = buffer.getLong();
+                long lo = buffer.getLong();
+                if (buffer.getInt() != (int) checksum.getValue() || (sizeAndFlag & ~MUTANT_FLAG) == 0) {
+                    break replay;
+                }
+                if (index.getInt(slotOf(sizeAndFlag & ~MUTANT_FLAG, hi, lo)) == 0) {
+                    put(sizeAndFlag, hi, lo);
+                }
+                offset += ENTRY_BYTES;
+            }
+        }
+
+        if (offset < logLength) {
+            log.warn("Truncating DNA record log {} at byte {}: {} bytes after the last valid entry",
+                    logPath, offset, logLength - offset);
+            logChannel.truncate(offset);
+            logLength = offset;
+        }
+    }
+
+    /**
+     * Creates an empty index file with the given number of slots and maps it.
+     * It is written next to the current index and moved over it, so the
+     * current one stays intact until the new one exists.
+     */
+    private MappedByteBuffer createIndex(int slots) throws IOException {
+        Path temp = indexPath.resolveSibling(INDEX_FILE + ".tmp");
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, INDEX_HEADER_BYTES + (long) slots * SLOT_BYTES);
+        }
+        mapped.putInt(0, INDEX_MAGIC).putInt(4, VERSION).putInt(CAPACITY_OFFSET, slots);
+        Files.move(temp, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return mapped;
+    }
+
+    /**
+     * Doubles the index, re-inserting every stored key into the new table.
+     */
+    private void grow() {
+        if (capacity == MAX_CAPACITY) {
+            throw new DataAccessResourceFailureException(
+                    "DNA record store " + dir + " is full (" + (mutants + humans) + " records)");
+        }
+        MappedByteBuffer previous = index;
+        int previousCapacity = capacity;
+        try {
+            index = createIndex(capacity << 1);
+        } catch (IOException e) {
+            throw new DataAccessResourceFailureException("Could not grow DNA record index " + indexPath, e);
+        }
+        capacity <<= 1;
+        for (int slot = 0; slot < previousCapacity; slot++) {
+            int position = INDEX_HEADER_BYTES + slot * SLOT_BYTES;
+            int sizeAndFlag = previous.getInt(position);
+            if (sizeAndFlag != 0) {
+                long hi = previous.getLong(position + Integer.BYTES);
+                long lo = previous.getLong(position + Integer.BYTES + Long.BYTES);
+                writeSlot(slotOf(sizeAndFlag & ~MUTANT_FLAG, hi, lo), sizeAndFlag, hi, lo);
+            }
+        }
+        writeIndexHeader(false);
+        log.info("Grew DNA record index {} to {} slots", indexPath, capacity);
+    }
+
+    /**
+     * Position of the slot holding the key, or of the empty slot where it belongs.
+     */
+    private int slotOf(int size, long hi, long lo) {
+        final int mask = capacity - 1;
+        int slot = (int) DnaKey.spread(size, hi, lo) & mask;
+        while (true) {
+            int position = INDEX_HEADER_BYTES + slot * SLOT_BYTES;
+            int sizeAndFlag = index.getInt(position);
+            if (sizeAndFlag == 0
+                    || ((sizeAndFlag & ~MUTANT_FLAG) == size
+                        && index.getLong(position + Integer.BYTES) == hi
+                        && index.getLong(position + Integer.BYTES + Long.BYTES) == lo)) {
+                return position;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Indexes a key known to be absent and counts it, growing the index first if needed.
+     */
+    private void put(int sizeAndFlag, long hi, long lo) {
+        if (mutants + humans + 1 > capacity * MAX_LOAD) {
+            grow();
+        }
+        writeSlot(slotOf(sizeAndFlag & ~MUTANT_FLAG, hi, lo), sizeAndFlag, hi, lo);
+        if ((sizeAndFlag & MUTANT_FLAG) != 0) {
+            mutants++;
+        } else {
+            humans++;
+        }
+    }
+
+    private void writeSlot(int position, int sizeAndFlag, long hi, long lo) {
+        index.putLong(position + Integer.BYTES, hi);
+        index.putLong(position + Integer.BYTES + Long.BYTES, lo);
+        // Written last: a non-zero size marks the slot as used
+        index.putInt(position, sizeAndFlag);
+    }
+
+    private void putEntry(ByteBuffer buffer, int sizeAndFlag, long hi, long lo) {
+        int start = buffer.position();
+        buffer.putInt(sizeAndFlag).putLong(hi).putLong(lo);
+        checksum.reset();
+        checksum.update(buffer.array(), start, SLOT_BYTES);
+        buffer.putInt((int) checksum.getValue());
+    }
+
+    private void append(ByteBuffer entries) {
+        final long start = logLength;
+        try {
+            while (entries.hasRemaining()) {
+                logLength += logChannel.write(entries, logLength);
+            }
+            if (fsync) {
+                logChannel.force(false);
+            }
+        } catch (IOException e) {
+            // Drop a partly written batch, so later entries are not appended after a torn one
+            logLength = start;
+            try {
+                logChannel.truncate(start);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw new DataAccessResourceFailureException("Could not append to DNA record log " + logPath, e);
+        }
+    }
+
+    /**
+     * Writes the header fields that change and forces the header to disk.
+     *
+     * @param clean true on a graceful close, when the index matches the log
+     */
+    private void writeIndexHeader(boolean clean) {
+        index.putLong(LOG_LENGTH_OFFSET, logLength)
+                .putLong(MUTANTS_OFFSET, mutants)
+                .putLong(HUMANS_OFFSET, humans)
+                .putInt(CLEAN_OFFSET, clean ? 1 : 0);
+        index.force(0, INDEX_HEADER_BYTES);
+    }
+}
@@ -0,0 +1,237 @@
+package org.example.repository;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.entity.DnaKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToLongFunction;
+
+/**
+ * {@link DnaRecordStore} that spreads the records over K databases
+ * (mutant.persistence.store=sharded), each with its own connection pool and
+ * its own dna_records table, so that inserts into different shards never
+ * contend on the same unique index, lock or pool.
+ *
+ * - Shard i is the database at String.format(mutant.persistence.shards.url, i),
+ *   e.g. jdbc:h2:file:./data/dna-shard-%d gives one local H2 file per shard.
+ * - A key goes to the shard picked by the top 32 bits of its spread hash
+ *   ({@link DnaKey#spread()}), scaled to K; the routing only depends on the key
+ *   and K, so K must not change once records are stored.
+ * - Inserts go through {@link DnaRecordRepositoryImpl} on the shard, so the
+ *   same insert-if-absent statement is used as with the single database.
+ * - A batch is split by shard and the per-shard batches run in parallel,
+ *   each in its own transaction.
+ * - Each shard keeps its own dna_stats_counters stripes; counts sum the
+ *   stripes of every shard in parallel and add up the results.
+ *
+ * The table of each shard is created at startup if missing; the key columns
+ * are its primary key (no surrogate id).
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = "mutant.persistence.store", havingValue = "sharded")
+@Slf4j
+public class ShardedDnaRecordStore implements DnaRecordStore {
+
+    static final String CREATE_TABLE_SQL = "CREATE TABLE IF NOT EXISTS dna_records ("
+            + "dna_size INT NOT NULL, key_hi BIGINT NOT NULL, key_lo BIGINT NOT NULL, is_mutant BOOLEAN NOT NULL, "
+            + "PRIMARY KEY (dna_size, key_hi, key_lo))";
+    private static final String SELECT_SQL =
+            "SELECT is_mutant FROM dna_records WHERE dna_size = ? AND key_hi = ? AND key_lo = ?";
+
+    private final int shardCount;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int poolSize;
+    private final int stripes;
+    private final DnaRecordCounters dnaRecordCounters;
+
+    private final List<Shard> shards = new ArrayList<>();
+    private ExecutorService executor;
+
+    public ShardedDnaRecordStore(
+            @Value("${mutant.persistence.shards.count:4}") int shardCount,
+            @Value("${mutant.persistence.shards.url:jdbc:h2:file:./data/dna-shard-%d}") String url,
+            @Value("${mutant.persistence.shards.username:sa}") String username,
+            @Value("${mutant.persistence.shards.password:}") String password,
+            @Value("${mutant.persistence.shards.pool-size:4}") int poolSize,
+            @Value("${mutant.stats.stripes:16}") int stripes,
+            DnaRecordCounters dnaRecordCounters) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("mutant.persistence.shards.count must be at least 1");
+        }
+        this.shardCount = shardCount;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.poolSize = poolSize;
+        this.stripes = stripes;
+        this.dnaRecordCounters = dnaRecordCounters;
+    }
+
+    /**
+     * Opens a connection pool per shard and creates the missing tables and counter stripes.
+     */
+    @PostConstruct
+    public void open() {
+        for (int i = 0; i < shardCount; i++) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("dna-shard-" + i);
+            dataSource.setJdbcUrl(String.format(url, i));
+            dataSource.setUsername(username);
+            dataSource.setPassword(password);
+            dataSource.setMaximumPoolSize(poolSize);
+            Shard shard = new Shard(dataSource, dnaRecordCounters, stripes);
+            shards.add(shard);
+            shard.jdbcTemplate.execute(CREATE_TABLE_SQL);
+            shard.upserts.init();
+        }
+        AtomicInteger threads = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(shardCount, task -> {
+            Thread thread = new Thread(task, "dna-shard-worker-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("Sharded DNA record store: {} shards at {}", shardCount, url);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+        shards.forEach(shard -> shard.dataSource.close());
+        shards.clear();
+    }
+
+    /**
+     * Shard of a key: the top 32 bits of its spread hash scaled to [0, shards).
+     */
+    static int shardOf(DnaKey key, int shards) {
+        return (int) (((key.spread() >>> 32) * shards) >>> 32);
+    }
+
+    private Shard shard(DnaKey key) {
+        return shards.get(shardOf(key, shardCount));
+    }
+
+    @Override
+    public Optional<Boolean> find(DnaKey key) {
+        List<Boolean> stored = shard(key).jdbcTemplate.queryForList(SELECT_SQL, Boolean.class,
+                key.size(), key.hi(), key.lo());
+        return stored.isEmpty() ? Optional.empty() : Optional.of(Boolean.TRUE.equals(stored.get(0)));
+    }
+
+    /**
+     * Splits the keys by shard and looks each group up on its shard, in parallel.
+     */
+    @Override
+    public Map<DnaKey, Boolean> findResults(Collection<DnaKey> keys) {
+        Map<Shard, List<DnaKey>> byShard = new HashMap<>();
+        keys.forEach(key -> byShard.computeIfAbsent(shard(key), shard -> new ArrayList<>()).add(key));
+        List<CompletableFuture<Map<DnaKey, Boolean>>> lookups = byShard.entrySet().stream()
+                .map(group -> CompletableFuture.supplyAsync(
+                        () -> group.getKey().upserts.findResults(group.getValue()), executor))
+                .toList();
+        join(lookups.toArray(CompletableFuture[]::new));
+        Map<DnaKey, Boolean> results = new HashMap<>();
+        lookups.forEach(lookup -> results.putAll(lookup.join()));
+        return results;
+    }
+
+    @Override
+    public boolean insertIfAbsent(DnaKey key, boolean isMutant) {
+        Shard shard = shard(key);
+        return Boolean.TRUE.equals(shard.transactionTemplate.execute(
+                status -> shard.upserts.insertIfAbsent(key, isMutant)));
+    }
+
+    @Override
+    public void insertAllIfAbsent(Map<DnaKey, Boolean> records) {
+        Map<Shard, Map<DnaKey, Boolean>> byShard = new HashMap<>();
+        records.forEach((key, isMutant) -> byShard.computeIfAbsent(shard(key), shard -> new HashMap<>())
+                .put(key, isMutant));
+        if (byShard.size() == 1) {
+            byShard.forEach(Shard::insertAll);
+            return;
+        }
+        join(byShard.entrySet().stream()
+                .map(batch -> CompletableFuture.runAsync(() -> batch.getKey().insertAll(batch.getValue()), executor))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    @Override
+    public long countMutants() {
+        return sum(shard -> shard.upserts.countMutants());
+    }
+
+    @Override
+    public long countHumans() {
+        return sum(shard -> shard.upserts.countHumans());
+    }
+
+    /**
+     * Runs the count on every shard in parallel and adds up the results.
+     */
+    private long sum(ToLongFunction<Shard> count) {
+        List<CompletableFuture<Long>> counts = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> count.applyAsLong(shard), executor))
+                .toList();
+        join(counts.toArray(CompletableFuture[]::new));
+        return counts.stream().mapToLong(CompletableFuture::join).sum();
+    }
+
+    /**
+     * Waits for every task, rethrowing the failure of the first one that failed.
+     */
+    private static void join(CompletableFuture<?>[] tasks) {
+        try {
+            CompletableFuture.allOf(tasks).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Shard {
+
+        private final HikariDataSource dataSource;
+        private final JdbcTemplate jdbcTemplate;
+        private final TransactionTemplate transactionTemplate;
+        private final DnaRecordRepositoryImpl upserts;
+
+        private Shard(HikariDataSource dataSource, DnaRecordCounters dnaRecordCounters, int stripes) {
+            this.dataSource = dataSource;
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+            this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+            this.upserts = new DnaRecordRepositoryImpl(jdbcTemplate, dnaRecordCounters, stripes);
+        }
+
+        private void insertAll(Map<DnaKey, Boolean> records) {
+            transactionTemplate.executeWithoutResult(status -> upserts.insertAllIfAbsent(records));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.repository;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-minute insert counts flushed from {@link DnaRecordCounters} to the
+ * dna_stats_rollups table of the main database, so the history outlives the
+ * 24 hours kept in memory and the process.
+ *
+ * Every row carries the instance that counted it (mutant.stats.instance-id,
+ * host name and process id by default), and an instance writes each minute
+ * once, so a minute has at most one row per instance. Rows are only ever
+ * inserted; {@link #findBuckets} sums them across instances.
+ */
+@Repository
+public class StatsRollupRepository {
+
+    static final String CREATE_TABLE_SQL = "CREATE TABLE IF NOT EXISTS dna_stats_rollups ("
+            + "bucket_start TIMESTAMP WITH TIME ZONE NOT NULL, resolution_seconds INT NOT NULL, "
+            + "mutants BIGINT NOT NULL, humans BIGINT NOT NULL, instance_id VARCHAR(255) DEFAULT '' NOT NULL)";
+    // Tables created before the instance column
+    private static final String ADD_INSTANCE_SQL =
+            "ALTER TABLE dna_stats_rollups ADD COLUMN IF NOT EXISTS instance_id VARCHAR(255) DEFAULT '' NOT NULL";
+    private static final String CREATE_INDEX_SQL =
+            "CREATE INDEX IF NOT EXISTS idx_stats_rollups_bucket ON dna_stats_rollups (bucket_start)";
+    private static final String INSERT_SQL = "INSERT INTO dna_stats_rollups "
+            + "(bucket_start, resolution_seconds, mutants, humans, instance_id) VALUES (?, ?, ?, ?, ?)";
+    private static final String SELECT_SQL = "SELECT bucket_start, SUM(mutants), SUM(humans) FROM dna_stats_rollups "
+            + "WHERE resolution_seconds = ? AND bucket_start >= ? AND bucket_start < ? "
+            + "AND (instance_id <> ? OR bucket_start < ?) GROUP BY bucket_start";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String instanceId;
+
+    public StatsRollupRepository(
+            JdbcTemplate jdbcTemplate,
+            @Value("${mutant.stats.instance-id:}") String instanceId) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.instanceId = instanceId == null || instanceId.isBlank() ? defaultInstanceId() : instanceId;
+    }
+
+    private static String defaultInstanceId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "localhost";
+        }
+        return host + ":" + ProcessHandle.current().pid();
+    }
+
+    @PostConstruct
+    public void init() {
+        jdbcTemplate.execute(CREATE_TABLE_SQL);
+        jdbcTemplate.execute(ADD_INSTANCE_SQL);
+        jdbcTemplate.execute(CREATE_INDEX_SQL);
+    }
+
+    /**
+     * Inserts one row per bucket, for this instance.
+     *
+     * @param buckets Buckets to store
+     * @param resolutionSeconds Length of the buckets
+     */
+    public void insertAll(List<TimeBucketedCounts.Counts> buckets, int resolutionSeconds) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, buckets, buckets.size(), (statement, bucket) -> {
+            statement.setObject(1, toTimestamp(bucket.startMillis()));
+            statement.setInt(2, resolutionSeconds);
+            statement.setLong(3, bucket.mutants());
+            statement.setLong(4, bucket.humans());
+            statement.setString(5, instanceId);
+        });
+    }
+
+    /**
+     * Counts of every instance per bucket, for the buckets with stored rows.
+     *
+     * @param fromMillis Start of the first bucket (inclusive)
+     * @param toMillis End of the last bucket (exclusive)
+     * @param ownUntilMillis This instance's rows are left out from this time on (the
+     *                       caller reads those buckets from memory)
+     * @param resolutionSeconds Length of the buckets
+     * @return counts by bucket start (epoch milliseconds)
+     */
+    public Map<Long, TimeBucketedCounts.Counts> findBuckets(
+            long fromMillis, long toMillis, long ownUntilMillis, int resolutionSeconds) {
+        Map<Long, TimeBucketedCounts.Counts> buckets = new HashMap<>();
+        jdbcTemplate.query(SELECT_SQL, row -> {
+            long start = row.getObject(1, OffsetDateTime.class).toInstant().toEpochMilli();
+            buckets.put(start, new TimeBucketedCounts.Counts(start, row.getLong(2), row.getLong(3)));
+        }, resolutionSeconds, toTimestamp(fromMillis), toTimestamp(toMillis), instanceId, toTimestamp(ownUntilMillis));
+        return buckets;
+    }
+
+    private static OffsetDateTime toTimestamp(long epochMillis) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+}
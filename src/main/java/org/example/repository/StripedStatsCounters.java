@@ -0,0 +1,92 @@
+package org.example.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Record counts kept in the dna_stats_counters table of a database, so that
+ * every instance sharing it reads the same exact totals without counting
+ * dna_records.
+ *
+ * The table holds S stripes per outcome (is_mutant, stripe, record_count).
+ * An insert adds to one stripe picked at random, in the transaction of the
+ * insert, so concurrent inserts rarely update the same row; a total is the
+ * sum of at most S rows.
+ *
+ * The first instance that finds the table empty seeds stripe 0 with a count
+ * of dna_records; missing stripes (e.g. after S was raised) start at 0.
+ */
+@Slf4j
+final class StripedStatsCounters {
+
+    static final String CREATE_TABLE_SQL = "CREATE TABLE IF NOT EXISTS dna_stats_counters ("
+            + "is_mutant BOOLEAN NOT NULL, stripe INT NOT NULL, record_count BIGINT NOT NULL, "
+            + "PRIMARY KEY (is_mutant, stripe))";
+    private static final String INSERT_STRIPE_SQL =
+            "INSERT INTO dna_stats_counters (is_mutant, stripe, record_count) VALUES (?, ?, ?)";
+    private static final String INCREMENT_SQL =
+            "UPDATE dna_stats_counters SET record_count = record_count + ? WHERE is_mutant = ? AND stripe = ?";
+    private static final String SUM_SQL =
+            "SELECT COALESCE(SUM(record_count), 0) FROM dna_stats_counters WHERE is_mutant = ?";
+    private static final String COUNT_RECORDS_SQL = "SELECT COUNT(*) FROM dna_records WHERE is_mutant = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int stripes;
+
+    StripedStatsCounters(JdbcTemplate jdbcTemplate, int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("mutant.stats.stripes must be at least 1");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.stripes = stripes;
+    }
+
+    /**
+     * Creates the table and the missing stripes. dna_records must exist.
+     */
+    void init() {
+        jdbcTemplate.execute(CREATE_TABLE_SQL);
+        List<String> existing = jdbcTemplate.query("SELECT is_mutant, stripe FROM dna_stats_counters",
+                (row, rowNum) -> row.getBoolean(1) + ":" + row.getInt(2));
+        boolean seed = existing.isEmpty();
+        Set<String> present = new HashSet<>(existing);
+        for (boolean isMutant : new boolean[]{true, false}) {
+            long seedCount = seed
+                    ? jdbcTemplate.queryForObject(COUNT_RECORDS_SQL, Long.class, isMutant)
+                    : 0;
+            for (int stripe = 0; stripe < stripes; stripe++) {
+                if (present.contains(isMutant + ":" + stripe)) {
+                    continue;
+                }
+                try {
+                    jdbcTemplate.update(INSERT_STRIPE_SQL, isMutant, stripe, stripe == 0 ? seedCount : 0);
+                } catch (DuplicateKeyException e) {
+                    log.debug("Stats stripe {}:{} created by another instance", isMutant, stripe);
+                }
+            }
+        }
+        if (seed) {
+            log.info("Seeded dna_stats_counters ({} stripes per outcome) from dna_records", stripes);
+        }
+    }
+
+    /**
+     * Adds inserted records to a random stripe, in the caller's transaction.
+     */
+    void increment(boolean isMutant, long count) {
+        jdbcTemplate.update(INCREMENT_SQL, count, isMutant, ThreadLocalRandom.current().nextInt(stripes));
+    }
+
+    /**
+     * Sums the stripes of one outcome.
+     */
+    long sum(boolean isMutant) {
+        return jdbcTemplate.queryForObject(SUM_SQL, Long.class, isMutant);
+    }
+}
@@ -0,0 +1,124 @@
+package org.example.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free ring buffer of mutant/human counts per fixed time bucket,
+ * e.g. 3600 one-second buckets for the last hour.
+ *
+ * Bucket b (time / bucket length) lives in slot b % slots. Adding to a bucket
+ * whose slot still holds an older one swaps a fresh bucket in with a
+ * compare-and-set, so writers never lock and the oldest bucket is dropped
+ * as the ring wraps around. Reads return zero for buckets nobody wrote.
+ */
+public final class TimeBucketedCounts {
+
+    private final long bucketMillis;
+    private final AtomicReferenceArray<Bucket> slots;
+
+    /**
+     * @param bucketMillis Length of a bucket
+     * @param slots Buckets kept, i.e. the history covers slots * bucketMillis
+     */
+    public TimeBucketedCounts(long bucketMillis, int slots) {
+        this.bucketMillis = bucketMillis;
+        this.slots = new AtomicReferenceArray<>(slots);
+    }
+
+    /**
+     * Adds records to the bucket of the given time.
+     *
+     * @param nowMillis Time of the insert (epoch milliseconds)
+     * @param isMutant Result of the records
+     * @param count Number of records
+     */
+    public void add(long nowMillis, boolean isMutant, long count) {
+        final long index = Math.floorDiv(nowMillis, bucketMillis);
+        final int slot = (int) Math.floorMod(index, (long) slots.length());
+        Bucket bucket = slots.get(slot);
+        while (bucket == null || bucket.index != index) {
+            if (bucket != null && bucket.index > index) {
+                // The ring already moved past this bucket
+                return;
+            }
+            Bucket fresh = new Bucket(index);
+            if (slots.compareAndSet(slot, bucket, fresh)) {
+                bucket = fresh;
+            } else {
+                bucket = slots.get(slot);
+            }
+        }
+        (isMutant ? bucket.mutants : bucket.humans).add(count);
+    }
+
+    /**
+     * Counts of one bucket.
+     *
+     * @param index Bucket index (epoch milliseconds / bucket length)
+     * @return its counts, zero if it was never written or has been overwritten
+     */
+    public Counts get(long index) {
+        Bucket bucket = slots.get((int) Math.floorMod(index, (long) slots.length()));
+        boolean present = bucket != null && bucket.index == index;
+        return new Counts(index * bucketMillis,
+                present ? bucket.mutants.sum() : 0, present ? bucket.humans.sum() : 0);
+    }
+
+    /**
+     * Counts of the last buckets, oldest first, ending with the (partial) bucket of nowMillis.
+     *
+     * @param count Buckets wanted, at most the number of slots
+     */
+    public List<Counts> last(long nowMillis, int count) {
+        final long current = indexOf(nowMillis);
+        final int buckets = Math.min(count, slots.length());
+        List<Counts> result = new ArrayList<>(buckets);
+        for (long index = current - buckets + 1; index <= current; index++) {
+            result.add(get(index));
+        }
+        return result;
+    }
+
+    /**
+     * Index of the bucket holding the given time.
+     */
+    public long indexOf(long timeMillis) {
+        return Math.floorDiv(timeMillis, bucketMillis);
+    }
+
+    public long getBucketMillis() {
+        return bucketMillis;
+    }
+
+    public int getSlots() {
+        return slots.length();
+    }
+
+    /**
+     * Records counted in one bucket.
+     *
+     * @param startMillis Start of the bucket (epoch milliseconds)
+     * @param mutants Mutant records inserted
+     * @param humans Human records inserted
+     */
+    public record Counts(long startMillis, long mutants, long humans) {
+
+        public boolean isEmpty() {
+            return mutants == 0 && humans == 0;
+        }
+    }
+
+    private static final class Bucket {
+
+        private final long index;
+        private final LongAdder mutants = new LongAdder();
+        private final LongAdder humans = new LongAdder();
+
+        private Bucket(long index) {
+            this.index = index;
+        }
+    }
+}
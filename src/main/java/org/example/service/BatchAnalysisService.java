@@ -0,0 +1,188 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dto.DnaBatchResponse;
+import org.example.dto.DnaBatchResult;
+import org.example.dto.DnaMatrix;
+import org.example.entity.DnaKey;
+import org.example.repository.DnaRecordStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verification of many DNA matrices in one request (POST /mutant/batch).
+ *
+ * Instead of one {@link MutantService#recordAnalysis} round trip per matrix,
+ * the batch is processed in phases:
+ * 1. The keys of the valid matrices are computed in parallel, on the pool of
+ *    {@link ParallelMutantDetector}
+ * 2. Repeated matrices are folded into one entry per distinct key, and the
+ *    keys held by {@link DnaResultCache} or still queued by
+ *    {@link DnaRecordWriter} are answered from memory
+ * 3. The remaining keys are looked up with a single
+ *    {@link DnaRecordStore#findResults} call
+ * 4. The keys that are still unknown are detected in parallel and stored
+ *    with one {@link DnaRecordStore#insertAllIfAbsent} in one transaction; if
+ *    that hits a duplicate key (a concurrent insert of the same DNA, see
+ *    insertAllIfAbsent) they are stored one by one with
+ *    {@link DnaRecordStore#insertIfAbsent}, answering with the stored results
+ *
+ * Stored and detected results are cached like those of POST /mutant, and
+ * /stats counts each new distinct DNA once. While the legacy migration is active the
+ * unknown keys go through {@link MutantService#recordAnalysis} one by one,
+ * since a legacy record can only be found through its legacy hash.
+ *
+ * Matrices of a batch are not kept for POST /mutant/delta.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BatchAnalysisService {
+
+    private final DetectionStrategySelector detectionStrategySelector;
+    private final ParallelMutantDetector parallelMutantDetector;
+    private final DnaRecordStore dnaRecordStore;
+    private final DnaResultCache dnaResultCache;
+    private final DnaRecordWriter dnaRecordWriter;
+    private final LegacyDnaRecordMigrator legacyDnaRecordMigrator;
+    private final MutantService mutantService;
+    private final TransactionTemplate transactionTemplate;
+
+    // Largest number of matrices accepted in one batch
+    @Value("${mutant.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    /**
+     * Verifies every matrix of a batch and stores the new results.
+     *
+     * @param dnas Matrices decoded with their own buffers (see DnaBatchRequest); null or invalid
+     *             matrices get an error result
+     * @return one result per matrix, in the same order, plus the counts of the batch
+     * @throws IllegalArgumentException if the batch holds more than mutant.batch.max-size matrices
+     */
+    public DnaBatchResponse analyzeBatch(List<DnaMatrix> dnas) {
+        if (dnas.size() > maxBatchSize) {
+            throw new IllegalArgumentException(String.format(
+                "A batch can hold at most %d DNAs, but %d were sent", maxBatchSize, dnas.size()));
+        }
+        long start = System.nanoTime();
+        final int count = dnas.size();
+
+        // Phase 1: keys of the valid matrices
+        DnaKey[] keys = new DnaKey[count];
+        if (count > 0) {
+            parallelMutantDetector.forEachBand(count, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    DnaMatrix dna = dnas.get(i);
+                    if (dna != null && dna.isValid()) {
+                        keys[i] = DnaKeyHasher.key(dna);
+                    }
+                }
+                return true;
+            });
+        }
+
+        // Phase 2: one entry per distinct DNA, answered from memory when possible
+        Map<DnaKey, Integer> firstIndex = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            if (keys[i] != null) {
+                firstIndex.putIfAbsent(keys[i], i);
+            }
+        }
+        Map<DnaKey, Boolean> results = new HashMap<>();
+        List<DnaKey> unknown = new ArrayList<>();
+        for (DnaKey key : firstIndex.keySet()) {
+            Boolean known = dnaResultCache.get(key);
+            if (known == null) {
+                known = dnaRecordWriter.pending(key).orElse(null);
+            }
+            if (known != null) {
+                results.put(key, known);
+            } else {
+                unknown.add(key);
+            }
+        }
+        final int fromMemory = results.size();
+        int fromStore = 0;
+
+        if (!unknown.isEmpty() && legacyDnaRecordMigrator.isActive()) {
+            for (DnaKey key : unknown) {
+                DnaMatrix dna = dnas.get(firstIndex.get(key));
+                results.put(key, mutantService.recordAnalysis(key, () -> DnaHasher.hash(dna), () -> detect(dna)));
+            }
+        } else if (!unknown.isEmpty()) {
+            // Phase 3: a single lookup for every key not found in memory
+            Map<DnaKey, Boolean> stored = dnaRecordStore.findResults(unknown);
+            stored.forEach(dnaResultCache::put);
+            results.putAll(stored);
+            fromStore = stored.size();
+
+            // Phase 4: detect the new DNAs and store them in one batch
+            List<DnaKey> missing = unknown.stream().filter(key -> !stored.containsKey(key)).toList();
+            if (!missing.isEmpty()) {
+                boolean[] verdicts = new boolean[missing.size()];
+                parallelMutantDetector.forEachBand(missing.size(), (from, to) -> {
+                    for (int i = from; i < to; i++) {
+                        verdicts[i] = detect(dnas.get(firstIndex.get(missing.get(i))));
+                    }
+                    return true;
+                });
+                Map<DnaKey, Boolean> inserts = new LinkedHashMap<>();
+                for (int i = 0; i < verdicts.length; i++) {
+                    inserts.put(missing.get(i), verdicts[i]);
+                }
+                // Cached once committed, like recordAnalysis does; a record that could not be
+                // stored is still answered but left out of the cache, so it is stored next time
+                Map<DnaKey, Boolean> inserted = dnaRecordStore.insertAllOrEachIfAbsent(inserts, transactionTemplate);
+                inserted.forEach(dnaResultCache::put);
+                results.putAll(inserts);
+                results.putAll(inserted);
+            }
+        }
+
+        DnaBatchResponse response = toResponse(dnas, keys, results);
+        log.info("Batch of {} DNAs ({} distinct, {} invalid): {} from memory, {} from the store, {} detected in {} ms",
+                count, firstIndex.size(), response.getCountInvalid(), fromMemory, fromStore,
+                unknown.size() - fromStore, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return response;
+    }
+
+    private boolean detect(DnaMatrix dna) {
+        final int n = dna.size();
+        return detectionStrategySelector.select(n).isMutant(dna.cells(), n);
+    }
+
+    private static DnaBatchResponse toResponse(List<DnaMatrix> dnas, DnaKey[] keys, Map<DnaKey, Boolean> results) {
+        List<DnaBatchResult> items = new ArrayList<>(keys.length);
+        long mutants = 0;
+        long humans = 0;
+        long invalid = 0;
+        for (int i = 0; i < keys.length; i++) {
+            DnaKey key = keys[i];
+            if (key == null) {
+                DnaMatrix dna = dnas.get(i);
+                items.add(new DnaBatchResult(null, null,
+                        dna != null ? dna.getViolation() : "DNA array cannot be null or empty"));
+                invalid++;
+                continue;
+            }
+            boolean isMutant = results.get(key);
+            items.add(new DnaBatchResult(key.toHex(), isMutant, null));
+            if (isMutant) {
+                mutants++;
+            } else {
+                humans++;
+            }
+        }
+        return new DnaBatchResponse(items, mutants, humans, invalid);
+    }
+}
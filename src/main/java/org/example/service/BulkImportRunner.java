@@ -0,0 +1,42 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs {@link BulkImportService} on the files of mutant.import.files once the
+ * application has started, e.g.
+ * java -jar mutant-detector.jar --mutant.import.files=history.ndjson,more.csv
+ *
+ * In that mode MutantDetectorApplication starts without a web server and
+ * exits when the import is done (with a non-zero status if it failed). The
+ * store must outlive the process, see {@link OfflineStoreCheck}.
+ */
+@Component
+@ConditionalOnProperty(name = "mutant.import.files")
+@RequiredArgsConstructor
+@Slf4j
+public class BulkImportRunner implements ApplicationRunner {
+
+    private final BulkImportService bulkImportService;
+    private final OfflineStoreCheck offlineStoreCheck;
+
+    @Value("${mutant.import.files}")
+    private String[] files;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        offlineStoreCheck.requirePersistentStore("import");
+        List<Path> paths = Arrays.stream(files).map(String::trim).filter(file -> !file.isEmpty()).map(Path::of).toList();
+        bulkImportService.importFiles(paths);
+    }
+}
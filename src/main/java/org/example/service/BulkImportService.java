@@ -0,0 +1,447 @@
+package org.example.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dto.DnaMatrix;
+import org.example.dto.DnaRequest;
+import org.example.entity.DnaKey;
+import org.example.repository.DnaRecordCounters;
+import org.example.repository.DnaRecordStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Offline bulk import of DNA matrices from files (see BulkImportRunner).
+ *
+ * Formats, one matrix per line (picked by extension, .csv or anything else):
+ * - NDJSON: {"dna":["ATGCGA",...]} or just ["ATGCGA",...]
+ * - CSV: ATGCGA,CAGTGC,... (rows separated by commas, optionally quoted);
+ *   a first line that is not a valid matrix is taken as a header
+ * Blank lines and lines starting with # are skipped.
+ *
+ * Pipeline:
+ * - One reader thread reads each file through a FileChannel into a
+ *   chunk-bytes buffer and hands the complete lines of each fill to a
+ *   bounded queue, so reading never runs ahead of the workers.
+ * - mutant.import.workers threads decode each line (same validation as
+ *   POST /mutant), compute its key ({@link DnaKeyHasher}) and run the
+ *   detection engine picked by {@link DetectionStrategySelector}.
+ * - Each worker collects distinct keys into batches of batch-size records,
+ *   stored with {@link DnaRecordStore#insertAllIfAbsent} in one transaction
+ *   (one JDBC batch with the default store); DNAs already stored, or
+ *   repeated across batches, are skipped by the insert-if-absent. A batch
+ *   that still hits a duplicate key (two workers racing on the same DNA, or
+ *   a database without insert-if-absent) is retried row by row.
+ * - While the legacy migration is active ({@link LegacyDnaRecordMigrator})
+ *   the workers also compute the legacy hash of each matrix, and each batch
+ *   first migrates the legacy records of its DNAs with
+ *   {@link LegacyDnaRecordMigrator#migrateAll}; those DNAs are not inserted
+ *   again.
+ * - Progress and throughput are logged every progress-interval-ms.
+ *
+ * Invalid lines are counted and the first ones logged with their file and
+ * line number; they do not stop the import. A failed read, or an insert
+ * failing for any other reason, does.
+ */
+@Service
+@Slf4j
+public class BulkImportService {
+
+    // Invalid lines logged one by one before only counting them
+    private static final int MAX_LOGGED_INVALID = 20;
+    private static final Chunk END = new Chunk(null, false, 0, new byte[0]);
+
+    private final DetectionStrategySelector detectionStrategySelector;
+    private final DnaRecordStore dnaRecordStore;
+    private final DnaRecordCounters dnaRecordCounters;
+    private final LegacyDnaRecordMigrator legacyDnaRecordMigrator;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader requestReader;
+    private final ObjectReader matrixReader;
+    private final int workers;
+    private final int batchSize;
+    private final int chunkBytes;
+    private final long progressIntervalMs;
+
+    public BulkImportService(
+            DetectionStrategySelector detectionStrategySelector,
+            DnaRecordStore dnaRecordStore,
+            DnaRecordCounters dnaRecordCounters,
+            LegacyDnaRecordMigrator legacyDnaRecordMigrator,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            @Value("${mutant.import.workers:0}") int workers,
+            @Value("${mutant.import.batch-size:1000}") int batchSize,
+            @Value("${mutant.import.chunk-bytes:1048576}") int chunkBytes,
+            @Value("${mutant.import.progress-interval-ms:5000}") long progressIntervalMs) {
+        this.detectionStrategySelector = detectionStrategySelector;
+        this.dnaRecordStore = dnaRecordStore;
+        this.dnaRecordCounters = dnaRecordCounters;
+        this.legacyDnaRecordMigrator = legacyDnaRecordMigrator;
+        this.transactionTemplate = transactionTemplate;
+        this.requestReader = objectMapper.readerFor(DnaRequest.class);
+        this.matrixReader = objectMapper.readerFor(DnaMatrix.class);
+        this.workers = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        this.batchSize = batchSize;
+        this.chunkBytes = chunkBytes;
+        this.progressIntervalMs = progressIntervalMs;
+    }
+
+    /**
+     * Imports every matrix of the given files, in order.
+     *
+     * @param files NDJSON or CSV files
+     * @return counts and elapsed time of the import
+     * @throws UncheckedIOException if a file cannot be read
+     */
+    public Report importFiles(List<Path> files) {
+        if (legacyDnaRecordMigrator.isActive()) {
+            log.info("{} legacy records are not migrated yet: they are migrated as the import meets their DNAs",
+                    legacyDnaRecordMigrator.getRemaining());
+        }
+
+        Progress progress = new Progress();
+        long storedBefore = dnaRecordCounters.getMutants() + dnaRecordCounters.getHumans();
+        long start = System.nanoTime();
+        log.info("Importing {} files with {} workers, batches of {} records", files.size(), workers, batchSize);
+
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(workers, task -> {
+            Thread thread = new Thread(task, "dna-import-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "dna-import-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(() -> logProgress(progress, start),
+                progressIntervalMs, progressIntervalMs, TimeUnit.MILLISECONDS);
+
+        BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(workers * 2);
+        List<Future<?>> tasks = new ArrayList<>();
+        try {
+            for (int i = 0; i < workers; i++) {
+                tasks.add(pool.submit(() -> work(queue, progress)));
+            }
+            for (Path file : files) {
+                read(file, queue, tasks);
+            }
+            for (int i = 0; i < workers; i++) {
+                put(queue, END, tasks);
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Import worker failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", e);
+        } finally {
+            pool.shutdownNow();
+            reporter.shutdownNow();
+        }
+
+        long stored = dnaRecordCounters.getMutants() + dnaRecordCounters.getHumans() - storedBefore;
+        Report report = new Report(files.size(), progress.lines.sum(), progress.matrices.sum(),
+                progress.invalid.sum(), progress.mutants.sum(), progress.humans.sum(), stored,
+                progress.migrated.sum(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("Import finished: {} matrices ({} mutants, {} humans), {} new records, {} legacy records migrated, "
+                        + "{} invalid lines in {} ms ({} matrices/min)",
+                report.matrices(), report.mutants(), report.humans(), report.stored(), report.migrated(),
+                report.invalid(), report.elapsedMillis(), report.matricesPerMinute());
+        return report;
+    }
+
+    /**
+     * Reads a file and queues its complete lines, one buffer fill per chunk.
+     * The buffer grows when a single line does not fit in it.
+     */
+    private void read(Path file, BlockingQueue<Chunk> queue, List<Future<?>> tasks) throws InterruptedException {
+        boolean csv = file.getFileName().toString().toLowerCase().endsWith(".csv");
+        log.info("Reading {} ({})", file, csv ? "CSV" : "NDJSON");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(chunkBytes);
+            long line = 1;
+            boolean eof = false;
+            while (!eof) {
+                eof = channel.read(buffer) < 0;
+                byte[] data = buffer.array();
+                int filled = buffer.position();
+                int end = eof ? filled : lastLineEnd(data, filled);
+                if (end == 0) {
+                    if (!buffer.hasRemaining()) {
+                        buffer = ByteBuffer.allocate(buffer.capacity() * 2).put(data, 0, filled);
+                    }
+                    continue;
+                }
+                Chunk chunk = new Chunk(file, csv, line, Arrays.copyOf(data, end));
+                put(queue, chunk, tasks);
+                line += chunk.lineCount();
+                System.arraycopy(data, end, data, 0, filled - end);
+                buffer.position(filled - end);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + file, e);
+        }
+    }
+
+    /**
+     * Offset just past the last newline, 0 if there is none.
+     */
+    private static int lastLineEnd(byte[] data, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (data[i] == '\n') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Queues a chunk, giving up as soon as a worker has stopped (its failure is rethrown by the caller).
+     */
+    private static void put(BlockingQueue<Chunk> queue, Chunk chunk, List<Future<?>> tasks)
+            throws InterruptedException {
+        while (!queue.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+            for (Future<?> task : tasks) {
+                if (task.isDone()) {
+                    throw new IllegalStateException("Import worker stopped", failureOf(task));
+                }
+            }
+        }
+    }
+
+    private static Throwable failureOf(Future<?> task) {
+        try {
+            task.get();
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return e;
+        }
+    }
+
+    /**
+     * Worker loop: analyzes the lines of each chunk and stores the results in batches.
+     */
+    private void work(BlockingQueue<Chunk> queue, Progress progress) {
+        Batch batch = new Batch();
+        try {
+            for (Chunk chunk = queue.take(); chunk != END; chunk = queue.take()) {
+                analyze(chunk, batch, progress);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        store(batch, progress);
+    }
+
+    private void analyze(Chunk chunk, Batch batch, Progress progress) {
+        final byte[] data = chunk.data();
+        long line = chunk.firstLine();
+        int start = 0;
+        while (start < data.length) {
+            int end = start;
+            while (end < data.length && data[end] != '\n') {
+                end++;
+            }
+            int next = end + 1;
+            while (end > start && (data[end - 1] == '\r' || data[end - 1] == ' ' || data[end - 1] == '\t')) {
+                end--;
+            }
+            while (start < end && (data[start] == ' ' || data[start] == '\t')) {
+                start++;
+            }
+            if (start < end && data[start] != '#') {
+                progress.lines.increment();
+                analyzeLine(chunk, line, data, start, end, batch, progress);
+            }
+            start = next;
+            line++;
+        }
+    }
+
+    private void analyzeLine(Chunk chunk, long line, byte[] data, int start, int end,
+                             Batch batch, Progress progress) {
+        DnaMatrix matrix;
+        try {
+            matrix = chunk.csv() ? parseCsv(data, start, end) : parseJson(data, start, end);
+        } catch (IOException e) {
+            invalid(chunk, line, "Malformed JSON", progress);
+            return;
+        }
+        if (!matrix.isValid()) {
+            if (chunk.csv() && line == 1) {
+                log.info("Skipping header of {}", chunk.file());
+                progress.lines.decrement();
+            } else {
+                invalid(chunk, line, matrix.getViolation(), progress);
+            }
+            return;
+        }
+
+        // The cells may sit in a per-thread buffer: hash and detect before the next line is decoded
+        final int n = matrix.size();
+        DnaKey key = DnaKeyHasher.key(matrix);
+        boolean isMutant = detectionStrategySelector.select(n).isMutant(matrix.cells(), n);
+        progress.matrices.increment();
+        (isMutant ? progress.mutants : progress.humans).increment();
+
+        batch.results.put(key, isMutant);
+        if (legacyDnaRecordMigrator.isActive()) {
+            batch.legacyHashes.put(key, DnaHasher.hash(matrix));
+        }
+        if (batch.results.size() >= batchSize) {
+            store(batch, progress);
+        }
+    }
+
+    private DnaMatrix parseJson(byte[] data, int start, int end) throws IOException {
+        if (data[start] == '[') {
+            return matrixReader.readValue(data, start, end - start);
+        }
+        DnaRequest request = requestReader.readValue(data, start, end - start);
+        return request.getDna() != null ? request.getDna() : DnaMatrix.of(null);
+    }
+
+    private static DnaMatrix parseCsv(byte[] data, int start, int end) {
+        List<String> rows = new ArrayList<>();
+        int field = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || data[i] == ',') {
+                int from = field;
+                int to = i;
+                while (from < to && (data[from] == ' ' || data[from] == '"')) {
+                    from++;
+                }
+                while (to > from && (data[to - 1] == ' ' || data[to - 1] == '"')) {
+                    to--;
+                }
+                rows.add(new String(data, from, to - from, StandardCharsets.ISO_8859_1));
+                field = i + 1;
+            }
+        }
+        return DnaMatrix.of(rows.toArray(String[]::new));
+    }
+
+    private void store(Batch batch, Progress progress) {
+        if (!batch.legacyHashes.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<DnaKey, Boolean> migrated = legacyDnaRecordMigrator.migrateAll(batch.legacyHashes);
+                batch.results.keySet().removeAll(migrated.keySet());
+                progress.migrated.add(migrated.size());
+            });
+            batch.legacyHashes.clear();
+        }
+        if (batch.results.isEmpty()) {
+            return;
+        }
+        dnaRecordStore.insertAllOrEachIfAbsent(batch.results, transactionTemplate);
+        batch.results.clear();
+    }
+
+    private static void invalid(Chunk chunk, long line, String reason, Progress progress) {
+        progress.invalid.increment();
+        if (progress.invalid.sum() <= MAX_LOGGED_INVALID) {
+            log.warn("Skipping invalid line {}:{}: {}", chunk.file(), line, reason);
+        }
+    }
+
+    private static void logProgress(Progress progress, long start) {
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        long matrices = progress.matrices.sum();
+        log.info("Imported {} matrices ({} matrices/min), {} invalid lines",
+                matrices, matrices * 60_000 / elapsedMillis, progress.invalid.sum());
+    }
+
+    /**
+     * Complete lines of a file, starting at line firstLine.
+     */
+    private record Chunk(Path file, boolean csv, long firstLine, byte[] data) {
+
+        long lineCount() {
+            long count = 0;
+            for (byte b : data) {
+                if (b == '\n') {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Results of one worker waiting to be stored, with their legacy hashes while the migration is active.
+     */
+    private static final class Batch {
+
+        private final Map<DnaKey, Boolean> results = new LinkedHashMap<>();
+        private final Map<DnaKey, String> legacyHashes = new HashMap<>();
+    }
+
+    private static final class Progress {
+
+        private final LongAdder lines = new LongAdder();
+        private final LongAdder matrices = new LongAdder();
+        private final LongAdder invalid = new LongAdder();
+        private final LongAdder mutants = new LongAdder();
+        private final LongAdder humans = new LongAdder();
+        private final LongAdder migrated = new LongAdder();
+    }
+
+    /**
+     * Outcome of an import.
+     *
+     * @param files Files read
+     * @param lines Non-blank, non-comment lines read (CSV headers excluded)
+     * @param matrices Valid matrices analyzed
+     * @param invalid Lines skipped as invalid
+     * @param mutants Valid matrices detected as mutant
+     * @param humans Valid matrices detected as human
+     * @param stored New records stored (matrices minus duplicates and DNAs already stored)
+     * @param migrated Legacy records of imported DNAs given their key
+     * @param elapsedMillis Duration of the import
+     */
+    public record Report(int files, long lines, long matrices, long invalid, long mutants, long humans,
+                         long stored, long migrated, long elapsedMillis) {
+
+        public long matricesPerMinute() {
+            return matrices * 60_000 / Math.max(1, elapsedMillis);
+        }
+    }
+}
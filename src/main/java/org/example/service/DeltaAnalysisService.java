@@ -0,0 +1,102 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dto.DnaDeltaResponse;
+import org.example.dto.DnaRowEdit;
+import org.example.exception.DnaNotFoundException;
+import org.example.validation.DnaAlphabet;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Service for incremental re-analysis of a matrix that differs from a
+ * previously analyzed one by a few rows.
+ *
+ * The base matrix is looked up by its key (hex) in {@link MatrixSummaryStore};
+ * the edits are applied to its {@link MatrixSummary}, which only recounts
+ * the windows within 3 rows of an edit and only re-hashes the edited rows.
+ * The result is stored like any POST /mutant analysis (one record per
+ * distinct DNA), and the new summary is kept so edits can be chained.
+ * No transaction is opened here: {@link MutantService#recordAnalysis} runs
+ * its own and only caches the result once it has committed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DeltaAnalysisService {
+
+    private final MatrixSummaryStore matrixSummaryStore;
+    private final MutantService mutantService;
+
+    /**
+     * Applies row edits to a previously analyzed matrix and analyzes the result.
+     *
+     * @param baseHash Id of the base matrix (size, dash, 32 hexadecimal digits; see DnaKey#toHex)
+     * @param edits Rows to replace, at most one edit per row
+     * @return hash, verdict and counts of the edited matrix
+     * @throws DnaNotFoundException if no summary is kept for baseHash
+     * @throws IllegalArgumentException if an edit is out of range or not a valid row
+     */
+    public DnaDeltaResponse analyzeDelta(String baseHash, List<DnaRowEdit> edits) {
+        MatrixSummary base = matrixSummaryStore.get(baseHash.trim().toLowerCase(Locale.ROOT));
+        if (base == null) {
+            throw new DnaNotFoundException(String.format(
+                "No analyzed matrix with hash %s is available for deltas. Summaries are kept for matrices "
+                        + "analyzed by POST /mutant, until evicted; send it there again to restore it",
+                baseHash
+            ));
+        }
+
+        Map<Integer, byte[]> rows = toRows(edits, base.getSize());
+        MatrixSummary summary = base.withRows(rows);
+        matrixSummaryStore.put(summary);
+        log.info("Applied {} row edits to {}x{} DNA: {} start rows rescanned, {} sequences",
+                rows.size(), base.getSize(), base.getSize(), summary.getRowsRescanned(), summary.getTotalSequences());
+
+        boolean isMutant = mutantService.recordAnalysis(summary.getKey(), summary::legacyHash, summary::isMutant);
+
+        return new DnaDeltaResponse(summary.getKey().toHex(), isMutant, summary.getTotalSequences(),
+                rows.size(), summary.getRowsRescanned());
+    }
+
+    /**
+     * Validates the edits (same rules as a full matrix row) and converts them to
+     * normalized bytes, like the request decoder does for a full matrix.
+     */
+    private Map<Integer, byte[]> toRows(List<DnaRowEdit> edits, int n) {
+        Map<Integer, byte[]> rows = new HashMap<>();
+        for (DnaRowEdit edit : edits) {
+            int index = edit.getIndex();
+            String row = edit.getRow();
+            if (index < 0 || index >= n) {
+                throw new IllegalArgumentException(String.format("Row index %d is out of range [0, %d)", index, n));
+            }
+            if (row.length() != n) {
+                throw new IllegalArgumentException(String.format(
+                    "Matrix must be square NxN. Expected %d characters in row %d, but got %d",
+                    n, index, row.length()
+                ));
+            }
+            byte[] cells = new byte[n];
+            for (int col = 0; col < n; col++) {
+                byte base = DnaAlphabet.normalize(row.charAt(col));
+                if (base == 0) {
+                    throw new IllegalArgumentException(String.format(
+                        "Row %d contains invalid characters. Only A, T, C, G are allowed",
+                        index
+                    ));
+                }
+                cells[col] = base;
+            }
+            if (rows.put(index, cells) != null) {
+                throw new IllegalArgumentException(String.format("Row %d is edited more than once", index));
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.service;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Mutant detection engine SPI.
+ *
+ * Every implementation must return exactly the same answer as the reference
+ * scalar algorithm ({@link MutantDetector}): a DNA matrix is mutant when it
+ * contains MORE THAN ONE window of 4 identical bases in any direction.
+ * Engines only differ in how they get there (bit-packed, SIMD, parallel,
+ * cache-blocked, streaming...), which makes them interchangeable.
+ *
+ * Implementations registered as Spring beans are picked up by
+ * {@link DetectionStrategySelector}, either automatically by matrix size or
+ * explicitly by name through mutant.detection.engine.
+ */
+public interface DetectionStrategy {
+
+    /**
+     * Engine name, used in configuration and logs (e.g. "scalar", "packed").
+     */
+    String getName();
+
+    /**
+     * Determines if a DNA sequence belongs to a mutant.
+     *
+     * @param dna Array of strings representing the NxN DNA matrix
+     * @return true if mutant (>1 sequences found), false otherwise
+     * @throws IllegalArgumentException if DNA is null or empty
+     */
+    boolean isMutant(String[] dna);
+
+    /**
+     * Determines if a DNA matrix held in a flat, row-major byte buffer belongs to a mutant.
+     *
+     * The default implementation rebuilds one String per row; engines that can
+     * work on a flat buffer override it to read the cells in place.
+     *
+     * @param cells Row-major cells, cell (row, col) at index row * n + col (may be longer than n²)
+     * @param n Matrix size N
+     * @return true if mutant (>1 sequences found), false otherwise
+     */
+    default boolean isMutant(byte[] cells, int n) {
+        String[] dna = new String[n];
+        for (int row = 0; row < n; row++) {
+            dna[row] = new String(cells, row * n, n, StandardCharsets.ISO_8859_1);
+        }
+        return isMutant(dna);
+    }
+}
@@ -0,0 +1,186 @@
+package org.example.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Picks the detection engine for each DNA matrix.
+ *
+ * Automatic selection (mutant.detection.engine=auto) by matrix size N:
+ * - N < word-parallel.min-size: scalar ({@link MutantDetector}), cheapest setup for tiny matrices
+ * - N >= parallel.min-size and more than one worker: parallel ({@link ParallelMutantDetector})
+ * - otherwise: vector ({@link VectorMutantDetector}) when the Vector API is
+ *   loaded, packed ({@link PackedMutantDetector}) when it is not
+ *
+ * Both thresholds come from application.properties and can optionally be
+ * measured on the current hardware at startup
+ * (mutant.detection.calibrate-on-startup=true).
+ *
+ * Setting mutant.detection.engine to an engine name (scalar, packed, vector,
+ * parallel, tiled, streaming, or the name of any other {@link DetectionStrategy}
+ * bean) forces that engine for every matrix.
+ */
+@Component
+@Slf4j
+public class DetectionStrategySelector {
+
+    private static final String AUTO = "auto";
+    private static final int[] WORD_PARALLEL_CANDIDATE_SIZES = {8, 16, 32, 64, 128, 256, 512};
+    private static final int[] PARALLEL_CANDIDATE_SIZES = {256, 512, 1024, 2048, 4096};
+    private static final int CALIBRATION_RUNS = 5;
+
+    private final MutantDetector scalarDetector;
+    private final PackedMutantDetector packedDetector;
+    private final VectorMutantDetector vectorDetector;
+    private final ParallelMutantDetector parallelDetector;
+    private final Map<String, DetectionStrategy> strategiesByName;
+    private final DetectionStrategy forcedStrategy;
+    private final boolean calibrateOnStartup;
+
+    private int wordParallelMinSize;
+    private int parallelMinSize;
+
+    public DetectionStrategySelector(
+            MutantDetector scalarDetector,
+            PackedMutantDetector packedDetector,
+            VectorMutantDetector vectorDetector,
+            ParallelMutantDetector parallelDetector,
+            List<DetectionStrategy> strategies,
+            @Value("${mutant.detection.engine:auto}") String engine,
+            @Value("${mutant.detection.word-parallel.min-size:64}") int wordParallelMinSize,
+            @Value("${mutant.detection.parallel.min-size:2048}") int parallelMinSize,
+            @Value("${mutant.detection.calibrate-on-startup:false}") boolean calibrateOnStartup) {
+        this.scalarDetector = scalarDetector;
+        this.packedDetector = packedDetector;
+        this.vectorDetector = vectorDetector;
+        this.parallelDetector = parallelDetector;
+        this.strategiesByName = strategies.stream()
+                .collect(Collectors.toMap(DetectionStrategy::getName, Function.identity()));
+        this.wordParallelMinSize = wordParallelMinSize;
+        this.parallelMinSize = parallelMinSize;
+        this.calibrateOnStartup = calibrateOnStartup;
+
+        if (AUTO.equalsIgnoreCase(engine)) {
+            this.forcedStrategy = null;
+        } else {
+            this.forcedStrategy = strategiesByName.get(engine);
+            if (forcedStrategy == null) {
+                throw new IllegalArgumentException(String.format(
+                        "Unknown detection engine '%s'. Available: %s", engine, strategiesByName.keySet()));
+            }
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        if (forcedStrategy != null) {
+            log.info("Detection engine forced to '{}'", forcedStrategy.getName());
+            return;
+        }
+        if (calibrateOnStartup) {
+            calibrate();
+        }
+        log.info("Automatic engine selection: scalar below N={}, {} up to N={}, parallel from there ({} workers)",
+                 wordParallelMinSize, wordParallelStrategy().getName(), parallelMinSize,
+                 parallelDetector.getParallelism());
+    }
+
+    /**
+     * Selects the engine for an NxN matrix.
+     *
+     * The parallel threshold is checked first, so that it does not depend on
+     * the word-parallel one (calibration may leave that one at Integer.MAX_VALUE
+     * when the scalar engine never loses).
+     *
+     * @param size Matrix size N
+     * @return the detection strategy to use
+     */
+    public DetectionStrategy select(int size) {
+        if (forcedStrategy != null) {
+            return forcedStrategy;
+        }
+        if (size >= parallelMinSize && parallelDetector.getParallelism() > 1) {
+            return parallelDetector;
+        }
+        if (size < wordParallelMinSize) {
+            return scalarDetector;
+        }
+        return wordParallelStrategy();
+    }
+
+    public int getWordParallelMinSize() {
+        return wordParallelMinSize;
+    }
+
+    public int getParallelMinSize() {
+        return parallelMinSize;
+    }
+
+    private DetectionStrategy wordParallelStrategy() {
+        return VectorMutantDetector.isVectorApiAvailable() ? vectorDetector : packedDetector;
+    }
+
+    /**
+     * Measures the crossover sizes on sequence-free matrices (no early exit).
+     */
+    private void calibrate() {
+        long start = System.nanoTime();
+        DetectionStrategy wordParallel = wordParallelStrategy();
+
+        wordParallelMinSize = findCrossover(scalarDetector, wordParallel,
+                WORD_PARALLEL_CANDIDATE_SIZES, Integer.MAX_VALUE);
+        if (parallelDetector.getParallelism() > 1) {
+            parallelMinSize = findCrossover(wordParallel, parallelDetector,
+                    PARALLEL_CANDIDATE_SIZES, parallelMinSize);
+        }
+
+        log.info("Detection thresholds calibrated in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Smallest candidate size at which the candidate engine beats the current one.
+     */
+    private int findCrossover(DetectionStrategy current, DetectionStrategy candidate, int[] sizes, int fallback) {
+        for (int size : sizes) {
+            String[] dna = sequenceFreeMatrix(size);
+            if (bestTime(candidate, dna) < bestTime(current, dna)) {
+                return size;
+            }
+        }
+        return fallback;
+    }
+
+    private long bestTime(DetectionStrategy strategy, String[] dna) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_RUNS; i++) {
+            long start = System.nanoTime();
+            strategy.isMutant(dna);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    /**
+     * Matrix where cell (r, c) is "ACGT"[(c + 2r) % 4]: no two neighbours are
+     * equal in any direction, so every engine has to scan all of it.
+     */
+    private static String[] sequenceFreeMatrix(int size) {
+        final String bases = "ACGT";
+        String[] rows = new String[size];
+        char[] row = new char[size];
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                row[c] = bases.charAt((c + 2 * r) % 4);
+            }
+            rows[r] = new String(row);
+        }
+        return rows;
+    }
+}
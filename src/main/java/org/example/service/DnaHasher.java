@@ -0,0 +1,119 @@
+package org.example.service;
+
+import org.example.dto.DnaMatrix;
+import org.example.exception.DnaHashCalculationException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * Legacy content hash of a DNA matrix (the dna_hash column), with the same
+ * formula the original service used to store it:
+ *
+ *   dna_hash = hex(SHA-256(row 0 || row 1 || ... || row N-1))
+ *
+ * i.e. the SHA-256 of String.join("", dna) in UTF-8. The rows are fed to the
+ * digest one after the other, which gives the same digest as the
+ * concatenation without building it.
+ *
+ * Records are now identified by {@link DnaKeyHasher}; this hash is only
+ * computed to find records written before the key existed, while any remain
+ * (see {@link LegacyDnaRecordMigrator}).
+ */
+public final class DnaHasher {
+
+    private DnaHasher() {
+    }
+
+    /**
+     * Calculates the hash of a DNA given as rows.
+     *
+     * @throws DnaHashCalculationException if SHA-256 is not available
+     */
+    public static String hash(String[] dna) {
+        MessageDigest digest = sha256();
+        for (String row : dna) {
+            digest.update(row.getBytes(StandardCharsets.UTF_8));
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Calculates the hash of a decoded DNA matrix straight from its cell buffer
+     * (the N² cells are the concatenated rows). Like {@link #hash(String[])},
+     * it is the hash of the rows as sent: bases sent in lowercase are hashed
+     * in lowercase, although the cells hold them in uppercase.
+     *
+     * @throws DnaHashCalculationException if SHA-256 is not available
+     */
+    public static String hash(DnaMatrix dna) {
+        MessageDigest digest = sha256();
+        final int count = dna.size() * dna.size();
+        if (!dna.hasLowercase()) {
+            digest.update(dna.cells(), 0, count);
+        } else {
+            byte[] sent = Arrays.copyOf(dna.cells(), count);
+            for (int i = 0; i < count; i++) {
+                if (dna.wasLowercase(i)) {
+                    sent[i] = (byte) Character.toLowerCase(sent[i]);
+                }
+            }
+            digest.update(sent);
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Calculates the hash of a DNA given as one byte array per row.
+     *
+     * @throws DnaHashCalculationException if SHA-256 is not available
+     */
+    static String hash(byte[][] rows) {
+        MessageDigest digest = sha256();
+        for (byte[] row : rows) {
+            digest.update(row);
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Calculates the hash of an NxN DNA whose rows are read from byte buffers
+     * (e.g. a memory-mapped file), from their position to their limit.
+     *
+     * @throws DnaHashCalculationException if SHA-256 is not available
+     */
+    static String hash(int n, IntFunction<ByteBuffer> rows) {
+        MessageDigest digest = sha256();
+        for (int row = 0; row < n; row++) {
+            digest.update(rows.apply(row));
+        }
+        return toHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new DnaHashCalculationException("Failed to calculate DNA hash", e);
+        }
+    }
+
+    /**
+     * Converts a digest to a lowercase hexadecimal string.
+     */
+    private static String toHex(byte[] hashBytes) {
+        StringBuilder hexString = new StringBuilder(hashBytes.length * 2);
+        for (byte b : hashBytes) {
+            String hex = Integer.toHexString(0xff & b);
+            if (hex.length() == 1) {
+                hexString.append('0');
+            }
+            hexString.append(hex);
+        }
+        return hexString.toString();
+    }
+}
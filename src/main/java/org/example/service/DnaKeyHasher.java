@@ -0,0 +1,262 @@
+package org.example.service;
+
+import org.example.dto.DnaMatrix;
+import org.example.entity.DnaKey;
+import org.example.validation.DnaAlphabet;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Computes the {@link DnaKey} of a DNA matrix.
+ *
+ * Matrices up to 8x8 (the bulk of the traffic) are not hashed at all: at
+ * 2 bits per base (A=00, C=01, G=10, T=11, see {@link PackedDnaMatrix}) the
+ * whole matrix fits in the 128 key bits, so the key is the packed matrix
+ * itself, exact and collision-free. Cell i (row-major) lives in bits
+ * 2*(i%32)..2*(i%32)+1 of lo (i < 32) or hi (i >= 32); up to 5x5 only lo
+ * is used.
+ *
+ * Larger matrices are keyed with a 128-bit MurmurHash3 (x64_128 variant),
+ * which needs no MessageDigest and no hex encoding on the hot path. The hash
+ * is computed in two levels so that editing a few rows does not
+ * require re-hashing the whole matrix:
+ *
+ *   row hash r_i = murmur3_128(row i bytes, seed = N)
+ *   key          = murmur3_128(r_0 || r_1 || ... || r_N-1, seed = N)
+ *
+ * Rows are hashed as their 1-byte bases, read 8 at a time. After editing k
+ * rows only those k row hashes and the final pass over the 16·N row-hash
+ * bytes are recomputed (see {@link MatrixSummary}).
+ */
+public final class DnaKeyHasher {
+
+    /**
+     * Largest N whose packed matrix fits in the key, N² bases at 2 bits each.
+     */
+    static final int EXACT_MAX_SIZE = 8;
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private DnaKeyHasher() {
+    }
+
+    /**
+     * Key of a DNA given as rows. Lowercase bases are keyed as uppercase, so
+     * this is the same key as {@link #key(DnaMatrix)} for the decoded rows.
+     */
+    public static DnaKey key(String[] rows) {
+        final String[] dna = DnaAlphabet.normalize(rows);
+        final int n = dna.length;
+        if (n <= EXACT_MAX_SIZE) {
+            DnaKey exact = exactKey(dna);
+            if (exact != null) {
+                return exact;
+            }
+        }
+        long[] rowHashes = new long[2 * n];
+        for (int row = 0; row < n; row++) {
+            byte[] bytes = dna[row].getBytes(StandardCharsets.UTF_8);
+            rowHash(bytes, 0, bytes.length, n, rowHashes, row);
+        }
+        return combine(n, rowHashes);
+    }
+
+    /**
+     * Key of a decoded DNA matrix, straight from its cell buffer.
+     * Same key as {@link #key(String[])} for the rows it was decoded from.
+     */
+    public static DnaKey key(DnaMatrix dna) {
+        return key(dna.cells(), dna.size());
+    }
+
+    /**
+     * Key of a flat, row-major matrix: exact up to 8x8, hashed above.
+     */
+    static DnaKey key(byte[] cells, int n) {
+        if (n <= EXACT_MAX_SIZE) {
+            DnaKey exact = exactKey(cells, n);
+            if (exact != null) {
+                return exact;
+            }
+        }
+        return combine(n, rowHashes(cells, n));
+    }
+
+    /**
+     * Packs an NxN matrix (N <= 8) given as rows into its exact key.
+     *
+     * @return the key, or null if a row is not N bases of A, C, G, T
+     */
+    static DnaKey exactKey(String[] dna) {
+        final int n = dna.length;
+        long hi = 0;
+        long lo = 0;
+        int index = 0;
+        for (String row : dna) {
+            if (row.length() != n) {
+                return null;
+            }
+            for (int col = 0; col < n; col++, index++) {
+                long code = PackedDnaMatrix.encode(row.charAt(col));
+                if (code < 0) {
+                    return null;
+                }
+                if (index < PackedDnaMatrix.BASES_PER_WORD) {
+                    lo |= code << (index << 1);
+                } else {
+                    hi |= code << ((index - PackedDnaMatrix.BASES_PER_WORD) << 1);
+                }
+            }
+        }
+        return new DnaKey(n, hi, lo);
+    }
+
+    /**
+     * Packs an NxN matrix (N <= 8) held in a flat, row-major buffer into its exact key.
+     *
+     * @return the key, or null if a cell is not A, C, G or T
+     */
+    static DnaKey exactKey(byte[] cells, int n) {
+        final int count = n * n;
+        long hi = 0;
+        long lo = 0;
+        for (int index = 0; index < count; index++) {
+            long code = PackedDnaMatrix.encode((char) (cells[index] & 0xFF));
+            if (code < 0) {
+                return null;
+            }
+            if (index < PackedDnaMatrix.BASES_PER_WORD) {
+                lo |= code << (index << 1);
+            } else {
+                hi |= code << ((index - PackedDnaMatrix.BASES_PER_WORD) << 1);
+            }
+        }
+        return new DnaKey(n, hi, lo);
+    }
+
+    /**
+     * Hash of every row of a flat, row-major matrix: row i at [2i, 2i + 1].
+     */
+    static long[] rowHashes(byte[] cells, int n) {
+        long[] rowHashes = new long[2 * n];
+        ByteBuffer buffer = ByteBuffer.wrap(cells).order(ByteOrder.LITTLE_ENDIAN);
+        for (int row = 0; row < n; row++) {
+            rowHash(buffer, row * n, n, n, rowHashes, row);
+        }
+        return rowHashes;
+    }
+
+    /**
+     * Hashes the row held in data[offset, offset + length) of an NxN matrix
+     * into out[2 * row] and out[2 * row + 1].
+     */
+    static void rowHash(byte[] data, int offset, int length, int n, long[] out, int row) {
+        rowHash(ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN), offset, length, n, out, row);
+    }
+
+    /**
+     * Hashes a row held in a little-endian ByteBuffer (a wrapped array, or
+     * e.g. a memory-mapped file read in place); the one MurmurHash3 body
+     * behind every row hash.
+     */
+    static void rowHash(ByteBuffer data, int offset, int length, int n, long[] out, int row) {
+        long h1 = n;
+        long h2 = n;
+        final int blocks = length >>> 4;
+
+        for (int i = 0; i < blocks; i++) {
+            int index = offset + (i << 4);
+            long k1 = data.getLong(index);
+            long k2 = data.getLong(index + 8);
+            h1 = mixH1(h1, h2, k1);
+            h2 = mixH2(h1, h2, k2);
+        }
+
+        int tail = offset + (blocks << 4);
+        int remaining = length & 15;
+        long k1 = 0;
+        long k2 = 0;
+        for (int i = 0; i < remaining; i++) {
+            long b = data.get(tail + i) & 0xffL;
+            if (i < 8) {
+                k1 |= b << (i << 3);
+            } else {
+                k2 |= b << ((i - 8) << 3);
+            }
+        }
+        if (remaining > 8) {
+            h2 ^= mixK2(k2);
+        }
+        if (remaining > 0) {
+            h1 ^= mixK1(k1);
+        }
+
+        finish(h1, h2, length, out, row);
+    }
+
+    /**
+     * Second level: hashes the row hashes, in row order, into the key.
+     */
+    static DnaKey combine(int n, long[] rowHashes) {
+        long h1 = n;
+        long h2 = n;
+        for (int i = 0; i < rowHashes.length; i += 2) {
+            h1 = mixH1(h1, h2, rowHashes[i]);
+            h2 = mixH2(h1, h2, rowHashes[i + 1]);
+        }
+        long[] key = new long[2];
+        finish(h1, h2, rowHashes.length * Long.BYTES, key, 0);
+        return new DnaKey(n, key[0], key[1]);
+    }
+
+    private static long mixH1(long h1, long h2, long k1) {
+        h1 ^= mixK1(k1);
+        h1 = Long.rotateLeft(h1, 27);
+        h1 += h2;
+        return h1 * 5 + 0x52dce729;
+    }
+
+    private static long mixH2(long h1, long h2, long k2) {
+        h2 ^= mixK2(k2);
+        h2 = Long.rotateLeft(h2, 31);
+        h2 += h1;
+        return h2 * 5 + 0x38495ab5;
+    }
+
+    private static long mixK1(long k1) {
+        k1 *= C1;
+        k1 = Long.rotateLeft(k1, 31);
+        return k1 * C2;
+    }
+
+    private static long mixK2(long k2) {
+        k2 *= C2;
+        k2 = Long.rotateLeft(k2, 33);
+        return k2 * C1;
+    }
+
+    private static void finish(long h1, long h2, long length, long[] out, int slot) {
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix64(h1);
+        h2 = fmix64(h2);
+        h1 += h2;
+        h2 += h1;
+        out[2 * slot] = h1;
+        out[2 * slot + 1] = h2;
+    }
+
+    private static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
@@ -0,0 +1,243 @@
+package org.example.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.entity.DnaKey;
+import org.example.repository.DnaRecordStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Optional write-behind persistence of new DNA records
+ * (mutant.persistence.write-behind.enabled).
+ *
+ * Instead of inserting inside the request, {@link MutantService} hands the
+ * record to this writer and answers right away. A single background thread
+ * drains the bounded queue and stores batches of up to batch-size records
+ * ({@link DnaRecordStore#insertAllIfAbsent}, one JDBC batch with the default
+ * store), flushing a partial batch once its oldest record has waited
+ * max-delay-ms.
+ *
+ * Until it is flushed a record is still visible through {@link #pending},
+ * so a resubmission never stores it twice.
+ *
+ * Durability:
+ * - A record accepted by the queue is in memory only until its batch commits
+ *   (at most about max-delay-ms under normal load).
+ * - On a graceful shutdown the writer stops accepting records and flushes
+ *   everything queued before the datasource is closed. Accepting a record
+ *   and stopping exclude each other, so no record is queued after the
+ *   final flush.
+ * - If the process dies abruptly the queued records are lost; resubmitting
+ *   those DNAs recomputes and stores them, but /stats undercounts meanwhile.
+ * - When the queue is full, or the writer is disabled or stopped,
+ *   {@link #enqueue} returns false and the caller inserts synchronously, so
+ *   no record is ever dropped because of back-pressure.
+ * - A batch that fails (e.g. a row stored concurrently by another instance
+ *   on a database without insert-if-absent) is retried row by row, each row
+ *   in its own transaction. Rows that fail again are lost like those of a
+ *   crash; they are logged, counted ({@link #getFailed}) and dropped from
+ *   the {@link DnaResultCache}, so the next submission of such a DNA stores
+ *   it instead of being answered from memory. The {@link DnaResultSnapshot}
+ *   leaves out records still queued, so a crash cannot leave behind a
+ *   snapshot entry whose record was never stored.
+ */
+@Component
+@Slf4j
+public class DnaRecordWriter {
+
+    // How long the idle writer waits for a record before checking whether it was stopped
+    private static final long IDLE_POLL_MS = 100;
+
+    private final DnaRecordStore dnaRecordStore;
+    private final DnaResultCache dnaResultCache;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long maxDelayNanos;
+    private final BlockingQueue<PendingRecord> queue;
+    private final ConcurrentMap<DnaKey, Boolean> pending = new ConcurrentHashMap<>();
+    private final AtomicLong failed = new AtomicLong();
+
+    // Read lock: checking running and queueing a record; write lock: stopping
+    private final ReentrantReadWriteLock stopLock = new ReentrantReadWriteLock();
+    private volatile boolean running;
+    private Thread worker;
+
+    public DnaRecordWriter(
+            DnaRecordStore dnaRecordStore,
+            DnaResultCache dnaResultCache,
+            TransactionTemplate transactionTemplate,
+            @Value("${mutant.persistence.write-behind.enabled:false}") boolean enabled,
+            @Value("${mutant.persistence.write-behind.batch-size:500}") int batchSize,
+            @Value("${mutant.persistence.write-behind.max-delay-ms:50}") long maxDelayMs,
+            @Value("${mutant.persistence.write-behind.queue-capacity:100000}") int queueCapacity) {
+        this.dnaRecordStore = dnaRecordStore;
+        this.dnaResultCache = dnaResultCache;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::drainLoop, "dna-record-writer");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("Write-behind persistence enabled: batches of {} rows, max delay {} ms, queue capacity {}",
+                batchSize, TimeUnit.NANOSECONDS.toMillis(maxDelayNanos), queue.remainingCapacity());
+    }
+
+    /**
+     * Stops accepting records and flushes everything queued.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (worker == null) {
+            return;
+        }
+        // Waits for the records being queued, and refuses any later one
+        stopLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            stopLock.writeLock().unlock();
+        }
+        // No interrupt: it could abort a batch in the middle of its writes
+        worker.join();
+        List<PendingRecord> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            flush(remaining.subList(from, Math.min(remaining.size(), from + batchSize)));
+        }
+        log.info("Write-behind persistence stopped, {} queued records flushed, {} records failed in total",
+                remaining.size(), failed.get());
+    }
+
+    /**
+     * Queues a new record for a background batch insert.
+     *
+     * @return true if queued, false if the caller must insert it itself
+     *         (write-behind disabled or stopped, or queue full)
+     */
+    boolean enqueue(DnaKey key, boolean isMutant) {
+        stopLock.readLock().lock();
+        try {
+            if (!running) {
+                return false;
+            }
+            if (pending.putIfAbsent(key, isMutant) != null) {
+                return true;
+            }
+            if (!queue.offer(new PendingRecord(key, isMutant))) {
+                pending.remove(key);
+                log.debug("Write-behind queue full, inserting synchronously");
+                return false;
+            }
+            return true;
+        } finally {
+            stopLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Result of a record that is queued but not stored yet.
+     */
+    Optional<Boolean> pending(DnaKey key) {
+        return Optional.ofNullable(pending.get(key));
+    }
+
+    /**
+     * Records queued but not stored yet.
+     */
+    int getQueued() {
+        return pending.size();
+    }
+
+    /**
+     * Records that could not be stored, even row by row, since startup.
+     */
+    long getFailed() {
+        return failed.get();
+    }
+
+    private void drainLoop() {
+        List<PendingRecord> batch = new ArrayList<>(batchSize);
+        try {
+            while (running) {
+                PendingRecord first = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < batchSize) {
+                    if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long wait = deadline - System.nanoTime();
+                    PendingRecord next = wait > 0 ? queue.poll(wait, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            flush(batch);
+        }
+    }
+
+    /**
+     * Stores the records in one batch and one transaction, or row by row if the
+     * batch fails (see {@link DnaRecordStore#insertAllOrEachIfAbsent}).
+     */
+    void flush(List<PendingRecord> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<DnaKey, Boolean> records = new LinkedHashMap<>();
+        batch.forEach(record -> records.put(record.key(), record.isMutant()));
+        try {
+            Map<DnaKey, Boolean> stored = dnaRecordStore.insertAllOrEachIfAbsent(records, transactionTemplate);
+            if (stored.size() < records.size()) {
+                // Cached when queued: forget them, or they would be answered from memory and never stored
+                records.keySet().stream().filter(key -> !stored.containsKey(key)).forEach(dnaResultCache::invalidate);
+                log.error("Could not store {} of {} DNA records ({} failed so far)", records.size() - stored.size(),
+                        records.size(), failed.addAndGet(records.size() - stored.size()));
+            } else {
+                log.debug("Flushed {} DNA records", batch.size());
+            }
+        } finally {
+            batch.forEach(record -> pending.remove(record.key()));
+        }
+    }
+
+    record PendingRecord(DnaKey key, boolean isMutant) {
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dto.CacheStatsResponse;
+import org.example.entity.DnaKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Bounded in-memory cache of verification results, keyed by {@link DnaKey}.
+ *
+ * Sits in front of {@link org.example.repository.DnaRecordRepository}: a
+ * repeat submission is answered from memory without a transaction or a
+ * query. Backed by Caffeine, whose W-TinyLFU policy admits a new key only if
+ * it is requested more often than the entry it would evict, so a burst of
+ * one-off DNAs cannot flush the frequently resubmitted ones.
+ *
+ * Results never change once stored, so entries need no expiry. The capacity
+ * comes from mutant.cache.max-size (0 disables caching); an entry costs
+ * about 100 bytes. {@link DnaResultSnapshot} persists it across restarts.
+ */
+@Component
+@Slf4j
+public class DnaResultCache {
+
+    private final long capacity;
+    private final Cache<DnaKey, Boolean> results;
+
+    public DnaResultCache(@Value("${mutant.cache.max-size:100000}") long capacity) {
+        this.capacity = capacity;
+        this.results = Caffeine.newBuilder()
+                .maximumSize(capacity)
+                // Run eviction on the calling thread instead of the common pool
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+        log.info("DNA result cache capacity: {}", capacity);
+    }
+
+    /**
+     * Cached result of a DNA.
+     *
+     * @return true if mutant, false if human, null if not cached
+     */
+    Boolean get(DnaKey key) {
+        return results.getIfPresent(key);
+    }
+
+    /**
+     * Caches the result of a DNA that is stored in the database.
+     */
+    void put(DnaKey key, boolean isMutant) {
+        results.put(key, isMutant);
+    }
+
+    /**
+     * Drops the cached result of a DNA, e.g. one whose record could not be stored after all.
+     */
+    void invalidate(DnaKey key) {
+        results.invalidate(key);
+    }
+
+    /**
+     * Calls the action for every cached result (weakly consistent with concurrent updates).
+     */
+    void forEach(BiConsumer<DnaKey, Boolean> action) {
+        results.asMap().forEach(action);
+    }
+
+    /**
+     * Hit, miss and eviction counters since startup.
+     */
+    public CacheStatsResponse getStats() {
+        CacheStats stats = results.stats();
+        return new CacheStatsResponse(stats.hitCount(), stats.missCount(), stats.hitRate(),
+                stats.evictionCount(), results.estimatedSize(), capacity);
+    }
+}
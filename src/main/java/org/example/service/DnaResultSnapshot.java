@@ -0,0 +1,198 @@
+package org.example.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.entity.DnaKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Persists the {@link DnaResultCache} to local disk so a restart starts warm.
+ *
+ * The snapshot is written every mutant.cache.snapshot.interval-ms and on
+ * shutdown, and loaded while the application context starts, i.e. before
+ * the application reports ready. An empty mutant.cache.snapshot.path
+ * disables it.
+ *
+ * File format (big-endian):
+ * - header: magic "DNAS" (int), version (int), entry count (long)
+ * - entries, 20 bytes each: size | mutant flag in bit 31 (int), key hi (long), key lo (long)
+ *
+ * A snapshot is written to a temporary file and moved over the previous one,
+ * so a crash mid-write never leaves a truncated snapshot behind. Loading
+ * memory-maps the file and bulk-inserts the entries; 10M entries are 200 MB.
+ * A file with a wrong header or length is ignored.
+ *
+ * Results whose record is still queued by the {@link DnaRecordWriter} are
+ * left out: the record may yet fail to be stored, or be lost in a crash,
+ * and a restored entry would then keep the DNA from ever being stored.
+ */
+@Component
+@Slf4j
+public class DnaResultSnapshot {
+
+    static final int MAGIC = 0x444e4153; // "DNAS"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = Integer.BYTES * 2 + Long.BYTES;
+    static final int ENTRY_BYTES = Integer.BYTES + Long.BYTES * 2;
+
+    private static final int MUTANT_FLAG = 0x8000_0000;
+    private static final int WRITE_BUFFER_ENTRIES = 1 << 16;
+    // Largest mapping that holds whole entries (a single mapping is limited to 2 GB)
+    private static final long MAX_MAPPED_BYTES = (Integer.MAX_VALUE / ENTRY_BYTES) * (long) ENTRY_BYTES;
+
+    private final DnaResultCache dnaResultCache;
+    private final DnaRecordWriter dnaRecordWriter;
+    private final Path path;
+
+    public DnaResultSnapshot(
+            DnaResultCache dnaResultCache,
+            DnaRecordWriter dnaRecordWriter,
+            @Value("${mutant.cache.snapshot.path:}") String path) {
+        this.dnaResultCache = dnaResultCache;
+        this.dnaRecordWriter = dnaRecordWriter;
+        this.path = path.isBlank() ? null : Path.of(path);
+    }
+
+    @PostConstruct
+    void init() {
+        if (path == null) {
+            log.info("Result cache snapshot disabled");
+            return;
+        }
+        long start = System.nanoTime();
+        long loaded = load();
+        if (loaded > 0) {
+            log.info("Loaded {} DNA results from {} in {} ms",
+                    loaded, path, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${mutant.cache.snapshot.interval-ms:300000}",
+               fixedDelayString = "${mutant.cache.snapshot.interval-ms:300000}")
+    void periodicSnapshot() {
+        if (path != null) {
+            save();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (path != null) {
+            save();
+        }
+    }
+
+    /**
+     * Writes every cached result to the snapshot file.
+     *
+     * @return number of entries written, or -1 if the snapshot could not be written
+     */
+    synchronized long save() {
+        long start = System.nanoTime();
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            long written;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                written = writeEntries(channel);
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION).putLong(written);
+                channel.write(header.flip(), 0);
+                channel.force(false);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Saved {} DNA results to {} in {} ms", written, path, (System.nanoTime() - start) / 1_000_000);
+            return written;
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Could not write result cache snapshot {}: {}", path, e.getMessage());
+            return -1;
+        }
+    }
+
+    private long writeEntries(FileChannel channel) throws IOException {
+        channel.position(HEADER_BYTES);
+        ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_ENTRIES * ENTRY_BYTES);
+        long[] written = new long[1];
+        dnaResultCache.forEach((key, isMutant) -> {
+            if (dnaRecordWriter.pending(key).isPresent()) {
+                return;
+            }
+            if (!buffer.hasRemaining()) {
+                flush(channel, buffer);
+            }
+            buffer.putInt(key.size() | (isMutant ? MUTANT_FLAG : 0)).putLong(key.hi()).putLong(key.lo());
+            written[0]++;
+        });
+        flush(channel, buffer);
+        return written[0];
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Loads the snapshot file into the cache.
+     *
+     * @return number of entries loaded (0 if there is no valid snapshot)
+     */
+    long load() {
+        if (!Files.isRegularFile(path)) {
+            return 0;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            if (fileSize < HEADER_BYTES || channel.read(header, 0) != HEADER_BYTES) {
+                log.warn("Ignoring result cache snapshot {}: file too short", path);
+                return 0;
+            }
+            header.flip();
+            int magic = header.getInt();
+            int version = header.getInt();
+            long count = header.getLong();
+            if (magic != MAGIC || version != VERSION || fileSize != HEADER_BYTES + count * ENTRY_BYTES) {
+                log.warn("Ignoring result cache snapshot {}: unknown format or truncated", path);
+                return 0;
+            }
+
+            for (long offset = HEADER_BYTES; offset < fileSize; offset += MAX_MAPPED_BYTES) {
+                long length = Math.min(MAX_MAPPED_BYTES, fileSize - offset);
+                MappedByteBuffer entries = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                while (entries.hasRemaining()) {
+                    int sizeAndFlag = entries.getInt();
+                    DnaKey key = new DnaKey(sizeAndFlag & ~MUTANT_FLAG, entries.getLong(), entries.getLong());
+                    dnaResultCache.put(key, (sizeAndFlag & MUTANT_FLAG) != 0);
+                }
+            }
+            return count;
+        } catch (IOException e) {
+            log.warn("Could not read result cache snapshot {}: {}", path, e.getMessage());
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package org.example.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.example.entity.DnaKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Migrates records written before {@link DnaKey} (identified only by the
+ * SHA-256 dna_hash, see {@link DnaHasher}) to the compact key.
+ *
+ * - At startup, drops the NOT NULL constraint that older schemas have on
+ *   dna_hash (ddl-auto=update adds the key columns but never relaxes a
+ *   constraint) and counts the records without a key.
+ * - While the migration is active, a key miss falls back to the legacy
+ *   hash; a legacy record found that way gets its key and loses its hash,
+ *   so each one is migrated the first time its DNA is submitted again.
+ *   {@link #migrateAll} does the same for many DNAs with one query.
+ *
+ * A legacy record can only be matched to its key through the DNA itself, so
+ * records whose DNA is never submitted again would keep the migration
+ * active forever. It ends when:
+ * - every legacy record has been migrated, or
+ * - mutant.legacy.migration.until (an ISO-8601 instant) has passed, or
+ * - mutant.legacy.migration.enabled is false.
+ * Once it has ended the legacy hash is never computed again; a DNA whose
+ * legacy record was not migrated is stored again under its key, and the
+ * legacy row is left untouched.
+ */
+@Component
+@Slf4j
+public class LegacyDnaRecordMigrator {
+
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM dna_records WHERE key_hi IS NULL";
+    private static final String SELECT_SQL =
+            "SELECT dna_hash, is_mutant FROM dna_records WHERE key_hi IS NULL AND dna_hash IN ";
+    private static final String UPDATE_SQL =
+            "UPDATE dna_records SET dna_size = ?, key_hi = ?, key_lo = ?, dna_hash = NULL "
+            + "WHERE dna_hash = ? AND key_hi IS NULL";
+
+    // Legacy hashes per lookup query
+    static final int MAX_HASHES_PER_QUERY = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final Instant until;
+
+    private final AtomicLong remaining = new AtomicLong();
+    private volatile boolean ended;
+
+    public LegacyDnaRecordMigrator(
+            JdbcTemplate jdbcTemplate,
+            @Value("${mutant.legacy.migration.enabled:true}") boolean enabled,
+            @Value("${mutant.legacy.migration.until:}") String until) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.until = until == null || until.isBlank() ? null : Instant.parse(until.trim());
+    }
+
+    @PostConstruct
+    void init() {
+        try {
+            jdbcTemplate.execute("ALTER TABLE dna_records ALTER COLUMN dna_hash DROP NOT NULL");
+        } catch (DataAccessException e) {
+            log.warn("Could not make dna_records.dna_hash nullable, new records may fail to insert: {}",
+                    e.getMessage());
+        }
+        Long legacy = jdbcTemplate.queryForObject(COUNT_SQL, Long.class);
+        remaining.set(legacy != null ? legacy : 0);
+        if (remaining.get() == 0) {
+            return;
+        }
+        if (!enabled) {
+            end("mutant.legacy.migration.enabled is false");
+        } else {
+            log.info("{} DNA records without key will be migrated as they are submitted again{}", remaining.get(),
+                    until != null ? " until " + until : "");
+        }
+    }
+
+    /**
+     * Whether key misses still have to be looked up by legacy hash.
+     */
+    public boolean isActive() {
+        if (ended || remaining.get() <= 0) {
+            return false;
+        }
+        if (until != null && !Instant.now().isBefore(until)) {
+            end("mutant.legacy.migration.until has passed");
+            return false;
+        }
+        return true;
+    }
+
+    private synchronized void end(String reason) {
+        if (!ended) {
+            ended = true;
+            log.warn("Legacy DNA migration ended ({}): {} records without key will no longer be looked up",
+                    reason, remaining.get());
+        }
+    }
+
+    /**
+     * Finds the legacy record of a DNA and gives it its key.
+     *
+     * @param key Key of the DNA
+     * @param legacyHash Computes the legacy dna_hash of the same DNA, only called while the migration is active
+     * @return the result of the migrated record, or empty if there is none
+     */
+    Optional<Boolean> migrate(DnaKey key, Supplier<String> legacyHash) {
+        if (!isActive()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(migrateAll(Map.of(key, legacyHash.get())).get(key));
+    }
+
+    /**
+     * Finds the legacy records of several DNAs with one query per
+     * {@value #MAX_HASHES_PER_QUERY} hashes and gives each its key.
+     *
+     * @param legacyHashes Legacy dna_hash by key, for distinct DNAs
+     * @return result of every migrated record, by key
+     */
+    Map<DnaKey, Boolean> migrateAll(Map<DnaKey, String> legacyHashes) {
+        Map<DnaKey, Boolean> migrated = new HashMap<>();
+        if (!isActive() || legacyHashes.isEmpty()) {
+            return migrated;
+        }
+        Map<String, DnaKey> keysByHash = new HashMap<>();
+        legacyHashes.forEach((key, hash) -> keysByHash.put(hash, key));
+        List<String> hashes = new ArrayList<>(keysByHash.keySet());
+
+        List<Object[]> updates = new ArrayList<>();
+        for (int from = 0; from < hashes.size(); from += MAX_HASHES_PER_QUERY) {
+            List<String> chunk = hashes.subList(from, Math.min(hashes.size(), from + MAX_HASHES_PER_QUERY));
+            String sql = SELECT_SQL + "(" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+            jdbcTemplate.query(sql, row -> {
+                String hash = row.getString(1);
+                DnaKey key = keysByHash.get(hash);
+                migrated.put(key, row.getBoolean(2));
+                updates.add(new Object[]{key.size(), key.hi(), key.lo(), hash});
+            }, chunk.toArray());
+        }
+        if (updates.isEmpty()) {
+            return migrated;
+        }
+
+        jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+        log.debug("Migrated {} legacy DNA records to their key", updates.size());
+        if (remaining.addAndGet(-updates.size()) <= 0) {
+            log.info("All legacy DNA records migrated");
+        }
+        return migrated;
+    }
+
+    /**
+     * Legacy records not migrated yet.
+     */
+    public long getRemaining() {
+        return remaining.get();
+    }
+}
@@ -0,0 +1,268 @@
+package org.example.service;
+
+import org.example.entity.DnaKey;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * NxN DNA matrix read in place from a memory-mapped file with one row per
+ * line (N bases of A, C, G, T in uppercase, then \n or \r\n; the last line
+ * break is optional).
+ *
+ * The file is mapped read-only in segments of whole rows of at most
+ * {@value #MAX_SEGMENT_BYTES} bytes (a MappedByteBuffer is indexed by int),
+ * so a row never straddles two segments. Nothing but the 16·N bytes of row
+ * hashes is held on the heap; the pages are the OS page cache's to keep.
+ *
+ * {@link #scanRows} does a single pass over a band of rows: it validates
+ * each row, hashes it ({@link DnaKeyHasher}, the same key as the matrix
+ * would get through POST /mutant) and counts the windows of 4 identical
+ * bases that start in it. Bands can be scanned concurrently: each row is
+ * written by exactly one band, and windows near the end of a band only read
+ * the next rows.
+ */
+final class MappedDnaMatrix {
+
+    static final long MAX_SEGMENT_BYTES = 1L << 30;
+
+    private static final int SEQUENCE_LENGTH = MutantDetector.SEQUENCE_LENGTH;
+    private static final int MIN_SIZE = 4;
+
+    private final int size;
+    private final int stride;
+    private final int rowsPerSegment;
+    private final ByteBuffer[] segments;
+    private final long[] rowHashes;
+    private final AtomicInteger sequences = new AtomicInteger();
+    private final AtomicLong firstInvalidRow = new AtomicLong(Long.MAX_VALUE);
+
+    private MappedDnaMatrix(int size, int stride, ByteBuffer[] segments, int rowsPerSegment) {
+        this.size = size;
+        this.stride = stride;
+        this.segments = segments;
+        this.rowsPerSegment = rowsPerSegment;
+        this.rowHashes = new long[2 * size];
+    }
+
+    /**
+     * Maps a matrix file after checking that its length matches N rows of N bases.
+     *
+     * @throws IllegalArgumentException if the file cannot hold an NxN matrix
+     */
+    static MappedDnaMatrix map(Path file) throws IOException {
+        return map(file, MAX_SEGMENT_BYTES);
+    }
+
+    /**
+     * Same as {@link #map(Path)} with segments of at most maxSegmentBytes (at least one row each).
+     */
+    static MappedDnaMatrix map(Path file, long maxSegmentBytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long length = channel.size();
+            if (length == 0) {
+                throw new IllegalArgumentException("DNA array cannot be null or empty");
+            }
+
+            long firstBreak = firstLineBreak(channel);
+            boolean crlf = firstBreak > 0 && byteAt(channel, firstBreak - 1) == '\r';
+            long width = firstBreak < 0 ? length : (crlf ? firstBreak - 1 : firstBreak);
+            int lineBreak = firstBreak < 0 ? 1 : (crlf ? 2 : 1);
+            long stride = width + lineBreak;
+            long expected = width * stride;
+            if (width > Integer.MAX_VALUE - 2 || (length != expected && length != expected - lineBreak)) {
+                throw new IllegalArgumentException(String.format(
+                    "Matrix must be square NxN. Row 0 has %d characters, so %d lines of %d bytes were expected, "
+                            + "but the file has %d bytes", width, width, stride, length));
+            }
+            if (width < MIN_SIZE) {
+                throw new IllegalArgumentException(
+                        String.format("DNA matrix must be at least %dx%d", MIN_SIZE, MIN_SIZE));
+            }
+
+            final int n = (int) width;
+            final int rowsPerSegment = (int) Math.max(1, maxSegmentBytes / stride);
+            final int segmentCount = (n + rowsPerSegment - 1) / rowsPerSegment;
+            ByteBuffer[] segments = new ByteBuffer[segmentCount];
+            for (int segment = 0; segment < segmentCount; segment++) {
+                long start = (long) segment * rowsPerSegment * stride;
+                long bytes = Math.min((long) rowsPerSegment * stride, length - start);
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, bytes);
+                segments[segment] = mapped.order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return new MappedDnaMatrix(n, (int) stride, segments, rowsPerSegment);
+        }
+    }
+
+    private static long firstLineBreak(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        long position = 0;
+        int read;
+        while ((read = channel.read(buffer, position)) > 0) {
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i;
+                }
+            }
+            position += read;
+            buffer.clear();
+        }
+        return -1;
+    }
+
+    private static byte byteAt(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(1);
+        channel.read(buffer, position);
+        return buffer.get(0);
+    }
+
+    int size() {
+        return size;
+    }
+
+    private ByteBuffer segmentOf(int row) {
+        return segments[row / rowsPerSegment];
+    }
+
+    private int offsetOf(int row) {
+        return (row % rowsPerSegment) * stride;
+    }
+
+    /**
+     * Validates, hashes and counts the windows starting in rows [fromRow, toRow).
+     * Counting stops once the whole matrix is known to be mutant; validation
+     * and hashing always cover every row.
+     *
+     * @return true (the band never stops the others, see ParallelMutantDetector.BandTask)
+     */
+    boolean scanRows(int fromRow, int toRow) {
+        for (int row = fromRow; row < toRow; row++) {
+            ByteBuffer segment = segmentOf(row);
+            int offset = offsetOf(row);
+            if (!isValidRow(segment, offset, row)) {
+                firstInvalidRow.accumulateAndGet(row, Math::min);
+                continue;
+            }
+            DnaKeyHasher.rowHash(segment, offset, size, size, rowHashes, row);
+            if (sequences.get() < MutantDetector.MUTANT_THRESHOLD) {
+                int found = countWindowsStartingAt(row);
+                if (found > 0) {
+                    sequences.addAndGet(found);
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean isValidRow(ByteBuffer segment, int offset, int row) {
+        for (int col = 0; col < size; col++) {
+            byte base = segment.get(offset + col);
+            if (base != 'A' && base != 'C' && base != 'G' && base != 'T') {
+                return false;
+            }
+        }
+        int end = offset + size;
+        if (row == size - 1 || end >= segment.limit()) {
+            // Last row: the line break is optional, and map() checked the length
+            return true;
+        }
+        return stride == size + 1
+                ? segment.get(end) == '\n'
+                : segment.get(end) == '\r' && segment.get(end + 1) == '\n';
+    }
+
+    /**
+     * Message for the first invalid row, or null if every row is valid. Only meaningful after a full scan.
+     */
+    String getViolation() {
+        long row = firstInvalidRow.get();
+        if (row == Long.MAX_VALUE) {
+            return null;
+        }
+        return String.format(
+            "Row %d contains invalid characters. Only A, T, C, G are allowed (uppercase, %d per line)",
+            row, size
+        );
+    }
+
+    /**
+     * Verdict of a full scan: more than one window of 4 identical bases.
+     */
+    boolean isMutant() {
+        return sequences.get() >= MutantDetector.MUTANT_THRESHOLD;
+    }
+
+    /**
+     * Key of the matrix after a full scan of a valid matrix: exact up to 8x8, combined from the row hashes above.
+     */
+    DnaKey key() {
+        if (size <= DnaKeyHasher.EXACT_MAX_SIZE) {
+            byte[] cells = new byte[size * size];
+            for (int row = 0; row < size; row++) {
+                segmentOf(row).get(offsetOf(row), cells, row * size, size);
+            }
+            return DnaKeyHasher.key(cells, size);
+        }
+        return DnaKeyHasher.combine(size, rowHashes);
+    }
+
+    /**
+     * Legacy dna_hash of the matrix ({@link DnaHasher}), only needed while legacy records remain.
+     */
+    String legacyHash() {
+        return DnaHasher.hash(size, row -> segmentOf(row).slice(offsetOf(row), size));
+    }
+
+    /**
+     * Counts every window of 4 identical bases whose first cell is in the given row,
+     * reading the mapped rows in place (same directions as MatrixSummary).
+     */
+    private int countWindowsStartingAt(int row) {
+        final int n = size;
+        final int last = n - SEQUENCE_LENGTH;
+        final ByteBuffer s0 = segmentOf(row);
+        final int o0 = offsetOf(row);
+        int count = 0;
+
+        for (int col = 0; col <= last; col++) {
+            byte base = s0.get(o0 + col);
+            if (s0.get(o0 + col + 1) == base && s0.get(o0 + col + 2) == base && s0.get(o0 + col + 3) == base) {
+                count++;
+            }
+        }
+
+        if (row <= last) {
+            final ByteBuffer s1 = segmentOf(row + 1);
+            final ByteBuffer s2 = segmentOf(row + 2);
+            final ByteBuffer s3 = segmentOf(row + 3);
+            final int o1 = offsetOf(row + 1);
+            final int o2 = offsetOf(row + 2);
+            final int o3 = offsetOf(row + 3);
+            for (int col = 0; col < n; col++) {
+                byte base = s0.get(o0 + col);
+                // Vertical (↓)
+                if (s1.get(o1 + col) == base && s2.get(o2 + col) == base && s3.get(o3 + col) == base) {
+                    count++;
+                }
+                // Main diagonal (↘)
+                if (col <= last && s1.get(o1 + col + 1) == base && s2.get(o2 + col + 2) == base
+                        && s3.get(o3 + col + 3) == base) {
+                    count++;
+                }
+                // Anti-diagonal (↙)
+                if (col >= SEQUENCE_LENGTH - 1 && s1.get(o1 + col - 1) == base && s2.get(o2 + col - 2) == base
+                        && s3.get(o3 + col - 3) == base) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Runs {@link MappedMatrixAnalysisService} on the file of mutant.analyze.file
+ * once the application has started, e.g.
+ * java -jar mutant-detector.jar --mutant.analyze.file=grid.txt
+ *
+ * Like the bulk import, MutantDetectorApplication starts without a web
+ * server in that mode and exits when the analysis is done, and the store
+ * the result is recorded in must outlive the process ({@link OfflineStoreCheck}).
+ */
+@Component
+@ConditionalOnProperty(name = "mutant.analyze.file")
+@RequiredArgsConstructor
+public class MappedMatrixAnalysisRunner implements ApplicationRunner {
+
+    private final MappedMatrixAnalysisService mappedMatrixAnalysisService;
+    private final OfflineStoreCheck offlineStoreCheck;
+
+    @Value("${mutant.analyze.file}")
+    private String file;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        offlineStoreCheck.requirePersistentStore("analysis");
+        mappedMatrixAnalysisService.analyze(Path.of(file.trim()));
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.entity.DnaKey;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Analysis of a single matrix too big for a request body, read in place from
+ * a memory-mapped file ({@link MappedDnaMatrix}, see MappedMatrixAnalysisRunner).
+ *
+ * The rows are split into bands that run on the pool of
+ * {@link ParallelMutantDetector}; one pass over the file validates, hashes and
+ * counts, so the heap only holds the row hashes (16 bytes per row) whatever
+ * the file size. The result is then recorded like any POST /mutant analysis
+ * ({@link MutantService#recordAnalysis}): a DNA that is already stored is
+ * answered from the store, and /stats counts it once.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MappedMatrixAnalysisService {
+
+    private final ParallelMutantDetector parallelMutantDetector;
+    private final MutantService mutantService;
+
+    /**
+     * Analyzes the matrix of a file and records the result.
+     *
+     * @param file One row per line: N uppercase bases, then \n or \r\n
+     * @return key, verdict and duration of the analysis
+     * @throws IllegalArgumentException if the file does not hold a valid NxN matrix
+     * @throws UncheckedIOException if the file cannot be read
+     */
+    public Result analyze(Path file) {
+        long start = System.nanoTime();
+        MappedDnaMatrix matrix;
+        try {
+            matrix = MappedDnaMatrix.map(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map " + file, e);
+        }
+        final int n = matrix.size();
+        log.info("Analyzing {}x{} DNA mapped from {} on {} workers", n, n, file,
+                parallelMutantDetector.getParallelism());
+
+        parallelMutantDetector.forEachBand(n, matrix::scanRows);
+        String violation = matrix.getViolation();
+        if (violation != null) {
+            throw new IllegalArgumentException(violation);
+        }
+
+        DnaKey key = matrix.key();
+        boolean isMutant = mutantService.recordAnalysis(key, matrix::legacyHash, matrix::isMutant);
+        Result result = new Result(n, key.toHex(), isMutant,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("Mapped DNA {} ({}x{}) is {} ({} ms)", result.dnaId(), n, n,
+                isMutant ? "MUTANT" : "HUMAN", result.elapsedMillis());
+        return result;
+    }
+
+    /**
+     * Outcome of the analysis of a mapped matrix.
+     *
+     * @param size Matrix size N
+     * @param dnaId Id of the matrix: size, dash and key as 32 hexadecimal digits
+     * @param isMutant Verdict (the stored one if the DNA was already analyzed)
+     * @param elapsedMillis Duration of the mapping, scan and recording
+     */
+    public record Result(int size, String dnaId, boolean isMutant, long elapsedMillis) {
+    }
+}
@@ -0,0 +1,198 @@
+package org.example.service;
+
+import org.example.entity.DnaKey;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+
+/**
+ * Immutable per-matrix summary that lets a resubmission with a few edited
+ * rows be re-analyzed in time proportional to the edit.
+ *
+ * Holds, for a full DNA matrix:
+ * - the rows (1 byte per base)
+ * - the number of windows of 4 identical bases STARTING in each row
+ * - the hash of each row and the resulting key ({@link DnaKeyHasher})
+ *
+ * A window starting at row r only reads rows r..r+3, so editing row e can
+ * only change the counts of start rows e-3..e. {@link #withRows} recounts
+ * just those rows and re-hashes just the edited rows; every other row,
+ * count and row hash is shared with the base summary (copy-on-write per row),
+ * so the cost is O(k·N) for k edited rows plus O(N) bookkeeping, not O(N²).
+ */
+final class MatrixSummary {
+
+    private static final int SEQUENCE_LENGTH = MutantDetector.SEQUENCE_LENGTH;
+
+    private final int size;
+    private final byte[][] rows;
+    private final int[] windowsStartingAt;
+    private final long totalSequences;
+    private final long[] rowHashes;
+    private final DnaKey key;
+    private final int rowsRescanned;
+
+    private MatrixSummary(int size, byte[][] rows, int[] windowsStartingAt, long totalSequences,
+                          long[] rowHashes, DnaKey key, int rowsRescanned) {
+        this.size = size;
+        this.rows = rows;
+        this.windowsStartingAt = windowsStartingAt;
+        this.totalSequences = totalSequences;
+        this.rowHashes = rowHashes;
+        this.key = key;
+        this.rowsRescanned = rowsRescanned;
+    }
+
+    /**
+     * Builds the summary of a full matrix: one full count (bit-packed when the
+     * matrix only holds A, C, G, T) plus the row hashes.
+     *
+     * @param cells Row-major cells, cell (row, col) at index row * n + col
+     * @param n Matrix size N
+     */
+    static MatrixSummary build(byte[] cells, int n) {
+        byte[][] rows = new byte[n][];
+        for (int row = 0; row < n; row++) {
+            rows[row] = Arrays.copyOfRange(cells, row * n, row * n + n);
+        }
+
+        int[] windowsStartingAt = new int[n];
+        PackedDnaMatrix packed = PackedDnaMatrix.pack(cells, n);
+        long total = 0;
+        for (int row = 0; row < n; row++) {
+            windowsStartingAt[row] = packed != null
+                    ? packed.countSequencesStartingAt(row)
+                    : countWindowsStartingAt(rows, row);
+            total += windowsStartingAt[row];
+        }
+
+        long[] rowHashes = DnaKeyHasher.rowHashes(cells, n);
+        return new MatrixSummary(n, rows, windowsStartingAt, total, rowHashes, keyOf(rows, rowHashes), n);
+    }
+
+    /**
+     * Returns the summary of this matrix with some rows replaced.
+     *
+     * @param edits New content by row index; every row must be exactly N bytes
+     */
+    MatrixSummary withRows(Map<Integer, byte[]> edits) {
+        byte[][] newRows = rows.clone();
+        long[] newHashes = rowHashes.clone();
+        int[] newCounts = windowsStartingAt.clone();
+
+        BitSet affected = new BitSet(size);
+        for (Map.Entry<Integer, byte[]> edit : edits.entrySet()) {
+            int row = edit.getKey();
+            newRows[row] = edit.getValue();
+            DnaKeyHasher.rowHash(edit.getValue(), 0, size, size, newHashes, row);
+            affected.set(Math.max(0, row - SEQUENCE_LENGTH + 1), row + 1);
+        }
+
+        long total = totalSequences;
+        for (int row = affected.nextSetBit(0); row >= 0; row = affected.nextSetBit(row + 1)) {
+            int count = countWindowsStartingAt(newRows, row);
+            total += count - newCounts[row];
+            newCounts[row] = count;
+        }
+
+        return new MatrixSummary(size, newRows, newCounts, total, newHashes,
+                keyOf(newRows, newHashes), affected.cardinality());
+    }
+
+    /**
+     * Same key as {@link DnaKeyHasher#key(byte[], int)}: exact for small
+     * matrices, otherwise combined from the row hashes.
+     */
+    private static DnaKey keyOf(byte[][] rows, long[] rowHashes) {
+        final int n = rows.length;
+        if (n <= DnaKeyHasher.EXACT_MAX_SIZE) {
+            byte[] cells = new byte[n * n];
+            for (int row = 0; row < n; row++) {
+                System.arraycopy(rows[row], 0, cells, row * n, n);
+            }
+            DnaKey exact = DnaKeyHasher.exactKey(cells, n);
+            if (exact != null) {
+                return exact;
+            }
+        }
+        return DnaKeyHasher.combine(n, rowHashes);
+    }
+
+    /**
+     * Counts every window of 4 identical bases whose first cell is in the given row.
+     */
+    static int countWindowsStartingAt(byte[][] rows, int row) {
+        final int n = rows.length;
+        final int last = n - SEQUENCE_LENGTH;
+        final byte[] r0 = rows[row];
+        int count = 0;
+
+        for (int col = 0; col <= last; col++) {
+            byte base = r0[col];
+            if (r0[col + 1] == base && r0[col + 2] == base && r0[col + 3] == base) {
+                count++;
+            }
+        }
+
+        if (row <= last) {
+            final byte[] r1 = rows[row + 1];
+            final byte[] r2 = rows[row + 2];
+            final byte[] r3 = rows[row + 3];
+            for (int col = 0; col < n; col++) {
+                byte base = r0[col];
+                // Vertical (↓)
+                if (r1[col] == base && r2[col] == base && r3[col] == base) {
+                    count++;
+                }
+                // Main diagonal (↘)
+                if (col <= last && r1[col + 1] == base && r2[col + 2] == base && r3[col + 3] == base) {
+                    count++;
+                }
+                // Anti-diagonal (↙)
+                if (col >= SEQUENCE_LENGTH - 1 && r1[col - 1] == base && r2[col - 2] == base && r3[col - 3] == base) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    int getSize() {
+        return size;
+    }
+
+    long getTotalSequences() {
+        return totalSequences;
+    }
+
+    boolean isMutant() {
+        return totalSequences >= MutantDetector.MUTANT_THRESHOLD;
+    }
+
+    DnaKey getKey() {
+        return key;
+    }
+
+    /**
+     * Legacy dna_hash of this matrix ({@link DnaHasher}), only needed while legacy records remain.
+     */
+    String legacyHash() {
+        return DnaHasher.hash(rows);
+    }
+
+    /**
+     * Approximate heap held by this summary: the rows (N² bytes plus an array
+     * header per row), the per-row counts and the row hashes.
+     */
+    long estimatedBytes() {
+        return (long) size * size + (long) size * (16 + Integer.BYTES + 2 * Long.BYTES);
+    }
+
+    /**
+     * Start rows whose windows were counted to build this summary.
+     */
+    int getRowsRescanned() {
+        return rowsRescanned;
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.entity.DnaKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded in-memory store of {@link MatrixSummary} objects, keyed by the public id ({@link DnaKey#toHex()}) of their key.
+ *
+ * Matrices of at least mutant.delta.min-size rows analyzed through POST /mutant
+ * (and every matrix produced by POST /mutant/delta) are kept here so that
+ * later deltas can refer to them.
+ *
+ * The store is bounded by bytes, not entries, since a summary holds about N²
+ * bytes: least recently used summaries are evicted until the estimated size
+ * ({@link MatrixSummary#estimatedBytes()}) of those kept is at most
+ * mutant.delta.max-bytes. A summary bigger than the whole budget is not kept.
+ * Rows shared between a base and its edits are counted once per summary, so
+ * the estimate errs on the high side.
+ */
+@Component
+@Slf4j
+public class MatrixSummaryStore {
+
+    private final int minSize;
+    private final long maxBytes;
+    private final Map<String, MatrixSummary> summaries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    public MatrixSummaryStore(
+            @Value("${mutant.delta.min-size:256}") int minSize,
+            @Value("${mutant.delta.max-bytes:268435456}") long maxBytes) {
+        this.minSize = minSize;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Whether matrices of this size get a summary when analyzed (0 disables tracking).
+     */
+    public boolean tracks(int size) {
+        return minSize > 0 && size >= minSize;
+    }
+
+    synchronized MatrixSummary get(String dnaId) {
+        return summaries.get(dnaId);
+    }
+
+    /**
+     * Whether a summary is kept for the key.
+     */
+    synchronized boolean contains(DnaKey key) {
+        return summaries.containsKey(key.toHex());
+    }
+
+    synchronized void put(MatrixSummary summary) {
+        String dnaId = summary.getKey().toHex();
+        long size = summary.estimatedBytes();
+        if (size > maxBytes) {
+            log.debug("Summary of {}x{} DNA {} exceeds mutant.delta.max-bytes, not kept",
+                    summary.getSize(), summary.getSize(), dnaId);
+            return;
+        }
+        MatrixSummary replaced = summaries.put(dnaId, summary);
+        bytes += size - (replaced != null ? replaced.estimatedBytes() : 0);
+
+        Iterator<MatrixSummary> eldest = summaries.values().iterator();
+        while (bytes > maxBytes) {
+            MatrixSummary evicted = eldest.next();
+            bytes -= evicted.estimatedBytes();
+            eldest.remove();
+        }
+        log.debug("Stored summary of {}x{} DNA {} ({} summaries, {} bytes)",
+                summary.getSize(), summary.getSize(), dnaId, summaries.size(), bytes);
+    }
+
+    /**
+     * Estimated bytes held by the summaries kept.
+     */
+    synchronized long getBytes() {
+        return bytes;
+    }
+}
@@ -22,10 +22,15 @@ import org.springframework.stereotype.Component;
  * Space Complexity: O(N²) for the char matrix conversion
  */
 @Component
-public class MutantDetector {
+public class MutantDetector implements DetectionStrategy {
 
-    private static final int SEQUENCE_LENGTH = 4;
-    private static final int MUTANT_THRESHOLD = 2; // More than 1 sequence
+    static final int SEQUENCE_LENGTH = 4;
+    static final int MUTANT_THRESHOLD = 2; // More than 1 sequence
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
 
     /**
      * Determines if a DNA sequence belongs to a mutant.
@@ -34,6 +39,7 @@ public class MutantDetector {
      * @return true if mutant (>1 sequences found), false otherwise
      * @throws IllegalArgumentException if DNA is null or invalid
      */
+    @Override
     public boolean isMutant(String[] dna) {
         if (dna == null || dna.length == 0) {
             throw new IllegalArgumentException("DNA array cannot be null or empty");
@@ -100,6 +106,66 @@ public class MutantDetector {
         return false;
     }
 
+    /**
+     * Same algorithm on a flat, row-major byte buffer, reading the cells in
+     * place: no char[][] copy and one index computation per window.
+     *
+     * @param cells Row-major cells, cell (row, col) at index row * n + col
+     * @param n Matrix size N
+     * @return true if mutant (>1 sequences found), false otherwise
+     */
+    @Override
+    public boolean isMutant(byte[] cells, int n) {
+        if (n < SEQUENCE_LENGTH) {
+            return false;
+        }
+
+        final int last = n - SEQUENCE_LENGTH;
+        int sequenceCount = 0;
+
+        for (int row = 0; row < n; row++) {
+            final int rowOffset = row * n;
+            for (int col = 0; col < n; col++) {
+                final int i = rowOffset + col;
+                final byte base = cells[i];
+
+                // Horizontal (→)
+                if (col <= last && cells[i + 1] == base && cells[i + 2] == base && cells[i + 3] == base) {
+                    if (++sequenceCount >= MUTANT_THRESHOLD) {
+                        return true; // Early termination
+                    }
+                }
+
+                if (row <= last) {
+                    // Vertical (↓)
+                    if (cells[i + n] == base && cells[i + 2 * n] == base && cells[i + 3 * n] == base) {
+                        if (++sequenceCount >= MUTANT_THRESHOLD) {
+                            return true;
+                        }
+                    }
+
+                    // Main diagonal (↘)
+                    if (col <= last && cells[i + n + 1] == base && cells[i + 2 * (n + 1)] == base
+                            && cells[i + 3 * (n + 1)] == base) {
+                        if (++sequenceCount >= MUTANT_THRESHOLD) {
+                            return true;
+                        }
+                    }
+
+                    // Anti-diagonal (↙)
+                    if (col >= SEQUENCE_LENGTH - 1 && cells[i + n - 1] == base && cells[i + 2 * (n - 1)] == base
+                            && cells[i + 3 * (n - 1)] == base) {
+                        if (++sequenceCount >= MUTANT_THRESHOLD) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+
+        return false;
+    }
+
     /**
      * Converts String[] DNA to char[][] matrix for faster access.
      */
@@ -2,43 +2,64 @@ package org.example.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.example.entity.DnaRecord;
+import org.example.dto.DnaMatrix;
+import org.example.entity.DnaKey;
 import org.example.exception.DnaHashCalculationException;
-import org.example.repository.DnaRecordRepository;
+import org.example.repository.DnaRecordStore;
+import org.example.validation.DnaAlphabet;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * Service for analyzing DNA sequences and managing verification results.
  * 
  * Responsibilities:
- * - Analyze DNA sequences to detect mutants
- * - Calculate SHA-256 hash of DNA to identify unique sequences
- * - Check database cache before running expensive algorithm
- * - Store verification results in database
+ * - Analyze DNA sequences to detect mutants (engine picked by {@link DetectionStrategySelector})
+ * - Calculate the compact key of DNA to identify unique sequences ({@link DnaKeyHasher})
+ * - Check the in-memory cache ({@link DnaResultCache}), then the
+ *   {@link DnaRecordStore}, before running expensive algorithm
+ * - Store verification results in the {@link DnaRecordStore}
+ * - Keep a {@link MatrixSummary} of large matrices for POST /mutant/delta
  * 
- * Uses SHA-256 hashing to avoid storing duplicate DNA sequences.
+ * Uses a 128-bit key (size plus packed matrix up to 8x8, hash above) to avoid
+ * storing duplicate DNA sequences.
+ * Records written before the key existed are found through their legacy
+ * SHA-256 hash and migrated ({@link LegacyDnaRecordMigrator}).
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class MutantService {
 
-    private final MutantDetector mutantDetector;
-    private final DnaRecordRepository dnaRecordRepository;
+    private final DetectionStrategySelector detectionStrategySelector;
+    private final DnaRecordStore dnaRecordStore;
+    private final MatrixSummaryStore matrixSummaryStore;
+    private final LegacyDnaRecordMigrator legacyDnaRecordMigrator;
+    private final DnaResultCache dnaResultCache;
+    private final TransactionTemplate transactionTemplate;
+    private final DnaRecordWriter dnaRecordWriter;
+
+    // Matrices up to this size skip the database lookup (see findOrDetect)
+    @Value("${mutant.persistence.detect-first.max-size:512}")
+    private int detectFirstMaxSize;
+
+    // Analyses of the same DNA running concurrently, so that only one of them computes and stores
+    private final SingleFlight<DnaKey, Boolean> inFlight = new SingleFlight<>();
 
     /**
      * Analyzes a DNA sequence to determine if it belongs to a mutant.
      * 
      * Process:
-     * 1. Calculate SHA-256 hash of the DNA
-     * 2. Check if DNA was previously analyzed (cache)
+     * 1. Calculate the key of the DNA
+     * 2. Check if DNA was previously analyzed (memory cache, then database)
      * 3. If cached, return stored result
      * 4. If not cached, run detection algorithm
      * 5. Store result in database
@@ -47,68 +68,154 @@ public class MutantService {
      * @return true if mutant, false if human
      * @throws DnaHashCalculationException if hash calculation fails
      */
-    @Transactional
     public boolean analyzeDna(String[] dna) {
         log.debug("Analyzing DNA sequence: {}", Arrays.toString(dna));
 
-        // Calculate unique hash for this DNA sequence
-        String dnaHash = calculateDnaHash(dna);
-        log.debug("DNA Hash: {}", dnaHash);
+        // Lowercase bases are the same bases, as in the DnaMatrix path; the legacy hash is of the rows as sent
+        String[] rows = DnaAlphabet.normalize(dna);
+        return recordAnalysis(DnaKeyHasher.key(rows), () -> DnaHasher.hash(dna),
+                () -> detect(rows.length, strategy -> strategy.isMutant(rows)));
+    }
 
-        // Check if DNA was already analyzed (database cache)
-        Optional<DnaRecord> existingRecord = dnaRecordRepository.findByDnaHash(dnaHash);
-        
-        if (existingRecord.isPresent()) {
-            boolean isMutant = existingRecord.get().getIsMutant();
-            log.info("DNA already analyzed. Result from cache: {}", isMutant ? "MUTANT" : "HUMAN");
-            return isMutant;
+    /**
+     * Analyzes a DNA matrix decoded from the request body.
+     *
+     * Same process as {@link #analyzeDna(String[])}, working directly on the
+     * matrix buffer: the key is computed over the cells (identical bytes to
+     * the rows, so both overloads produce the same key) and the engine scans
+     * the cells in place.
+     *
+     * Matrices tracked by {@link MatrixSummaryStore} that have to be detected
+     * (not in the cache nor in the store) are counted in full to build a
+     * summary instead; the verdict then comes from that summary and later
+     * deltas can be applied to it. A tracked DNA whose verdict is already
+     * known (from the cache, the store, a snapshot, or from before a restart
+     * or an eviction) still gets a summary if none is kept for it, so that it
+     * can always be used as a delta base after being sent to POST /mutant.
+     *
+     * @param dna Valid DNA matrix (see {@link DnaMatrix#isValid()})
+     * @return true if mutant, false if human
+     * @throws IllegalArgumentException if the matrix is not valid
+     * @throws DnaHashCalculationException if hash calculation fails
+     */
+    public boolean analyzeDna(DnaMatrix dna) {
+        if (!dna.isValid()) {
+            throw new IllegalArgumentException(dna.getViolation());
         }
+        final int n = dna.size();
+        log.debug("Analyzing {}x{} DNA matrix", n, n);
 
-        // DNA not in cache - run detection algorithm
-        boolean isMutant = mutantDetector.isMutant(dna);
-        log.info("DNA analysis complete. Result: {}", isMutant ? "MUTANT" : "HUMAN");
+        if (matrixSummaryStore.tracks(n)) {
+            DnaKey key = DnaKeyHasher.key(dna);
+            AtomicBoolean counted = new AtomicBoolean();
+            boolean isMutant = recordAnalysis(key, () -> DnaHasher.hash(dna), () -> {
+                counted.set(true);
+                MatrixSummary summary = MatrixSummary.build(dna.cells(), n);
+                matrixSummaryStore.put(summary);
+                log.info("DNA analysis complete (full count, {} sequences). Result: {}",
+                        summary.getTotalSequences(), summary.isMutant() ? "MUTANT" : "HUMAN");
+                return summary.isMutant();
+            });
+            if (!counted.get() && !matrixSummaryStore.contains(key)) {
+                // Answered without a detection: count it anyway so it can serve as a delta base
+                matrixSummaryStore.put(MatrixSummary.build(dna.cells(), n));
+            }
+            return isMutant;
+        }
 
-        // Store result in database
-        DnaRecord newRecord = new DnaRecord(dnaHash, isMutant);
-        dnaRecordRepository.save(newRecord);
-        log.debug("DNA record saved to database");
+        return recordAnalysis(DnaKeyHasher.key(dna), () -> DnaHasher.hash(dna),
+                () -> detect(n, strategy -> strategy.isMutant(dna.cells(), n)));
+    }
 
+    /**
+     * Runs the detection engine picked for the matrix size.
+     */
+    private boolean detect(int size, Predicate<DetectionStrategy> detection) {
+        DetectionStrategy strategy = detectionStrategySelector.select(size);
+        boolean isMutant = detection.test(strategy);
+        log.info("DNA analysis complete ({} engine). Result: {}", strategy.getName(), isMutant ? "MUTANT" : "HUMAN");
         return isMutant;
     }
 
     /**
-     * Calculates SHA-256 hash of a DNA sequence.
-     * 
-     * The hash is calculated from the concatenated DNA strings to create
-     * a unique identifier for each DNA sequence.
-     * 
-     * @param dna Array of strings representing the DNA
-     * @return SHA-256 hash as hexadecimal string
-     * @throws DnaHashCalculationException if SHA-256 algorithm is not available
+     * Returns the stored result for the key, or runs the detection and stores it.
+     *
+     * Shared by every analysis path so that each distinct DNA is stored once,
+     * whichever way it was submitted.
+     *
+     * A result held by {@link DnaResultCache} is returned without opening a
+     * transaction; otherwise the lookup (and the insert on a miss) runs in
+     * one transaction and the result is cached once it commits. Concurrent
+     * submissions of the same DNA (e.g. a client retrying in a burst) are
+     * coalesced: one thread looks up, detects and stores, and the others wait
+     * for its result instead of racing it into the unique index.
+     *
+     * @param key Key of the DNA ({@link DnaKeyHasher})
+     * @param legacyHash Computes the legacy hash of the DNA ({@link DnaHasher}), only while legacy records remain
+     * @param detection Computes the result if the DNA was never analyzed
+     * @return true if mutant, false if human
      */
-    private String calculateDnaHash(String[] dna) {
-        try {
-            // Concatenate all DNA strings
-            String concatenated = String.join("", dna);
-            
-            // Calculate SHA-256 hash
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hashBytes = digest.digest(concatenated.getBytes(StandardCharsets.UTF_8));
-            
-            // Convert to hexadecimal string
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hashBytes) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
-                }
-                hexString.append(hex);
+    public boolean recordAnalysis(DnaKey key, Supplier<String> legacyHash, BooleanSupplier detection) {
+        log.debug("DNA Key: {}", key.toHex());
+
+        // Check if DNA was already analyzed (memory cache)
+        Boolean cached = dnaResultCache.get(key);
+        if (cached != null) {
+            log.debug("DNA already analyzed. Result from memory: {}", cached ? "MUTANT" : "HUMAN");
+            return cached;
+        }
+
+        return inFlight.run(key, () -> {
+            boolean isMutant = Boolean.TRUE.equals(
+                    transactionTemplate.execute(status -> findOrDetect(key, legacyHash, detection)));
+            // Cached before the key is released, so a later submission finds it in memory
+            dnaResultCache.put(key, isMutant);
+            return isMutant;
+        });
+    }
+
+    /**
+     * Returns the stored result for the key, or runs the detection and stores it.
+     *
+     * Matrices up to mutant.persistence.detect-first.max-size are detected
+     * straight away and stored with one insert-if-absent, which returns the
+     * stored result: a single round trip, and no duplicate-key failure when
+     * another instance stores the same DNA concurrently. Larger matrices, and
+     * every matrix while the legacy migration is active, are looked up first because
+     * their detection costs more than a query (or the legacy record has to be
+     * migrated).
+     */
+    private boolean findOrDetect(DnaKey key, Supplier<String> legacyHash, BooleanSupplier detection) {
+        // Analyzed moments ago, still waiting for its write-behind insert
+        Optional<Boolean> queued = dnaRecordWriter.pending(key);
+        if (queued.isPresent()) {
+            return queued.get();
+        }
+
+        if (key.size() > detectFirstMaxSize || legacyDnaRecordMigrator.isActive()) {
+            // Check if DNA was already analyzed (database cache)
+            Optional<Boolean> existing = dnaRecordStore.find(key);
+            if (existing.isEmpty()) {
+                existing = legacyDnaRecordMigrator.migrate(key, legacyHash);
+            }
+
+            if (existing.isPresent()) {
+                boolean isMutant = existing.get();
+                log.info("DNA already analyzed. Result from cache: {}", isMutant ? "MUTANT" : "HUMAN");
+                return isMutant;
             }
-            
-            return hexString.toString();
-        } catch (NoSuchAlgorithmException e) {
-            log.error("SHA-256 algorithm not available", e);
-            throw new DnaHashCalculationException("Failed to calculate DNA hash", e);
         }
+
+        // DNA not in cache - run detection algorithm
+        boolean isMutant = detection.getAsBoolean();
+
+        // Store result in database (in the background when write-behind is enabled)
+        if (dnaRecordWriter.enqueue(key, isMutant)) {
+            log.debug("DNA record queued for write-behind");
+            return isMutant;
+        }
+        boolean stored = dnaRecordStore.insertIfAbsent(key, isMutant);
+        log.debug("DNA record saved to database");
+        return stored;
     }
 }
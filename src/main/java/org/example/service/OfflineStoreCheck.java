@@ -0,0 +1,72 @@
+package org.example.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Checks, before an offline run (BulkImportRunner, MappedMatrixAnalysisRunner),
+ * that the store it writes to outlives the process.
+ *
+ * The shipped datasource is an in-memory H2 database, which the offline run
+ * would fill and then drop when it exits. So the run is refused when the
+ * records would go to an in-memory database: the jpa store on
+ * spring.datasource.url (an unset URL means an embedded in-memory one), or
+ * the sharded store on mutant.persistence.shards.url. The log store always
+ * writes to files. With mutant.offline.allow-in-memory=true (e.g. to measure
+ * throughput) the run goes ahead with a warning instead.
+ */
+@Component
+@Slf4j
+public class OfflineStoreCheck {
+
+    private static final List<String> IN_MEMORY_URL_PREFIXES =
+            List.of("jdbc:h2:mem:", "jdbc:hsqldb:mem:", "jdbc:derby:memory:");
+
+    private final String store;
+    private final String datasourceUrl;
+    private final String shardsUrl;
+    private final boolean allowInMemory;
+
+    public OfflineStoreCheck(
+            @Value("${mutant.persistence.store:jpa}") String store,
+            @Value("${spring.datasource.url:}") String datasourceUrl,
+            @Value("${mutant.persistence.shards.url:jdbc:h2:file:./data/dna-shard-%d}") String shardsUrl,
+            @Value("${mutant.offline.allow-in-memory:false}") boolean allowInMemory) {
+        this.store = store;
+        this.datasourceUrl = datasourceUrl;
+        this.shardsUrl = shardsUrl;
+        this.allowInMemory = allowInMemory;
+    }
+
+    /**
+     * Refuses the run if its records would be lost when the process exits.
+     *
+     * @param run What is about to run, for the messages
+     * @throws IllegalStateException if the store is in memory and mutant.offline.allow-in-memory is false
+     */
+    void requirePersistentStore(String run) {
+        String url = switch (store) {
+            case "log" -> null;
+            case "sharded" -> shardsUrl;
+            default -> datasourceUrl;
+        };
+        if (url == null || !isInMemory(url)) {
+            return;
+        }
+        String message = String.format("The %s store is the in-memory database %s: everything the %s stores "
+                + "is lost when it exits. Point spring.datasource.url (or mutant.persistence.shards.url) at a "
+                + "persistent database, e.g. jdbc:h2:file:./data/mutants", store, url.isEmpty() ? "(embedded)" : url,
+                run);
+        if (!allowInMemory) {
+            throw new IllegalStateException(message + ", or set mutant.offline.allow-in-memory=true");
+        }
+        log.warn("{}. Going ahead because mutant.offline.allow-in-memory=true", message);
+    }
+
+    private static boolean isInMemory(String url) {
+        return url.isEmpty() || IN_MEMORY_URL_PREFIXES.stream().anyMatch(url::startsWith);
+    }
+}
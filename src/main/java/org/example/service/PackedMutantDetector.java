@@ -0,0 +1,74 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bit-packed detection engine.
+ *
+ * Packs the DNA matrix at 2 bits per base (see {@link PackedDnaMatrix}) and
+ * tests 32 windows per word operation in every direction, instead of four
+ * scalar char comparisons per window.
+ *
+ * Returns exactly the same answer as {@link MutantDetector#isMutant(String[])}:
+ * both count windows of 4 identical bases and stop at MUTANT_THRESHOLD.
+ * Matrices with characters outside A, C, G, T are delegated to the scalar
+ * detector, since they cannot be represented in 2 bits.
+ *
+ * Time Complexity: O(N²/32) word operations worst case
+ * Space Complexity: O(N²/4) bytes for the packed matrix
+ */
+@Component
+@RequiredArgsConstructor
+public class PackedMutantDetector implements DetectionStrategy {
+
+    private final MutantDetector scalarDetector;
+
+    @Override
+    public String getName() {
+        return "packed";
+    }
+
+    /**
+     * Determines if a DNA sequence belongs to a mutant.
+     *
+     * @param dna Array of strings representing the NxN DNA matrix
+     * @return true if mutant (>1 sequences found), false otherwise
+     * @throws IllegalArgumentException if DNA is null or empty
+     */
+    @Override
+    public boolean isMutant(String[] dna) {
+        if (dna == null || dna.length == 0) {
+            throw new IllegalArgumentException("DNA array cannot be null or empty");
+        }
+
+        if (dna.length < MutantDetector.SEQUENCE_LENGTH) {
+            return false;
+        }
+
+        PackedDnaMatrix packed = PackedDnaMatrix.pack(dna);
+        if (packed == null) {
+            // Not representable in 2 bits - keep the char-based semantics
+            return scalarDetector.isMutant(dna);
+        }
+
+        return packed.countSequences(MutantDetector.MUTANT_THRESHOLD) >= MutantDetector.MUTANT_THRESHOLD;
+    }
+
+    /**
+     * Packs straight from the flat byte buffer, without going through Strings.
+     */
+    @Override
+    public boolean isMutant(byte[] cells, int n) {
+        if (n < MutantDetector.SEQUENCE_LENGTH) {
+            return false;
+        }
+
+        PackedDnaMatrix packed = PackedDnaMatrix.pack(cells, n);
+        if (packed == null) {
+            return scalarDetector.isMutant(cells, n);
+        }
+
+        return packed.countSequences(MutantDetector.MUTANT_THRESHOLD) >= MutantDetector.MUTANT_THRESHOLD;
+    }
+}
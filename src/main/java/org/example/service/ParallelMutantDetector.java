@@ -0,0 +1,231 @@
+package org.example.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fork-join detection engine for very large DNA matrices.
+ *
+ * The matrix is split into row bands that run on a dedicated {@link ForkJoinPool}
+ * in two phases:
+ * 1. Every band packs its own rows into a shared {@link PackedDnaMatrix}
+ * 2. Every band counts the windows that START in its rows
+ *
+ * Seams: a vertical or diagonal window starting in the last 3 rows of a band
+ * reads up to 3 rows of the next band. Those rows are only read (phase 1 has
+ * already completed), and since each window is owned by its start row it is
+ * counted by exactly one band - no window is lost or counted twice at a seam.
+ *
+ * All bands share one atomic sequence counter and stop as soon as the global
+ * count reaches MUTANT_THRESHOLD.
+ *
+ * {@link DetectionStrategySelector} only routes matrices of at least
+ * mutant.detection.parallel.min-size here; below that the fork-join overhead
+ * outweighs the gain and a sequential engine is used instead.
+ */
+@Component
+@Slf4j
+public class ParallelMutantDetector implements DetectionStrategy {
+
+    private static final int MIN_BAND_ROWS = 4;
+    private static final int BANDS_PER_WORKER = 4;
+
+    private final MutantDetector scalarDetector;
+    private final ForkJoinPool pool;
+
+    public ParallelMutantDetector(
+            MutantDetector scalarDetector,
+            @Value("${mutant.detection.parallel.parallelism:0}") int parallelism) {
+        this.scalarDetector = scalarDetector;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        log.info("Parallel detection pool started with parallelism {}", pool.getParallelism());
+    }
+
+    /**
+     * Number of worker threads of the fork-join pool.
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    @Override
+    public String getName() {
+        return "parallel";
+    }
+
+    /**
+     * Determines if a DNA sequence belongs to a mutant.
+     *
+     * @param dna Array of strings representing the NxN DNA matrix
+     * @return true if mutant (>1 sequences found), false otherwise
+     * @throws IllegalArgumentException if DNA is null or empty
+     */
+    @Override
+    public boolean isMutant(String[] dna) {
+        if (dna == null || dna.length == 0) {
+            throw new IllegalArgumentException("DNA array cannot be null or empty");
+        }
+
+        final int n = dna.length;
+        if (n < MutantDetector.SEQUENCE_LENGTH) {
+            return false;
+        }
+
+        final PackedDnaMatrix packed = PackedDnaMatrix.allocate(n);
+        Boolean result = detect(packed, (fromRow, toRow) -> packed.packRows(dna, fromRow, toRow));
+        return result != null ? result : scalarDetector.isMutant(dna);
+    }
+
+    /**
+     * Same two phases, packing the bands straight from a flat byte buffer.
+     */
+    @Override
+    public boolean isMutant(byte[] cells, int n) {
+        if (n < MutantDetector.SEQUENCE_LENGTH) {
+            return false;
+        }
+
+        final PackedDnaMatrix packed = PackedDnaMatrix.allocate(n);
+        Boolean result = detect(packed, (fromRow, toRow) -> packed.packRows(cells, fromRow, toRow));
+        return result != null ? result : scalarDetector.isMutant(cells, n);
+    }
+
+    /**
+     * Runs both phases over the packed matrix.
+     *
+     * @return the verdict, or null if some row could not be packed
+     */
+    private Boolean detect(PackedDnaMatrix packed, BandTask rowPacker) {
+        final int n = packed.size();
+        final int bandRows = bandRows(n);
+
+        // Phase 1: pack all bands
+        if (!forEachBand(n, rowPacker)) {
+            return null;
+        }
+
+        // Phase 2: count windows per band with a shared early-exit counter
+        AtomicInteger sequenceCount = new AtomicInteger();
+        pool.invoke(new ScanBand(packed, 0, n, bandRows, sequenceCount));
+
+        return sequenceCount.get() >= MutantDetector.MUTANT_THRESHOLD;
+    }
+
+    private int bandRows(int n) {
+        return Math.max(MIN_BAND_ROWS, n / (pool.getParallelism() * BANDS_PER_WORKER));
+    }
+
+    /**
+     * Runs a task over the row bands of an n-row matrix on this engine's pool
+     * (also used by {@link MappedMatrixAnalysisService}).
+     *
+     * @return false if some band returned false (the bands not started yet are skipped)
+     */
+    boolean forEachBand(int n, BandTask task) {
+        AtomicBoolean completed = new AtomicBoolean(true);
+        pool.invoke(new RunBand(task, 0, n, bandRows(n), completed));
+        return completed.get();
+    }
+
+    /**
+     * Work over a range of rows, e.g. packing them into the shared packed matrix.
+     */
+    @FunctionalInterface
+    interface BandTask {
+
+        /**
+         * @return false to stop the remaining bands
+         */
+        boolean run(int fromRow, int toRow);
+    }
+
+    /**
+     * Runs a task over rows [fromRow, toRow), splitting in halves down to bandRows.
+     */
+    private static final class RunBand extends RecursiveAction {
+
+        private final BandTask task;
+        private final int fromRow;
+        private final int toRow;
+        private final int bandRows;
+        private final AtomicBoolean completed;
+
+        RunBand(BandTask task, int fromRow, int toRow, int bandRows, AtomicBoolean completed) {
+            this.task = task;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            this.bandRows = bandRows;
+            this.completed = completed;
+        }
+
+        @Override
+        protected void compute() {
+            if (!completed.get()) {
+                return;
+            }
+            if (toRow - fromRow <= bandRows) {
+                if (!task.run(fromRow, toRow)) {
+                    completed.set(false);
+                }
+                return;
+            }
+            int middle = (fromRow + toRow) >>> 1;
+            invokeAll(new RunBand(task, fromRow, middle, bandRows, completed),
+                      new RunBand(task, middle, toRow, bandRows, completed));
+        }
+    }
+
+    /**
+     * Counts windows starting in rows [fromRow, toRow), splitting in halves down to bandRows.
+     */
+    private static final class ScanBand extends RecursiveAction {
+
+        private final PackedDnaMatrix packed;
+        private final int fromRow;
+        private final int toRow;
+        private final int bandRows;
+        private final AtomicInteger sequenceCount;
+
+        ScanBand(PackedDnaMatrix packed, int fromRow, int toRow, int bandRows, AtomicInteger sequenceCount) {
+            this.packed = packed;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            this.bandRows = bandRows;
+            this.sequenceCount = sequenceCount;
+        }
+
+        @Override
+        protected void compute() {
+            if (toRow - fromRow <= bandRows) {
+                for (int row = fromRow; row < toRow; row++) {
+                    if (sequenceCount.get() >= MutantDetector.MUTANT_THRESHOLD) {
+                        return; // Early termination (global)
+                    }
+                    int found = packed.countSequencesStartingAt(row);
+                    if (found > 0) {
+                        sequenceCount.addAndGet(found);
+                    }
+                }
+                return;
+            }
+            if (sequenceCount.get() >= MutantDetector.MUTANT_THRESHOLD) {
+                return;
+            }
+            int middle = (fromRow + toRow) >>> 1;
+            invokeAll(new ScanBand(packed, fromRow, middle, bandRows, sequenceCount),
+                      new ScanBand(packed, middle, toRow, bandRows, sequenceCount));
+        }
+    }
+}
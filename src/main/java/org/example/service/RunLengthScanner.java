@@ -0,0 +1,138 @@
+package org.example.service;
+
+import org.example.dto.SequenceDirection;
+
+/**
+ * Single-pass, row-at-a-time sequence counter based on run lengths.
+ *
+ * Keeps the previous row plus one run-length counter per column for the
+ * vertical (↓), main diagonal (↘) and anti-diagonal (↙) directions. When a
+ * row arrives, each counter is extended if the new cell equals its
+ * predecessor in that direction (row-1 at col, col-1 or col+1) and reset to 1
+ * otherwise; horizontal runs are tracked along the row itself.
+ *
+ * A run of length >= L ending at a cell means exactly one new window of L
+ * identical bases ends there, so every overlapping window is counted without
+ * re-testing it cell by cell. With L = 4 the total is exactly the count of
+ * the scalar algorithm.
+ *
+ * Memory: O(N) (2 row buffers + 3 int counters per column).
+ * Not thread-safe: rows must be fed in order from a single thread.
+ */
+final class RunLengthScanner {
+
+    /**
+     * Receives the start cell of every window found, for callers that need positions.
+     */
+    interface WindowListener {
+        void onWindow(SequenceDirection direction, int startRow, int startCol);
+    }
+
+    private final int size;
+    private final int sequenceLength;
+    private char[] previousRow;
+    private char[] currentRow;
+    private final int[] verticalRun;
+    private final int[] mainDiagonalRun;
+    private final int[] antiDiagonalRun;
+    private final long[] countByDirection = new long[SequenceDirection.values().length];
+    private int rowsScanned;
+
+    /**
+     * @param size Matrix size N
+     * @param sequenceLength Window length L, at least 2
+     */
+    RunLengthScanner(int size, int sequenceLength) {
+        this.size = size;
+        this.sequenceLength = sequenceLength;
+        this.previousRow = new char[size];
+        this.currentRow = new char[size];
+        this.verticalRun = new int[size];
+        this.mainDiagonalRun = new int[size];
+        this.antiDiagonalRun = new int[size];
+    }
+
+    /**
+     * Scans the next row (its first N characters).
+     *
+     * @param row Next row of the matrix, at least N characters long
+     * @param listener Receives every window found, or null to only count
+     * @return number of windows ending in this row
+     */
+    long scanRow(String row, WindowListener listener) {
+        char[] swap = previousRow;
+        previousRow = currentRow;
+        currentRow = swap;
+        row.getChars(0, size, currentRow, 0);
+
+        final char[] current = currentRow;
+        final char[] previous = previousRow;
+        final boolean hasPreviousRow = rowsScanned > 0;
+        final int rowIndex = rowsScanned++;
+        final int last = size - 1;
+        final int back = sequenceLength - 1;
+        long horizontal = 0;
+        long vertical = 0;
+        long mainDiagonal = 0;
+        long antiDiagonal = 0;
+
+        // Horizontal (→)
+        int horizontalRun = 1;
+        for (int col = 1; col < size; col++) {
+            horizontalRun = current[col] == current[col - 1] ? horizontalRun + 1 : 1;
+            if (horizontalRun >= sequenceLength) {
+                horizontal++;
+                notify(listener, SequenceDirection.HORIZONTAL, rowIndex, col - back);
+            }
+        }
+
+        // Main diagonal (↘) extends from col-1: walk right to left to update in place
+        for (int col = last; col >= 0; col--) {
+            int run = hasPreviousRow && col > 0 && current[col] == previous[col - 1]
+                    ? mainDiagonalRun[col - 1] + 1 : 1;
+            mainDiagonalRun[col] = run;
+            if (run >= sequenceLength) {
+                mainDiagonal++;
+                notify(listener, SequenceDirection.MAIN_DIAGONAL, rowIndex - back, col - back);
+            }
+        }
+
+        // Vertical (↓) and anti-diagonal (↙, extends from col+1): walk left to right
+        for (int col = 0; col <= last; col++) {
+            int run = hasPreviousRow && current[col] == previous[col] ? verticalRun[col] + 1 : 1;
+            verticalRun[col] = run;
+            if (run >= sequenceLength) {
+                vertical++;
+                notify(listener, SequenceDirection.VERTICAL, rowIndex - back, col);
+            }
+
+            run = hasPreviousRow && col < last && current[col] == previous[col + 1]
+                    ? antiDiagonalRun[col + 1] + 1 : 1;
+            antiDiagonalRun[col] = run;
+            if (run >= sequenceLength) {
+                antiDiagonal++;
+                notify(listener, SequenceDirection.ANTI_DIAGONAL, rowIndex - back, col + back);
+            }
+        }
+
+        countByDirection[SequenceDirection.HORIZONTAL.ordinal()] += horizontal;
+        countByDirection[SequenceDirection.VERTICAL.ordinal()] += vertical;
+        countByDirection[SequenceDirection.MAIN_DIAGONAL.ordinal()] += mainDiagonal;
+        countByDirection[SequenceDirection.ANTI_DIAGONAL.ordinal()] += antiDiagonal;
+        return horizontal + vertical + mainDiagonal + antiDiagonal;
+    }
+
+    private static void notify(WindowListener listener, SequenceDirection direction, int row, int col) {
+        if (listener != null) {
+            listener.onWindow(direction, row, col);
+        }
+    }
+
+    long getCount(SequenceDirection direction) {
+        return countByDirection[direction.ordinal()];
+    }
+
+    int getRowsScanned() {
+        return rowsScanned;
+    }
+}
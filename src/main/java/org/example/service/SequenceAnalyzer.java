@@ -0,0 +1,102 @@
+package org.example.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.dto.DnaAnalysisResponse;
+import org.example.dto.SequenceDirection;
+import org.example.dto.SequencePosition;
+import org.example.validation.DnaAlphabet;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service for full DNA analysis without early termination.
+ *
+ * Unlike {@link DetectionStrategy#isMutant(String[])}, which stops at the
+ * second sequence and only answers yes/no, this counts EVERY window of
+ * identical bases per direction and can report where each one starts.
+ *
+ * All counts come from a single pass over the rows with per-direction
+ * run-length arrays ({@link RunLengthScanner}): each cell is visited once
+ * per direction instead of re-testing overlapping windows, so a full count
+ * costs about the same as one scan without early exit.
+ *
+ * The run length and threshold are parameters; the defaults reproduce
+ * the POST /mutant rules (4 identical bases, more than one sequence).
+ */
+@Service
+@Slf4j
+public class SequenceAnalyzer {
+
+    private final int maxPositions;
+
+    public SequenceAnalyzer(@Value("${mutant.analysis.max-positions:10000}") int maxPositions) {
+        this.maxPositions = maxPositions;
+    }
+
+    /**
+     * Analyzes a DNA matrix, counting every sequence in one pass.
+     *
+     * @param dna Array of strings representing the NxN DNA matrix (bases in either case)
+     * @param sequenceLength Identical bases per sequence (null = 4)
+     * @param threshold Sequences needed to be mutant (null = 2)
+     * @param includePositions Whether to collect the start cell of each sequence
+     * @return counts per direction, total, mutant flag and optional positions
+     * @throws IllegalArgumentException if DNA is null/empty or the parameters are out of range
+     */
+    public DnaAnalysisResponse analyze(String[] dna, Integer sequenceLength, Integer threshold,
+                                       boolean includePositions) {
+        if (dna == null || dna.length == 0) {
+            throw new IllegalArgumentException("DNA array cannot be null or empty");
+        }
+        final int length = sequenceLength != null ? sequenceLength : MutantDetector.SEQUENCE_LENGTH;
+        final int mutantThreshold = threshold != null ? threshold : MutantDetector.MUTANT_THRESHOLD;
+        if (length < 2) {
+            throw new IllegalArgumentException("sequence_length must be at least 2");
+        }
+        if (mutantThreshold < 1) {
+            throw new IllegalArgumentException("threshold must be at least 1");
+        }
+
+        // Same case rules as POST /mutant: a lowercase base is the same base
+        final String[] rows = DnaAlphabet.normalize(dna);
+        final int n = rows.length;
+        log.debug("Full analysis of {}x{} DNA (sequence length {}, threshold {})", n, n, length, mutantThreshold);
+
+        RunLengthScanner scanner = new RunLengthScanner(n, length);
+        List<SequencePosition> positions = includePositions ? new ArrayList<>() : null;
+        RunLengthScanner.WindowListener listener = includePositions
+                ? (direction, row, col) -> {
+                    if (positions.size() < maxPositions) {
+                        positions.add(new SequencePosition(direction, row, col));
+                    }
+                }
+                : null;
+
+        for (int row = 0; row < n; row++) {
+            String line = rows[row];
+            if (line == null || line.length() < n) {
+                throw new IllegalArgumentException(String.format("Row %d must have %d characters", row, n));
+            }
+            scanner.scanRow(line, listener);
+        }
+
+        Map<SequenceDirection, Long> byDirection = new EnumMap<>(SequenceDirection.class);
+        long total = 0;
+        for (SequenceDirection direction : SequenceDirection.values()) {
+            long count = scanner.getCount(direction);
+            byDirection.put(direction, count);
+            total += count;
+        }
+
+        Boolean truncated = includePositions ? total > positions.size() : null;
+        log.info("Full analysis complete: {} sequences {}", total, byDirection);
+
+        return new DnaAnalysisResponse(total >= mutantThreshold, length, mutantThreshold, total,
+                byDirection, positions, truncated);
+    }
+}
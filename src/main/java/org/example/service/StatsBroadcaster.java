@@ -0,0 +1,164 @@
+package org.example.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dto.StatsResponse;
+import org.example.exception.TooManyStreamsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pushes the statistics to the subscribers of GET /stats/stream.
+ *
+ * Every mutant.stats.stream.interval-ms the stats are read once (from the
+ * in-process counters, see {@link StatsService}) and, only if they changed
+ * since the last push, serialized once and sent to every subscriber as a
+ * "stats" event. A new subscriber gets the current stats right away. So the
+ * cost per tick is one read plus one write per subscriber, whatever the
+ * number of dashboards, and nothing at all while the counts do not move.
+ *
+ * Idle streams get a comment every mutant.stats.stream.heartbeat-ms so that
+ * proxies keep them open and dead clients are noticed and dropped. A stream
+ * ends after mutant.stats.stream.timeout-ms; EventSource clients reconnect.
+ * At most mutant.stats.stream.max-subscribers streams are open at once.
+ *
+ * Only reading the stats and picking the event happen under the lock shared
+ * with {@link #subscribe}; the sends run outside it, so a slow client delays
+ * the next tick but never a new subscriber. The ticks run on the scheduling
+ * pool (spring.task.scheduling.pool.size), so they do not hold up the other
+ * scheduled jobs either.
+ */
+@Component
+@Slf4j
+public class StatsBroadcaster {
+
+    static final String EVENT_NAME = "stats";
+
+    private final StatsService statsService;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+    private final long heartbeatMillis;
+    private final int maxSubscribers;
+
+    private final Set<SseEmitter> subscribers = ConcurrentHashMap.newKeySet();
+    private volatile StatsResponse lastStats;
+    private volatile String lastPayload;
+    private long lastSentAt = System.currentTimeMillis();
+
+    public StatsBroadcaster(
+            StatsService statsService,
+            ObjectMapper objectMapper,
+            @Value("${mutant.stats.stream.timeout-ms:1800000}") long timeoutMillis,
+            @Value("${mutant.stats.stream.heartbeat-ms:15000}") long heartbeatMillis,
+            @Value("${mutant.stats.stream.max-subscribers:10000}") int maxSubscribers) {
+        this.statsService = statsService;
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = timeoutMillis;
+        this.heartbeatMillis = heartbeatMillis;
+        this.maxSubscribers = maxSubscribers;
+    }
+
+    /**
+     * Opens a stream that receives the current stats now and every change afterwards.
+     *
+     * @throws TooManyStreamsException if max-subscribers streams are already open
+     */
+    public synchronized SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new TooManyStreamsException(String.format(
+                "Too many open stats streams (%d). Poll GET /stats instead", maxSubscribers));
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> {
+            subscribers.remove(emitter);
+            emitter.complete();
+        });
+        emitter.onError(error -> subscribers.remove(emitter));
+
+        // Under the same lock as publish, so no change is pushed between this event and the registration
+        String payload = lastPayload;
+        if (payload == null) {
+            payload = serialize(statsService.currentStats());
+        }
+        if (send(emitter, SseEmitter.event().name(EVENT_NAME).data(payload, MediaType.APPLICATION_JSON))) {
+            subscribers.add(emitter);
+        }
+        return emitter;
+    }
+
+    /**
+     * Sends the stats to every subscriber if they changed, otherwise a heartbeat when one is due.
+     */
+    @Scheduled(fixedDelayString = "${mutant.stats.stream.interval-ms:1000}")
+    void publish() {
+        SseEmitter.SseEventBuilder event;
+        List<SseEmitter> recipients;
+        synchronized (this) {
+            StatsResponse stats = statsService.currentStats();
+            long now = System.currentTimeMillis();
+            if (!stats.equals(lastStats)) {
+                lastStats = stats;
+                lastPayload = serialize(stats);
+                event = SseEmitter.event().name(EVENT_NAME).data(lastPayload, MediaType.APPLICATION_JSON);
+            } else if (now - lastSentAt >= heartbeatMillis) {
+                event = SseEmitter.event().comment("heartbeat");
+            } else {
+                return;
+            }
+            lastSentAt = now;
+            // Later subscribers already got this payload from subscribe
+            recipients = List.copyOf(subscribers);
+        }
+        broadcast(recipients, event);
+    }
+
+    int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private void broadcast(List<SseEmitter> recipients, SseEmitter.SseEventBuilder event) {
+        if (recipients.isEmpty()) {
+            return;
+        }
+        int sent = 0;
+        for (SseEmitter emitter : recipients) {
+            if (send(emitter, event)) {
+                sent++;
+            } else {
+                subscribers.remove(emitter);
+            }
+        }
+        log.debug("Pushed stats event to {} subscribers", sent);
+    }
+
+    /**
+     * Sends an event, completing the stream if the client is gone.
+     */
+    private static boolean send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private String serialize(StatsResponse stats) {
+        try {
+            return objectMapper.writeValueAsString(stats);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize stats", e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.repository.DnaRecordCounters;
+import org.example.repository.StatsRollupRepository;
+import org.example.repository.TimeBucketedCounts;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Flushes the per-minute insert counts of {@link DnaRecordCounters} to
+ * {@link StatsRollupRepository}.
+ *
+ * Every mutant.stats.history.flush-interval-ms the minutes completed since
+ * the last flush are written (minutes without inserts are skipped), and the
+ * current, partial minute is written on shutdown. A failed flush is logged
+ * and retried with the next one, as long as the minutes are still in the
+ * ring. Per-second counts stay in memory only.
+ *
+ * {@link StatsService} reads the stored minutes back for history windows
+ * longer than the ring.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StatsRollupWriter {
+
+    private static final int MINUTE_SECONDS = 60;
+
+    private final DnaRecordCounters dnaRecordCounters;
+    private final StatsRollupRepository statsRollupRepository;
+
+    // Last minute written; until the first flush the whole ring is scanned
+    private long lastFlushed = Long.MIN_VALUE;
+
+    @Scheduled(initialDelayString = "${mutant.stats.history.flush-interval-ms:60000}",
+               fixedDelayString = "${mutant.stats.history.flush-interval-ms:60000}")
+    void flush() {
+        TimeBucketedCounts perMinute = dnaRecordCounters.getPerMinute();
+        flushUpTo(perMinute.indexOf(System.currentTimeMillis()) - 1);
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        TimeBucketedCounts perMinute = dnaRecordCounters.getPerMinute();
+        flushUpTo(perMinute.indexOf(System.currentTimeMillis()));
+    }
+
+    /**
+     * First minute (index of {@link DnaRecordCounters#getPerMinute}) not
+     * written yet, so only in memory; waits for a flush in progress.
+     */
+    synchronized long firstUnflushedMinute() {
+        return lastFlushed + 1;
+    }
+
+    /**
+     * Writes the minutes after the last one written, up to and including the given one.
+     */
+    synchronized void flushUpTo(long lastMinute) {
+        TimeBucketedCounts perMinute = dnaRecordCounters.getPerMinute();
+        long first = Math.max(lastFlushed + 1, lastMinute - perMinute.getSlots() + 1);
+        List<TimeBucketedCounts.Counts> buckets = new ArrayList<>();
+        for (long minute = first; minute <= lastMinute; minute++) {
+            TimeBucketedCounts.Counts counts = perMinute.get(minute);
+            if (!counts.isEmpty()) {
+                buckets.add(counts);
+            }
+        }
+        try {
+            if (!buckets.isEmpty()) {
+                statsRollupRepository.insertAll(buckets, MINUTE_SECONDS);
+                log.debug("Flushed {} minutes of statistics to dna_stats_rollups", buckets.size());
+            }
+            lastFlushed = Math.max(lastFlushed, lastMinute);
+        } catch (DataAccessException e) {
+            log.warn("Could not flush statistics rollups, retrying with the next flush", e);
+        }
+    }
+}
@@ -1,23 +1,71 @@
 package org.example.service;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.dto.StatsHistoryPoint;
+import org.example.dto.StatsHistoryResponse;
 import org.example.dto.StatsResponse;
-import org.example.repository.DnaRecordRepository;
+import org.example.repository.DnaRecordCounters;
+import org.example.repository.DnaRecordStore;
+import org.example.repository.StatsRollupRepository;
+import org.example.repository.TimeBucketedCounts;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Service for retrieving DNA verification statistics.
  * 
  * Provides aggregated data about mutant and human DNA verifications.
+ *
+ * The counts come from {@link DnaRecordCounters}, the in-process LongAdders
+ * that every {@link DnaRecordStore} bumps on insert, so /stats is O(1) and
+ * lock-free whatever the number of records. They are rebuilt from the store
+ * at startup and reconciled with it every mutant.stats.reconcile-interval-ms,
+ * which picks up inserts made by other instances and corrects inserts
+ * counted by a transaction that was rolled back.
+ *
+ * With mutant.stats.read-from-store=true every call reads the store instead
+ * (the dna_stats_counters stripes with the jpa and sharded stores), which is
+ * exact across instances at the cost of a query summing at most 2·S rows.
+ *
+ * The history (GET /stats/history) is served from the per-second and
+ * per-minute rings of {@link DnaRecordCounters}, so it covers this
+ * instance's inserts since startup, up to 1 hour per second or 24 hours per
+ * minute. Longer per-minute windows, up to mutant.stats.history.max-window,
+ * are read from dna_stats_rollups ({@link StatsRollupWriter}) and cover every
+ * instance sharing the database, before and after restarts; the minutes
+ * this instance has not flushed yet come from its ring.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class StatsService {
 
-    private final DnaRecordRepository dnaRecordRepository;
+    // Windows up to this length are served per second unless a resolution is requested
+    private static final Duration SECONDS_UP_TO = Duration.ofMinutes(15);
+
+    private final DnaRecordStore dnaRecordStore;
+    private final DnaRecordCounters dnaRecordCounters;
+    private final StatsRollupRepository statsRollupRepository;
+    private final StatsRollupWriter statsRollupWriter;
+
+    // Read the store on every call instead of the in-process counters
+    @Value("${mutant.stats.read-from-store:false}")
+    private boolean readFromStore;
+
+    // Longest per-minute window, read from dna_stats_rollups beyond the ring
+    @Value("${mutant.stats.history.max-window:7d}")
+    private String maxWindow;
 
     /**
      * Retrieves statistics about DNA verifications.
@@ -29,19 +77,132 @@ public class StatsService {
      * 
      * @return StatsResponse with verification statistics
      */
-    @Transactional(readOnly = true)
     public StatsResponse getStats() {
         log.debug("Retrieving DNA verification statistics");
 
-        long mutantCount = dnaRecordRepository.countMutants();
-        long humanCount = dnaRecordRepository.countHumans();
+        StatsResponse stats = currentStats();
+
+        log.info("Statistics - Mutants: {}, Humans: {}, Ratio: {}", 
+                 stats.getCountMutantDna(), stats.getCountHumanDna(), stats.getRatio());
+
+        return stats;
+    }
+
+    /**
+     * Same as {@link #getStats()} without logging, for the periodic push of {@link StatsBroadcaster}.
+     */
+    StatsResponse currentStats() {
+        long mutantCount = readFromStore ? dnaRecordStore.countMutants() : dnaRecordCounters.getMutants();
+        long humanCount = readFromStore ? dnaRecordStore.countHumans() : dnaRecordCounters.getHumans();
 
         // Calculate ratio (avoid division by zero)
-        double ratio = humanCount > 0 ? (double) mutantCount / humanCount : 0.0;
+        return new StatsResponse(mutantCount, humanCount, ratio(mutantCount, humanCount));
+    }
 
-        log.info("Statistics - Mutants: {}, Humans: {}, Ratio: {}", 
-                 mutantCount, humanCount, ratio);
+    /**
+     * Retrieves the DNAs stored per second or per minute over a recent window.
+     *
+     * @param window Length of the window, e.g. "90s", "15m", "1h" or "PT15M" (plain numbers are seconds)
+     * @param resolution "second", "minute", or null to pick per second for windows up to 15 minutes
+     * @return one point per bucket, ending with the current one
+     * @throws IllegalArgumentException if the window or resolution is invalid, or the
+     *         window is longer than the history kept at that resolution (the ring per
+     *         second, mutant.stats.history.max-window per minute)
+     */
+    public StatsHistoryResponse getHistory(String window, String resolution) {
+        Duration length = parseWindow(window);
+        TimeBucketedCounts buckets = switch (resolution == null ? "" : resolution) {
+            case "" -> length.compareTo(SECONDS_UP_TO) <= 0
+                    ? dnaRecordCounters.getPerSecond() : dnaRecordCounters.getPerMinute();
+            case "second" -> dnaRecordCounters.getPerSecond();
+            case "minute" -> dnaRecordCounters.getPerMinute();
+            default -> throw new IllegalArgumentException(String.format(
+                "Invalid resolution '%s'. Use 'second' or 'minute'", resolution));
+        };
+
+        long bucketMillis = buckets.getBucketMillis();
+        long count = (length.toMillis() + bucketMillis - 1) / bucketMillis;
+        boolean stored = buckets == dnaRecordCounters.getPerMinute();
+        long maxCount = stored
+                ? Math.max(buckets.getSlots(), DurationStyle.detectAndParse(maxWindow).toMillis() / bucketMillis)
+                : buckets.getSlots();
+        if (count > maxCount) {
+            throw new IllegalArgumentException(String.format(
+                "Window %s is too long: at most %d seconds are kept per %s",
+                window, maxCount * bucketMillis / 1000, stored ? "minute" : "second"));
+        }
+
+        long now = System.currentTimeMillis();
+        List<TimeBucketedCounts.Counts> counts = count > buckets.getSlots()
+                ? storedHistory(buckets, now, count) : buckets.last(now, (int) count);
+        List<StatsHistoryPoint> points = counts.stream()
+                .map(bucket -> new StatsHistoryPoint(Instant.ofEpochMilli(bucket.startMillis()),
+                        bucket.mutants(), bucket.humans(), ratio(bucket.mutants(), bucket.humans())))
+                .toList();
+        long mutantCount = points.stream().mapToLong(StatsHistoryPoint::getCountMutantDna).sum();
+        long humanCount = points.stream().mapToLong(StatsHistoryPoint::getCountHumanDna).sum();
 
-        return new StatsResponse(mutantCount, humanCount, ratio);
+        return new StatsHistoryResponse(count * bucketMillis / 1000, bucketMillis / 1000,
+                mutantCount, humanCount, points);
+    }
+
+    /**
+     * The last buckets of every instance from dna_stats_rollups, plus this
+     * instance's buckets not flushed yet from memory.
+     */
+    private List<TimeBucketedCounts.Counts> storedHistory(TimeBucketedCounts perMinute, long now, long count) {
+        final long bucketMillis = perMinute.getBucketMillis();
+        final long current = perMinute.indexOf(now);
+        final long first = current - count + 1;
+        final long unflushed = Math.max(first, statsRollupWriter.firstUnflushedMinute());
+        Map<Long, TimeBucketedCounts.Counts> stored = statsRollupRepository.findBuckets(
+                first * bucketMillis, (current + 1) * bucketMillis, unflushed * bucketMillis,
+                (int) (bucketMillis / 1000));
+
+        List<TimeBucketedCounts.Counts> result = new ArrayList<>((int) count);
+        for (long index = first; index <= current; index++) {
+            long start = index * bucketMillis;
+            TimeBucketedCounts.Counts rows = stored.get(start);
+            TimeBucketedCounts.Counts memory = index >= unflushed ? perMinute.get(index) : null;
+            result.add(new TimeBucketedCounts.Counts(start,
+                    (rows != null ? rows.mutants() : 0) + (memory != null ? memory.mutants() : 0),
+                    (rows != null ? rows.humans() : 0) + (memory != null ? memory.humans() : 0)));
+        }
+        return result;
+    }
+
+    private static Duration parseWindow(String window) {
+        Duration length = DurationStyle.detectAndParse(window, ChronoUnit.SECONDS);
+        if (length.compareTo(Duration.ofSeconds(1)) < 0) {
+            throw new IllegalArgumentException(String.format(
+                "Invalid window '%s'. It must be at least 1 second", window));
+        }
+        return length;
+    }
+
+    private static double ratio(long mutants, long humans) {
+        return humans > 0 ? (double) mutants / humans : 0.0;
+    }
+
+    /**
+     * Rebuilds the in-process counters from the store.
+     */
+    @PostConstruct
+    void rebuild() {
+        reconcile();
+        log.info("Statistics counters loaded: {} mutants, {} humans",
+                dnaRecordCounters.getMutants(), dnaRecordCounters.getHumans());
+    }
+
+    /**
+     * Moves the in-process counters to the totals of the store.
+     */
+    @Scheduled(initialDelayString = "${mutant.stats.reconcile-interval-ms:60000}",
+               fixedDelayString = "${mutant.stats.reconcile-interval-ms:60000}")
+    void reconcile() {
+        long drift = dnaRecordCounters.reconcile(dnaRecordStore.countMutants(), dnaRecordStore.countHumans());
+        if (drift != 0) {
+            log.debug("Statistics counters reconciled with the store ({} records of drift)", drift);
+        }
     }
 }
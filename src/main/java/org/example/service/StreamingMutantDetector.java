@@ -0,0 +1,141 @@
+package org.example.service;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Streaming detection engine that consumes the DNA matrix one row at a time.
+ *
+ * Instead of keeping the whole matrix, a {@link Session} feeds each row to a
+ * {@link RunLengthScanner}, which keeps only the previous row plus one
+ * run-length counter per column for the vertical, main diagonal and
+ * anti-diagonal directions. The counters summarize the 3 rows above the
+ * current one, so they never need to be stored, and the count matches the
+ * scalar algorithm window for window.
+ *
+ * Memory: O(N) per session (2 row buffers + 3 int counters per column),
+ * compared to O(N²) for the String[] plus char[][] copies.
+ *
+ * A session reports MUTANT as soon as the second sequence is seen, even if
+ * the remaining rows have not arrived yet.
+ */
+@Component
+public class StreamingMutantDetector implements DetectionStrategy {
+
+    /**
+     * Opens a streaming session for an NxN matrix.
+     *
+     * @param size Number of rows (and columns) of the matrix
+     * @return a new session expecting exactly {@code size} rows
+     * @throws IllegalArgumentException if size is not positive
+     */
+    public Session open(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("DNA matrix size must be positive");
+        }
+        return new Session(size);
+    }
+
+    @Override
+    public String getName() {
+        return "streaming";
+    }
+
+    /**
+     * Determines if a DNA sequence belongs to a mutant by streaming its rows.
+     *
+     * Stops reading rows as soon as the result is known.
+     *
+     * @param dna Array of strings representing the NxN DNA matrix
+     * @return true if mutant (>1 sequences found), false otherwise
+     * @throws IllegalArgumentException if DNA is null, empty or a row is too short
+     */
+    @Override
+    public boolean isMutant(String[] dna) {
+        if (dna == null || dna.length == 0) {
+            throw new IllegalArgumentException("DNA array cannot be null or empty");
+        }
+
+        Session session = open(dna.length);
+        for (String row : dna) {
+            if (session.accept(row)) {
+                return true; // Early termination
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Rolling-window state for one matrix being streamed.
+     *
+     * Not thread-safe: rows must be fed in order from a single thread.
+     */
+    public static final class Session {
+
+        private final int size;
+        private final RunLengthScanner scanner;
+        private int rowsReceived;
+        private long sequenceCount;
+
+        private Session(int size) {
+            this.size = size;
+            this.scanner = new RunLengthScanner(size, MutantDetector.SEQUENCE_LENGTH);
+        }
+
+        /**
+         * Feeds the next row of the matrix.
+         *
+         * Only the first N characters of the row are read. Once the matrix is
+         * known to be mutant, further rows are accepted but not scanned.
+         *
+         * @param row Next row of the matrix
+         * @return true if the matrix is already known to be mutant
+         * @throws IllegalArgumentException if the row is null or shorter than N
+         * @throws IllegalStateException if all N rows were already received
+         */
+        public boolean accept(String row) {
+            if (rowsReceived == size) {
+                throw new IllegalStateException("All " + size + " rows were already received");
+            }
+            if (row == null || row.length() < size) {
+                throw new IllegalArgumentException(String.format(
+                        "Row %d must have %d characters", rowsReceived, size));
+            }
+            rowsReceived++;
+            if (isMutant()) {
+                return true;
+            }
+
+            sequenceCount += scanner.scanRow(row, null);
+            return isMutant();
+        }
+
+        /**
+         * Whether the sequences seen so far already make the matrix mutant.
+         */
+        public boolean isMutant() {
+            return sequenceCount >= MutantDetector.MUTANT_THRESHOLD;
+        }
+
+        /**
+         * Whether all N rows have been received (the result is then final).
+         */
+        public boolean isComplete() {
+            return rowsReceived == size;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public int getRowsReceived() {
+            return rowsReceived;
+        }
+
+        /**
+         * Sequences found so far (scanning stops once the matrix is mutant).
+         */
+        public long getSequenceCount() {
+            return sequenceCount;
+        }
+    }
+}
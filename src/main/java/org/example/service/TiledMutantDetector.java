@@ -0,0 +1,127 @@
+package org.example.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache-blocked detection engine.
+ *
+ * The scalar loop walks full rows, so every step touches 4 rows of N chars.
+ * Once N reaches a few thousand those 4 rows (8N bytes) no longer fit in
+ * L1/L2 and the vertical and diagonal checks become memory-bound.
+ *
+ * This engine walks the matrix in vertical column tiles of
+ * mutant.detection.tiled.tile-width columns. Inside a tile it sweeps the rows
+ * top to bottom and only tests windows that START in the tile's columns;
+ * windows reaching past the tile edge read a 3-column halo on each side.
+ * The working set is therefore 4 rows x (tile width + 6) chars - 8 KB for
+ * the default 1024 columns - which stays resident in L1 while the rows
+ * below are streamed in.
+ *
+ * Each window is tested exactly once (by the tile holding its start column),
+ * so the result is identical to {@link MutantDetector#isMutant(String[])}.
+ */
+@Component
+public class TiledMutantDetector implements DetectionStrategy {
+
+    private final int tileWidth;
+
+    public TiledMutantDetector(@Value("${mutant.detection.tiled.tile-width:1024}") int tileWidth) {
+        if (tileWidth <= 0) {
+            throw new IllegalArgumentException("Tile width must be positive");
+        }
+        this.tileWidth = tileWidth;
+    }
+
+    @Override
+    public String getName() {
+        return "tiled";
+    }
+
+    /**
+     * Determines if a DNA sequence belongs to a mutant.
+     *
+     * @param dna Array of strings representing the NxN DNA matrix
+     * @return true if mutant (>1 sequences found), false otherwise
+     * @throws IllegalArgumentException if DNA is null or empty
+     */
+    @Override
+    public boolean isMutant(String[] dna) {
+        if (dna == null || dna.length == 0) {
+            throw new IllegalArgumentException("DNA array cannot be null or empty");
+        }
+
+        final int n = dna.length;
+        if (n < MutantDetector.SEQUENCE_LENGTH) {
+            return false;
+        }
+
+        final char[][] matrix = new char[n][];
+        for (int i = 0; i < n; i++) {
+            matrix[i] = dna[i].toCharArray();
+        }
+
+        int sequenceCount = 0;
+        for (int tileStart = 0; tileStart < n; tileStart += tileWidth) {
+            final int tileEnd = Math.min(n, tileStart + tileWidth);
+            for (int row = 0; row < n; row++) {
+                sequenceCount += countTileRow(matrix, n, row, tileStart, tileEnd);
+                if (sequenceCount >= MutantDetector.MUTANT_THRESHOLD) {
+                    return true; // Early termination
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Counts windows starting at the given row with start column in [tileStart, tileEnd).
+     */
+    private int countTileRow(char[][] matrix, int n, int row, int tileStart, int tileEnd) {
+        final char[] current = matrix[row];
+        final int forwardEnd = Math.min(tileEnd, n - MutantDetector.SEQUENCE_LENGTH + 1);
+        int count = 0;
+
+        // Horizontal (→)
+        for (int col = tileStart; col < forwardEnd; col++) {
+            final char base = current[col];
+            if (current[col + 1] == base && current[col + 2] == base && current[col + 3] == base) {
+                count++;
+            }
+        }
+
+        if (row > n - MutantDetector.SEQUENCE_LENGTH) {
+            return count;
+        }
+
+        final char[] below1 = matrix[row + 1];
+        final char[] below2 = matrix[row + 2];
+        final char[] below3 = matrix[row + 3];
+
+        // Vertical (↓)
+        for (int col = tileStart; col < tileEnd; col++) {
+            final char base = current[col];
+            if (below1[col] == base && below2[col] == base && below3[col] == base) {
+                count++;
+            }
+        }
+
+        // Main diagonal (↘), reads up to 3 halo columns right of the tile
+        for (int col = tileStart; col < forwardEnd; col++) {
+            final char base = current[col];
+            if (below1[col + 1] == base && below2[col + 2] == base && below3[col + 3] == base) {
+                count++;
+            }
+        }
+
+        // Anti-diagonal (↙), reads up to 3 halo columns left of the tile
+        for (int col = Math.max(tileStart, MutantDetector.SEQUENCE_LENGTH - 1); col < tileEnd; col++) {
+            final char base = current[col];
+            if (below1[col - 1] == base && below2[col - 2] == base && below3[col - 3] == base) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+}
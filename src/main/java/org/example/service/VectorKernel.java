@@ -0,0 +1,148 @@
+package org.example.service;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API kernels used by {@link VectorMutantDetector}.
+ *
+ * Kept in its own class so that jdk.incubator.vector types are only loaded
+ * when the module is present in the boot layer. Never reference this class
+ * without checking {@link VectorMutantDetector#isVectorApiAvailable()} first.
+ *
+ * The matrix is a flat byte[] with row r stored at [r*N, r*N + N). Each loop
+ * loads a full lane-width of a row and compares it against copies loaded at
+ * row+1..3 and/or col±1..3; columns that do not fill a whole vector are
+ * finished with scalar comparisons.
+ */
+final class VectorKernel {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+    private static final int LAST = MutantDetector.SEQUENCE_LENGTH - 1;
+
+    private VectorKernel() {
+    }
+
+    /**
+     * Counts windows of 4 identical bytes row by row, stopping once the limit is reached.
+     */
+    static int countSequences(byte[] cells, int n, int limit) {
+        int count = 0;
+        for (int row = 0; row < n; row++) {
+            count += countSequencesStartingAt(cells, n, row);
+            if (count >= limit) {
+                return count;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Counts every window of 4 identical bytes whose first cell is in the given row.
+     */
+    static int countSequencesStartingAt(byte[] cells, int n, int row) {
+        final int rowStart = row * n;
+        int count = countHorizontal(cells, n, rowStart);
+
+        if (row <= n - MutantDetector.SEQUENCE_LENGTH) {
+            count += countVertical(cells, n, rowStart);
+            count += countMainDiagonal(cells, n, rowStart);
+            count += countAntiDiagonal(cells, n, rowStart);
+        }
+        return count;
+    }
+
+    /**
+     * Horizontal (→): start columns [0, N-3), compared with col+1..3 of the same row.
+     */
+    private static int countHorizontal(byte[] cells, int n, int rowStart) {
+        final int lanes = SPECIES.length();
+        int count = 0;
+        int col = 0;
+        for (; col + LAST + lanes <= n; col += lanes) {
+            int index = rowStart + col;
+            ByteVector base = ByteVector.fromArray(SPECIES, cells, index);
+            count += base.eq(ByteVector.fromArray(SPECIES, cells, index + 1))
+                    .and(base.eq(ByteVector.fromArray(SPECIES, cells, index + 2)))
+                    .and(base.eq(ByteVector.fromArray(SPECIES, cells, index + 3)))
+                    .trueCount();
+        }
+        for (; col <= n - MutantDetector.SEQUENCE_LENGTH; col++) {
+            count += matches(cells, rowStart + col, 1);
+        }
+        return count;
+    }
+
+    /**
+     * Vertical (↓): every column, compared with the same column in rows row+1..3.
+     */
+    private static int countVertical(byte[] cells, int n, int rowStart) {
+        final int lanes = SPECIES.length();
+        int count = 0;
+        int col = 0;
+        for (; col + lanes <= n; col += lanes) {
+            int index = rowStart + col;
+            ByteVector base = ByteVector.fromArray(SPECIES, cells, index);
+            count += base.eq(ByteVector.fromArray(SPECIES, cells, index + n))
+                    .and(base.eq(ByteVector.fromArray(SPECIES, cells, index + 2 * n)))
+                    .and(base.eq(ByteVector.fromArray(SPECIES, cells, index + 3 * n)))
+                    .trueCount();
+        }
+        for (; col < n; col++) {
+            count += matches(cells, rowStart + col, n);
+        }
+        return count;
+    }
+
+    /**
+     * Main diagonal (↘): start columns [0, N-3), compared with rows row+k at col+k.
+     */
+    private static int countMainDiagonal(byte[] cells, int n, int rowStart) {
+        final int lanes = SPECIES.length();
+        int count = 0;
+        int col = 0;
+        for (; col + LAST + lanes <= n; col += lanes) {
+            int index = rowStart + col;
+            ByteVector base = ByteVector.fromArray(SPECIES, cells, index);
+            count += base.eq(ByteVector.fromArray(SPECIES, cells, index + n + 1))
+                    .and(base.eq(ByteVector.fromArray(SPECIES, cells, index + 2 * (n + 1))))
+                    .and(base.eq(ByteVector.fromArray(SPECIES, cells, index + 3 * (n + 1))))
+                    .trueCount();
+        }
+        for (; col <= n - MutantDetector.SEQUENCE_LENGTH; col++) {
+            count += matches(cells, rowStart + col, n + 1);
+        }
+        return count;
+    }
+
+    /**
+     * Anti-diagonal (↙): start columns [3, N), compared with rows row+k at col-k.
+     */
+    private static int countAntiDiagonal(byte[] cells, int n, int rowStart) {
+        final int lanes = SPECIES.length();
+        int count = 0;
+        int col = LAST;
+        for (; col + lanes <= n; col += lanes) {
+            int index = rowStart + col;
+            ByteVector base = ByteVector.fromArray(SPECIES, cells, index);
+            count += base.eq(ByteVector.fromArray(SPECIES, cells, index + n - 1))
+                    .and(base.eq(ByteVector.fromArray(SPECIES, cells, index + 2 * (n - 1))))
+                    .and(base.eq(ByteVector.fromArray(SPECIES, cells, index + 3 * (n - 1))))
+                    .trueCount();
+        }
+        for (; col < n; col++) {
+            count += matches(cells, rowStart + col, n - 1);
+        }
+        return count;
+    }
+
+    /**
+     * Scalar tail: 1 if the 4 cells starting at index with the given stride are equal.
+     */
+    private static int matches(byte[] cells, int index, int stride) {
+        final byte base = cells[index];
+        return cells[index + stride] == base
+                && cells[index + 2 * stride] == base
+                && cells[index + 3 * stride] == base ? 1 : 0;
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * SIMD detection engine built on the JDK Vector API (jdk.incubator.vector).
+ *
+ * The matrix is copied once into a flat byte[] and every direction is scanned
+ * a full lane-width at a time (e.g. 32 cells per compare on AVX2), comparing
+ * each row against itself shifted by 1..3 columns (→), against rows +1..3 (↓)
+ * and against rows +1..3 with a ±1..3 column offset (↘ ↙).
+ *
+ * The incubator module is only resolved when the JVM is started with
+ * --add-modules jdk.incubator.vector. Without it this engine transparently
+ * falls back to the scalar {@link MutantDetector}.
+ *
+ * Returns exactly the same answer as {@link MutantDetector#isMutant(String[])}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VectorMutantDetector implements DetectionStrategy {
+
+    private static final boolean VECTOR_API_AVAILABLE =
+            ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private final MutantDetector scalarDetector;
+
+    @PostConstruct
+    void logAvailability() {
+        if (VECTOR_API_AVAILABLE) {
+            log.info("Vector API available - SIMD detection engine enabled");
+        } else {
+            log.info("Vector API not available (start with --add-modules jdk.incubator.vector) - using scalar fallback");
+        }
+    }
+
+    /**
+     * Whether the jdk.incubator.vector module is present in the boot layer.
+     */
+    public static boolean isVectorApiAvailable() {
+        return VECTOR_API_AVAILABLE;
+    }
+
+    @Override
+    public String getName() {
+        return "vector";
+    }
+
+    /**
+     * Determines if a DNA sequence belongs to a mutant.
+     *
+     * @param dna Array of strings representing the NxN DNA matrix
+     * @return true if mutant (>1 sequences found), false otherwise
+     * @throws IllegalArgumentException if DNA is null or empty
+     */
+    @Override
+    public boolean isMutant(String[] dna) {
+        if (dna == null || dna.length == 0) {
+            throw new IllegalArgumentException("DNA array cannot be null or empty");
+        }
+
+        final int n = dna.length;
+        if (n < MutantDetector.SEQUENCE_LENGTH || !VECTOR_API_AVAILABLE) {
+            return scalarDetector.isMutant(dna);
+        }
+
+        byte[] cells = toByteMatrix(dna, n);
+        if (cells == null) {
+            return scalarDetector.isMutant(dna);
+        }
+
+        return VectorKernel.countSequences(cells, n, MutantDetector.MUTANT_THRESHOLD)
+                >= MutantDetector.MUTANT_THRESHOLD;
+    }
+
+    /**
+     * Scans the flat byte buffer in place: it already has the layout the
+     * kernel expects, so no copy is made.
+     */
+    @Override
+    public boolean isMutant(byte[] cells, int n) {
+        if (n < MutantDetector.SEQUENCE_LENGTH || !VECTOR_API_AVAILABLE) {
+            return scalarDetector.isMutant(cells, n);
+        }
+
+        return VectorKernel.countSequences(cells, n, MutantDetector.MUTANT_THRESHOLD)
+                >= MutantDetector.MUTANT_THRESHOLD;
+    }
+
+    /**
+     * Copies the first N characters of each row into a flat byte[] (row-major).
+     *
+     * @return the byte matrix, or null if a row is too short or holds a
+     *         character that does not fit in one byte
+     */
+    private byte[] toByteMatrix(String[] dna, int n) {
+        byte[] cells = new byte[n * n];
+        for (int row = 0; row < n; row++) {
+            String line = dna[row];
+            if (line == null || line.length() < n) {
+                return null;
+            }
+            int offset = row * n;
+            for (int col = 0; col < n; col++) {
+                char c = line.charAt(col);
+                if (c > 0xFF) {
+                    return null;
+                }
+                cells[offset + col] = (byte) c;
+            }
+        }
+        return cells;
+    }
+}
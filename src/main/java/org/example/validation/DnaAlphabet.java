@@ -0,0 +1,75 @@
+package org.example.validation;
+
+/**
+ * Lookup tables for the DNA alphabet (A, T, C, G).
+ *
+ * A single 256-entry table indexed by the character replaces the regex
+ * check: one array load per character tells whether it is a valid base and
+ * gives its normalized (uppercase) form, so validation and encoding happen
+ * in the same pass over the input.
+ */
+public final class DnaAlphabet {
+
+    /**
+     * Uppercase base for 'A', 'T', 'C', 'G' in either case; 0 for anything else.
+     */
+    private static final byte[] NORMALIZED = new byte[256];
+
+    static {
+        for (char base : "ATCG".toCharArray()) {
+            NORMALIZED[base] = (byte) base;
+            NORMALIZED[Character.toLowerCase(base)] = (byte) base;
+        }
+    }
+
+    private DnaAlphabet() {
+    }
+
+    /**
+     * Whether the character is a valid base (case-insensitive).
+     */
+    public static boolean isValid(char c) {
+        return c < NORMALIZED.length && NORMALIZED[c] != 0;
+    }
+
+    /**
+     * Uppercase byte of a valid base, or 0 if the character is not A, T, C or G.
+     */
+    public static byte normalize(char c) {
+        return c < NORMALIZED.length ? NORMALIZED[c] : 0;
+    }
+
+    /**
+     * Rows with every valid base in uppercase, so that raw rows compare,
+     * hash and scan the same way as the decoded {@link org.example.dto.DnaMatrix}.
+     * Invalid characters and null rows are left as they are; the input is
+     * returned unchanged (no copy) when it is already uppercase.
+     */
+    public static String[] normalize(String[] rows) {
+        String[] normalized = rows;
+        for (int i = 0; i < rows.length; i++) {
+            String row = rows[i];
+            if (row == null) {
+                continue;
+            }
+            char[] chars = null;
+            for (int col = 0; col < row.length(); col++) {
+                char c = row.charAt(col);
+                byte base = normalize(c);
+                if (base != 0 && base != c) {
+                    if (chars == null) {
+                        chars = row.toCharArray();
+                    }
+                    chars[col] = (char) base;
+                }
+            }
+            if (chars != null) {
+                if (normalized == rows) {
+                    normalized = rows.clone();
+                }
+                normalized[i] = new String(chars);
+            }
+        }
+        return normalized;
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import org.example.dto.DnaMatrix;
+
+/**
+ * Validator implementation for @ValidDnaSequence on a {@link DnaMatrix}.
+ *
+ * The matrix is checked while it is decoded (same rules and messages as
+ * {@link ValidDnaSequenceValidator}), so this validator only reports the
+ * violation recorded by the decoder instead of scanning the rows again.
+ */
+public class ValidDnaMatrixValidator implements ConstraintValidator<ValidDnaSequence, DnaMatrix> {
+
+    @Override
+    public boolean isValid(DnaMatrix dna, ConstraintValidatorContext context) {
+        if (dna == null) {
+            addCustomMessage(context, "DNA array cannot be null or empty");
+            return false;
+        }
+        if (!dna.isValid()) {
+            addCustomMessage(context, dna.getViolation());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Adds a custom error message to the validation context.
+     */
+    private void addCustomMessage(ConstraintValidatorContext context, String message) {
+        context.disableDefaultConstraintViolation();
+        context.buildConstraintViolationWithTemplate(message).addConstraintViolation();
+    }
+}
@@ -17,10 +17,10 @@ import java.lang.annotation.*;
  * 
  * Usage:
  * @ValidDnaSequence
- * private String[] dna;
+ * private String[] dna;   (or DnaMatrix dna)
  */
 @Documented
-@Constraint(validatedBy = ValidDnaSequenceValidator.class)
+@Constraint(validatedBy = {ValidDnaSequenceValidator.class, ValidDnaMatrixValidator.class})
 @Target({ElementType.FIELD, ElementType.PARAMETER})
 @Retention(RetentionPolicy.RUNTIME)
 public @interface ValidDnaSequence {
@@ -3,8 +3,6 @@ package org.example.validation;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
-import java.util.regex.Pattern;
-
 /**
  * Validator implementation for @ValidDnaSequence annotation.
  * 
@@ -14,11 +12,13 @@ import java.util.regex.Pattern;
  * 3. Minimum size 4x4
  * 4. No null rows
  * 5. Only valid characters: A, T, C, G (case-insensitive)
+ *
+ * Characters are checked with the {@link DnaAlphabet} lookup table in a
+ * single pass per row (no regex).
  */
 public class ValidDnaSequenceValidator implements ConstraintValidator<ValidDnaSequence, String[]> {
 
     private static final int MIN_SIZE = 4;
-    private static final Pattern VALID_DNA_PATTERN = Pattern.compile("^[ATCG]+$", Pattern.CASE_INSENSITIVE);
 
     @Override
     public void initialize(ValidDnaSequence constraintAnnotation) {
@@ -61,7 +61,7 @@ public class ValidDnaSequenceValidator implements ConstraintValidator<ValidDnaSe
             }
 
             // Check if row contains only valid characters (A, T, C, G)
-            if (!VALID_DNA_PATTERN.matcher(row).matches()) {
+            if (!hasOnlyValidBases(row)) {
                 addCustomMessage(context, String.format(
                     "Row %d contains invalid characters. Only A, T, C, G are allowed",
                     i
@@ -74,6 +74,18 @@ public class ValidDnaSequenceValidator implements ConstraintValidator<ValidDnaSe
         return true;
     }
 
+    /**
+     * Checks every character of the row against the alphabet lookup table.
+     */
+    private static boolean hasOnlyValidBases(String row) {
+        for (int i = 0, length = row.length(); i < length; i++) {
+            if (!DnaAlphabet.isValid(row.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Adds a custom error message to the validation context.
      */
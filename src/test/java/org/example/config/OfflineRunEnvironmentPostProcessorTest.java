@@ -0,0 +1,65 @@
+package org.example.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.env.SystemEnvironmentPropertySource;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OfflineRunEnvironmentPostProcessor.
+ */
+@DisplayName("OfflineRunEnvironmentPostProcessor Unit Tests")
+class OfflineRunEnvironmentPostProcessorTest {
+
+    private final OfflineRunEnvironmentPostProcessor postProcessor = new OfflineRunEnvironmentPostProcessor();
+
+    @Test
+    @DisplayName("Should start without a web server when the import is set by an environment variable")
+    void testOfflineFromEnvironmentVariable() {
+        // Arrange
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new SystemEnvironmentPropertySource(
+                StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME,
+                Map.of("MUTANT_IMPORT_FILES", "history.ndjson")));
+
+        // Act
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        // Assert
+        assertTrue(OfflineRunEnvironmentPostProcessor.isOffline(environment));
+        assertEquals("none", environment.getProperty("spring.main.web-application-type"));
+    }
+
+    @Test
+    @DisplayName("Should start without a web server when the matrix file is set in a properties file")
+    void testOfflineFromProperties() {
+        // Arrange
+        MockEnvironment environment = new MockEnvironment().withProperty("mutant.analyze.file", "grid.txt");
+
+        // Act
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        // Assert
+        assertEquals("none", environment.getProperty("spring.main.web-application-type"));
+    }
+
+    @Test
+    @DisplayName("Should leave the API alone when no offline run is set")
+    void testOnline() {
+        // Arrange
+        MockEnvironment environment = new MockEnvironment();
+
+        // Act
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        // Assert
+        assertFalse(OfflineRunEnvironmentPostProcessor.isOffline(environment));
+        assertNull(environment.getProperty("spring.main.web-application-type"));
+    }
+}
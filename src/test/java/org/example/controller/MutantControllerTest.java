@@ -1,9 +1,29 @@
 package org.example.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.dto.CacheStatsResponse;
+import org.example.dto.DnaAnalysisRequest;
+import org.example.dto.DnaAnalysisResponse;
+import org.example.dto.DnaBatchResponse;
+import org.example.dto.DnaBatchResult;
+import org.example.dto.DnaDeltaRequest;
+import org.example.dto.DnaDeltaResponse;
+import org.example.dto.DnaMatrix;
 import org.example.dto.DnaRequest;
+import org.example.dto.DnaRowEdit;
+import org.example.dto.SequenceDirection;
+import org.example.dto.SequencePosition;
+import org.example.dto.StatsHistoryPoint;
+import org.example.dto.StatsHistoryResponse;
 import org.example.dto.StatsResponse;
+import org.example.exception.DnaNotFoundException;
+import org.example.exception.TooManyStreamsException;
+import org.example.service.BatchAnalysisService;
+import org.example.service.DeltaAnalysisService;
+import org.example.service.DnaResultCache;
 import org.example.service.MutantService;
+import org.example.service.SequenceAnalyzer;
+import org.example.service.StatsBroadcaster;
 import org.example.service.StatsService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,8 +33,14 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -42,6 +68,21 @@ class MutantControllerTest {
     @MockBean
     private StatsService statsService;
 
+    @MockBean
+    private StatsBroadcaster statsBroadcaster;
+
+    @MockBean
+    private SequenceAnalyzer sequenceAnalyzer;
+
+    @MockBean
+    private DeltaAnalysisService deltaAnalysisService;
+
+    @MockBean
+    private BatchAnalysisService batchAnalysisService;
+
+    @MockBean
+    private DnaResultCache dnaResultCache;
+
     private final String[] mutantDna = {
         "ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"
     };
@@ -59,7 +100,7 @@ class MutantControllerTest {
     void testCheckMutant_ReturnOk_WhenIsMutant() throws Exception {
         // Arrange
         DnaRequest request = new DnaRequest(mutantDna);
-        when(mutantService.analyzeDna(any(String[].class))).thenReturn(true);
+        when(mutantService.analyzeDna(any(DnaMatrix.class))).thenReturn(true);
 
         // Act & Assert
         mockMvc.perform(post("/mutant")
@@ -73,7 +114,7 @@ class MutantControllerTest {
     void testCheckMutant_ReturnForbidden_WhenIsHuman() throws Exception {
         // Arrange
         DnaRequest request = new DnaRequest(humanDna);
-        when(mutantService.analyzeDna(any(String[].class))).thenReturn(false);
+        when(mutantService.analyzeDna(any(DnaMatrix.class))).thenReturn(false);
 
         // Act & Assert
         mockMvc.perform(post("/mutant")
@@ -138,6 +179,149 @@ class MutantControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    // ========================
+    // POST /mutant/batch TESTS
+    // ========================
+
+    @Test
+    @DisplayName("POST /mutant/batch should return 200 OK with one result per DNA")
+    void testCheckMutants_ReturnResults() throws Exception {
+        // Arrange
+        String body = "{\"dnas\":[" + objectMapper.writeValueAsString(mutantDna) + ","
+                + objectMapper.writeValueAsString(humanDna) + ",[\"ATG\"]]}";
+        when(batchAnalysisService.analyzeBatch(any())).thenReturn(new DnaBatchResponse(List.of(
+                new DnaBatchResult("m", true, null),
+                new DnaBatchResult("h", false, null),
+                new DnaBatchResult(null, null, "DNA matrix must be at least 4x4")), 1, 1, 1));
+
+        // Act & Assert
+        mockMvc.perform(post("/mutant/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(3))
+                .andExpect(jsonPath("$.results[0].dna_hash").value("m"))
+                .andExpect(jsonPath("$.results[1].mutant").value(false))
+                .andExpect(jsonPath("$.results[2].error").value("DNA matrix must be at least 4x4"))
+                .andExpect(jsonPath("$.results[2].mutant").doesNotExist())
+                .andExpect(jsonPath("$.count_invalid").value(1));
+    }
+
+    @Test
+    @DisplayName("POST /mutant/batch should return 400 for an empty batch")
+    void testCheckMutants_ReturnBadRequest_WhenEmpty() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/mutant/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"dnas\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // ========================
+    // POST /mutant/analysis TESTS
+    // ========================
+
+    @Test
+    @DisplayName("POST /mutant/analysis should return counts per direction")
+    void testAnalyzeDna_ReturnsCounts() throws Exception {
+        // Arrange
+        DnaAnalysisRequest request = new DnaAnalysisRequest(mutantDna, 4, 2, true);
+        DnaAnalysisResponse analysis = new DnaAnalysisResponse(true, 4, 2, 3,
+                Map.of(SequenceDirection.HORIZONTAL, 1L, SequenceDirection.VERTICAL, 1L,
+                       SequenceDirection.MAIN_DIAGONAL, 1L, SequenceDirection.ANTI_DIAGONAL, 0L),
+                List.of(new SequencePosition(SequenceDirection.HORIZONTAL, 4, 0)), false);
+        when(sequenceAnalyzer.analyze(any(String[].class), eq(4), eq(2), eq(true))).thenReturn(analysis);
+
+        // Act & Assert
+        mockMvc.perform(post("/mutant/analysis")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.mutant").value(true))
+                .andExpect(jsonPath("$.total_sequences").value(3))
+                .andExpect(jsonPath("$.sequences_by_direction.main_diagonal").value(1))
+                .andExpect(jsonPath("$.positions[0].direction").value("horizontal"))
+                .andExpect(jsonPath("$.positions[0].row").value(4));
+    }
+
+    @Test
+    @DisplayName("POST /mutant/analysis should return 400 for sequence length below 2")
+    void testAnalyzeDna_ReturnBadRequest_WhenSequenceLengthTooSmall() throws Exception {
+        // Arrange
+        DnaAnalysisRequest request = new DnaAnalysisRequest(mutantDna, 1, 2, false);
+
+        // Act & Assert
+        mockMvc.perform(post("/mutant/analysis")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    // ========================
+    // POST /mutant/delta TESTS
+    // ========================
+
+    @Test
+    @DisplayName("POST /mutant/delta should return 200 OK with the new hash when mutant")
+    void testAnalyzeDelta_ReturnOk_WhenIsMutant() throws Exception {
+        // Arrange
+        DnaDeltaRequest request = new DnaDeltaRequest("base", List.of(new DnaRowEdit(4, "CCCCTA")));
+        when(deltaAnalysisService.analyzeDelta(eq("base"), any()))
+                .thenReturn(new DnaDeltaResponse("edited", true, 3, 1, 4));
+
+        // Act & Assert
+        mockMvc.perform(post("/mutant/delta")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.dna_hash").value("edited"))
+                .andExpect(jsonPath("$.rows_rescanned").value(4));
+    }
+
+    @Test
+    @DisplayName("POST /mutant/delta should return 403 Forbidden when human")
+    void testAnalyzeDelta_ReturnForbidden_WhenIsHuman() throws Exception {
+        // Arrange
+        DnaDeltaRequest request = new DnaDeltaRequest("base", List.of(new DnaRowEdit(4, "GCGTCA")));
+        when(deltaAnalysisService.analyzeDelta(eq("base"), any()))
+                .thenReturn(new DnaDeltaResponse("edited", false, 1, 1, 4));
+
+        // Act & Assert
+        mockMvc.perform(post("/mutant/delta")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.mutant").value(false));
+    }
+
+    @Test
+    @DisplayName("POST /mutant/delta should return 404 for an unknown base")
+    void testAnalyzeDelta_ReturnNotFound_WhenBaseUnknown() throws Exception {
+        // Arrange
+        DnaDeltaRequest request = new DnaDeltaRequest("missing", List.of(new DnaRowEdit(0, "AAAAAA")));
+        when(deltaAnalysisService.analyzeDelta(eq("missing"), any()))
+                .thenThrow(new DnaNotFoundException("No analyzed matrix with hash missing"));
+
+        // Act & Assert
+        mockMvc.perform(post("/mutant/delta")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("POST /mutant/delta should return 400 without row edits")
+    void testAnalyzeDelta_ReturnBadRequest_WhenNoRows() throws Exception {
+        // Arrange
+        DnaDeltaRequest request = new DnaDeltaRequest("base", List.of());
+
+        // Act & Assert
+        mockMvc.perform(post("/mutant/delta")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
     // ========================
     // GET /stats TESTS
     // ========================
@@ -173,4 +357,77 @@ class MutantControllerTest {
                 .andExpect(jsonPath("$.count_human_dna").value(0))
                 .andExpect(jsonPath("$.ratio").value(0.0));
     }
+
+    @Test
+    @DisplayName("GET /stats/cache should return the cache counters")
+    void testGetCacheStats() throws Exception {
+        // Arrange
+        when(dnaResultCache.getStats()).thenReturn(new CacheStatsResponse(7, 3, 0.7, 1, 2, 100));
+
+        // Act & Assert
+        mockMvc.perform(get("/stats/cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits").value(7))
+                .andExpect(jsonPath("$.misses").value(3))
+                .andExpect(jsonPath("$.hit_ratio").value(0.7))
+                .andExpect(jsonPath("$.evictions").value(1))
+                .andExpect(jsonPath("$.size").value(2))
+                .andExpect(jsonPath("$.capacity").value(100));
+    }
+
+    @Test
+    @DisplayName("GET /stats/history should return the time series")
+    void testGetStatsHistory() throws Exception {
+        // Arrange
+        StatsHistoryResponse history = new StatsHistoryResponse(120, 60, 3, 5, List.of(
+                new StatsHistoryPoint(Instant.parse("2026-10-18T10:00:00Z"), 1, 0, 0.0),
+                new StatsHistoryPoint(Instant.parse("2026-10-18T10:01:00Z"), 2, 5, 0.4)));
+        when(statsService.getHistory("2m", "minute")).thenReturn(history);
+
+        // Act & Assert
+        mockMvc.perform(get("/stats/history").param("window", "2m").param("resolution", "minute"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.window_seconds").value(120))
+                .andExpect(jsonPath("$.resolution_seconds").value(60))
+                .andExpect(jsonPath("$.count_mutant_dna").value(3))
+                .andExpect(jsonPath("$.points[1].timestamp").value("2026-10-18T10:01:00Z"))
+                .andExpect(jsonPath("$.points[1].count_human_dna").value(5))
+                .andExpect(jsonPath("$.points[1].ratio").value(0.4));
+    }
+
+    @Test
+    @DisplayName("GET /stats/history should return 400 for an invalid window")
+    void testGetStatsHistory_InvalidWindow() throws Exception {
+        // Arrange
+        when(statsService.getHistory("soon", null)).thenThrow(new IllegalArgumentException("'soon' is not a valid duration"));
+
+        // Act & Assert
+        mockMvc.perform(get("/stats/history").param("window", "soon"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+    }
+
+    @Test
+    @DisplayName("GET /stats/stream should open a Server-Sent Events stream")
+    void testStreamStats() throws Exception {
+        // Arrange
+        when(statsBroadcaster.subscribe()).thenReturn(new SseEmitter());
+
+        // Act & Assert
+        mockMvc.perform(get("/stats/stream"))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    @DisplayName("GET /stats/stream should return 503 when too many streams are open")
+    void testStreamStats_TooManyStreams() throws Exception {
+        // Arrange
+        when(statsBroadcaster.subscribe()).thenThrow(new TooManyStreamsException("Too many open stats streams (1)"));
+
+        // Act & Assert
+        mockMvc.perform(get("/stats/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(content().string(""));
+    }
 }
@@ -0,0 +1,186 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DnaMatrix and its streaming deserializer.
+ *
+ * Checks that the single-pass decoder fills the buffer correctly and reports
+ * exactly the same validation messages as the String[] validator.
+ */
+@DisplayName("DnaMatrix Unit Tests")
+class DnaMatrixTest {
+
+    private static ValidatorFactory validatorFactory;
+    private static Validator validator;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    static void setUpValidator() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @AfterAll
+    static void closeValidator() {
+        validatorFactory.close();
+    }
+
+    @Test
+    @DisplayName("Should decode rows into a flat row-major buffer")
+    void testDecodesRows() throws Exception {
+        String json = "{\"dna\":[\"ATGCGA\",\"CAGTGC\",\"TTATGT\",\"AGAAGG\",\"CCCCTA\",\"TCACTG\"]}";
+
+        DnaMatrix matrix = objectMapper.readValue(json, DnaRequest.class).getDna();
+
+        assertTrue(matrix.isValid());
+        assertEquals(6, matrix.size());
+        assertEquals('C', matrix.get(4, 3));
+        assertEquals('G', matrix.get(5, 5));
+        assertArrayEquals(new String[]{"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"},
+                matrix.toRows());
+    }
+
+    @Test
+    @DisplayName("Should normalize lowercase bases while decoding")
+    void testNormalizesCase() throws Exception {
+        String json = "{\"dna\":[\"atgc\",\"CaGt\",\"ttaT\",\"aGaA\"]}";
+
+        DnaMatrix matrix = objectMapper.readValue(json, DnaRequest.class).getDna();
+
+        assertTrue(matrix.isValid());
+        assertArrayEquals(new String[]{"ATGC", "CAGT", "TTAT", "AGAA"}, matrix.toRows());
+    }
+
+    @Test
+    @DisplayName("Should serialize back to an array of strings")
+    void testSerializesAsRows() throws Exception {
+        DnaRequest request = new DnaRequest(new String[]{"ATGC", "CAGT", "TTAT", "AGAA"});
+
+        assertEquals("{\"dna\":[\"ATGC\",\"CAGT\",\"TTAT\",\"AGAA\"]}", objectMapper.writeValueAsString(request));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "[]",
+        "[\"ATG\",\"CAG\",\"TTA\"]",
+        "[null,\"CAGT\",\"TTAT\",\"AGAA\"]",
+        "[\"ATGC\",null,\"TTAT\",\"AGAA\"]",
+        "[\"ATGC\",\"CAG\",\"TTAT\",\"AGAA\"]",
+        "[\"ATGCG\",\"CAGTG\",\"TTATG\",\"AGAAG\"]",
+        "[\"ATGC\",\"CAGT\",\"TTAT\",\"AGAA\",\"CCCC\"]",
+        "[\"ATGC\",\"CAXT\",\"TTAT\",\"AGAA\"]",
+        "[\"ATGC\",\"CAXT\",\"TTA\",\"AGAA\"]",
+        "[\"ATGC\",\"CAGT\",\"TTAT\",\"AGA1\"]",
+        "[\"atgc\",\"cagt\",\"ttat\",\"agaa\"]",
+        "[\"ATGC\",\"CAGT\",\"TTAT\",\"AGAA\"]"
+    })
+    @DisplayName("Should report the same violation as the String[] validator")
+    void testSameMessagesAsStringValidator(String rows) throws Exception {
+        DnaRequest matrixRequest = objectMapper.readValue("{\"dna\":" + rows + "}", DnaRequest.class);
+        DnaAnalysisRequest rowsRequest = objectMapper.readValue("{\"dna\":" + rows + "}", DnaAnalysisRequest.class);
+
+        assertEquals(messages(validator.validate(rowsRequest)), messages(validator.validate(matrixRequest)));
+    }
+
+    @Test
+    @DisplayName("Should reject a null dna field")
+    void testNullDna() throws Exception {
+        DnaRequest request = objectMapper.readValue("{\"dna\":null}", DnaRequest.class);
+
+        assertEquals(Set.of("DNA array cannot be null or empty"), messages(validator.validate(request)));
+    }
+
+    @Test
+    @DisplayName("Should fail to parse a dna field that is not an array")
+    void testNotAnArray() {
+        assertThrows(MismatchedInputException.class,
+                () -> objectMapper.readValue("{\"dna\":{\"row\":\"ATGC\"}}", DnaRequest.class));
+        assertThrows(MismatchedInputException.class,
+                () -> objectMapper.readValue("{\"dna\":[[\"ATGC\"]]}", DnaRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should grow the buffer for matrices taller than the initial allocation")
+    void testLargeMatrix() throws Exception {
+        int n = 300;
+        StringBuilder json = new StringBuilder("{\"dna\":[");
+        String[] rows = new String[n];
+        for (int row = 0; row < n; row++) {
+            StringBuilder line = new StringBuilder(n);
+            for (int col = 0; col < n; col++) {
+                line.append("ACGT".charAt((row + 2 * col) % 4));
+            }
+            rows[row] = line.toString();
+            json.append(row > 0 ? "," : "").append('"').append(rows[row]).append('"');
+        }
+        json.append("]}");
+
+        DnaMatrix matrix = objectMapper.readValue(json.toString(), DnaRequest.class).getDna();
+
+        assertTrue(matrix.isValid());
+        assertArrayEquals(rows, matrix.toRows());
+        assertArrayEquals(rows, DnaMatrix.of(rows).toRows());
+    }
+
+    @Test
+    @DisplayName("Should reuse the per-thread buffer across requests")
+    void testReusesBuffer() throws Exception {
+        String json = "{\"dna\":[\"ATGC\",\"CAGT\",\"TTAT\",\"AGAA\"]}";
+
+        DnaMatrix first = objectMapper.readValue(json, DnaRequest.class).getDna();
+        DnaMatrix second = objectMapper.readValue(json, DnaRequest.class).getDna();
+
+        assertSame(first.cells(), second.cells());
+    }
+
+    @Test
+    @DisplayName("Should not keep a per-thread buffer for matrices above the pooled size")
+    void testDoesNotPoolOversizedBuffers() throws Exception {
+        int n = 257;
+        String row = "ACGT".repeat(65).substring(0, n);
+        String json = "{\"dna\":[\"" + String.join("\",\"", Collections.nCopies(n, row)) + "\"]}";
+
+        DnaMatrix first = objectMapper.readValue(json, DnaRequest.class).getDna();
+        DnaMatrix second = objectMapper.readValue(json, DnaRequest.class).getDna();
+
+        assertTrue(n * n > DnaMatrixDeserializer.MAX_POOLED_CELLS);
+        assertNotSame(first.cells(), second.cells());
+    }
+
+    @Test
+    @DisplayName("Should give every matrix of a batch its own buffer")
+    void testBatchMatricesOwnTheirBuffers() throws Exception {
+        String json = "{\"dnas\":[[\"ATGC\",\"CAGT\",\"TTAT\",\"AGAA\"],[\"CCCC\",\"CAGT\",\"TTAT\",\"AGAA\"]]}";
+
+        List<DnaMatrix> dnas = objectMapper.readValue(json, DnaBatchRequest.class).getDnas();
+
+        assertEquals(2, dnas.size());
+        assertNotSame(dnas.get(0).cells(), dnas.get(1).cells());
+        assertArrayEquals(new String[]{"ATGC", "CAGT", "TTAT", "AGAA"}, dnas.get(0).toRows());
+        assertArrayEquals(new String[]{"CCCC", "CAGT", "TTAT", "AGAA"}, dnas.get(1).toRows());
+    }
+
+    private static Set<String> messages(Set<? extends ConstraintViolation<?>> violations) {
+        return violations.stream().map(ConstraintViolation::getMessage).collect(Collectors.toSet());
+    }
+}
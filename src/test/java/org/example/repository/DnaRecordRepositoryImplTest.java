@@ -0,0 +1,206 @@
+package org.example.repository;
+
+import org.example.entity.DnaKey;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+
+/**
+ * Unit tests for DnaRecordRepositoryImpl against an in-memory H2 table.
+ */
+@DisplayName("DnaRecordRepositoryImpl Unit Tests")
+class DnaRecordRepositoryImplTest {
+
+    private static final int STRIPES = 4;
+
+    private JdbcTemplate jdbcTemplate;
+    private DnaRecordCounters counters;
+    private DnaRecordRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(
+                new DriverManagerDataSource("jdbc:h2:mem:upsert-test;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE dna_records (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "dna_size INT, key_hi BIGINT, key_lo BIGINT, dna_hash VARCHAR(64), is_mutant BOOLEAN NOT NULL, "
+                + "CONSTRAINT idx_dna_key UNIQUE (dna_size, key_hi, key_lo))");
+        counters = new DnaRecordCounters();
+        repository = new DnaRecordRepositoryImpl(jdbcTemplate, counters, STRIPES);
+        repository.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE dna_records");
+        jdbcTemplate.execute("DROP TABLE dna_stats_counters");
+    }
+
+    private long count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dna_records", Long.class);
+    }
+
+    @Test
+    @DisplayName("Should insert a new record and return its result")
+    void testInsertsNewRecord() {
+        // Act
+        boolean mutant = repository.insertIfAbsent(new DnaKey(6, 1L, 2L), true);
+        boolean human = repository.insertIfAbsent(new DnaKey(6, 1L, 3L), false);
+
+        // Assert
+        assertTrue(mutant);
+        assertFalse(human);
+        assertEquals(2, count());
+    }
+
+    @Test
+    @DisplayName("Should find the stored results of many keys, across several queries")
+    void testFindResults() {
+        // Arrange
+        List<DnaKey> keys = new ArrayList<>();
+        for (long i = 0; i < DnaRecordRepositoryImpl.MAX_KEYS_PER_QUERY + 100; i++) {
+            keys.add(new DnaKey(6, 1L, i));
+            if (i % 2 == 0) {
+                repository.insertIfAbsent(new DnaKey(6, 1L, i), i % 4 == 0);
+            }
+        }
+
+        // Act
+        Map<DnaKey, Boolean> results = repository.findResults(keys);
+
+        // Assert
+        assertEquals(DnaRecordRepositoryImpl.MAX_KEYS_PER_QUERY / 2 + 50, results.size());
+        for (long i = 0; i < keys.size(); i++) {
+            assertEquals(i % 2 == 0 ? (Boolean) (i % 4 == 0) : null, results.get(new DnaKey(6, 1L, i)));
+        }
+        assertTrue(repository.findResults(List.of()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep the stored record and return its result on a duplicate")
+    void testDuplicateReturnsStoredResult() {
+        // Arrange
+        DnaKey key = new DnaKey(6, 1L, 2L);
+        repository.insertIfAbsent(key, true);
+
+        // Act
+        boolean result = repository.insertIfAbsent(key, false);
+
+        // Assert
+        assertTrue(result, "The first stored result wins");
+        assertEquals(1, count());
+    }
+
+    @Test
+    @DisplayName("Should insert a batch and skip keys already stored")
+    void testInsertAllIfAbsent() {
+        // Arrange
+        repository.insertIfAbsent(new DnaKey(6, 1L, 2L), true);
+        Map<DnaKey, Boolean> batch = new LinkedHashMap<>();
+        batch.put(new DnaKey(6, 1L, 2L), false);
+        batch.put(new DnaKey(6, 1L, 3L), false);
+        batch.put(new DnaKey(6, 1L, 4L), true);
+
+        // Act
+        repository.insertAllIfAbsent(batch);
+
+        // Assert
+        assertEquals(3, count());
+        assertEquals(2L, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM dna_records WHERE is_mutant = TRUE", Long.class));
+        assertEquals(2, repository.countMutants());
+        assertEquals(1, repository.countHumans());
+    }
+
+    @Test
+    @DisplayName("Should not count batch rows the driver gives no update count for when they may have been skipped")
+    void testSuccessNoInfoNotCounted() {
+        // Arrange: what pgjdbc reports for every row of a rewritten batch
+        JdbcTemplate noInfo = spy(jdbcTemplate);
+        doReturn(new int[]{Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO})
+                .when(noInfo).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+        DnaRecordRepositoryImpl noInfoRepository = new DnaRecordRepositoryImpl(noInfo, counters, STRIPES);
+        Map<DnaKey, Boolean> batch = new LinkedHashMap<>();
+        batch.put(new DnaKey(6, 1L, 2L), true);
+        batch.put(new DnaKey(6, 1L, 3L), false);
+
+        // Act
+        noInfoRepository.insertAllIfAbsent(batch);
+
+        // Assert
+        assertEquals(0, counters.getMutants());
+        assertEquals(0, counters.getHumans());
+        assertEquals(0, repository.countMutants() + repository.countHumans());
+    }
+
+    @Test
+    @DisplayName("Should build one multi-row statement returning the inserted rows for PostgreSQL")
+    void testPostgresInsertManySql() {
+        assertEquals("INSERT INTO dna_records (dna_size, key_hi, key_lo, is_mutant) VALUES (?, ?, ?, ?), (?, ?, ?, ?) "
+                + "ON CONFLICT (dna_size, key_hi, key_lo) DO NOTHING RETURNING is_mutant",
+                DnaRecordRepositoryImpl.insertManySql(2));
+    }
+
+    @Test
+    @DisplayName("Should count inserted records in the stripes and the in-process counters, not duplicates")
+    void testCountsInserts() {
+        // Act
+        for (long i = 0; i < 100; i++) {
+            repository.insertIfAbsent(new DnaKey(6, 0L, i), i < 40);
+        }
+        repository.insertIfAbsent(new DnaKey(6, 0L, 0L), true);
+
+        // Assert
+        assertEquals(40, repository.countMutants());
+        assertEquals(60, repository.countHumans());
+        assertEquals(40, counters.getMutants());
+        assertEquals(60, counters.getHumans());
+        assertEquals(2L * STRIPES, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dna_stats_counters", Long.class));
+        assertTrue(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM dna_stats_counters WHERE record_count > 0", Long.class) > 2,
+                "Inserts must spread over the stripes");
+    }
+
+    @Test
+    @DisplayName("Should seed the stripes from existing records and add missing stripes")
+    void testSeedsStripes() {
+        // Arrange: records stored before the counters table existed
+        jdbcTemplate.execute("DROP TABLE dna_stats_counters");
+        jdbcTemplate.update(DnaRecordRepositoryImpl.INSERT_SQL, 6, 0L, 1L, true);
+        jdbcTemplate.update(DnaRecordRepositoryImpl.INSERT_SQL, 6, 0L, 2L, false);
+        jdbcTemplate.update(DnaRecordRepositoryImpl.INSERT_SQL, 6, 0L, 3L, false);
+
+        // Act
+        repository.init();
+        DnaRecordRepositoryImpl moreStripes = new DnaRecordRepositoryImpl(jdbcTemplate, counters, STRIPES * 2);
+        moreStripes.init();
+
+        // Assert
+        assertEquals(1, moreStripes.countMutants());
+        assertEquals(2, moreStripes.countHumans());
+        assertEquals(4L * STRIPES, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dna_stats_counters", Long.class));
+    }
+
+    @Test
+    @DisplayName("Should pick the insert statement for the database")
+    void testInsertSqlForDatabase() {
+        assertEquals(DnaRecordRepositoryImpl.H2_MERGE_SQL, DnaRecordRepositoryImpl.insertSqlFor("H2"));
+        assertEquals(DnaRecordRepositoryImpl.POSTGRES_INSERT_SQL, DnaRecordRepositoryImpl.insertSqlFor("PostgreSQL"));
+        assertEquals(DnaRecordRepositoryImpl.INSERT_SQL, DnaRecordRepositoryImpl.insertSqlFor("MySQL"));
+    }
+}
@@ -0,0 +1,201 @@
+package org.example.repository;
+
+import org.example.entity.DnaKey;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LogStructuredDnaRecordStore in a temporary directory.
+ */
+@DisplayName("LogStructuredDnaRecordStore Unit Tests")
+class LogStructuredDnaRecordStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private LogStructuredDnaRecordStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    private LogStructuredDnaRecordStore open() {
+        LogStructuredDnaRecordStore opened = new LogStructuredDnaRecordStore(dir.toString(), false, new DnaRecordCounters());
+        opened.open();
+        return opened;
+    }
+
+    private static DnaKey key(long i) {
+        return new DnaKey(6, i * 31, i);
+    }
+
+    private long logLength() throws Exception {
+        return Files.size(dir.resolve(LogStructuredDnaRecordStore.LOG_FILE));
+    }
+
+    @Test
+    @DisplayName("Should find stored results and keep the first result of a key")
+    void testInsertAndFind() {
+        // Act
+        boolean first = store.insertIfAbsent(key(1), true);
+        boolean again = store.insertIfAbsent(key(1), false);
+        store.insertIfAbsent(key(2), false);
+
+        // Assert
+        assertTrue(first);
+        assertTrue(again, "The first stored result wins");
+        assertEquals(Optional.of(true), store.find(key(1)));
+        assertEquals(Optional.of(false), store.find(key(2)));
+        assertEquals(Optional.empty(), store.find(key(3)));
+        assertEquals(Optional.empty(), store.find(new DnaKey(7, 31L, 1L)), "The size is part of the key");
+        assertEquals(1, store.countMutants());
+        assertEquals(1, store.countHumans());
+    }
+
+    @Test
+    @DisplayName("Should find the stored results of several keys")
+    void testFindResults() {
+        // Arrange
+        store.insertIfAbsent(key(1), true);
+        store.insertIfAbsent(key(2), false);
+
+        // Act
+        Map<DnaKey, Boolean> results = store.findResults(List.of(key(1), key(2), key(3)));
+
+        // Assert
+        assertEquals(Map.of(key(1), true, key(2), false), results);
+    }
+
+    @Test
+    @DisplayName("Should append a batch once, skipping stored keys")
+    void testInsertAll() throws Exception {
+        // Arrange
+        store.insertIfAbsent(key(1), true);
+        long before = logLength();
+        Map<DnaKey, Boolean> batch = new LinkedHashMap<>();
+        batch.put(key(1), false);
+        batch.put(key(2), true);
+        batch.put(key(3), false);
+
+        // Act
+        store.insertAllIfAbsent(batch);
+
+        // Assert
+        assertEquals(before + 2L * LogStructuredDnaRecordStore.ENTRY_BYTES, logLength());
+        assertEquals(Optional.of(true), store.find(key(1)));
+        assertEquals(2, store.countMutants());
+        assertEquals(1, store.countHumans());
+    }
+
+    @Test
+    @DisplayName("Should grow the index and keep every key")
+    void testGrows() throws Exception {
+        // Arrange: more keys than 70% of the initial capacity
+        int count = LogStructuredDnaRecordStore.MIN_CAPACITY;
+
+        // Act
+        for (long i = 0; i < count; i++) {
+            store.insertIfAbsent(key(i), i % 3 == 0);
+        }
+
+        // Assert
+        for (long i = 0; i < count; i++) {
+            assertEquals(Optional.of(i % 3 == 0), store.find(key(i)));
+        }
+        assertEquals(LogStructuredDnaRecordStore.INDEX_HEADER_BYTES
+                        + 2L * LogStructuredDnaRecordStore.MIN_CAPACITY * LogStructuredDnaRecordStore.SLOT_BYTES,
+                Files.size(dir.resolve(LogStructuredDnaRecordStore.INDEX_FILE)));
+    }
+
+    @Test
+    @DisplayName("Should keep records and counters across a graceful restart")
+    void testReopen() {
+        // Arrange
+        store.insertIfAbsent(key(1), true);
+        store.insertIfAbsent(key(2), false);
+        store.close();
+
+        // Act
+        store = open();
+
+        // Assert
+        assertEquals(Optional.of(true), store.find(key(1)));
+        assertEquals(Optional.of(false), store.find(key(2)));
+        assertEquals(1, store.countMutants());
+        assertEquals(1, store.countHumans());
+    }
+
+    @Test
+    @DisplayName("Should rebuild the index from the log after a crash")
+    void testRecoversFromCrash() {
+        // Arrange: the store is never closed, so its index stays marked as not clean
+        LogStructuredDnaRecordStore crashed = store;
+        crashed.insertIfAbsent(key(1), true);
+        crashed.insertIfAbsent(key(2), false);
+
+        // Act
+        store = open();
+
+        // Assert
+        assertEquals(Optional.of(true), store.find(key(1)));
+        assertEquals(Optional.of(false), store.find(key(2)));
+        assertEquals(1, store.countMutants());
+        assertEquals(1, store.countHumans());
+    }
+
+    @Test
+    @DisplayName("Should drop a torn entry at the end of the log")
+    void testTruncatesTornEntry() throws Exception {
+        // Arrange
+        store.insertIfAbsent(key(1), true);
+        store.close();
+        long valid = logLength();
+        try (FileChannel log = FileChannel.open(dir.resolve(LogStructuredDnaRecordStore.LOG_FILE),
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            log.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 6, 1, 2, 3}));
+        }
+
+        // Act
+        store = open();
+        store.insertIfAbsent(key(2), false);
+
+        // Assert
+        assertEquals(valid + LogStructuredDnaRecordStore.ENTRY_BYTES, logLength());
+        assertEquals(Optional.of(true), store.find(key(1)));
+        assertEquals(Optional.of(false), store.find(key(2)));
+    }
+
+    @Test
+    @DisplayName("Should refuse a file that is not a DNA record log")
+    void testRejectsForeignLog() throws Exception {
+        // Arrange
+        store.close();
+        Files.write(dir.resolve(LogStructuredDnaRecordStore.LOG_FILE), new byte[64]);
+        Files.delete(dir.resolve(LogStructuredDnaRecordStore.INDEX_FILE));
+
+        // Act & Assert
+        assertThrows(DataAccessResourceFailureException.class, this::open);
+    }
+}
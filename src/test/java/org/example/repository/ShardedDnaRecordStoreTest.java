@@ -0,0 +1,154 @@
+package org.example.repository;
+
+import org.example.entity.DnaKey;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ShardedDnaRecordStore over local H2 file databases.
+ */
+@DisplayName("ShardedDnaRecordStore Unit Tests")
+class ShardedDnaRecordStoreTest {
+
+    private static final int SHARDS = 4;
+
+    @TempDir
+    Path dir;
+
+    private final DnaRecordCounters counters = new DnaRecordCounters();
+    private ShardedDnaRecordStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    private String url() {
+        return "jdbc:h2:file:" + dir.toAbsolutePath() + "/shard-%d";
+    }
+
+    private ShardedDnaRecordStore open() {
+        ShardedDnaRecordStore opened = new ShardedDnaRecordStore(SHARDS, url(), "sa", "", 2, 4, counters);
+        opened.open();
+        return opened;
+    }
+
+    private static DnaKey key(long i) {
+        return new DnaKey(6, 0L, i);
+    }
+
+    @Test
+    @DisplayName("Should store, find and count records across shards")
+    void testInsertFindAndCount() {
+        // Act
+        for (long i = 0; i < 1_000; i++) {
+            assertEquals(i % 4 == 0, store.insertIfAbsent(key(i), i % 4 == 0));
+        }
+        boolean again = store.insertIfAbsent(key(0), false);
+
+        // Assert
+        assertTrue(again, "The first stored result wins");
+        for (long i = 0; i < 1_000; i++) {
+            assertEquals(Optional.of(i % 4 == 0), store.find(key(i)));
+        }
+        assertEquals(Optional.empty(), store.find(key(1_000)));
+        assertEquals(250, store.countMutants());
+        assertEquals(750, store.countHumans());
+        assertEquals(250, counters.getMutants());
+        assertEquals(750, counters.getHumans());
+    }
+
+    @Test
+    @DisplayName("Should find the stored results of keys spread over every shard")
+    void testFindResults() {
+        // Arrange
+        List<DnaKey> keys = new ArrayList<>();
+        for (long i = 0; i < 200; i++) {
+            keys.add(key(i));
+            if (i < 100) {
+                store.insertIfAbsent(key(i), i % 2 == 0);
+            }
+        }
+
+        // Act
+        Map<DnaKey, Boolean> results = store.findResults(keys);
+
+        // Assert
+        assertEquals(100, results.size());
+        for (long i = 0; i < 100; i++) {
+            assertEquals(i % 2 == 0, results.get(key(i)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should split a batch by shard and skip keys already stored")
+    void testInsertAll() {
+        // Arrange
+        store.insertIfAbsent(key(0), true);
+        Map<DnaKey, Boolean> batch = new LinkedHashMap<>();
+        for (long i = 0; i < 100; i++) {
+            batch.put(key(i), false);
+        }
+
+        // Act
+        store.insertAllIfAbsent(batch);
+
+        // Assert
+        assertEquals(Optional.of(true), store.find(key(0)));
+        assertEquals(1, store.countMutants());
+        assertEquals(99, store.countHumans());
+    }
+
+    @Test
+    @DisplayName("Should spread the records evenly over the shard databases and keep them across restarts")
+    void testSpreadAndPersisted() {
+        // Arrange
+        Map<DnaKey, Boolean> batch = new LinkedHashMap<>();
+        for (long i = 0; i < 4_000; i++) {
+            batch.put(key(i), true);
+        }
+        store.insertAllIfAbsent(batch);
+        store.close();
+
+        // Assert: every shard file holds about a quarter of the records
+        for (int shard = 0; shard < SHARDS; shard++) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(
+                    new DriverManagerDataSource(String.format(url(), shard), "sa", ""));
+            long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dna_records", Long.class);
+            assertTrue(rows > 800 && rows < 1_200, "Shard " + shard + " holds " + rows + " records");
+        }
+        store = open();
+        assertEquals(4_000, store.countMutants());
+    }
+
+    @Test
+    @DisplayName("Should route every key to a valid shard")
+    void testShardOf() {
+        for (long i = 0; i < 10_000; i++) {
+            DnaKey key = new DnaKey(8, i * 0x9e3779b97f4a7c15L, -i);
+            int shard = ShardedDnaRecordStore.shardOf(key, 7);
+            assertTrue(shard >= 0 && shard < 7);
+            assertEquals(shard, ShardedDnaRecordStore.shardOf(key, 7), "Routing must be stable");
+        }
+        assertEquals(0, ShardedDnaRecordStore.shardOf(key(42), 1));
+    }
+}
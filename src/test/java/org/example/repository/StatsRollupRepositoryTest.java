@@ -0,0 +1,95 @@
+package org.example.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StatsRollupRepository against an in-memory H2 table.
+ */
+@DisplayName("StatsRollupRepository Unit Tests")
+class StatsRollupRepositoryTest {
+
+    private static final long MINUTE = 60_000L;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(
+                new DriverManagerDataSource("jdbc:h2:mem:rollup-test;DB_CLOSE_DELAY=-1", "sa", ""));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE dna_stats_rollups");
+    }
+
+    private StatsRollupRepository repository(String instanceId) {
+        StatsRollupRepository repository = new StatsRollupRepository(jdbcTemplate, instanceId);
+        repository.init();
+        return repository;
+    }
+
+    @Test
+    @DisplayName("Should sum the minutes of every instance")
+    void testSumsAcrossInstances() {
+        // Arrange
+        StatsRollupRepository first = repository("a");
+        StatsRollupRepository second = repository("b");
+        first.insertAll(List.of(new TimeBucketedCounts.Counts(10 * MINUTE, 1, 2),
+                new TimeBucketedCounts.Counts(11 * MINUTE, 3, 0)), 60);
+        second.insertAll(List.of(new TimeBucketedCounts.Counts(10 * MINUTE, 4, 5)), 60);
+
+        // Act
+        Map<Long, TimeBucketedCounts.Counts> buckets = first.findBuckets(10 * MINUTE, 12 * MINUTE, 12 * MINUTE, 60);
+
+        // Assert
+        assertEquals(Map.of(10 * MINUTE, new TimeBucketedCounts.Counts(10 * MINUTE, 5, 7),
+                11 * MINUTE, new TimeBucketedCounts.Counts(11 * MINUTE, 3, 0)), buckets);
+    }
+
+    @Test
+    @DisplayName("Should leave out this instance's rows from the given time on")
+    void testLeavesOutOwnRecentRows() {
+        // Arrange
+        StatsRollupRepository own = repository("a");
+        StatsRollupRepository other = repository("b");
+        own.insertAll(List.of(new TimeBucketedCounts.Counts(10 * MINUTE, 1, 0),
+                new TimeBucketedCounts.Counts(11 * MINUTE, 1, 0)), 60);
+        other.insertAll(List.of(new TimeBucketedCounts.Counts(11 * MINUTE, 0, 1)), 60);
+
+        // Act
+        Map<Long, TimeBucketedCounts.Counts> buckets = own.findBuckets(10 * MINUTE, 12 * MINUTE, 11 * MINUTE, 60);
+
+        // Assert
+        assertEquals(new TimeBucketedCounts.Counts(10 * MINUTE, 1, 0), buckets.get(10 * MINUTE));
+        assertEquals(new TimeBucketedCounts.Counts(11 * MINUTE, 0, 1), buckets.get(11 * MINUTE));
+    }
+
+    @Test
+    @DisplayName("Should add the instance column to a table created without it")
+    void testAddsInstanceColumn() {
+        // Arrange
+        jdbcTemplate.execute("CREATE TABLE dna_stats_rollups (bucket_start TIMESTAMP WITH TIME ZONE NOT NULL, "
+                + "resolution_seconds INT NOT NULL, mutants BIGINT NOT NULL, humans BIGINT NOT NULL)");
+        jdbcTemplate.update("INSERT INTO dna_stats_rollups VALUES (TIMESTAMP WITH TIME ZONE '1970-01-01 00:10:00+00', "
+                + "60, 2, 3)");
+
+        // Act
+        StatsRollupRepository repository = repository("a");
+        repository.insertAll(List.of(new TimeBucketedCounts.Counts(10 * MINUTE, 1, 1)), 60);
+
+        // Assert
+        assertEquals(new TimeBucketedCounts.Counts(10 * MINUTE, 3, 4),
+                repository.findBuckets(0, 20 * MINUTE, 20 * MINUTE, 60).get(10 * MINUTE));
+    }
+}
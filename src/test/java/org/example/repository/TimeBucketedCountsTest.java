@@ -0,0 +1,97 @@
+package org.example.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the TimeBucketedCounts ring buffer.
+ */
+@DisplayName("TimeBucketedCounts Unit Tests")
+class TimeBucketedCountsTest {
+
+    @Test
+    @DisplayName("Should count records in the bucket of their time")
+    void testAdd_CountsPerBucket() {
+        // Arrange
+        TimeBucketedCounts counts = new TimeBucketedCounts(1_000, 60);
+
+        // Act
+        counts.add(10_000, true, 1);
+        counts.add(10_999, false, 2);
+        counts.add(11_000, true, 3);
+
+        // Assert
+        assertEquals(new TimeBucketedCounts.Counts(10_000, 1, 2), counts.get(10));
+        assertEquals(new TimeBucketedCounts.Counts(11_000, 3, 0), counts.get(11));
+        assertTrue(counts.get(12).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return the last buckets oldest first, with zeros where nothing was added")
+    void testLast_FillsGaps() {
+        // Arrange
+        TimeBucketedCounts counts = new TimeBucketedCounts(1_000, 60);
+        counts.add(7_500, true, 1);
+        counts.add(9_100, false, 4);
+
+        // Act
+        List<TimeBucketedCounts.Counts> last = counts.last(9_900, 4);
+
+        // Assert
+        assertEquals(List.of(
+                new TimeBucketedCounts.Counts(6_000, 0, 0),
+                new TimeBucketedCounts.Counts(7_000, 1, 0),
+                new TimeBucketedCounts.Counts(8_000, 0, 0),
+                new TimeBucketedCounts.Counts(9_000, 0, 4)), last);
+    }
+
+    @Test
+    @DisplayName("Should drop the oldest bucket when the ring wraps around")
+    void testAdd_WrapsAround() {
+        // Arrange
+        TimeBucketedCounts counts = new TimeBucketedCounts(1_000, 4);
+        counts.add(1_000, true, 5);
+
+        // Act: bucket 5 reuses the slot of bucket 1
+        counts.add(5_000, false, 1);
+        counts.add(1_000, true, 7);
+
+        // Assert: the late write for bucket 1 is dropped
+        assertTrue(counts.get(1).isEmpty());
+        assertEquals(new TimeBucketedCounts.Counts(5_000, 0, 1), counts.get(5));
+        assertEquals(4, counts.last(5_000, 100).size());
+    }
+
+    @Test
+    @DisplayName("Should not lose counts under concurrent writers")
+    void testAdd_Concurrent() throws InterruptedException {
+        // Arrange
+        TimeBucketedCounts counts = new TimeBucketedCounts(1_000, 8);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act: every writer adds to the same 3 buckets
+        for (int thread = 0; thread < 8; thread++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    counts.add(i % 3 * 1_000L, i % 2 == 0, 1);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Assert
+        long total = 0;
+        for (TimeBucketedCounts.Counts bucket : counts.last(2_000, 3)) {
+            total += bucket.mutants() + bucket.humans();
+        }
+        assertEquals(80_000, total);
+    }
+}
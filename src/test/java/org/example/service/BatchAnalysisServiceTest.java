@@ -0,0 +1,213 @@
+package org.example.service;
+
+import org.example.dto.DnaBatchResponse;
+import org.example.dto.DnaBatchResult;
+import org.example.dto.DnaMatrix;
+import org.example.entity.DnaKey;
+import org.example.repository.DnaRecordStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BatchAnalysisService with a real fork-join pool and a mocked store.
+ */
+@DisplayName("BatchAnalysisService Unit Tests")
+class BatchAnalysisServiceTest {
+
+    private static final String[] MUTANT = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+    private static final String[] HUMAN = {"ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"};
+
+    private final ParallelMutantDetector parallelMutantDetector = new ParallelMutantDetector(new MutantDetector(), 4);
+    private final DetectionStrategySelector detectionStrategySelector = mock(DetectionStrategySelector.class);
+    private final DnaRecordStore dnaRecordStore = mock(DnaRecordStore.class);
+    private final DnaResultCache dnaResultCache = new DnaResultCache(100);
+    private final DnaRecordWriter dnaRecordWriter = mock(DnaRecordWriter.class);
+    private final LegacyDnaRecordMigrator legacyDnaRecordMigrator = mock(LegacyDnaRecordMigrator.class);
+    private final MutantService mutantService = mock(MutantService.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final BatchAnalysisService service = new BatchAnalysisService(detectionStrategySelector,
+            parallelMutantDetector, dnaRecordStore, dnaResultCache, dnaRecordWriter, legacyDnaRecordMigrator,
+            mutantService, transactionTemplate);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "maxBatchSize", 100);
+        when(detectionStrategySelector.select(anyInt())).thenReturn(new MutantDetector());
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        doAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null))
+                .when(transactionTemplate).execute(any());
+        when(dnaRecordStore.insertAllOrEachIfAbsent(anyMap(), any())).thenCallRealMethod();
+    }
+
+    @AfterEach
+    void tearDown() {
+        parallelMutantDetector.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should detect new DNAs once each and store them in one batch")
+    void testAnalyzeBatch_DetectsAndStoresNewDnas() {
+        // Arrange
+        List<DnaMatrix> dnas = List.of(DnaMatrix.of(MUTANT), DnaMatrix.of(HUMAN), DnaMatrix.of(MUTANT));
+
+        // Act
+        DnaBatchResponse response = service.analyzeBatch(dnas);
+
+        // Assert
+        assertEquals(List.of(
+                new DnaBatchResult(DnaKeyHasher.key(MUTANT).toHex(), true, null),
+                new DnaBatchResult(DnaKeyHasher.key(HUMAN).toHex(), false, null),
+                new DnaBatchResult(DnaKeyHasher.key(MUTANT).toHex(), true, null)), response.getResults());
+        assertEquals(2, response.getCountMutantDna());
+        assertEquals(1, response.getCountHumanDna());
+        assertEquals(0, response.getCountInvalid());
+
+        verify(dnaRecordStore).findResults(List.of(DnaKeyHasher.key(MUTANT), DnaKeyHasher.key(HUMAN)));
+        verify(dnaRecordStore).insertAllIfAbsent(Map.of(DnaKeyHasher.key(MUTANT), true, DnaKeyHasher.key(HUMAN), false));
+        verify(dnaRecordStore, never()).find(any());
+        assertEquals(Boolean.TRUE, dnaResultCache.get(DnaKeyHasher.key(MUTANT)));
+    }
+
+    @Test
+    @DisplayName("Should answer known DNAs from memory and the store without detecting them")
+    void testAnalyzeBatch_ResolvesKnownDnas() {
+        // Arrange
+        String[] stored = DnaMatrices.random(8, 1);
+        String[] fresh = DnaMatrices.random(8, 2);
+        dnaResultCache.put(DnaKeyHasher.key(MUTANT), true);
+        when(dnaRecordWriter.pending(DnaKeyHasher.key(HUMAN))).thenReturn(Optional.of(false));
+        when(dnaRecordStore.findResults(any())).thenReturn(Map.of(DnaKeyHasher.key(stored), true));
+
+        // Act
+        DnaBatchResponse response = service.analyzeBatch(List.of(
+                DnaMatrix.of(MUTANT), DnaMatrix.of(HUMAN), DnaMatrix.of(stored), DnaMatrix.of(fresh)));
+
+        // Assert
+        assertEquals(Arrays.asList(true, false, true, new MutantDetector().isMutant(fresh)),
+                response.getResults().stream().map(DnaBatchResult::getMutant).toList());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<DnaKey>> looked = ArgumentCaptor.forClass(Collection.class);
+        verify(dnaRecordStore).findResults(looked.capture());
+        assertEquals(List.of(DnaKeyHasher.key(stored), DnaKeyHasher.key(fresh)), new ArrayList<>(looked.getValue()));
+        verify(dnaRecordStore).insertAllIfAbsent(Map.of(DnaKeyHasher.key(fresh), new MutantDetector().isMutant(fresh)));
+        verify(detectionStrategySelector, times(1)).select(anyInt());
+    }
+
+    @Test
+    @DisplayName("Should store the batch row by row when it hits a duplicate key")
+    void testAnalyzeBatch_DuplicateKeyFallsBackToRows() {
+        // Arrange: HUMAN was stored as a mutant concurrently, the stored result wins
+        doThrow(new DuplicateKeyException("duplicate")).when(dnaRecordStore).insertAllIfAbsent(any());
+        when(dnaRecordStore.insertIfAbsent(DnaKeyHasher.key(MUTANT), true)).thenReturn(true);
+        when(dnaRecordStore.insertIfAbsent(DnaKeyHasher.key(HUMAN), false)).thenReturn(true);
+
+        // Act
+        DnaBatchResponse response = service.analyzeBatch(List.of(DnaMatrix.of(MUTANT), DnaMatrix.of(HUMAN)));
+
+        // Assert
+        assertEquals(2, response.getCountMutantDna());
+        verify(dnaRecordStore).insertIfAbsent(DnaKeyHasher.key(MUTANT), true);
+        verify(dnaRecordStore).insertIfAbsent(DnaKeyHasher.key(HUMAN), false);
+        assertEquals(Boolean.TRUE, dnaResultCache.get(DnaKeyHasher.key(HUMAN)));
+    }
+
+    @Test
+    @DisplayName("Should answer but not cache a DNA that could not be stored")
+    void testAnalyzeBatch_RowFailureNotCached() {
+        // Arrange
+        doThrow(new DuplicateKeyException("duplicate")).when(dnaRecordStore).insertAllIfAbsent(any());
+        when(dnaRecordStore.insertIfAbsent(DnaKeyHasher.key(MUTANT), true)).thenReturn(true);
+        when(dnaRecordStore.insertIfAbsent(DnaKeyHasher.key(HUMAN), false))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        // Act
+        DnaBatchResponse response = service.analyzeBatch(List.of(DnaMatrix.of(MUTANT), DnaMatrix.of(HUMAN)));
+
+        // Assert
+        assertEquals(1, response.getCountMutantDna());
+        assertEquals(1, response.getCountHumanDna());
+        assertEquals(Boolean.TRUE, dnaResultCache.get(DnaKeyHasher.key(MUTANT)));
+        assertNull(dnaResultCache.get(DnaKeyHasher.key(HUMAN)));
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    @DisplayName("Should return an error for invalid DNAs and verify the rest")
+    void testAnalyzeBatch_InvalidDnas() {
+        // Arrange
+        List<DnaMatrix> dnas = Arrays.asList(
+                DnaMatrix.of(new String[]{"ATG", "CAG", "TTA"}), null, DnaMatrix.of(HUMAN));
+
+        // Act
+        DnaBatchResponse response = service.analyzeBatch(dnas);
+
+        // Assert
+        assertEquals(2, response.getCountInvalid());
+        assertEquals(1, response.getCountHumanDna());
+        assertNotNull(response.getResults().get(0).getError());
+        assertNull(response.getResults().get(0).getDnaHash());
+        assertEquals("DNA array cannot be null or empty", response.getResults().get(1).getError());
+        assertEquals(DnaKeyHasher.key(HUMAN).toHex(), response.getResults().get(2).getDnaHash());
+    }
+
+    @Test
+    @DisplayName("Should record DNAs one by one while legacy records remain")
+    void testAnalyzeBatch_LegacyRecordsRemain() {
+        // Arrange
+        when(legacyDnaRecordMigrator.isActive()).thenReturn(true);
+        when(mutantService.recordAnalysis(any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<BooleanSupplier>getArgument(2).getAsBoolean());
+
+        // Act
+        DnaBatchResponse response = service.analyzeBatch(List.of(DnaMatrix.of(MUTANT), DnaMatrix.of(HUMAN)));
+
+        // Assert
+        assertEquals(1, response.getCountMutantDna());
+        assertEquals(1, response.getCountHumanDna());
+        verify(mutantService).recordAnalysis(eq(DnaKeyHasher.key(MUTANT)), any(), any());
+        verify(mutantService).recordAnalysis(eq(DnaKeyHasher.key(HUMAN)), any(), any());
+        verify(dnaRecordStore, never()).findResults(any());
+        verify(dnaRecordStore, never()).insertAllIfAbsent(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a batch larger than the configured maximum")
+    void testAnalyzeBatch_TooLarge() {
+        // Arrange
+        List<DnaMatrix> dnas = new ArrayList<>();
+        for (int i = 0; i < 101; i++) {
+            dnas.add(DnaMatrix.of(HUMAN));
+        }
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> service.analyzeBatch(dnas));
+        verifyNoInteractions(dnaRecordStore);
+    }
+}
@@ -0,0 +1,204 @@
+package org.example.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.entity.DnaKey;
+import org.example.repository.DnaRecordCounters;
+import org.example.repository.DnaRecordStore;
+import org.example.repository.LogStructuredDnaRecordStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BulkImportService against a log-structured store in a temporary directory.
+ */
+@DisplayName("BulkImportService Unit Tests")
+class BulkImportServiceTest {
+
+    private static final String[] MUTANT = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+    private static final String[] HUMAN = {"ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"};
+
+    @TempDir
+    Path dir;
+
+    private final DnaRecordCounters dnaRecordCounters = new DnaRecordCounters();
+    private final DetectionStrategySelector detectionStrategySelector = mock(DetectionStrategySelector.class);
+    private final LegacyDnaRecordMigrator legacyDnaRecordMigrator = mock(LegacyDnaRecordMigrator.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private LogStructuredDnaRecordStore dnaRecordStore;
+
+    @BeforeEach
+    void setUp() {
+        dnaRecordStore = new LogStructuredDnaRecordStore(dir.resolve("store").toString(), false, dnaRecordCounters);
+        dnaRecordStore.open();
+        when(detectionStrategySelector.select(anyInt())).thenReturn(new MutantDetector());
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        doAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null))
+                .when(transactionTemplate).execute(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        dnaRecordStore.close();
+    }
+
+    private BulkImportService service(int workers, int batchSize, int chunkBytes) {
+        return new BulkImportService(detectionStrategySelector, dnaRecordStore, dnaRecordCounters,
+                legacyDnaRecordMigrator, transactionTemplate, new ObjectMapper(),
+                workers, batchSize, chunkBytes, 60_000);
+    }
+
+    private Path file(String name, String... lines) throws IOException {
+        return Files.write(dir.resolve(name), List.of(lines));
+    }
+
+    private static String json(String[] rows) {
+        return "[\"" + String.join("\",\"", rows) + "\"]";
+    }
+
+    @Test
+    @DisplayName("Should import NDJSON requests and bare arrays, skipping duplicates and invalid lines")
+    void testImport_Ndjson() throws IOException {
+        // Arrange
+        Path file = file("dna.ndjson",
+                "{\"dna\":" + json(MUTANT) + "}",
+                "",
+                "# comment",
+                json(HUMAN),
+                "{\"dna\":" + json(HUMAN) + "}",
+                "{\"dna\":[\"ATGX\",\"CAGT\",\"TTAT\",\"AGAA\"]}",
+                "not json");
+
+        // Act
+        BulkImportService.Report report = service(1, 1000, 1 << 16).importFiles(List.of(file));
+
+        // Assert
+        assertEquals(5, report.lines());
+        assertEquals(3, report.matrices());
+        assertEquals(2, report.invalid());
+        assertEquals(1, report.mutants());
+        assertEquals(2, report.humans());
+        assertEquals(2, report.stored());
+        assertEquals(Optional.of(true), dnaRecordStore.find(DnaKeyHasher.key(MUTANT)));
+        assertEquals(Optional.of(false), dnaRecordStore.find(DnaKeyHasher.key(HUMAN)));
+    }
+
+    @Test
+    @DisplayName("Should import CSV rows, skipping the header")
+    void testImport_Csv() throws IOException {
+        // Arrange
+        Path file = file("dna.csv",
+                "row0,row1,row2,row3,row4,row5",
+                "\"" + String.join("\",\"", MUTANT) + "\"",
+                String.join(", ", HUMAN) + "\r");
+
+        // Act
+        BulkImportService.Report report = service(1, 1000, 1 << 16).importFiles(List.of(file));
+
+        // Assert
+        assertEquals(2, report.matrices());
+        assertEquals(0, report.invalid());
+        assertEquals(2, report.stored());
+        assertEquals(Optional.of(true), dnaRecordStore.find(DnaKeyHasher.key(MUTANT)));
+    }
+
+    @Test
+    @DisplayName("Should give the same result with small read buffers, several workers and small batches")
+    void testImport_LinesSplitAcrossReads() throws IOException {
+        // Arrange: lines longer than the 16-byte buffer, repeated across workers
+        String[] lines = new String[200];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = json(i % 2 == 0 ? MUTANT : HUMAN);
+        }
+        Path file = file("dna.ndjson", lines);
+
+        // Act
+        BulkImportService.Report report = service(4, 3, 16).importFiles(List.of(file));
+
+        // Assert
+        assertEquals(200, report.matrices());
+        assertEquals(100, report.mutants());
+        assertEquals(0, report.invalid());
+        assertEquals(2, report.stored());
+        assertEquals(1, dnaRecordStore.countMutants());
+        assertEquals(1, dnaRecordStore.countHumans());
+    }
+
+    @Test
+    @DisplayName("Should migrate the legacy records of imported DNAs instead of storing them again")
+    void testImport_MigratesLegacyRecords() throws IOException {
+        // Arrange
+        when(legacyDnaRecordMigrator.isActive()).thenReturn(true);
+        DnaKey legacy = DnaKeyHasher.key(MUTANT);
+        Map<DnaKey, String> legacyHashes = new HashMap<>();
+        when(legacyDnaRecordMigrator.migrateAll(any())).thenAnswer(invocation -> {
+            legacyHashes.putAll(invocation.getArgument(0));
+            return legacyHashes.containsKey(legacy) ? Map.of(legacy, true) : Map.of();
+        });
+        Path file = file("dna.ndjson", json(MUTANT), json(HUMAN));
+
+        // Act
+        BulkImportService.Report report = service(1, 1000, 1 << 16).importFiles(List.of(file));
+
+        // Assert
+        assertEquals(2, report.matrices());
+        assertEquals(1, report.migrated());
+        assertEquals(1, report.stored());
+        assertEquals(Map.of(legacy, DnaHasher.hash(MUTANT), DnaKeyHasher.key(HUMAN), DnaHasher.hash(HUMAN)),
+                legacyHashes);
+        assertEquals(Optional.empty(), dnaRecordStore.find(legacy));
+        assertEquals(Optional.of(false), dnaRecordStore.find(DnaKeyHasher.key(HUMAN)));
+    }
+
+    @Test
+    @DisplayName("Should retry a batch row by row when it hits a duplicate key")
+    void testImport_DuplicateKeyFallsBackToRows() throws IOException {
+        // Arrange
+        DnaRecordStore racingStore = spy(dnaRecordStore);
+        doThrow(new DuplicateKeyException("duplicate")).when(racingStore).insertAllIfAbsent(anyMap());
+        BulkImportService service = new BulkImportService(detectionStrategySelector, racingStore, dnaRecordCounters,
+                legacyDnaRecordMigrator, transactionTemplate, new ObjectMapper(), 1, 1000, 1 << 16, 60_000);
+        Path file = file("dna.ndjson", json(MUTANT), json(HUMAN));
+
+        // Act
+        BulkImportService.Report report = service.importFiles(List.of(file));
+
+        // Assert
+        assertEquals(2, report.stored());
+        verify(racingStore).insertIfAbsent(DnaKeyHasher.key(MUTANT), true);
+        verify(racingStore).insertIfAbsent(DnaKeyHasher.key(HUMAN), false);
+        assertEquals(Optional.of(true), dnaRecordStore.find(DnaKeyHasher.key(MUTANT)));
+    }
+
+    @Test
+    @DisplayName("Should fail when a file cannot be read")
+    void testImport_MissingFile() {
+        assertThrows(UncheckedIOException.class,
+                () -> service(1, 1000, 1 << 16).importFiles(List.of(dir.resolve("missing.ndjson"))));
+    }
+}
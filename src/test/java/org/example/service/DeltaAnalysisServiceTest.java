@@ -0,0 +1,131 @@
+package org.example.service;
+
+import org.example.dto.DnaDeltaResponse;
+import org.example.dto.DnaRowEdit;
+import org.example.exception.DnaNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DeltaAnalysisService with a real summary store and a mocked MutantService.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DeltaAnalysisService Unit Tests")
+class DeltaAnalysisServiceTest {
+
+    @Mock
+    private MutantService mutantService;
+
+    private MatrixSummaryStore matrixSummaryStore;
+    private DeltaAnalysisService deltaAnalysisService;
+
+    private final String[] humanDna = {
+        "ATGCGA",
+        "CAGTGC",
+        "TTATTT",
+        "AGACGG",
+        "GCGTCA",
+        "TCACTG"
+    };
+
+    @BeforeEach
+    void setUp() {
+        matrixSummaryStore = new MatrixSummaryStore(4, 1 << 20);
+        deltaAnalysisService = new DeltaAnalysisService(matrixSummaryStore, mutantService);
+        matrixSummaryStore.put(MatrixSummary.build(DnaMatrices.toCells(humanDna), 6));
+    }
+
+    private void recordRunsDetection() {
+        when(mutantService.recordAnalysis(any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<BooleanSupplier>getArgument(2).getAsBoolean());
+    }
+
+    @Test
+    @DisplayName("Should re-analyze the edited matrix and return its hash")
+    void testDeltaToMutant() {
+        recordRunsDetection();
+        String[] edited = humanDna.clone();
+        edited[4] = "CCCCCC";
+
+        DnaDeltaResponse response = deltaAnalysisService.analyzeDelta(
+                DnaKeyHasher.key(humanDna).toHex(), List.of(new DnaRowEdit(4, "CCCCCC")));
+
+        assertTrue(response.isMutant());
+        assertEquals(DnaKeyHasher.key(edited).toHex(), response.getDnaHash());
+        assertEquals(DnaMatrices.countSequences(edited), response.getTotalSequences());
+        assertEquals(1, response.getRowsChanged());
+        assertEquals(4, response.getRowsRescanned());
+        verify(mutantService).recordAnalysis(eq(DnaKeyHasher.key(edited)), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should allow chaining edits from the returned hash")
+    void testChainedDeltas() {
+        recordRunsDetection();
+        DnaDeltaResponse first = deltaAnalysisService.analyzeDelta(
+                DnaKeyHasher.key(humanDna).toHex(), List.of(new DnaRowEdit(4, "CCCCCC")));
+
+        DnaDeltaResponse second = deltaAnalysisService.analyzeDelta(
+                first.getDnaHash(), List.of(new DnaRowEdit(4, "GCGTCA")));
+
+        assertEquals(DnaKeyHasher.key(humanDna).toHex(), second.getDnaHash(), "Reverting the edit gives back the base hash");
+        assertFalse(second.isMutant());
+    }
+
+    @Test
+    @DisplayName("Should not take a same-bits id of another size as the base")
+    void testBaseOfAnotherSize() {
+        // A 4x4 all-A matrix packs to the same hi/lo as the 6x6 one
+        String[] allA = {"AAAAAA", "AAAAAA", "AAAAAA", "AAAAAA", "AAAAAA", "AAAAAA"};
+        matrixSummaryStore.put(MatrixSummary.build(DnaMatrices.toCells(allA), 6));
+        String smaller = DnaKeyHasher.key(new String[]{"AAAA", "AAAA", "AAAA", "AAAA"}).toHex();
+
+        assertThrows(DnaNotFoundException.class, () -> deltaAnalysisService.analyzeDelta(
+                smaller, List.of(new DnaRowEdit(0, "AAAA"))));
+    }
+
+    @Test
+    @DisplayName("Should accept a base hash in upper case")
+    void testUppercaseBase() {
+        recordRunsDetection();
+
+        DnaDeltaResponse response = deltaAnalysisService.analyzeDelta(
+                DnaKeyHasher.key(humanDna).toHex().toUpperCase(), List.of(new DnaRowEdit(4, "GCGTCA")));
+
+        assertEquals(DnaKeyHasher.key(humanDna).toHex(), response.getDnaHash());
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown base hash")
+    void testUnknownBase() {
+        assertThrows(DnaNotFoundException.class, () -> deltaAnalysisService.analyzeDelta(
+                "unknown", List.of(new DnaRowEdit(0, "AAAAAA"))));
+        verify(mutantService, never()).recordAnalysis(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid row edits")
+    void testInvalidEdits() {
+        String base = DnaKeyHasher.key(humanDna).toHex();
+        assertThrows(IllegalArgumentException.class,
+                () -> deltaAnalysisService.analyzeDelta(base, List.of(new DnaRowEdit(6, "AAAAAA"))));
+        assertThrows(IllegalArgumentException.class,
+                () -> deltaAnalysisService.analyzeDelta(base, List.of(new DnaRowEdit(1, "AAAA"))));
+        assertThrows(IllegalArgumentException.class,
+                () -> deltaAnalysisService.analyzeDelta(base, List.of(new DnaRowEdit(1, "AAXAAA"))));
+        assertThrows(IllegalArgumentException.class,
+                () -> deltaAnalysisService.analyzeDelta(base, List.of(new DnaRowEdit(1, "AAAAAA"), new DnaRowEdit(1, "CCCCCC"))));
+    }
+}
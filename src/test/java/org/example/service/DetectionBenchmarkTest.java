@@ -0,0 +1,64 @@
+package org.example.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Latency benchmark of the detection engines on sequence-free (human)
+ * matrices, the worst case where no engine can terminate early.
+ *
+ * Excluded from the regular test task; run it with:
+ *   ./gradlew benchmark
+ *
+ * Hardware cache misses cannot be read from inside the JVM. To compare them
+ * between the row loop and the tiled traversal, run the task under perf:
+ *   perf stat -e cache-references,cache-misses,L1-dcache-load-misses ./gradlew benchmark
+ * or set -Dbenchmark.engine=scalar / tiled to profile one engine at a time.
+ */
+@Tag("benchmark")
+@DisplayName("Detection engine benchmark")
+class DetectionBenchmarkTest {
+
+    private static final int[] SIZES = {1024, 2048, 4096, 8192, 16384};
+    private static final int WARMUP_RUNS = 2;
+    private static final int MEASURED_RUNS = 3;
+
+    @Test
+    @DisplayName("Latency per engine for N = 1k..16k")
+    void benchmarkEngines() {
+        MutantDetector scalar = new MutantDetector();
+        Map<String, Predicate<String[]>> engines = new LinkedHashMap<>();
+        engines.put("scalar", scalar::isMutant);
+        engines.put("tiled", new TiledMutantDetector(1024)::isMutant);
+        engines.put("packed", new PackedMutantDetector(scalar)::isMutant);
+        engines.put("vector", new VectorMutantDetector(scalar)::isMutant);
+
+        String only = System.getProperty("benchmark.engine");
+        if (only != null) {
+            engines.keySet().retainAll(java.util.Set.of(only));
+        }
+
+        System.out.printf("%-8s %8s %12s%n", "engine", "N", "ms/op");
+        for (int n : SIZES) {
+            String[] dna = DnaMatrices.noSequences(n);
+            for (Map.Entry<String, Predicate<String[]>> engine : engines.entrySet()) {
+                for (int i = 0; i < WARMUP_RUNS; i++) {
+                    assertFalse(engine.getValue().test(dna));
+                }
+                long start = System.nanoTime();
+                for (int i = 0; i < MEASURED_RUNS; i++) {
+                    assertFalse(engine.getValue().test(dna));
+                }
+                double millis = (System.nanoTime() - start) / 1e6 / MEASURED_RUNS;
+                System.out.printf("%-8s %8d %12.2f%n", engine.getKey(), n, millis);
+            }
+        }
+    }
+}
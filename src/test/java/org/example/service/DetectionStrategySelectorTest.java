@@ -0,0 +1,100 @@
+package org.example.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DetectionStrategySelector.
+ *
+ * Verifies size-based engine selection, forced engines and startup calibration.
+ */
+@DisplayName("DetectionStrategySelector Unit Tests")
+class DetectionStrategySelectorTest {
+
+    private final MutantDetector scalarDetector = new MutantDetector();
+    private final PackedMutantDetector packedDetector = new PackedMutantDetector(scalarDetector);
+    private final VectorMutantDetector vectorDetector = new VectorMutantDetector(scalarDetector);
+    private final TiledMutantDetector tiledDetector = new TiledMutantDetector(1024);
+    private ParallelMutantDetector parallelDetector;
+
+    @AfterEach
+    void tearDown() {
+        parallelDetector.shutdown();
+    }
+
+    private DetectionStrategySelector selector(String engine, int parallelism, boolean calibrate) {
+        return selector(engine, parallelism, 64, calibrate);
+    }
+
+    private DetectionStrategySelector selector(String engine, int parallelism, int wordParallelMinSize,
+                                               boolean calibrate) {
+        parallelDetector = new ParallelMutantDetector(scalarDetector, parallelism);
+        DetectionStrategySelector selector = new DetectionStrategySelector(
+                scalarDetector, packedDetector, vectorDetector, parallelDetector,
+                List.of(scalarDetector, packedDetector, vectorDetector, parallelDetector, tiledDetector),
+                engine, wordParallelMinSize, 2048, calibrate);
+        selector.init();
+        return selector;
+    }
+
+    @Test
+    @DisplayName("Should pick scalar, word-parallel and parallel engines by size")
+    void testAutomaticSelection() {
+        DetectionStrategySelector selector = selector("auto", 4, false);
+        String wordParallel = VectorMutantDetector.isVectorApiAvailable() ? "vector" : "packed";
+
+        assertEquals("scalar", selector.select(6).getName());
+        assertEquals("scalar", selector.select(63).getName());
+        assertEquals(wordParallel, selector.select(64).getName());
+        assertEquals(wordParallel, selector.select(2047).getName());
+        assertEquals("parallel", selector.select(2048).getName());
+        assertEquals("parallel", selector.select(5000).getName());
+    }
+
+    @Test
+    @DisplayName("Should still pick the parallel engine when the scalar engine is used at every other size")
+    void testParallelIndependentOfWordParallelThreshold() {
+        DetectionStrategySelector selector = selector("auto", 4, Integer.MAX_VALUE, false);
+
+        assertEquals("scalar", selector.select(2047).getName());
+        assertEquals("parallel", selector.select(2048).getName());
+        assertEquals("parallel", selector.select(20_000).getName());
+    }
+
+    @Test
+    @DisplayName("Should not pick the parallel engine with a single worker")
+    void testSingleWorkerNeverParallel() {
+        DetectionStrategySelector selector = selector("auto", 1, false);
+        assertNotEquals("parallel", selector.select(5000).getName());
+    }
+
+    @Test
+    @DisplayName("Should use the forced engine for every size")
+    void testForcedEngine() {
+        DetectionStrategySelector selector = selector("tiled", 4, false);
+        assertSame(tiledDetector, selector.select(6));
+        assertSame(tiledDetector, selector.select(5000));
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown engine name")
+    void testUnknownEngine() {
+        assertThrows(IllegalArgumentException.class, () -> selector("quantum", 4, false));
+    }
+
+    @Test
+    @DisplayName("Should calibrate thresholds at startup")
+    void testCalibration() {
+        DetectionStrategySelector selector = selector("auto", 1, true);
+
+        int threshold = selector.getWordParallelMinSize();
+        assertTrue(threshold == Integer.MAX_VALUE || (threshold >= 8 && threshold <= 512),
+                "Calibrated threshold should be one of the candidate sizes: " + threshold);
+        assertEquals(2048, selector.getParallelMinSize(), "Parallel threshold is not calibrated with one worker");
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.service;
+
+import org.example.dto.DnaMatrix;
+import org.example.entity.DnaKey;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DnaKeyHasher.
+ */
+@DisplayName("DnaKeyHasher Unit Tests")
+class DnaKeyHasherTest {
+
+    @Test
+    @DisplayName("Should match the MurmurHash3 x64_128 reference values")
+    void testReferenceValues() {
+        assertEquals("cbd8a7b341bd9b025b1e906a48ae1d19", murmur3("hello"));
+        assertEquals("e34bbc7bbc071b6c7a433ca9c49a9347", murmur3("The quick brown fox jumps over the lazy dog"));
+    }
+
+    @Test
+    @DisplayName("Should key rows and decoded matrices identically")
+    void testOverloadsAgree() {
+        String[] dna = DnaMatrices.random(17, 3);
+
+        DnaKey key = DnaKeyHasher.key(dna);
+
+        assertEquals(key, DnaKeyHasher.key(DnaMatrix.of(dna)));
+        assertEquals(17, key.size());
+        assertTrue(key.toHex().matches("17-[0-9a-f]{32}"), key.toHex());
+    }
+
+    @Test
+    @DisplayName("Should key lowercase rows like the decoded matrix")
+    void testLowercaseRows() {
+        for (int n : new int[]{6, 17}) {
+            String[] dna = DnaMatrices.random(n, 5);
+            String[] lowercase = new String[n];
+            for (int row = 0; row < n; row++) {
+                lowercase[row] = row % 2 == 0 ? dna[row].toLowerCase() : dna[row];
+            }
+
+            assertEquals(DnaKeyHasher.key(dna), DnaKeyHasher.key(lowercase));
+            assertEquals(DnaKeyHasher.key(DnaMatrix.of(lowercase)), DnaKeyHasher.key(lowercase));
+        }
+    }
+
+    @Test
+    @DisplayName("Should give distinct matrices distinct keys")
+    void testDistinctKeys() {
+        Set<DnaKey> keys = new HashSet<>();
+        for (int n = 4; n <= 12; n++) {
+            for (long seed = 0; seed < 50; seed++) {
+                keys.add(DnaKeyHasher.key(DnaMatrices.random(n, seed)));
+            }
+        }
+
+        assertEquals(9 * 50, keys.size());
+    }
+
+    @Test
+    @DisplayName("Should give matrices of different sizes different ids even when their bits agree")
+    void testIdsIncludeSize() {
+        Set<String> ids = new HashSet<>();
+        for (int n = 4; n <= 8; n++) {
+            String[] allA = new String[n];
+            Arrays.fill(allA, "A".repeat(n));
+            ids.add(DnaKeyHasher.key(allA).toHex());
+        }
+
+        assertEquals(5, ids.size());
+        assertTrue(ids.contains("4-" + "0".repeat(32)));
+    }
+
+    /**
+     * Single-level hash with seed 0, as hi/lo hex, to compare with published values.
+     */
+    private static String murmur3(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        long[] out = new long[2];
+        DnaKeyHasher.rowHash(bytes, 0, bytes.length, 0, out, 0);
+        return HexFormat.of().toHexDigits(out[0]) + HexFormat.of().toHexDigits(out[1]);
+    }
+
+    @Test
+    @DisplayName("Should use the packed matrix itself as the key up to 8x8")
+    void testExactKeys() {
+        DnaKey small = DnaKeyHasher.key(new String[]{"CAAA", "AAAA", "AAAA", "AAAT"});
+        assertEquals(new DnaKey(4, 0L, 1L | (3L << 30)), small);
+
+        String[] allT = new String[8];
+        Arrays.fill(allT, "TTTTTTTT");
+        assertEquals(new DnaKey(8, -1L, -1L), DnaKeyHasher.key(allT));
+
+        for (long seed = 0; seed < 20; seed++) {
+            assertEquals(0L, DnaKeyHasher.key(DnaMatrices.random(5, seed)).hi(), "5x5 fits in lo");
+        }
+    }
+
+    @Test
+    @DisplayName("Should key small rows, cells and decoded matrices identically")
+    void testExactOverloadsAgree() {
+        for (int n = 4; n <= 9; n++) {
+            String[] dna = DnaMatrices.random(n, n);
+            DnaKey key = DnaKeyHasher.key(dna);
+
+            assertEquals(key, DnaKeyHasher.key(DnaMatrix.of(dna)), "n=" + n);
+            assertEquals(key, DnaKeyHasher.key(DnaMatrices.toCells(dna), n), "n=" + n);
+            assertEquals(key, MatrixSummary.build(DnaMatrices.toCells(dna), n).getKey(), "n=" + n);
+        }
+    }
+
+    @Test
+    @DisplayName("Should fall back to hashing rows that cannot be packed")
+    void testUnpackableRowsAreHashed() {
+        String[] unpackable = {"ATGC", "CAGT", "TTAT", "AGAN"};
+
+        assertNull(DnaKeyHasher.exactKey(unpackable));
+        assertNotEquals(DnaKeyHasher.key(new String[]{"ATGC", "CAGT", "TTAT", "AGAA"}), DnaKeyHasher.key(unpackable));
+        assertEquals(4, DnaKeyHasher.key(unpackable).size());
+    }
+}
@@ -0,0 +1,128 @@
+package org.example.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import java.util.Random;
+
+/**
+ * Test fixtures for DNA matrices of arbitrary size.
+ *
+ * Shared by the detection engine tests so every engine is checked against
+ * the same inputs and the same brute-force reference count.
+ */
+final class DnaMatrices {
+
+    private static final char[] BASES = {'A', 'C', 'G', 'T'};
+
+    private DnaMatrices() {
+    }
+
+    /**
+     * Matrix without any sequence of 4 (worst case for early termination).
+     *
+     * Cell (r, c) holds BASES[(c + 2r) % 4], so no two neighbours are equal
+     * in any of the four directions.
+     */
+    static String[] noSequences(int n) {
+        char[][] matrix = new char[n][n];
+        for (int row = 0; row < n; row++) {
+            for (int col = 0; col < n; col++) {
+                matrix[row][col] = BASES[(col + 2 * row) % 4];
+            }
+        }
+        return toRows(matrix);
+    }
+
+    /**
+     * Uniformly random matrix.
+     */
+    static String[] random(int n, long seed) {
+        Random random = new Random(seed);
+        char[][] matrix = new char[n][n];
+        for (int row = 0; row < n; row++) {
+            for (int col = 0; col < n; col++) {
+                matrix[row][col] = BASES[random.nextInt(4)];
+            }
+        }
+        return toRows(matrix);
+    }
+
+    /**
+     * Sequence-free matrix with a few randomly placed runs of 4 in random directions.
+     */
+    static String[] withPlantedRuns(int n, int runs, long seed) {
+        Random random = new Random(seed);
+        char[][] matrix = toMatrix(noSequences(n));
+        int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+        for (int i = 0; i < runs; i++) {
+            int[] direction = directions[random.nextInt(directions.length)];
+            int row = random.nextInt(n - 3);
+            int col = direction[1] < 0 ? 3 + random.nextInt(n - 3) : random.nextInt(n - 3);
+            char base = BASES[random.nextInt(4)];
+            for (int k = 0; k < 4; k++) {
+                matrix[row + k * direction[0]][col + k * direction[1]] = base;
+            }
+        }
+        return toRows(matrix);
+    }
+
+    /**
+     * Brute-force reference: counts every window of 4 identical characters.
+     */
+    static int countSequences(String[] dna) {
+        int n = dna.length;
+        int count = 0;
+        for (int row = 0; row < n; row++) {
+            for (int col = 0; col < n; col++) {
+                count += matches(dna, row, col, 0, 1) + matches(dna, row, col, 1, 0)
+                        + matches(dna, row, col, 1, 1) + matches(dna, row, col, 1, -1);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Flat row-major byte buffer of the matrix, with some stale trailing bytes
+     * like a reused request buffer.
+     */
+    static byte[] toCells(String[] dna) {
+        byte[] rows = String.join("", dna).getBytes(StandardCharsets.US_ASCII);
+        byte[] cells = new byte[rows.length + 16];
+        Arrays.fill(cells, (byte) 'A');
+        System.arraycopy(rows, 0, cells, 0, rows.length);
+        return cells;
+    }
+
+    private static int matches(String[] dna, int row, int col, int dRow, int dCol) {
+        int n = dna.length;
+        int endRow = row + 3 * dRow;
+        int endCol = col + 3 * dCol;
+        if (endRow >= n || endCol < 0 || endCol >= n) {
+            return 0;
+        }
+        char base = dna[row].charAt(col);
+        for (int k = 1; k < 4; k++) {
+            if (dna[row + k * dRow].charAt(col + k * dCol) != base) {
+                return 0;
+            }
+        }
+        return 1;
+    }
+
+    private static char[][] toMatrix(String[] dna) {
+        char[][] matrix = new char[dna.length][];
+        for (int i = 0; i < dna.length; i++) {
+            matrix[i] = dna[i].toCharArray();
+        }
+        return matrix;
+    }
+
+    private static String[] toRows(char[][] matrix) {
+        String[] rows = new String[matrix.length];
+        for (int i = 0; i < matrix.length; i++) {
+            rows[i] = new String(matrix[i]);
+        }
+        return rows;
+    }
+}
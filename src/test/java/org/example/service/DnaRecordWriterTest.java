@@ -0,0 +1,225 @@
+package org.example.service;
+
+import org.example.entity.DnaKey;
+import org.example.repository.DnaRecordCounters;
+import org.example.repository.DnaRecordStore;
+import org.example.repository.LogStructuredDnaRecordStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DnaRecordWriter against a log-structured store in a temporary directory.
+ */
+@DisplayName("DnaRecordWriter Unit Tests")
+class DnaRecordWriterTest {
+
+    @TempDir
+    Path dir;
+
+    private LogStructuredDnaRecordStore dnaRecordStore;
+    private final DnaResultCache dnaResultCache = new DnaResultCache(100);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+
+    @BeforeEach
+    void setUp() {
+        dnaRecordStore = new LogStructuredDnaRecordStore(dir.toString(), false, new DnaRecordCounters());
+        dnaRecordStore.open();
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        doAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null))
+                .when(transactionTemplate).execute(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        dnaRecordStore.close();
+    }
+
+    private DnaRecordWriter writer(boolean enabled, int queueCapacity) {
+        return new DnaRecordWriter(dnaRecordStore, dnaResultCache, transactionTemplate, enabled, 100, 10, queueCapacity);
+    }
+
+    private long count() {
+        return dnaRecordStore.countMutants() + dnaRecordStore.countHumans();
+    }
+
+    @Test
+    @DisplayName("Should store every queued record and flush the rest on shutdown")
+    void testQueuesAndFlushes() throws Exception {
+        // Arrange
+        DnaRecordWriter writer = writer(true, 10_000);
+        writer.start();
+
+        // Act
+        for (long i = 0; i < 1_000; i++) {
+            assertTrue(writer.enqueue(new DnaKey(6, 0L, i), i % 2 == 0));
+        }
+        writer.stop();
+
+        // Assert
+        assertEquals(1_000, count());
+        assertEquals(500L, dnaRecordStore.countMutants());
+        assertEquals(0, writer.getQueued());
+        assertFalse(writer.enqueue(new DnaKey(6, 0L, 1_000L), true), "A stopped writer accepts nothing");
+    }
+
+    @Test
+    @DisplayName("Should expose queued records until they are stored")
+    void testPendingUntilFlushed() throws Exception {
+        // Arrange: a partial batch waits up to 1 s for more records
+        DnaRecordWriter writer = new DnaRecordWriter(dnaRecordStore, dnaResultCache, transactionTemplate, true, 100, 1_000, 10);
+        DnaKey key = new DnaKey(6, 1L, 2L);
+        writer.start();
+
+        // Act
+        assertTrue(writer.enqueue(key, true));
+
+        // Assert
+        assertEquals(Boolean.TRUE, writer.pending(key).orElse(null));
+        assertEquals(0, count());
+        writer.stop();
+        assertTrue(writer.pending(key).isEmpty());
+        assertEquals(1, count());
+    }
+
+    @Test
+    @DisplayName("Should skip records that are already stored")
+    void testSkipsStoredRecords() {
+        // Arrange
+        DnaRecordWriter writer = writer(false, 10);
+        dnaRecordStore.insertIfAbsent(new DnaKey(6, 0L, 1L), true);
+
+        // Act
+        writer.flush(List.of(
+                new DnaRecordWriter.PendingRecord(new DnaKey(6, 0L, 0L), false),
+                new DnaRecordWriter.PendingRecord(new DnaKey(6, 0L, 1L), false),
+                new DnaRecordWriter.PendingRecord(new DnaKey(6, 0L, 2L), false)));
+
+        // Assert
+        assertEquals(3, count());
+        assertEquals(Boolean.TRUE, dnaRecordStore.find(new DnaKey(6, 0L, 1L)).orElse(null));
+    }
+
+    @Test
+    @DisplayName("Should fall back to row inserts when the batch fails")
+    void testBatchFailureFallsBackToRows() {
+        // Arrange
+        DnaRecordStore failingStore = mock(DnaRecordStore.class);
+        when(failingStore.insertAllOrEachIfAbsent(anyMap(), any())).thenCallRealMethod();
+        doThrow(new DuplicateKeyException("duplicate")).when(failingStore).insertAllIfAbsent(anyMap());
+        DnaRecordWriter writer = new DnaRecordWriter(failingStore, dnaResultCache, transactionTemplate, false, 100, 10, 10);
+
+        // Act
+        writer.flush(List.of(
+                new DnaRecordWriter.PendingRecord(new DnaKey(6, 0L, 0L), false),
+                new DnaRecordWriter.PendingRecord(new DnaKey(6, 0L, 1L), true)));
+
+        // Assert
+        verify(failingStore).insertIfAbsent(new DnaKey(6, 0L, 0L), false);
+        verify(failingStore).insertIfAbsent(new DnaKey(6, 0L, 1L), true);
+        verify(failingStore, times(2)).insertIfAbsent(any(), anyBoolean());
+        verify(transactionTemplate, times(2)).execute(any());
+        assertEquals(0, writer.getFailed());
+    }
+
+    @Test
+    @DisplayName("Should count the records that fail row by row too and forget their cached results")
+    void testCountsFailedRecords() {
+        // Arrange
+        DnaRecordStore failingStore = mock(DnaRecordStore.class);
+        when(failingStore.insertAllOrEachIfAbsent(anyMap(), any())).thenCallRealMethod();
+        doThrow(new DuplicateKeyException("duplicate")).when(failingStore).insertAllIfAbsent(anyMap());
+        doThrow(new DuplicateKeyException("duplicate")).when(failingStore).insertIfAbsent(new DnaKey(6, 0L, 1L), true);
+        DnaRecordWriter writer = new DnaRecordWriter(failingStore, dnaResultCache, transactionTemplate, false, 100, 10, 10);
+
+        dnaResultCache.put(new DnaKey(6, 0L, 0L), false);
+        dnaResultCache.put(new DnaKey(6, 0L, 1L), true);
+
+        // Act
+        writer.flush(List.of(
+                new DnaRecordWriter.PendingRecord(new DnaKey(6, 0L, 0L), false),
+                new DnaRecordWriter.PendingRecord(new DnaKey(6, 0L, 1L), true)));
+
+        // Assert
+        assertEquals(1, writer.getFailed());
+        assertEquals(0, writer.getQueued());
+        assertEquals(Boolean.FALSE, dnaResultCache.get(new DnaKey(6, 0L, 0L)));
+        assertNull(dnaResultCache.get(new DnaKey(6, 0L, 1L)), "A record never stored must not be answered from memory");
+    }
+
+    @Test
+    @DisplayName("Should store every record accepted while it is being stopped")
+    void testStopWhileEnqueueing() throws Exception {
+        // Arrange
+        DnaRecordWriter writer = writer(true, 100_000);
+        writer.start();
+        CountDownLatch started = new CountDownLatch(4);
+        AtomicLong accepted = new AtomicLong();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final long hi = t;
+            Thread thread = new Thread(() -> {
+                started.countDown();
+                for (long i = 0; i < 20_000; i++) {
+                    if (writer.enqueue(new DnaKey(6, hi, i), true)) {
+                        accepted.incrementAndGet();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        // Act
+        started.await();
+        writer.stop();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Assert
+        assertEquals(accepted.get(), count(), "No accepted record may be lost");
+        assertEquals(0, writer.getQueued());
+    }
+
+    @Test
+    @DisplayName("Should refuse records when disabled or when the queue is full")
+    void testBackPressure() throws Exception {
+        assertFalse(writer(false, 10).enqueue(new DnaKey(6, 0L, 0L), true), "Disabled");
+
+        DnaRecordWriter writer = writer(true, 1);
+        writer.start();
+        int refused = 0;
+        for (long i = 0; i < 10_000; i++) {
+            if (!writer.enqueue(new DnaKey(7, 0L, i), true)) {
+                refused++;
+            }
+        }
+        writer.stop();
+
+        assertTrue(refused > 0, "A queue of one must overflow");
+        assertEquals(10_000 - refused, count());
+    }
+}
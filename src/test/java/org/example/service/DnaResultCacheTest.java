@@ -0,0 +1,54 @@
+package org.example.service;
+
+import org.example.dto.CacheStatsResponse;
+import org.example.entity.DnaKey;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DnaResultCache.
+ */
+@DisplayName("DnaResultCache Unit Tests")
+class DnaResultCacheTest {
+
+    @Test
+    @DisplayName("Should return cached results and count hits and misses")
+    void testHitsAndMisses() {
+        // Arrange
+        DnaResultCache cache = new DnaResultCache(10);
+        DnaKey mutant = new DnaKey(6, 0L, 1L);
+        DnaKey human = new DnaKey(6, 0L, 2L);
+        cache.put(mutant, true);
+        cache.put(human, false);
+
+        // Act & Assert
+        assertEquals(Boolean.TRUE, cache.get(mutant));
+        assertEquals(Boolean.FALSE, cache.get(human));
+        assertNull(cache.get(new DnaKey(7, 0L, 1L)), "Size is part of the key");
+
+        CacheStatsResponse stats = cache.getStats();
+        assertEquals(2, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(2, stats.getSize());
+        assertEquals(10, stats.getCapacity());
+    }
+
+    @Test
+    @DisplayName("Should stay within its capacity and count evictions")
+    void testEvictions() {
+        // Arrange
+        DnaResultCache cache = new DnaResultCache(100);
+
+        // Act
+        for (long i = 0; i < 1_000; i++) {
+            cache.put(new DnaKey(6, 0L, i), i % 2 == 0);
+        }
+
+        // Assert
+        CacheStatsResponse stats = cache.getStats();
+        assertTrue(stats.getSize() <= 100, "size=" + stats.getSize());
+        assertEquals(1_000 - stats.getSize(), stats.getEvictions());
+    }
+}
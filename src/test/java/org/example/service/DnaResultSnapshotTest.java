@@ -0,0 +1,107 @@
+package org.example.service;
+
+import org.example.entity.DnaKey;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for DnaResultSnapshot with real caches and a temporary directory.
+ */
+@DisplayName("DnaResultSnapshot Unit Tests")
+class DnaResultSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    private final DnaRecordWriter dnaRecordWriter = mock(DnaRecordWriter.class);
+
+    @Test
+    @DisplayName("Should restore every cached result after a restart")
+    void testSaveAndLoad() throws Exception {
+        // Arrange
+        Path file = dir.resolve("snapshots/results.snap");
+        DnaResultCache before = new DnaResultCache(100_000);
+        for (long i = 0; i < 70_000; i++) {
+            before.put(new DnaKey(4 + (int) (i % 500), i * 31, ~i), i % 3 == 0);
+        }
+
+        // Act
+        long saved = new DnaResultSnapshot(before, dnaRecordWriter, file.toString()).save();
+        DnaResultCache after = new DnaResultCache(100_000);
+        new DnaResultSnapshot(after, dnaRecordWriter, file.toString()).init();
+
+        // Assert
+        assertEquals(70_000, saved);
+        assertEquals(DnaResultSnapshot.HEADER_BYTES + 70_000L * DnaResultSnapshot.ENTRY_BYTES, Files.size(file));
+        assertEquals(70_000, after.getStats().getSize());
+        assertEquals(Boolean.TRUE, after.get(new DnaKey(4, 0, ~0L)));
+        assertEquals(Boolean.FALSE, after.get(new DnaKey(5, 31, ~1L)));
+        assertFalse(Files.exists(dir.resolve("snapshots/results.snap.tmp")));
+    }
+
+    @Test
+    @DisplayName("Should leave out results whose record is still queued")
+    void testSkipsQueuedRecords() {
+        // Arrange
+        Path file = dir.resolve("results.snap");
+        DnaResultCache before = new DnaResultCache(100);
+        before.put(new DnaKey(6, 1, 2), true);
+        before.put(new DnaKey(6, 1, 3), false);
+        when(dnaRecordWriter.pending(new DnaKey(6, 1, 3))).thenReturn(Optional.of(false));
+
+        // Act
+        long saved = new DnaResultSnapshot(before, dnaRecordWriter, file.toString()).save();
+        DnaResultCache after = new DnaResultCache(100);
+        new DnaResultSnapshot(after, dnaRecordWriter, file.toString()).init();
+
+        // Assert
+        assertEquals(1, saved);
+        assertEquals(Boolean.TRUE, after.get(new DnaKey(6, 1, 2)));
+        assertNull(after.get(new DnaKey(6, 1, 3)));
+    }
+
+    @Test
+    @DisplayName("Should ignore a missing or corrupt snapshot")
+    void testIgnoresInvalidSnapshot() throws Exception {
+        // Arrange
+        Path file = dir.resolve("results.snap");
+        DnaResultCache cache = new DnaResultCache(100);
+        DnaResultSnapshot snapshot = new DnaResultSnapshot(cache, dnaRecordWriter, file.toString());
+
+        // Act & Assert
+        assertEquals(0, snapshot.load(), "No file yet");
+
+        Files.write(file, new byte[]{1, 2, 3});
+        assertEquals(0, snapshot.load(), "Too short");
+
+        cache.put(new DnaKey(6, 1, 2), true);
+        snapshot.save();
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+        assertEquals(0, snapshot.load(), "Truncated");
+    }
+
+    @Test
+    @DisplayName("Should do nothing when no path is configured")
+    void testDisabled() {
+        DnaResultCache cache = new DnaResultCache(100);
+        cache.put(new DnaKey(6, 1, 2), true);
+        DnaResultSnapshot snapshot = new DnaResultSnapshot(cache, dnaRecordWriter, "");
+
+        snapshot.init();
+        snapshot.periodicSnapshot();
+        snapshot.shutdown();
+
+        assertEquals(1, cache.getStats().getSize());
+    }
+}
@@ -0,0 +1,203 @@
+package org.example.service;
+
+import org.example.dto.DnaMatrix;
+import org.example.entity.DnaKey;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LegacyDnaRecordMigrator against an in-memory H2 table in
+ * the format written before DnaKey.
+ */
+@DisplayName("LegacyDnaRecordMigrator Unit Tests")
+class LegacyDnaRecordMigratorTest {
+
+    private static final String[] MUTANT = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+    private static final String[] HUMAN = {"ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"};
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(
+                new DriverManagerDataSource("jdbc:h2:mem:legacy-test;DB_CLOSE_DELAY=-1", "sa", ""));
+        // Baseline schema, plus the key columns that ddl-auto=update adds
+        jdbcTemplate.execute("CREATE TABLE dna_records (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "dna_hash VARCHAR(64) NOT NULL UNIQUE, is_mutant BOOLEAN NOT NULL, "
+                + "dna_size INT, key_hi BIGINT, key_lo BIGINT)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE dna_records");
+    }
+
+    /**
+     * Stores a record the way the baseline did: SHA-256 of the concatenated rows, and no key.
+     */
+    private void insertBaselineRecord(String[] dna, boolean isMutant) throws NoSuchAlgorithmException {
+        byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest(String.join("", dna).getBytes(StandardCharsets.UTF_8));
+        StringBuilder hash = new StringBuilder();
+        for (byte b : digest) {
+            hash.append(String.format("%02x", b));
+        }
+        jdbcTemplate.update("INSERT INTO dna_records (dna_hash, is_mutant) VALUES (?, ?)", hash.toString(), isMutant);
+    }
+
+    private LegacyDnaRecordMigrator migrator(boolean enabled, String until) {
+        LegacyDnaRecordMigrator migrator = new LegacyDnaRecordMigrator(jdbcTemplate, enabled, until);
+        migrator.init();
+        return migrator;
+    }
+
+    @Test
+    @DisplayName("Should find a baseline record by its hash, give it its key and clear its hash")
+    void testMigratesBaselineRecord() throws NoSuchAlgorithmException {
+        // Arrange
+        insertBaselineRecord(MUTANT, true);
+        LegacyDnaRecordMigrator migrator = migrator(true, "");
+        DnaKey key = DnaKeyHasher.key(MUTANT);
+
+        // Act
+        Optional<Boolean> migrated = migrator.migrate(key, () -> DnaHasher.hash(MUTANT));
+
+        // Assert
+        assertEquals(Optional.of(true), migrated);
+        assertEquals(0, migrator.getRemaining());
+        assertFalse(migrator.isActive());
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT * FROM dna_records");
+        assertEquals(key.size(), ((Number) row.get("DNA_SIZE")).intValue());
+        assertEquals(key.hi(), ((Number) row.get("KEY_HI")).longValue());
+        assertEquals(key.lo(), ((Number) row.get("KEY_LO")).longValue());
+        assertNull(row.get("DNA_HASH"));
+    }
+
+    @Test
+    @DisplayName("Should find a baseline record stored with lowercase rows from the decoded matrix")
+    void testMigratesLowercaseBaselineRecord() throws NoSuchAlgorithmException {
+        // Arrange: the baseline accepted lowercase and hashed the rows as sent
+        String[] sent = {"atgcga", "CAGTGC", "TTaTGT", "AGAAGG", "CCCCTA", "TCACTG"};
+        insertBaselineRecord(sent, true);
+        LegacyDnaRecordMigrator migrator = migrator(true, "");
+        DnaMatrix decoded = DnaMatrix.of(sent);
+
+        // Act
+        Optional<Boolean> migrated = migrator.migrate(DnaKeyHasher.key(decoded), () -> DnaHasher.hash(decoded));
+
+        // Assert
+        assertEquals(Optional.of(true), migrated);
+        assertEquals(DnaKeyHasher.key(MUTANT), DnaKeyHasher.key(decoded));
+        assertEquals(0, migrator.getRemaining());
+        assertEquals(DnaHasher.hash(MUTANT), DnaHasher.hash(DnaMatrix.of(MUTANT)));
+    }
+
+    @Test
+    @DisplayName("Should migrate the records of several DNAs at once and skip those without one")
+    void testMigratesAll() throws NoSuchAlgorithmException {
+        // Arrange
+        insertBaselineRecord(MUTANT, true);
+        insertBaselineRecord(HUMAN, false);
+        LegacyDnaRecordMigrator migrator = migrator(true, "");
+        String[] fresh = DnaMatrices.random(8, 1);
+        Map<DnaKey, String> legacyHashes = new HashMap<>();
+        legacyHashes.put(DnaKeyHasher.key(MUTANT), DnaHasher.hash(MUTANT));
+        legacyHashes.put(DnaKeyHasher.key(HUMAN), DnaHasher.hash(HUMAN));
+        legacyHashes.put(DnaKeyHasher.key(fresh), DnaHasher.hash(fresh));
+
+        // Act
+        Map<DnaKey, Boolean> migrated = migrator.migrateAll(legacyHashes);
+
+        // Assert
+        assertEquals(Map.of(DnaKeyHasher.key(MUTANT), true, DnaKeyHasher.key(HUMAN), false), migrated);
+        assertEquals(0, migrator.getRemaining());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM dna_records WHERE key_hi IS NULL", Long.class));
+    }
+
+    @Test
+    @DisplayName("Should not compute the legacy hash once no legacy records remain")
+    void testSkipsWhenNothingToMigrate() {
+        // Arrange
+        LegacyDnaRecordMigrator migrator = migrator(true, "");
+        @SuppressWarnings("unchecked")
+        Supplier<String> legacyHash = mock(Supplier.class);
+
+        // Act
+        Optional<Boolean> migrated = migrator.migrate(DnaKeyHasher.key(MUTANT), legacyHash);
+
+        // Assert
+        assertTrue(migrated.isEmpty());
+        assertFalse(migrator.isActive());
+        verifyNoInteractions(legacyHash);
+    }
+
+    @Test
+    @DisplayName("Should stop looking legacy records up once the cutoff has passed")
+    void testEndsAtCutoff() throws NoSuchAlgorithmException {
+        // Arrange
+        insertBaselineRecord(MUTANT, true);
+        LegacyDnaRecordMigrator migrator = migrator(true, Instant.now().minusSeconds(1).toString());
+        @SuppressWarnings("unchecked")
+        Supplier<String> legacyHash = mock(Supplier.class);
+
+        // Act
+        Optional<Boolean> migrated = migrator.migrate(DnaKeyHasher.key(MUTANT), legacyHash);
+
+        // Assert
+        assertTrue(migrated.isEmpty());
+        assertFalse(migrator.isActive());
+        assertEquals(1, migrator.getRemaining());
+        verifyNoInteractions(legacyHash);
+    }
+
+    @Test
+    @DisplayName("Should stay active before the cutoff while legacy records remain")
+    void testActiveBeforeCutoff() throws NoSuchAlgorithmException {
+        // Arrange
+        insertBaselineRecord(MUTANT, true);
+        insertBaselineRecord(HUMAN, false);
+        LegacyDnaRecordMigrator migrator = migrator(true, Instant.now().plusSeconds(3600).toString());
+
+        // Act
+        Optional<Boolean> migrated = migrator.migrate(DnaKeyHasher.key(HUMAN), () -> DnaHasher.hash(HUMAN));
+
+        // Assert
+        assertEquals(Optional.of(false), migrated);
+        assertEquals(1, migrator.getRemaining());
+        assertTrue(migrator.isActive());
+    }
+
+    @Test
+    @DisplayName("Should not migrate anything when the migration is disabled")
+    void testDisabled() throws NoSuchAlgorithmException {
+        // Arrange
+        insertBaselineRecord(MUTANT, true);
+        LegacyDnaRecordMigrator migrator = migrator(false, "");
+
+        // Act
+        Map<DnaKey, Boolean> migrated = migrator.migrateAll(Map.of(DnaKeyHasher.key(MUTANT), DnaHasher.hash(MUTANT)));
+
+        // Assert
+        assertTrue(migrated.isEmpty());
+        assertFalse(migrator.isActive());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM dna_records WHERE key_hi IS NULL", Long.class));
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MappedDnaMatrix against files in a temporary directory.
+ */
+@DisplayName("MappedDnaMatrix Unit Tests")
+class MappedDnaMatrixTest {
+
+    @TempDir
+    Path dir;
+
+    private final MutantDetector detector = new MutantDetector();
+
+    private Path write(String[] rows, String lineBreak, boolean trailingBreak) throws IOException {
+        String content = String.join(lineBreak, rows) + (trailingBreak ? lineBreak : "");
+        return Files.writeString(dir.resolve("matrix.txt"), content, StandardCharsets.ISO_8859_1);
+    }
+
+    private static MappedDnaMatrix scan(Path file, long maxSegmentBytes, int bandRows) throws IOException {
+        MappedDnaMatrix matrix = MappedDnaMatrix.map(file, maxSegmentBytes);
+        for (int row = 0; row < matrix.size(); row += bandRows) {
+            matrix.scanRows(row, Math.min(matrix.size(), row + bandRows));
+        }
+        return matrix;
+    }
+
+    @Test
+    @DisplayName("Should give the same verdict, key and legacy hash as the in-memory path")
+    void testScan_MatchesInMemoryAnalysis() throws IOException {
+        for (int n : new int[]{4, 6, 8, 9, 17, 64, 101}) {
+            for (long seed = 0; seed < 4; seed++) {
+                // Arrange
+                String[] rows = seed == 0 ? DnaMatrices.noSequences(n)
+                        : seed == 1 ? DnaMatrices.withPlantedRuns(n, 1, seed)
+                        : DnaMatrices.random(n, seed);
+                Path file = write(rows, seed % 2 == 0 ? "\n" : "\r\n", seed < 2);
+
+                // Act: small segments and bands, so windows cross both
+                MappedDnaMatrix matrix = scan(file, 3L * (n + 2), 5);
+
+                // Assert
+                String context = "n=" + n + " seed=" + seed;
+                assertNull(matrix.getViolation(), context);
+                assertEquals(detector.isMutant(rows), matrix.isMutant(), context);
+                assertEquals(DnaKeyHasher.key(rows), matrix.key(), context);
+                assertEquals(DnaHasher.hash(rows), matrix.legacyHash(), context);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should report the first row with an invalid base")
+    void testScan_InvalidBase() throws IOException {
+        // Arrange
+        Path file = write(new String[]{"ATGC", "CAGT", "TTaT", "AGXA"}, "\n", true);
+
+        // Act
+        MappedDnaMatrix matrix = scan(file, MappedDnaMatrix.MAX_SEGMENT_BYTES, 2);
+
+        // Assert
+        assertTrue(matrix.getViolation().startsWith("Row 2 contains invalid characters"));
+    }
+
+    @Test
+    @DisplayName("Should reject rows of the wrong length, even when the file length matches")
+    void testScan_RowLengthsCompensate() throws IOException {
+        // Arrange: row 1 is one base short and row 2 one base long
+        Path file = Files.writeString(dir.resolve("matrix.txt"), "ATGC\nCAG\nTTATG\nAGAA\n");
+
+        // Act
+        MappedDnaMatrix matrix = scan(file, MappedDnaMatrix.MAX_SEGMENT_BYTES, 4);
+
+        // Assert
+        assertNotNull(matrix.getViolation());
+    }
+
+    @Test
+    @DisplayName("Should reject files that cannot hold an NxN matrix")
+    void testMap_NotSquare() throws IOException {
+        Path notSquare = write(new String[]{"ATGC", "CAGT", "TTAT"}, "\n", true);
+        Path tooSmall = write(new String[]{"ATG", "CAG", "TTA"}, "\n", false);
+        Path empty = Files.writeString(dir.resolve("empty.txt"), "");
+
+        assertThrows(IllegalArgumentException.class, () -> MappedDnaMatrix.map(notSquare));
+        assertThrows(IllegalArgumentException.class, () -> MappedDnaMatrix.map(tooSmall));
+        assertThrows(IllegalArgumentException.class, () -> MappedDnaMatrix.map(empty));
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MappedMatrixAnalysisService with a real fork-join pool and a mocked MutantService.
+ */
+@DisplayName("MappedMatrixAnalysisService Unit Tests")
+class MappedMatrixAnalysisServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private final ParallelMutantDetector parallelMutantDetector = new ParallelMutantDetector(new MutantDetector(), 4);
+    private final MutantService mutantService = mock(MutantService.class);
+    private final MappedMatrixAnalysisService service =
+            new MappedMatrixAnalysisService(parallelMutantDetector, mutantService);
+
+    @AfterEach
+    void tearDown() {
+        parallelMutantDetector.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should record the verdict of the mapped matrix under its regular key")
+    void testAnalyze_RecordsResult() throws IOException {
+        // Arrange
+        String[] rows = DnaMatrices.withPlantedRuns(300, 3, 7);
+        Path file = Files.writeString(dir.resolve("grid.txt"), String.join("\n", rows) + "\n");
+        when(mutantService.recordAnalysis(eq(DnaKeyHasher.key(rows)), any(), any()))
+                .thenAnswer(invocation -> invocation.<BooleanSupplier>getArgument(2).getAsBoolean());
+
+        // Act
+        MappedMatrixAnalysisService.Result result = service.analyze(file);
+
+        // Assert
+        assertEquals(300, result.size());
+        assertEquals(DnaKeyHasher.key(rows).toHex(), result.dnaId());
+        assertEquals(new MutantDetector().isMutant(rows), result.isMutant());
+        verify(mutantService).recordAnalysis(eq(DnaKeyHasher.key(rows)), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should not record an invalid matrix")
+    void testAnalyze_Invalid() throws IOException {
+        // Arrange
+        Path file = Files.writeString(dir.resolve("grid.txt"), "ATGC\nCAGT\nTTNT\nAGAA\n");
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> service.analyze(file));
+        assertThrows(UncheckedIOException.class, () -> service.analyze(dir.resolve("missing.txt")));
+        verifyNoInteractions(mutantService);
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MatrixSummaryStore.
+ */
+@DisplayName("MatrixSummaryStore Unit Tests")
+class MatrixSummaryStoreTest {
+
+    private static MatrixSummary summary(int n, long seed) {
+        return MatrixSummary.build(DnaMatrices.toCells(DnaMatrices.random(n, seed)), n);
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used summaries to stay within the byte budget")
+    void testEvictsByBytes() {
+        // Arrange
+        MatrixSummary first = summary(64, 1);
+        MatrixSummary second = summary(64, 2);
+        MatrixSummary third = summary(64, 3);
+        MatrixSummaryStore store = new MatrixSummaryStore(4, 2 * first.estimatedBytes());
+        store.put(first);
+        store.put(second);
+        store.get(first.getKey().toHex());
+
+        // Act
+        store.put(third);
+
+        // Assert
+        assertNotNull(store.get(first.getKey().toHex()), "Recently used summary is kept");
+        assertNull(store.get(second.getKey().toHex()), "Least recently used summary is evicted");
+        assertNotNull(store.get(third.getKey().toHex()));
+        assertEquals(2 * first.estimatedBytes(), store.getBytes());
+    }
+
+    @Test
+    @DisplayName("Should not keep a summary bigger than the whole budget")
+    void testRejectsOversizedSummary() {
+        // Arrange
+        MatrixSummary small = summary(16, 1);
+        MatrixSummary large = summary(128, 2);
+        MatrixSummaryStore store = new MatrixSummaryStore(4, large.estimatedBytes() - 1);
+        store.put(small);
+
+        // Act
+        store.put(large);
+
+        // Assert
+        assertNull(store.get(large.getKey().toHex()));
+        assertNotNull(store.get(small.getKey().toHex()));
+        assertEquals(small.estimatedBytes(), store.getBytes());
+    }
+}
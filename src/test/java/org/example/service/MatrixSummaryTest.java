@@ -0,0 +1,107 @@
+package org.example.service;
+
+import org.example.dto.DnaMatrix;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MatrixSummary and DnaKeyHasher.
+ *
+ * Checks that applying row edits to a summary gives exactly the counts and
+ * key of a summary built from scratch, while only rescanning nearby rows.
+ */
+@DisplayName("MatrixSummary Unit Tests")
+class MatrixSummaryTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {4, 6, 33, 70})
+    @DisplayName("Should count every sequence of the full matrix")
+    void testBuildCountsEverySequence(int n) {
+        for (long seed = 0; seed < 10; seed++) {
+            String[] dna = DnaMatrices.random(n, seed);
+            MatrixSummary summary = MatrixSummary.build(DnaMatrices.toCells(dna), n);
+
+            assertEquals(DnaMatrices.countSequences(dna), summary.getTotalSequences(), "n=" + n + ", seed=" + seed);
+            assertEquals(DnaKeyHasher.key(dna), summary.getKey());
+            assertEquals(DnaHasher.hash(dna), summary.legacyHash());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {4, 9, 40, 100})
+    @DisplayName("Should match a fresh build after row edits")
+    void testEditsMatchFreshBuild(int n) {
+        Random random = new Random(n);
+        for (long seed = 0; seed < 10; seed++) {
+            String[] dna = DnaMatrices.withPlantedRuns(n, 2, seed);
+            MatrixSummary summary = MatrixSummary.build(DnaMatrices.toCells(dna), n);
+
+            Map<Integer, byte[]> edits = new TreeMap<>();
+            int editCount = 1 + random.nextInt(3);
+            for (int i = 0; i < editCount; i++) {
+                int row = random.nextInt(n);
+                String newRow = DnaMatrices.withPlantedRuns(n, 1, seed + 100 + i)[random.nextInt(n)];
+                edits.put(row, newRow.getBytes(StandardCharsets.US_ASCII));
+                dna[row] = newRow;
+            }
+
+            MatrixSummary edited = summary.withRows(edits);
+            MatrixSummary expected = MatrixSummary.build(DnaMatrices.toCells(dna), n);
+
+            assertEquals(expected.getTotalSequences(), edited.getTotalSequences(), "n=" + n + ", seed=" + seed);
+            assertEquals(expected.getKey(), edited.getKey());
+            assertTrue(edited.getRowsRescanned() <= 4 * edits.size());
+        }
+    }
+
+    @Test
+    @DisplayName("Should only rescan the rows whose windows reach the edit")
+    void testRescansOnlyNearbyRows() {
+        String[] dna = DnaMatrices.noSequences(64);
+        MatrixSummary summary = MatrixSummary.build(DnaMatrices.toCells(dna), 64);
+        assertFalse(summary.isMutant());
+
+        byte[] run = dna[10].getBytes(StandardCharsets.US_ASCII);
+        run[20] = run[21] = run[22] = run[23] = 'A';
+        byte[] otherRun = dna[50].getBytes(StandardCharsets.US_ASCII);
+        otherRun[0] = otherRun[1] = otherRun[2] = otherRun[3] = 'C';
+
+        MatrixSummary edited = summary.withRows(Map.of(10, run, 50, otherRun));
+
+        assertEquals(8, edited.getRowsRescanned());
+        assertTrue(edited.getTotalSequences() >= 2);
+        assertTrue(edited.isMutant());
+        assertFalse(summary.isMutant(), "The base summary must not change");
+    }
+
+    @Test
+    @DisplayName("Should hash rows and decoded matrices identically")
+    void testHashOverloadsAgree() {
+        String[] dna = DnaMatrices.random(17, 3);
+        assertEquals(DnaHasher.hash(dna), DnaHasher.hash(DnaMatrix.of(dna)));
+        assertNotEquals(DnaHasher.hash(dna), DnaHasher.hash(DnaMatrices.random(17, 4)));
+    }
+
+    @Test
+    @DisplayName("Should compute dna_hash with the baseline formula, SHA-256 of the concatenated rows")
+    void testHashMatchesBaselineFormula() throws Exception {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+        String expected = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(String.join("", dna).getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(expected, DnaHasher.hash(dna));
+        assertEquals(expected, DnaHasher.hash(DnaMatrix.of(dna)));
+        assertEquals(expected, MatrixSummary.build(DnaMatrices.toCells(dna), dna.length).legacyHash());
+    }
+}
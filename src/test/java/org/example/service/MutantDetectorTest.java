@@ -250,4 +250,18 @@ class MutantDetectorTest {
         };
         assertTrue(mutantDetector.isMutant(dna), "Should be mutant (multiple sequences)");
     }
+
+    @Test
+    @DisplayName("Should give the same answer from a flat byte buffer")
+    void testFlatBufferAgreesWithRows() {
+        for (int n : new int[]{4, 6, 17, 40}) {
+            for (int runs = 0; runs <= 3; runs++) {
+                for (long seed = 0; seed < 10; seed++) {
+                    String[] dna = DnaMatrices.withPlantedRuns(n, runs, seed);
+                    assertEquals(mutantDetector.isMutant(dna), mutantDetector.isMutant(DnaMatrices.toCells(dna), n),
+                            "Flat buffer disagrees for n=" + n + ", runs=" + runs + ", seed=" + seed);
+                }
+            }
+        }
+    }
 }
@@ -1,21 +1,31 @@
 package org.example.service;
 
-import org.example.entity.DnaRecord;
+import org.example.dto.DnaMatrix;
+import org.example.entity.DnaKey;
 import org.example.exception.DnaHashCalculationException;
-import org.example.repository.DnaRecordRepository;
+import org.example.repository.DnaRecordStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -31,7 +41,25 @@ class MutantServiceTest {
     private MutantDetector mutantDetector;
 
     @Mock
-    private DnaRecordRepository dnaRecordRepository;
+    private DetectionStrategySelector detectionStrategySelector;
+
+    @Mock
+    private DnaRecordStore dnaRecordStore;
+
+    @Mock
+    private MatrixSummaryStore matrixSummaryStore;
+
+    @Mock
+    private LegacyDnaRecordMigrator legacyDnaRecordMigrator;
+
+    @Spy
+    private DnaResultCache dnaResultCache = new DnaResultCache(100);
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private DnaRecordWriter dnaRecordWriter;
 
     @InjectMocks
     private MutantService mutantService;
@@ -43,15 +71,18 @@ class MutantServiceTest {
     void setUp() {
         mutantDna = new String[]{"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
         humanDna = new String[]{"ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"};
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
     }
 
     @Test
     @DisplayName("Should analyze DNA and return true for mutant (not cached)")
     void testAnalyzeDna_Mutant_NotCached() {
         // Arrange
-        when(dnaRecordRepository.findByDnaHash(anyString())).thenReturn(Optional.empty());
+        when(dnaRecordStore.find(any(DnaKey.class))).thenReturn(Optional.empty());
+        when(detectionStrategySelector.select(anyInt())).thenReturn(mutantDetector);
         when(mutantDetector.isMutant(mutantDna)).thenReturn(true);
-        when(dnaRecordRepository.save(any(DnaRecord.class))).thenReturn(new DnaRecord());
+        when(dnaRecordStore.insertIfAbsent(any(DnaKey.class), eq(true))).thenReturn(true);
 
         // Act
         boolean result = mutantService.analyzeDna(mutantDna);
@@ -59,16 +90,17 @@ class MutantServiceTest {
         // Assert
         assertTrue(result, "Should return true for mutant DNA");
         verify(mutantDetector, times(1)).isMutant(mutantDna);
-        verify(dnaRecordRepository, times(1)).save(any(DnaRecord.class));
+        verify(dnaRecordStore, times(1)).insertIfAbsent(any(DnaKey.class), anyBoolean());
     }
 
     @Test
     @DisplayName("Should analyze DNA and return false for human (not cached)")
     void testAnalyzeDna_Human_NotCached() {
         // Arrange
-        when(dnaRecordRepository.findByDnaHash(anyString())).thenReturn(Optional.empty());
+        when(dnaRecordStore.find(any(DnaKey.class))).thenReturn(Optional.empty());
+        when(detectionStrategySelector.select(anyInt())).thenReturn(mutantDetector);
         when(mutantDetector.isMutant(humanDna)).thenReturn(false);
-        when(dnaRecordRepository.save(any(DnaRecord.class))).thenReturn(new DnaRecord());
+        when(dnaRecordStore.insertIfAbsent(any(DnaKey.class), eq(false))).thenReturn(false);
 
         // Act
         boolean result = mutantService.analyzeDna(humanDna);
@@ -76,15 +108,14 @@ class MutantServiceTest {
         // Assert
         assertFalse(result, "Should return false for human DNA");
         verify(mutantDetector, times(1)).isMutant(humanDna);
-        verify(dnaRecordRepository, times(1)).save(any(DnaRecord.class));
+        verify(dnaRecordStore, times(1)).insertIfAbsent(any(DnaKey.class), anyBoolean());
     }
 
     @Test
     @DisplayName("Should return cached result for mutant DNA")
     void testAnalyzeDna_Mutant_Cached() {
         // Arrange
-        DnaRecord cachedRecord = new DnaRecord("hash123", true);
-        when(dnaRecordRepository.findByDnaHash(anyString())).thenReturn(Optional.of(cachedRecord));
+        when(dnaRecordStore.find(any(DnaKey.class))).thenReturn(Optional.of(true));
 
         // Act
         boolean result = mutantService.analyzeDna(mutantDna);
@@ -92,15 +123,14 @@ class MutantServiceTest {
         // Assert
         assertTrue(result, "Should return cached mutant result");
         verify(mutantDetector, never()).isMutant(any());
-        verify(dnaRecordRepository, never()).save(any(DnaRecord.class));
+        verify(dnaRecordStore, never()).insertIfAbsent(any(), anyBoolean());
     }
 
     @Test
     @DisplayName("Should return cached result for human DNA")
     void testAnalyzeDna_Human_Cached() {
         // Arrange
-        DnaRecord cachedRecord = new DnaRecord("hash456", false);
-        when(dnaRecordRepository.findByDnaHash(anyString())).thenReturn(Optional.of(cachedRecord));
+        when(dnaRecordStore.find(any(DnaKey.class))).thenReturn(Optional.of(false));
 
         // Act
         boolean result = mutantService.analyzeDna(humanDna);
@@ -108,22 +138,244 @@ class MutantServiceTest {
         // Assert
         assertFalse(result, "Should return cached human result");
         verify(mutantDetector, never()).isMutant(any());
-        verify(dnaRecordRepository, never()).save(any(DnaRecord.class));
+        verify(dnaRecordStore, never()).insertIfAbsent(any(), anyBoolean());
     }
 
     @Test
     @DisplayName("Should save DNA record after analysis")
     void testAnalyzeDna_SavesRecord() {
         // Arrange
-        when(dnaRecordRepository.findByDnaHash(anyString())).thenReturn(Optional.empty());
+        when(dnaRecordStore.find(any(DnaKey.class))).thenReturn(Optional.empty());
+        when(detectionStrategySelector.select(anyInt())).thenReturn(mutantDetector);
         when(mutantDetector.isMutant(any())).thenReturn(true);
 
         // Act
         mutantService.analyzeDna(mutantDna);
 
         // Assert
-        verify(dnaRecordRepository, times(1)).save(argThat(record ->
-                record.getIsMutant() == true && record.getDnaHash() != null
-        ));
+        verify(dnaRecordStore, times(1)).insertIfAbsent(argThat(key -> key.size() == 6), eq(true));
+    }
+
+    @Test
+    @DisplayName("Should key a decoded matrix like its rows and scan its cells")
+    void testAnalyzeDna_Matrix() {
+        // Arrange
+        when(dnaRecordStore.find(any(DnaKey.class))).thenReturn(Optional.empty());
+        when(detectionStrategySelector.select(anyInt())).thenReturn(mutantDetector);
+        when(mutantDetector.isMutant(any(byte[].class), eq(6))).thenReturn(true);
+        when(dnaRecordStore.insertIfAbsent(any(DnaKey.class), eq(true))).thenReturn(true);
+
+        // Act
+        boolean fromMatrix = mutantService.analyzeDna(DnaMatrix.of(mutantDna));
+        boolean fromRows = mutantService.analyzeDna(mutantDna);
+
+        // Assert
+        assertTrue(fromMatrix);
+        assertTrue(fromRows);
+        ArgumentCaptor<DnaKey> keys = ArgumentCaptor.forClass(DnaKey.class);
+        verify(dnaResultCache, times(2)).get(keys.capture());
+        assertEquals(keys.getAllValues().get(0), keys.getAllValues().get(1),
+                "Both overloads must produce the same key");
+        verify(dnaRecordStore, times(1)).find(any(DnaKey.class));
+        verify(mutantDetector, never()).isMutant(any());
+        verify(mutantDetector, times(1)).isMutant(any(byte[].class), eq(6));
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid decoded matrix")
+    void testAnalyzeDna_InvalidMatrix() {
+        DnaMatrix matrix = DnaMatrix.of(new String[]{"ATG", "CAG", "TTA"});
+
+        assertThrows(IllegalArgumentException.class, () -> mutantService.analyzeDna(matrix));
+        verify(dnaRecordStore, never()).find(any());
+    }
+
+    @Test
+    @DisplayName("Should build and keep a summary for tracked matrix sizes")
+    void testAnalyzeDna_TrackedMatrix() {
+        // Arrange
+        when(matrixSummaryStore.tracks(6)).thenReturn(true);
+        when(dnaRecordStore.find(any(DnaKey.class))).thenReturn(Optional.empty());
+        when(dnaRecordStore.insertIfAbsent(any(DnaKey.class), eq(true))).thenReturn(true);
+
+        // Act
+        boolean result = mutantService.analyzeDna(DnaMatrix.of(mutantDna));
+
+        // Assert
+        assertTrue(result, "Verdict comes from the summary's full count");
+        verify(matrixSummaryStore, times(1)).put(argThat(summary ->
+                summary.getKey().equals(DnaKeyHasher.key(mutantDna)) && summary.getTotalSequences() == 3));
+        verify(detectionStrategySelector, never()).select(anyInt());
+        verify(dnaRecordStore, times(1)).insertIfAbsent(any(DnaKey.class), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Should build a missing summary for a tracked matrix whose verdict is already known")
+    void testAnalyzeDna_TrackedMatrixAlreadyAnalyzed() {
+        // Arrange
+        when(matrixSummaryStore.tracks(6)).thenReturn(true);
+        dnaResultCache.put(DnaKeyHasher.key(mutantDna), true);
+
+        // Act
+        boolean result = mutantService.analyzeDna(DnaMatrix.of(mutantDna));
+
+        // Assert
+        assertTrue(result);
+        verify(matrixSummaryStore, times(1)).put(argThat(summary ->
+                summary.getKey().equals(DnaKeyHasher.key(mutantDna)) && summary.isMutant()));
+        verifyNoInteractions(dnaRecordStore);
+    }
+
+    @Test
+    @DisplayName("Should not rebuild the summary of a tracked matrix that is kept")
+    void testAnalyzeDna_TrackedMatrixSummaryKept() {
+        // Arrange
+        when(matrixSummaryStore.tracks(6)).thenReturn(true);
+        when(matrixSummaryStore.contains(DnaKeyHasher.key(mutantDna))).thenReturn(true);
+        dnaResultCache.put(DnaKeyHasher.key(mutantDna), true);
+
+        // Act
+        boolean result = mutantService.analyzeDna(DnaMatrix.of(mutantDna));
+
+        // Assert
+        assertTrue(result);
+        verify(matrixSummaryStore, never()).put(any());
+        verifyNoInteractions(dnaRecordStore);
+    }
+
+    @Test
+    @DisplayName("Should return the result of a migrated legacy record")
+    void testAnalyzeDna_LegacyRecord() {
+        // Arrange
+        when(dnaRecordStore.find(any(DnaKey.class))).thenReturn(Optional.empty());
+        when(legacyDnaRecordMigrator.migrate(eq(DnaKeyHasher.key(mutantDna)), any()))
+                .thenReturn(Optional.of(true));
+
+        // Act
+        boolean result = mutantService.analyzeDna(mutantDna);
+
+        // Assert
+        assertTrue(result, "Should return the legacy record's result");
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Supplier<String>> legacyHash = ArgumentCaptor.forClass(Supplier.class);
+        verify(legacyDnaRecordMigrator).migrate(any(), legacyHash.capture());
+        assertEquals(DnaHasher.hash(mutantDna), legacyHash.getValue().get());
+        verify(mutantDetector, never()).isMutant(any());
+        verify(dnaRecordStore, never()).insertIfAbsent(any(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Should answer a repeat submission from memory without a transaction")
+    void testAnalyzeDna_MemoryHit() {
+        // Arrange
+        dnaResultCache.put(DnaKeyHasher.key(mutantDna), true);
+
+        // Act
+        boolean result = mutantService.analyzeDna(mutantDna);
+
+        // Assert
+        assertTrue(result, "Should return the cached result");
+        verifyNoInteractions(transactionTemplate, dnaRecordStore, legacyDnaRecordMigrator);
+        verify(mutantDetector, never()).isMutant(any());
+    }
+
+    @Test
+    @DisplayName("Should cache the result once it is stored")
+    void testAnalyzeDna_CachesResult() {
+        // Arrange
+        when(dnaRecordStore.find(any(DnaKey.class))).thenReturn(Optional.empty());
+        when(detectionStrategySelector.select(anyInt())).thenReturn(mutantDetector);
+        when(mutantDetector.isMutant(humanDna)).thenReturn(false);
+
+        // Act
+        mutantService.analyzeDna(humanDna);
+
+        // Assert
+        verify(transactionTemplate, times(1)).execute(any());
+        verify(dnaResultCache, times(1)).put(DnaKeyHasher.key(humanDna), false);
+    }
+
+    @Test
+    @DisplayName("Should hand new records to the write-behind writer when it accepts them")
+    void testAnalyzeDna_WriteBehind() {
+        // Arrange
+        when(dnaRecordStore.find(any(DnaKey.class))).thenReturn(Optional.empty());
+        when(detectionStrategySelector.select(anyInt())).thenReturn(mutantDetector);
+        when(mutantDetector.isMutant(mutantDna)).thenReturn(true);
+        when(dnaRecordWriter.enqueue(DnaKeyHasher.key(mutantDna), true)).thenReturn(true);
+
+        // Act
+        boolean result = mutantService.analyzeDna(mutantDna);
+
+        // Assert
+        assertTrue(result);
+        verify(dnaRecordStore, never()).insertIfAbsent(any(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Should return the result of a record waiting for its write-behind insert")
+    void testAnalyzeDna_PendingWrite() {
+        // Arrange
+        when(dnaRecordWriter.pending(DnaKeyHasher.key(humanDna))).thenReturn(Optional.of(false));
+
+        // Act
+        boolean result = mutantService.analyzeDna(humanDna);
+
+        // Assert
+        assertFalse(result);
+        verify(dnaRecordStore, never()).find(any());
+        verify(mutantDetector, never()).isMutant(any());
+    }
+
+    @Test
+    @DisplayName("Should detect small matrices first and store them in one round trip")
+    void testAnalyzeDna_DetectFirst() {
+        // Arrange
+        ReflectionTestUtils.setField(mutantService, "detectFirstMaxSize", 8);
+        when(detectionStrategySelector.select(anyInt())).thenReturn(mutantDetector);
+        when(mutantDetector.isMutant(humanDna)).thenReturn(false);
+        when(dnaRecordStore.insertIfAbsent(DnaKeyHasher.key(humanDna), false)).thenReturn(false);
+
+        // Act
+        boolean result = mutantService.analyzeDna(humanDna);
+
+        // Assert
+        assertFalse(result);
+        verify(dnaRecordStore, never()).find(any());
+        verify(dnaRecordStore, times(1)).insertIfAbsent(DnaKeyHasher.key(humanDna), false);
+    }
+
+    @Test
+    @DisplayName("Should return the stored result when the DNA was already stored")
+    void testAnalyzeDna_DetectFirst_AlreadyStored() {
+        // Arrange
+        ReflectionTestUtils.setField(mutantService, "detectFirstMaxSize", 8);
+        when(detectionStrategySelector.select(anyInt())).thenReturn(mutantDetector);
+        when(mutantDetector.isMutant(mutantDna)).thenReturn(false);
+        when(dnaRecordStore.insertIfAbsent(DnaKeyHasher.key(mutantDna), false)).thenReturn(true);
+
+        // Act
+        boolean result = mutantService.analyzeDna(mutantDna);
+
+        // Assert
+        assertTrue(result, "The result stored first wins");
+        verify(dnaRecordStore, never()).find(any());
+    }
+
+    @Test
+    @DisplayName("Should look small matrices up first while legacy records remain")
+    void testAnalyzeDna_DetectFirst_LegacyRemaining() {
+        // Arrange
+        ReflectionTestUtils.setField(mutantService, "detectFirstMaxSize", 8);
+        when(legacyDnaRecordMigrator.isActive()).thenReturn(true);
+        when(dnaRecordStore.find(DnaKeyHasher.key(mutantDna))).thenReturn(Optional.of(true));
+
+        // Act
+        boolean result = mutantService.analyzeDna(mutantDna);
+
+        // Assert
+        assertTrue(result);
+        verify(mutantDetector, never()).isMutant(any());
+        verify(dnaRecordStore, never()).insertIfAbsent(any(), anyBoolean());
     }
 }
@@ -0,0 +1,43 @@
+package org.example.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OfflineStoreCheck.
+ */
+@DisplayName("OfflineStoreCheck Unit Tests")
+class OfflineStoreCheckTest {
+
+    private static final String SHARDS = "jdbc:h2:file:./data/dna-shard-%d";
+
+    @Test
+    @DisplayName("Should refuse an offline run on an in-memory database")
+    void testRefusesInMemoryDatasource() {
+        OfflineStoreCheck check = new OfflineStoreCheck("jpa", "jdbc:h2:mem:testdb", SHARDS, false);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> check.requirePersistentStore("import"));
+        assertTrue(e.getMessage().contains("jdbc:h2:mem:testdb"));
+        assertThrows(IllegalStateException.class,
+                () -> new OfflineStoreCheck("jpa", "", SHARDS, false).requirePersistentStore("import"));
+        assertThrows(IllegalStateException.class,
+                () -> new OfflineStoreCheck("sharded", "jdbc:h2:file:./data/main", "jdbc:h2:mem:shard-%d", false)
+                        .requirePersistentStore("import"));
+    }
+
+    @Test
+    @DisplayName("Should accept persistent stores, or an in-memory one when explicitly allowed")
+    void testAcceptsPersistentStores() {
+        assertDoesNotThrow(() -> new OfflineStoreCheck("jpa", "jdbc:h2:file:./data/mutants", SHARDS, false)
+                .requirePersistentStore("import"));
+        assertDoesNotThrow(() -> new OfflineStoreCheck("jpa", "jdbc:postgresql://db/mutants", SHARDS, false)
+                .requirePersistentStore("import"));
+        assertDoesNotThrow(() -> new OfflineStoreCheck("log", "jdbc:h2:mem:testdb", SHARDS, false)
+                .requirePersistentStore("import"));
+        assertDoesNotThrow(() -> new OfflineStoreCheck("jpa", "jdbc:h2:mem:testdb", SHARDS, true)
+                .requirePersistentStore("import"));
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PackedMutantDetector and PackedDnaMatrix.
+ *
+ * Checks that the bit-packed engine returns the same answer as the scalar
+ * MutantDetector, with sizes chosen around the 32-bases-per-word boundary.
+ */
+@DisplayName("PackedMutantDetector Unit Tests")
+class PackedMutantDetectorTest {
+
+    private final MutantDetector scalarDetector = new MutantDetector();
+    private final PackedMutantDetector packedDetector = new PackedMutantDetector(scalarDetector);
+
+    @ParameterizedTest
+    @ValueSource(ints = {4, 5, 6, 31, 32, 33, 63, 64, 65, 100})
+    @DisplayName("Should count exactly the same sequences as brute force")
+    void testCountMatchesBruteForce(int n) {
+        for (long seed = 0; seed < 20; seed++) {
+            String[] dna = DnaMatrices.random(n, seed);
+            PackedDnaMatrix packed = PackedDnaMatrix.pack(dna);
+
+            assertNotNull(packed);
+            assertEquals(DnaMatrices.countSequences(dna), packed.countSequences(Integer.MAX_VALUE),
+                    "Packed count should match brute force for n=" + n + ", seed=" + seed);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {4, 7, 31, 32, 33, 64, 65, 129})
+    @DisplayName("Should agree with scalar detector on planted runs")
+    void testAgreesWithScalarDetector(int n) {
+        for (int runs = 0; runs <= 3; runs++) {
+            for (long seed = 0; seed < 10; seed++) {
+                String[] dna = DnaMatrices.withPlantedRuns(n, runs, seed);
+                assertEquals(scalarDetector.isMutant(dna), packedDetector.isMutant(dna),
+                        "Engines disagree for n=" + n + ", runs=" + runs + ", seed=" + seed);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {4, 7, 33, 64, 129})
+    @DisplayName("Should give the same answer from a flat byte buffer")
+    void testFlatBufferAgreesWithRows(int n) {
+        for (int runs = 0; runs <= 3; runs++) {
+            for (long seed = 0; seed < 10; seed++) {
+                String[] dna = DnaMatrices.withPlantedRuns(n, runs, seed);
+                assertEquals(scalarDetector.isMutant(dna), packedDetector.isMutant(DnaMatrices.toCells(dna), n),
+                        "Flat buffer disagrees for n=" + n + ", runs=" + runs + ", seed=" + seed);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should detect human on large matrix without sequences")
+    void testLargeHumanMatrix() {
+        String[] dna = DnaMatrices.noSequences(1000);
+        assertFalse(packedDetector.isMutant(dna));
+    }
+
+    @Test
+    @DisplayName("Should detect mutant with runs crossing a word boundary")
+    void testRunsAcrossWordBoundary() {
+        String[] dna = DnaMatrices.noSequences(64);
+        char[][] matrix = new char[64][];
+        for (int i = 0; i < 64; i++) {
+            matrix[i] = dna[i].toCharArray();
+        }
+        // Horizontal run on columns 30..33 and anti-diagonal from (10, 33) to (13, 30)
+        for (int k = 0; k < 4; k++) {
+            matrix[5][30 + k] = 'G';
+            matrix[10 + k][33 - k] = 'T';
+        }
+        for (int i = 0; i < 64; i++) {
+            dna[i] = new String(matrix[i]);
+        }
+
+        assertEquals(2, PackedDnaMatrix.pack(dna).countSequences(Integer.MAX_VALUE));
+        assertTrue(packedDetector.isMutant(dna));
+    }
+
+    @Test
+    @DisplayName("Should fall back to scalar detector for non ACGT characters")
+    void testFallbackForUnsupportedCharacters() {
+        String[] dna = {
+            "ATGCGA",
+            "ATGTGC",
+            "ATATGT",
+            "ATAAG G",
+            "CCGCTA",
+            "GCACTG"
+        };
+        assertNull(PackedDnaMatrix.pack(dna));
+        assertEquals(scalarDetector.isMutant(dna), packedDetector.isMutant(dna));
+    }
+
+    @Test
+    @DisplayName("Should throw exception for null DNA")
+    void testNullDna() {
+        assertThrows(IllegalArgumentException.class, () -> packedDetector.isMutant(null));
+    }
+
+    @Test
+    @DisplayName("Should return false for DNA smaller than 4x4")
+    void testDnaSmallerThan4x4() {
+        assertFalse(packedDetector.isMutant(new String[]{"AAA", "AAA", "AAA"}));
+    }
+}
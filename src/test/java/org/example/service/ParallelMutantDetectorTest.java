@@ -0,0 +1,100 @@
+package org.example.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ParallelMutantDetector.
+ *
+ * Uses 4 workers so that even small matrices are split into many 4+ row
+ * bands and runs cross band seams.
+ */
+@DisplayName("ParallelMutantDetector Unit Tests")
+class ParallelMutantDetectorTest {
+
+    private final MutantDetector scalarDetector = new MutantDetector();
+    private final ParallelMutantDetector parallelDetector = new ParallelMutantDetector(scalarDetector, 4);
+
+    @AfterEach
+    void tearDown() {
+        parallelDetector.shutdown();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {4, 7, 16, 33, 64, 129, 257})
+    @DisplayName("Should agree with scalar detector on planted runs")
+    void testAgreesWithScalarDetector(int n) {
+        for (int runs = 0; runs <= 3; runs++) {
+            for (long seed = 0; seed < 10; seed++) {
+                String[] dna = DnaMatrices.withPlantedRuns(n, runs, seed);
+                assertEquals(scalarDetector.isMutant(dna), parallelDetector.isMutant(dna),
+                        "Engines disagree for n=" + n + ", runs=" + runs + ", seed=" + seed);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {4, 7, 33, 64, 129})
+    @DisplayName("Should give the same answer from a flat byte buffer")
+    void testFlatBufferAgreesWithRows(int n) {
+        for (int runs = 0; runs <= 3; runs++) {
+            for (long seed = 0; seed < 10; seed++) {
+                String[] dna = DnaMatrices.withPlantedRuns(n, runs, seed);
+                assertEquals(scalarDetector.isMutant(dna), parallelDetector.isMutant(DnaMatrices.toCells(dna), n),
+                        "Flat buffer disagrees for n=" + n + ", runs=" + runs + ", seed=" + seed);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should count vertical and diagonal runs crossing band seams once")
+    void testRunsAcrossBandSeams() {
+        // 64 rows / (4 workers * 4 bands) = 4-row bands: rows 2..5 cross the 3/4 seam
+        String[] dna = DnaMatrices.noSequences(64);
+        char[][] matrix = new char[64][];
+        for (int i = 0; i < 64; i++) {
+            matrix[i] = dna[i].toCharArray();
+        }
+        for (int k = 0; k < 4; k++) {
+            matrix[2 + k][10] = 'C';
+        }
+        for (int i = 0; i < 64; i++) {
+            dna[i] = new String(matrix[i]);
+        }
+        assertEquals(1, DnaMatrices.countSequences(dna));
+        assertFalse(parallelDetector.isMutant(dna), "A single seam-crossing run must not be counted twice");
+
+        for (int k = 0; k < 4; k++) {
+            matrix[5 + k][20 + k] = 'C';
+        }
+        for (int i = 0; i < 64; i++) {
+            dna[i] = new String(matrix[i]);
+        }
+        assertEquals(2, DnaMatrices.countSequences(dna));
+        assertTrue(parallelDetector.isMutant(dna));
+    }
+
+    @Test
+    @DisplayName("Should detect human on large matrix without sequences")
+    void testLargeHumanMatrix() {
+        assertFalse(parallelDetector.isMutant(DnaMatrices.noSequences(2000)));
+    }
+
+    @Test
+    @DisplayName("Should fall back to scalar detector for non ACGT characters")
+    void testFallbackForUnsupportedCharacters() {
+        String[] dna = {"ATGCGA", "ATGTGC", "ATATGT", "ATAAG G", "CCGCTA", "GCACTG"};
+        assertEquals(scalarDetector.isMutant(dna), parallelDetector.isMutant(dna));
+    }
+
+    @Test
+    @DisplayName("Should throw exception for null DNA")
+    void testNullDna() {
+        assertThrows(IllegalArgumentException.class, () -> parallelDetector.isMutant(null));
+    }
+}
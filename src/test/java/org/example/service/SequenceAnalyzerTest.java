@@ -0,0 +1,137 @@
+package org.example.service;
+
+import org.example.dto.DnaAnalysisResponse;
+import org.example.dto.SequenceDirection;
+import org.example.dto.SequencePosition;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SequenceAnalyzer.
+ *
+ * Checks the single-pass counts against brute force and the reported
+ * start coordinates against the matrix contents.
+ */
+@DisplayName("SequenceAnalyzer Unit Tests")
+class SequenceAnalyzerTest {
+
+    private final SequenceAnalyzer analyzer = new SequenceAnalyzer(10_000);
+
+    @Test
+    @DisplayName("Should count every sequence per direction")
+    void testCountsPerDirection() {
+        String[] dna = {
+            "ATGCGA",
+            "CAGTGC",
+            "TTATGT",
+            "AGAAGG",
+            "CCCCTA",
+            "TCACTG"
+        };
+
+        DnaAnalysisResponse analysis = analyzer.analyze(dna, null, null, false);
+
+        assertTrue(analysis.isMutant());
+        assertEquals(3, analysis.getTotalSequences());
+        assertEquals(1L, analysis.getSequencesByDirection().get(SequenceDirection.HORIZONTAL));
+        assertEquals(1L, analysis.getSequencesByDirection().get(SequenceDirection.VERTICAL));
+        assertEquals(1L, analysis.getSequencesByDirection().get(SequenceDirection.MAIN_DIAGONAL));
+        assertEquals(0L, analysis.getSequencesByDirection().get(SequenceDirection.ANTI_DIAGONAL));
+        assertNull(analysis.getPositions());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {4, 6, 17, 40})
+    @DisplayName("Should match brute force without early termination")
+    void testTotalMatchesBruteForce(int n) {
+        for (long seed = 0; seed < 10; seed++) {
+            String[] dna = DnaMatrices.random(n, seed);
+            assertEquals(DnaMatrices.countSequences(dna), analyzer.analyze(dna, 4, 2, false).getTotalSequences(),
+                    "n=" + n + ", seed=" + seed);
+        }
+    }
+
+    @Test
+    @DisplayName("Should report start cells pointing at real sequences")
+    void testPositionsAreValid() {
+        String[] dna = DnaMatrices.random(20, 7);
+
+        DnaAnalysisResponse analysis = analyzer.analyze(dna, 3, 2, true);
+
+        assertEquals(analysis.getTotalSequences(), analysis.getPositions().size());
+        assertFalse(analysis.getPositionsTruncated());
+        for (SequencePosition position : analysis.getPositions()) {
+            int[] step = switch (position.getDirection()) {
+                case HORIZONTAL -> new int[]{0, 1};
+                case VERTICAL -> new int[]{1, 0};
+                case MAIN_DIAGONAL -> new int[]{1, 1};
+                case ANTI_DIAGONAL -> new int[]{1, -1};
+            };
+            char base = dna[position.getRow()].charAt(position.getCol());
+            for (int k = 1; k < 3; k++) {
+                assertEquals(base, dna[position.getRow() + k * step[0]].charAt(position.getCol() + k * step[1]),
+                        "Position " + position + " is not a sequence of 3");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should apply custom sequence length and threshold")
+    void testCustomLengthAndThreshold() {
+        String[] dna = {
+            "AAAAAA",
+            "CGCGCG",
+            "TATATA",
+            "CGCGCG",
+            "TATATA",
+            "CGCGCG"
+        };
+
+        DnaAnalysisResponse lengthFive = analyzer.analyze(dna, 5, 2, false);
+        assertEquals(2, lengthFive.getTotalSequences(), "AAAAAA holds two overlapping windows of 5");
+        assertTrue(lengthFive.isMutant());
+
+        DnaAnalysisResponse lengthSix = analyzer.analyze(dna, 6, 2, false);
+        assertEquals(1, lengthSix.getTotalSequences());
+        assertFalse(lengthSix.isMutant());
+        assertTrue(analyzer.analyze(dna, 6, 1, false).isMutant());
+    }
+
+    @Test
+    @DisplayName("Should truncate positions above the configured maximum")
+    void testPositionsTruncated() {
+        String[] dna = {"AAAA", "AAAA", "AAAA", "AAAA"};
+
+        DnaAnalysisResponse analysis = new SequenceAnalyzer(3).analyze(dna, 4, 2, true);
+
+        assertEquals(10, analysis.getTotalSequences());
+        assertEquals(3, analysis.getPositions().size());
+        assertTrue(analysis.getPositionsTruncated());
+    }
+
+    @Test
+    @DisplayName("Should treat lowercase bases like POST /mutant does")
+    void testLowercaseBases() {
+        String[] dna = {"AaAA", "CcCC", "TTGA", "GTCA"};
+
+        DnaAnalysisResponse mixed = analyzer.analyze(dna, 4, 2, false);
+
+        assertEquals(2, mixed.getTotalSequences());
+        assertTrue(mixed.isMutant());
+        assertEquals(analyzer.analyze(new String[]{"AAAA", "CCCC", "TTGA", "GTCA"}, 4, 2, false).getTotalSequences(),
+                mixed.getTotalSequences());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid parameters")
+    void testInvalidParameters() {
+        String[] dna = {"AAAA", "AAAA", "AAAA", "AAAA"};
+        assertThrows(IllegalArgumentException.class, () -> analyzer.analyze(null, 4, 2, false));
+        assertThrows(IllegalArgumentException.class, () -> analyzer.analyze(dna, 1, 2, false));
+        assertThrows(IllegalArgumentException.class, () -> analyzer.analyze(dna, 4, 0, false));
+    }
+}
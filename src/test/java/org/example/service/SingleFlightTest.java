@@ -0,0 +1,100 @@
+package org.example.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SingleFlight.
+ */
+@DisplayName("SingleFlight Unit Tests")
+class SingleFlightTest {
+
+    private static final int WAITERS = 7;
+
+    @Test
+    @DisplayName("Should run one computation for concurrent callers of the same key")
+    void testCoalescesConcurrentCalls() throws Exception {
+        // Arrange
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Map<Thread, Integer> results = new ConcurrentHashMap<>();
+
+        // Act
+        Thread leader = new Thread(() -> results.put(Thread.currentThread(), singleFlight.run("dna", () -> {
+            runs.incrementAndGet();
+            started.countDown();
+            await(release);
+            return 42;
+        })));
+        leader.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        List<Thread> waiters = new ArrayList<>();
+        for (int i = 0; i < WAITERS; i++) {
+            Thread waiter = new Thread(() -> results.put(Thread.currentThread(), singleFlight.run("dna", runs::incrementAndGet)));
+            waiter.start();
+            waiters.add(waiter);
+        }
+        // Release the leader only once every waiter is parked on the in-flight future
+        for (Thread waiter : waiters) {
+            while (waiter.getState() != Thread.State.WAITING) {
+                Thread.onSpinWait();
+            }
+        }
+        release.countDown();
+        leader.join(5_000);
+        for (Thread waiter : waiters) {
+            waiter.join(5_000);
+        }
+
+        // Assert
+        assertEquals(WAITERS + 1, results.size());
+        assertTrue(results.values().stream().allMatch(result -> result == 42));
+        assertEquals(1, runs.get(), "Only the first caller computes");
+        assertEquals(0, singleFlight.size(), "The key is released once done");
+    }
+
+    @Test
+    @DisplayName("Should run again once the previous computation finished")
+    void testDoesNotMemoize() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger runs = new AtomicInteger();
+
+        singleFlight.run("dna", runs::incrementAndGet);
+        singleFlight.run("dna", runs::incrementAndGet);
+
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    @DisplayName("Should propagate the exception and release the key")
+    void testPropagatesFailure() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+
+        assertThrows(IllegalStateException.class, () -> singleFlight.run("dna", () -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertEquals(0, singleFlight.size());
+        assertEquals(1, singleFlight.run("dna", () -> 1));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.dto.StatsResponse;
+import org.example.exception.TooManyStreamsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for StatsBroadcaster with a mocked StatsService.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StatsBroadcaster Unit Tests")
+class StatsBroadcasterTest {
+
+    @Mock
+    private StatsService statsService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    private StatsBroadcaster statsBroadcaster;
+
+    @BeforeEach
+    void setUp() {
+        statsBroadcaster = new StatsBroadcaster(statsService, objectMapper, 60_000, 60_000, 3);
+    }
+
+    @Test
+    @DisplayName("Should read and serialize the stats once per change, whatever the number of subscribers")
+    void testPublish_OncePerChange() throws Exception {
+        // Arrange
+        when(statsService.currentStats()).thenReturn(
+                new StatsResponse(1, 2, 0.5),
+                new StatsResponse(1, 2, 0.5),
+                new StatsResponse(1, 2, 0.5),
+                new StatsResponse(2, 2, 1.0));
+
+        // Act
+        statsBroadcaster.publish();
+        statsBroadcaster.subscribe();
+        statsBroadcaster.subscribe();
+        statsBroadcaster.subscribe();
+        statsBroadcaster.publish();
+        statsBroadcaster.publish();
+        statsBroadcaster.publish();
+
+        // Assert: 4 reads, 2 serializations (the unchanged ticks and the subscriptions reuse the payload)
+        assertEquals(3, statsBroadcaster.getSubscriberCount());
+        verify(statsService, times(4)).currentStats();
+        verify(objectMapper, times(2)).writeValueAsString(any());
+    }
+
+    @Test
+    @DisplayName("Should serve the first subscriber before any publish")
+    void testSubscribe_BeforeFirstPublish() {
+        // Arrange
+        when(statsService.currentStats()).thenReturn(new StatsResponse(0, 0, 0.0));
+
+        // Act
+        statsBroadcaster.subscribe();
+
+        // Assert
+        assertEquals(1, statsBroadcaster.getSubscriberCount());
+        verify(statsService).currentStats();
+    }
+
+    @Test
+    @DisplayName("Should refuse subscribers beyond the maximum")
+    void testSubscribe_TooMany() {
+        // Arrange
+        when(statsService.currentStats()).thenReturn(new StatsResponse(0, 0, 0.0));
+        statsBroadcaster.publish();
+        for (int i = 0; i < 3; i++) {
+            statsBroadcaster.subscribe();
+        }
+
+        // Act & Assert
+        assertThrows(TooManyStreamsException.class, () -> statsBroadcaster.subscribe());
+    }
+}
@@ -1,15 +1,27 @@
 package org.example.service;
 
+import org.example.dto.StatsHistoryPoint;
+import org.example.dto.StatsHistoryResponse;
 import org.example.dto.StatsResponse;
-import org.example.repository.DnaRecordRepository;
+import org.example.repository.DnaRecordCounters;
+import org.example.repository.DnaRecordStore;
+import org.example.repository.StatsRollupRepository;
+import org.example.repository.TimeBucketedCounts;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 /**
@@ -22,19 +34,34 @@ import static org.mockito.Mockito.*;
 class StatsServiceTest {
 
     @Mock
-    private DnaRecordRepository dnaRecordRepository;
+    private DnaRecordStore dnaRecordStore;
+
+    @Spy
+    private DnaRecordCounters dnaRecordCounters = new DnaRecordCounters();
+
+    @Mock
+    private StatsRollupRepository statsRollupRepository;
+
+    @Mock
+    private StatsRollupWriter statsRollupWriter;
 
     @InjectMocks
     private StatsService statsService;
 
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(statsService, "maxWindow", "7d");
+    }
+
     @Test
     @DisplayName("Should return correct statistics with mutants and humans")
     void testGetStats_WithMutantsAndHumans() {
         // Arrange
-        when(dnaRecordRepository.countMutants()).thenReturn(40L);
-        when(dnaRecordRepository.countHumans()).thenReturn(100L);
+        when(dnaRecordStore.countMutants()).thenReturn(40L);
+        when(dnaRecordStore.countHumans()).thenReturn(100L);
 
         // Act
+        statsService.rebuild();
         StatsResponse stats = statsService.getStats();
 
         // Assert
@@ -48,10 +75,11 @@ class StatsServiceTest {
     @DisplayName("Should return ratio 0 when no humans exist")
     void testGetStats_NoHumans() {
         // Arrange
-        when(dnaRecordRepository.countMutants()).thenReturn(10L);
-        when(dnaRecordRepository.countHumans()).thenReturn(0L);
+        when(dnaRecordStore.countMutants()).thenReturn(10L);
+        when(dnaRecordStore.countHumans()).thenReturn(0L);
 
         // Act
+        statsService.rebuild();
         StatsResponse stats = statsService.getStats();
 
         // Assert
@@ -64,10 +92,11 @@ class StatsServiceTest {
     @DisplayName("Should return zeros when no data exists")
     void testGetStats_NoData() {
         // Arrange
-        when(dnaRecordRepository.countMutants()).thenReturn(0L);
-        when(dnaRecordRepository.countHumans()).thenReturn(0L);
+        when(dnaRecordStore.countMutants()).thenReturn(0L);
+        when(dnaRecordStore.countHumans()).thenReturn(0L);
 
         // Act
+        statsService.rebuild();
         StatsResponse stats = statsService.getStats();
 
         // Assert
@@ -80,10 +109,11 @@ class StatsServiceTest {
     @DisplayName("Should calculate ratio correctly with equal counts")
     void testGetStats_EqualCounts() {
         // Arrange
-        when(dnaRecordRepository.countMutants()).thenReturn(50L);
-        when(dnaRecordRepository.countHumans()).thenReturn(50L);
+        when(dnaRecordStore.countMutants()).thenReturn(50L);
+        when(dnaRecordStore.countHumans()).thenReturn(50L);
 
         // Act
+        statsService.rebuild();
         StatsResponse stats = statsService.getStats();
 
         // Assert
@@ -96,10 +126,11 @@ class StatsServiceTest {
     @DisplayName("Should calculate ratio correctly with more humans than mutants")
     void testGetStats_MoreHumans() {
         // Arrange
-        when(dnaRecordRepository.countMutants()).thenReturn(30L);
-        when(dnaRecordRepository.countHumans()).thenReturn(70L);
+        when(dnaRecordStore.countMutants()).thenReturn(30L);
+        when(dnaRecordStore.countHumans()).thenReturn(70L);
 
         // Act
+        statsService.rebuild();
         StatsResponse stats = statsService.getStats();
 
         // Assert
@@ -109,17 +140,135 @@ class StatsServiceTest {
     }
 
     @Test
-    @DisplayName("Should call repository methods exactly once")
-    void testGetStats_CallsRepositoryOnce() {
+    @DisplayName("Should serve stats from the in-process counters without querying the store")
+    void testGetStats_QueriesStoreOnlyToRebuild() {
+        // Arrange
+        when(dnaRecordStore.countMutants()).thenReturn(10L);
+        when(dnaRecordStore.countHumans()).thenReturn(20L);
+        statsService.rebuild();
+
+        // Act
+        dnaRecordCounters.recordInserted(true, 1);
+        StatsResponse stats = null;
+        for (int i = 0; i < 100; i++) {
+            stats = statsService.getStats();
+        }
+
+        // Assert
+        assertEquals(11L, stats.getCountMutantDna());
+        assertEquals(20L, stats.getCountHumanDna());
+        verify(dnaRecordStore, times(1)).countMutants();
+        verify(dnaRecordStore, times(1)).countHumans();
+    }
+
+    @Test
+    @DisplayName("Should reconcile the counters with the store")
+    void testReconcile() {
+        // Arrange: 2 mutants counted here, the store holds 5 (inserted by other instances)
+        dnaRecordCounters.recordInserted(true, 2);
+        dnaRecordCounters.recordInserted(false, 4);
+        when(dnaRecordStore.countMutants()).thenReturn(5L);
+        when(dnaRecordStore.countHumans()).thenReturn(3L);
+
+        // Act
+        statsService.reconcile();
+        StatsResponse stats = statsService.getStats();
+
+        // Assert
+        assertEquals(5L, stats.getCountMutantDna());
+        assertEquals(3L, stats.getCountHumanDna());
+    }
+
+    @Test
+    @DisplayName("Should read the store on every call when configured to")
+    void testGetStats_ReadFromStore() {
+        // Arrange
+        ReflectionTestUtils.setField(statsService, "readFromStore", true);
+        when(dnaRecordStore.countMutants()).thenReturn(7L, 8L);
+        when(dnaRecordStore.countHumans()).thenReturn(1L, 2L);
+
+        // Act
+        StatsResponse first = statsService.getStats();
+        StatsResponse second = statsService.getStats();
+
+        // Assert
+        assertEquals(7L, first.getCountMutantDna());
+        assertEquals(8L, second.getCountMutantDna());
+        assertEquals(2L, second.getCountHumanDna());
+    }
+
+    @Test
+    @DisplayName("Should serve the history per second for short windows")
+    void testGetHistory_PerSecond() {
         // Arrange
-        when(dnaRecordRepository.countMutants()).thenReturn(10L);
-        when(dnaRecordRepository.countHumans()).thenReturn(20L);
+        dnaRecordCounters.recordInserted(true, 2);
+        dnaRecordCounters.recordInserted(false, 3);
 
         // Act
-        statsService.getStats();
+        StatsHistoryResponse history = statsService.getHistory("90s", null);
 
         // Assert
-        verify(dnaRecordRepository, times(1)).countMutants();
-        verify(dnaRecordRepository, times(1)).countHumans();
+        assertEquals(90, history.getWindowSeconds());
+        assertEquals(1, history.getResolutionSeconds());
+        assertEquals(90, history.getPoints().size());
+        assertEquals(2L, history.getCountMutantDna());
+        assertEquals(3L, history.getCountHumanDna());
+        StatsHistoryPoint last = history.getPoints().get(89);
+        assertTrue(last.getTimestamp().isAfter(history.getPoints().get(0).getTimestamp()));
+        verifyNoInteractions(dnaRecordStore);
+    }
+
+    @Test
+    @DisplayName("Should serve the history per minute for long windows or when requested")
+    void testGetHistory_PerMinute() {
+        // Arrange
+        dnaRecordCounters.recordInserted(true, 4);
+
+        // Act
+        StatsHistoryResponse auto = statsService.getHistory("2h", null);
+        StatsHistoryResponse requested = statsService.getHistory("PT5M", "minute");
+
+        // Assert
+        assertEquals(60, auto.getResolutionSeconds());
+        assertEquals(120, auto.getPoints().size());
+        assertEquals(4L, auto.getCountMutantDna());
+        assertEquals(5, requested.getPoints().size());
+        assertEquals(4L, requested.getCountMutantDna());
+        verifyNoInteractions(statsRollupRepository);
+    }
+
+    @Test
+    @DisplayName("Should read per-minute windows longer than memory from the stored rollups")
+    void testGetHistory_Stored() {
+        // Arrange: one stored minute two days ago, and this instance's unflushed minutes in memory
+        dnaRecordCounters.recordInserted(true, 4);
+        TimeBucketedCounts perMinute = dnaRecordCounters.getPerMinute();
+        long current = perMinute.indexOf(System.currentTimeMillis());
+        long old = (current - 2 * 24 * 60) * 60_000L;
+        when(statsRollupWriter.firstUnflushedMinute()).thenReturn(current);
+        when(statsRollupRepository.findBuckets(anyLong(), anyLong(), anyLong(), anyInt()))
+                .thenReturn(Map.of(old, new TimeBucketedCounts.Counts(old, 5, 7)));
+
+        // Act
+        StatsHistoryResponse history = statsService.getHistory("3d", null);
+
+        // Assert
+        assertEquals(60, history.getResolutionSeconds());
+        assertEquals(3 * 24 * 60, history.getPoints().size());
+        assertEquals(9L, history.getCountMutantDna());
+        assertEquals(7L, history.getCountHumanDna());
+        long first = current - 3 * 24 * 60 + 1;
+        verify(statsRollupRepository).findBuckets(first * 60_000L, (current + 1) * 60_000L, current * 60_000L, 60);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid windows and resolutions")
+    void testGetHistory_Invalid() {
+        assertThrows(IllegalArgumentException.class, () -> statsService.getHistory("soon", null));
+        assertThrows(IllegalArgumentException.class, () -> statsService.getHistory("0", null));
+        assertThrows(IllegalArgumentException.class, () -> statsService.getHistory("15m", "hour"));
+        assertThrows(IllegalArgumentException.class, () -> statsService.getHistory("2h", "second"));
+        assertThrows(IllegalArgumentException.class, () -> statsService.getHistory("2d", "second"));
+        assertThrows(IllegalArgumentException.class, () -> statsService.getHistory("8d", null));
     }
 }
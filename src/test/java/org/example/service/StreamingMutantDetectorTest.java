@@ -0,0 +1,107 @@
+package org.example.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StreamingMutantDetector.
+ *
+ * Verifies that the rolling run-length counters find exactly the same
+ * windows as the scalar algorithm and that MUTANT is reported before the
+ * whole matrix has been streamed.
+ */
+@DisplayName("StreamingMutantDetector Unit Tests")
+class StreamingMutantDetectorTest {
+
+    private final MutantDetector scalarDetector = new MutantDetector();
+    private final StreamingMutantDetector streamingDetector = new StreamingMutantDetector();
+
+    @ParameterizedTest
+    @ValueSource(ints = {4, 5, 6, 17, 33, 64})
+    @DisplayName("Should count exactly the same sequences as brute force")
+    void testCountMatchesBruteForce(int n) {
+        for (long seed = 0; seed < 20; seed++) {
+            String[] dna = DnaMatrices.random(n, seed);
+            StreamingMutantDetector.Session session = streamingDetector.open(n);
+            int expected = DnaMatrices.countSequences(dna);
+
+            // Count only while below the threshold - scanning stops once mutant
+            int row = 0;
+            while (row < n && !session.accept(dna[row])) {
+                row++;
+            }
+            if (expected < MutantDetector.MUTANT_THRESHOLD) {
+                assertEquals(expected, session.getSequenceCount(), "n=" + n + ", seed=" + seed);
+            } else {
+                assertTrue(session.isMutant(), "n=" + n + ", seed=" + seed);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {4, 7, 31, 64, 129})
+    @DisplayName("Should agree with scalar detector on planted runs")
+    void testAgreesWithScalarDetector(int n) {
+        for (int runs = 0; runs <= 3; runs++) {
+            for (long seed = 0; seed < 10; seed++) {
+                String[] dna = DnaMatrices.withPlantedRuns(n, runs, seed);
+                assertEquals(scalarDetector.isMutant(dna), streamingDetector.isMutant(dna),
+                        "Engines disagree for n=" + n + ", runs=" + runs + ", seed=" + seed);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should report mutant before all rows are received")
+    void testEarlyMutantReport() {
+        StreamingMutantDetector.Session session = streamingDetector.open(6);
+
+        assertFalse(session.accept("AAAAGA"));
+        assertTrue(session.accept("CCCCTA"), "Second sequence should be reported immediately");
+        assertTrue(session.isMutant());
+        assertFalse(session.isComplete());
+        assertEquals(2, session.getRowsReceived());
+    }
+
+    @Test
+    @DisplayName("Should detect vertical and diagonal runs from the counters")
+    void testVerticalAndDiagonalRuns() {
+        String[] dna = {
+            "ATGCGA",
+            "CAGTGC",
+            "TTATGT",
+            "AGAAGG",
+            "CCCCTA",
+            "TCACTG"
+        };
+        assertTrue(streamingDetector.isMutant(dna));
+    }
+
+    @Test
+    @DisplayName("Should reject rows after the last one")
+    void testTooManyRows() {
+        StreamingMutantDetector.Session session = streamingDetector.open(4);
+        for (String row : new String[]{"ACGT", "CGTA", "GTAC", "TACG"}) {
+            session.accept(row);
+        }
+        assertTrue(session.isComplete());
+        assertThrows(IllegalStateException.class, () -> session.accept("ACGT"));
+    }
+
+    @Test
+    @DisplayName("Should reject rows shorter than N")
+    void testShortRow() {
+        StreamingMutantDetector.Session session = streamingDetector.open(4);
+        assertThrows(IllegalArgumentException.class, () -> session.accept("ACG"));
+    }
+
+    @Test
+    @DisplayName("Should throw exception for null DNA")
+    void testNullDna() {
+        assertThrows(IllegalArgumentException.class, () -> streamingDetector.isMutant(null));
+    }
+}
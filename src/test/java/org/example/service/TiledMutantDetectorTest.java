@@ -0,0 +1,71 @@
+package org.example.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TiledMutantDetector.
+ *
+ * Uses an 8-column tile so that runs regularly cross tile edges and the
+ * 3-column halos are exercised.
+ */
+@DisplayName("TiledMutantDetector Unit Tests")
+class TiledMutantDetectorTest {
+
+    private final MutantDetector scalarDetector = new MutantDetector();
+    private final TiledMutantDetector tiledDetector = new TiledMutantDetector(8);
+
+    @ParameterizedTest
+    @ValueSource(ints = {4, 7, 8, 9, 17, 33, 64, 129})
+    @DisplayName("Should agree with scalar detector on planted runs")
+    void testAgreesWithScalarDetector(int n) {
+        for (int runs = 0; runs <= 3; runs++) {
+            for (long seed = 0; seed < 10; seed++) {
+                String[] dna = DnaMatrices.withPlantedRuns(n, runs, seed);
+                assertEquals(scalarDetector.isMutant(dna), tiledDetector.isMutant(dna),
+                        "Engines disagree for n=" + n + ", runs=" + runs + ", seed=" + seed);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should count a run crossing a tile edge once")
+    void testRunAcrossTileEdge() {
+        String[] dna = {
+            "ACGTACGTAC",
+            "GTACGTACGT",
+            "ACGTACTTTT",
+            "GTACGTACGT",
+            "ACGTACGTAC",
+            "GTACGTACGT",
+            "ACGTACGTAC",
+            "GTACGTACGT",
+            "ACGTACGTAC",
+            "GTACGTACGT"
+        };
+        assertEquals(1, DnaMatrices.countSequences(dna));
+        assertFalse(tiledDetector.isMutant(dna), "Run on columns 6..9 should only be counted by its start tile");
+    }
+
+    @Test
+    @DisplayName("Should detect human on large matrix without sequences")
+    void testLargeHumanMatrix() {
+        assertFalse(new TiledMutantDetector(1024).isMutant(DnaMatrices.noSequences(3000)));
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive tile width")
+    void testInvalidTileWidth() {
+        assertThrows(IllegalArgumentException.class, () -> new TiledMutantDetector(0));
+    }
+
+    @Test
+    @DisplayName("Should throw exception for null DNA")
+    void testNullDna() {
+        assertThrows(IllegalArgumentException.class, () -> tiledDetector.isMutant(null));
+    }
+}
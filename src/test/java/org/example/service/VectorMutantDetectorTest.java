@@ -0,0 +1,84 @@
+package org.example.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit tests for VectorMutantDetector.
+ *
+ * The Gradle test task starts the JVM with --add-modules jdk.incubator.vector,
+ * so the SIMD kernels are exercised; sizes straddle common lane widths
+ * (16, 32 and 64 bytes) to cover both vector loops and scalar tails.
+ */
+@DisplayName("VectorMutantDetector Unit Tests")
+class VectorMutantDetectorTest {
+
+    private final MutantDetector scalarDetector = new MutantDetector();
+    private final VectorMutantDetector vectorDetector = new VectorMutantDetector(scalarDetector);
+
+    @ParameterizedTest
+    @ValueSource(ints = {4, 6, 15, 16, 17, 33, 35, 64, 67, 100})
+    @DisplayName("Should count exactly the same sequences as brute force")
+    void testCountMatchesBruteForce(int n) {
+        assumeTrue(VectorMutantDetector.isVectorApiAvailable(), "Vector API module not loaded");
+
+        for (long seed = 0; seed < 20; seed++) {
+            String[] dna = DnaMatrices.random(n, seed);
+            byte[] cells = String.join("", dna).getBytes(StandardCharsets.US_ASCII);
+
+            assertEquals(DnaMatrices.countSequences(dna), VectorKernel.countSequences(cells, n, Integer.MAX_VALUE),
+                    "Vector count should match brute force for n=" + n + ", seed=" + seed);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {4, 7, 31, 32, 35, 64, 67, 129})
+    @DisplayName("Should agree with scalar detector on planted runs")
+    void testAgreesWithScalarDetector(int n) {
+        for (int runs = 0; runs <= 3; runs++) {
+            for (long seed = 0; seed < 10; seed++) {
+                String[] dna = DnaMatrices.withPlantedRuns(n, runs, seed);
+                assertEquals(scalarDetector.isMutant(dna), vectorDetector.isMutant(dna),
+                        "Engines disagree for n=" + n + ", runs=" + runs + ", seed=" + seed);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {4, 7, 33, 64, 129})
+    @DisplayName("Should give the same answer from a flat byte buffer")
+    void testFlatBufferAgreesWithRows(int n) {
+        for (int runs = 0; runs <= 3; runs++) {
+            for (long seed = 0; seed < 10; seed++) {
+                String[] dna = DnaMatrices.withPlantedRuns(n, runs, seed);
+                assertEquals(scalarDetector.isMutant(dna), vectorDetector.isMutant(DnaMatrices.toCells(dna), n),
+                        "Flat buffer disagrees for n=" + n + ", runs=" + runs + ", seed=" + seed);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should detect human on large matrix without sequences")
+    void testLargeHumanMatrix() {
+        assertFalse(vectorDetector.isMutant(DnaMatrices.noSequences(1000)));
+    }
+
+    @Test
+    @DisplayName("Should throw exception for null DNA")
+    void testNullDna() {
+        assertThrows(IllegalArgumentException.class, () -> vectorDetector.isMutant(null));
+    }
+
+    @Test
+    @DisplayName("Should return false for DNA smaller than 4x4")
+    void testDnaSmallerThan4x4() {
+        assertFalse(vectorDetector.isMutant(new String[]{"AAA", "AAA", "AAA"}));
+    }
+}